@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client;
+
+/**
+ * Memory statistics of the buffer allocators used by the connections of a {@link Client}.
+ * Connections that leave the allocator related {@link TransportOptions} at their defaults
+ * use the default Netty allocator whose statistics cover every user of it in the JVM.
+ * The values can be read at any time from any thread.
+ */
+public interface BufferAllocatorMetrics {
+
+    /**
+     * @return the heap memory in bytes currently used by the allocators.
+     */
+    long usedHeapMemory();
+
+    /**
+     * @return the direct memory in bytes currently used by the allocators.
+     */
+    long usedDirectMemory();
+
+    /**
+     * @return the number of heap arenas of the pooled allocators.
+     */
+    int numHeapArenas();
+
+    /**
+     * @return the number of direct arenas of the pooled allocators.
+     */
+    int numDirectArenas();
+
+    /**
+     * @return the number of thread local caches of the pooled allocators.
+     */
+    int numThreadLocalCaches();
+
+}
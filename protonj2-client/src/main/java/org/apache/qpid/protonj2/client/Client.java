@@ -102,7 +102,10 @@ public interface Client extends AutoCloseable {
 
     /**
      * Connect to the specified host, using the default port, without credentials and with all
-     * connection options set to their defaults.
+     * connection options set to their defaults.  A host of the form <code>unix:/path/to/socket</code>
+     * connects to a unix domain socket at the given path instead of over TCP and a host of the form
+     * <code>vm:name</code> connects to a peer engine bound to that name within this JVM using
+     * {@link org.apache.qpid.protonj2.client.transport.InVMTransport#bind(String, java.util.function.Supplier)}.
      *
      * @param host
      *            the host to connect to
@@ -115,7 +118,10 @@ public interface Client extends AutoCloseable {
 
     /**
      * Connect to the specified host, using the default port, without credentials and with all
-     * connection options set to their defaults.
+     * connection options set to their defaults.  A host of the form <code>unix:/path/to/socket</code>
+     * connects to a unix domain socket at the given path instead of over TCP and a host of the form
+     * <code>vm:name</code> connects to a peer engine bound to that name within this JVM using
+     * {@link org.apache.qpid.protonj2.client.transport.InVMTransport#bind(String, java.util.function.Supplier)}.
      *
      * @param host
      *            the host to connect to
@@ -128,4 +134,23 @@ public interface Client extends AutoCloseable {
      */
     Connection connect(String host, ConnectionOptions options) throws ClientException;
 
+    /**
+     * Returns the memory statistics of the buffer allocators used by the connections of this
+     * {@link Client}, connections that share the same allocator related {@link TransportOptions}
+     * share a single allocator whose statistics are reported once.
+     *
+     * @return the {@link BufferAllocatorMetrics} of the connections of this client.
+     */
+    BufferAllocatorMetrics bufferAllocatorMetrics();
+
+    /**
+     * @return the TLS handshake metrics of the connections of this {@link Client} that use the JDK SSL provider.
+     */
+    SslHandshakeMetrics jdkSslHandshakeMetrics();
+
+    /**
+     * @return the TLS handshake metrics of the connections of this {@link Client} that use the OpenSSL provider.
+     */
+    SslHandshakeMetrics openSslHandshakeMetrics();
+
 }
@@ -16,13 +16,21 @@
  */
 package org.apache.qpid.protonj2.client;
 
+import org.apache.qpid.protonj2.client.futures.ClientFutureFactory;
+
 /**
  * Container Options for customizing the behavior of the Container
  */
 public class ClientOptions {
 
+    public static final boolean DEFAULT_SHARED_TIMER = false;
+    public static final long DEFAULT_SHARED_TIMER_TICK_DURATION = 10;
+
     private String id;
     private String futureType;
+    private boolean sharedTimer = DEFAULT_SHARED_TIMER;
+    private long sharedTimerTickDuration = DEFAULT_SHARED_TIMER_TICK_DURATION;
+    private boolean virtualThreads;
 
     public ClientOptions() {}
 
@@ -74,6 +82,77 @@ public class ClientOptions {
         return this;
     }
 
+    /**
+     * @return true if the connections of this client share a single timer for scheduled work.
+     */
+    public boolean sharedTimer() {
+        return sharedTimer;
+    }
+
+    /**
+     * Controls whether the connections created by this client share a single hashed wheel timer
+     * for idle timeout processing and for the open, close, send and drain timeouts of client
+     * requests.  When disabled (the default) each connection schedules this work on its own IO
+     * event loop.  Enabling the shared timer makes scheduling and cancellation of these timeouts
+     * constant time which benefits clients that manage a large number of connections, at the cost
+     * of timeouts being resolved only to the tick duration of the timer.
+     *
+     * @param sharedTimer
+     *      should the client connections share a single timer for scheduled work.
+     *
+     * @return this options object for chaining.
+     */
+    public ClientOptions sharedTimer(boolean sharedTimer) {
+        this.sharedTimer = sharedTimer;
+        return this;
+    }
+
+    /**
+     * @return the tick duration in milliseconds of the shared timer.
+     */
+    public long sharedTimerTickDuration() {
+        return sharedTimerTickDuration;
+    }
+
+    /**
+     * Sets the tick duration in milliseconds of the shared timer which is the resolution at which
+     * scheduled work is run when the shared timer is enabled.
+     *
+     * @param sharedTimerTickDuration
+     *      the tick duration in milliseconds of the shared timer.
+     *
+     * @return this options object for chaining.
+     */
+    public ClientOptions sharedTimerTickDuration(long sharedTimerTickDuration) {
+        this.sharedTimerTickDuration = sharedTimerTickDuration;
+        return this;
+    }
+
+    /**
+     * @return true if the client is configured to run in virtual thread friendly mode.
+     */
+    public boolean virtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Enables a mode in which the client is friendly to applications that block virtual threads
+     * in client calls.  In this mode connections default to the {@link ClientFutureFactory#PARKING}
+     * future type unless another future type is configured, whose waiting threads never hold a
+     * monitor and so do not pin a carrier thread.  Connection event handlers are also dispatched
+     * on a virtual thread when the JVM supports them (Java 21 or later), on older JVMs a platform
+     * thread is used as when this mode is disabled.
+     *
+     * @param virtualThreads
+     *      should the client run in virtual thread friendly mode.
+     *
+     * @return this options object for chaining.
+     */
+    public ClientOptions virtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+        return this;
+    }
+
     @Override
     public ClientOptions clone() {
         return copyInto(new ClientOptions());
@@ -91,6 +170,9 @@ public class ClientOptions {
     public ClientOptions copyInto(ClientOptions other) {
         other.id(id);
         other.futureType(futureType);
+        other.sharedTimer(sharedTimer);
+        other.sharedTimerTickDuration(sharedTimerTickDuration);
+        other.virtualThreads(virtualThreads);
 
         return this;
     }
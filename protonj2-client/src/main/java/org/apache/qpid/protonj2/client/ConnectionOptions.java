@@ -23,6 +23,7 @@ import java.util.function.BiConsumer;
 
 import org.apache.qpid.protonj2.client.exceptions.ClientOperationTimedOutException;
 import org.apache.qpid.protonj2.client.exceptions.ClientSendTimedOutException;
+import org.apache.qpid.protonj2.client.futures.WaitStrategy;
 import org.apache.qpid.protonj2.types.transport.Open;
 
 /**
@@ -63,6 +64,9 @@ public class ConnectionOptions {
     private Map<String, Object> properties;
     private String virtualHost;
     private boolean traceFrames;
+    private WaitStrategy waitStrategy;
+    private long maxPrefetchBytes;
+    private long maxUnconsumedBytes;
 
     private BiConsumer<Connection, ConnectionEvent> connectedhedHandler;
     private BiConsumer<Connection, DisconnectionEvent> disconnectedHandler;
@@ -114,6 +118,9 @@ public class ConnectionOptions {
         other.user(user);
         other.password(password);
         other.traceFrames(traceFrames);
+        other.waitStrategy(waitStrategy);
+        other.maxPrefetchBytes(maxPrefetchBytes);
+        other.maxUnconsumedBytes(maxUnconsumedBytes);
         other.connectedHandler(connectedhedHandler);
         other.interruptedHandler(interruptedHandler);
         other.reconnectedHandler(reconnectedHandler);
@@ -515,6 +522,90 @@ public class ConnectionOptions {
         return this.traceFrames;
     }
 
+    /**
+     * Configures the {@link WaitStrategy} used by the futures of the connection and the sessions and
+     * links it creates while a caller waits on them, and by receive calls while they wait for a
+     * delivery to arrive.  When not set the futures are created according to the
+     * {@link ClientOptions#futureType()} of the client.  Sender and receiver links can override this
+     * value with their own wait strategy.
+     *
+     * @param waitStrategy
+     * 		the {@link WaitStrategy} to use when waiting on connection futures or null for the default.
+     *
+     * @return this {@link ConnectionOptions} instance.
+     */
+    public ConnectionOptions waitStrategy(WaitStrategy waitStrategy) {
+        this.waitStrategy = waitStrategy;
+        return this;
+    }
+
+    /**
+     * @return the {@link WaitStrategy} assigned to the connection futures or null if the default is used.
+     */
+    public WaitStrategy waitStrategy() {
+        return waitStrategy;
+    }
+
+    /**
+     * @return the maximum number of message bytes prefetched by all receivers of the connection or zero for no limit.
+     */
+    public long maxPrefetchBytes() {
+        return maxPrefetchBytes;
+    }
+
+    /**
+     * Configures a limit on the encoded message bytes that all receivers of the connection can hold in
+     * their prefetch queues at any time.  Receivers with a credit window only grant credit while their
+     * queued messages leave room in this budget, using the average size of the messages they have seen
+     * to decide how much credit is safe to grant, and top up their credit as the application consumes.
+     * A receiver that has no queued messages or outstanding credit is always granted a single credit
+     * so that it keeps making progress.  A value of zero (the default) means there is no limit.
+     *
+     * @param maxPrefetchBytes
+     *      The maximum number of prefetched message bytes across the connection or zero for no limit.
+     *
+     * @return this {@link ConnectionOptions} instance.
+     */
+    public ConnectionOptions maxPrefetchBytes(long maxPrefetchBytes) {
+        if (maxPrefetchBytes < 0) {
+            throw new IllegalArgumentException("Max prefetch bytes cannot be negative");
+        }
+
+        this.maxPrefetchBytes = maxPrefetchBytes;
+        return this;
+    }
+
+    /**
+     * @return the number of received but unconsumed bytes above which the connection stops reading or zero if disabled.
+     */
+    public long maxUnconsumedBytes() {
+        return maxUnconsumedBytes;
+    }
+
+    /**
+     * Configures a hard limit on the bytes the connection buffers on behalf of the application.  Once
+     * the bytes of messages queued in receivers plus the bytes of incoming deliveries that have not
+     * yet been read, such as those of stream receivers, exceed this limit the connection stops reading
+     * from its transport and resumes once the application has consumed enough that the total falls
+     * below the limit again.  Unlike the credit based limits this holds regardless of how the remote
+     * peer behaves, however no frames at all are read while paused so the idle timeout should be long
+     * enough to cover the expected time the application takes to catch up.  A value of zero (the
+     * default) disables the limit.
+     *
+     * @param maxUnconsumedBytes
+     *      The maximum number of unconsumed bytes buffered by the connection or zero to disable.
+     *
+     * @return this {@link ConnectionOptions} instance.
+     */
+    public ConnectionOptions maxUnconsumedBytes(long maxUnconsumedBytes) {
+        if (maxUnconsumedBytes < 0) {
+            throw new IllegalArgumentException("Max unconsumed bytes cannot be negative");
+        }
+
+        this.maxUnconsumedBytes = maxUnconsumedBytes;
+        return this;
+    }
+
     /**
      * @return true if SSL support has been enabled for this connection.
      */
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client;
+
+import java.util.concurrent.Flow;
+
+import org.apache.qpid.protonj2.client.exceptions.ClientException;
+
+/**
+ * Adapters that bridge client {@link Receiver}, {@link StreamReceiver} and {@link Sender} instances
+ * to the {@link Flow} reactive streams interfaces by delegating to {@link Receiver#publisher()},
+ * {@link StreamReceiver#publisher()} and {@link Sender#subscriber()}.  Subscriber demand is mapped
+ * directly onto link credit so that back pressure propagates between the reactive pipeline and
+ * the remote peer.
+ * <p>
+ * All signals to and from the adapters are issued on the connection event loop and so subscriber
+ * callbacks must not block.
+ */
+public final class FlowAdapters {
+
+    private FlowAdapters() {}
+
+    /**
+     * Returns the {@link Flow.Publisher} of the deliveries that arrive on the given {@link Receiver}.
+     * Each request from the subscriber grants the same amount of link credit to the remote so the
+     * receiver must have been created with a {@link ReceiverOptions#creditWindow(int)} of zero.
+     * The receiver supports a single subscriber which is completed or failed when the receiver
+     * is closed.
+     *
+     * @param receiver
+     *      The {@link Receiver} whose deliveries are published.
+     *
+     * @return a {@link Flow.Publisher} of the deliveries that arrive on the receiver.
+     *
+     * @throws ClientException if the receiver is closed or was configured with a credit window.
+     */
+    public static Flow.Publisher<? extends Delivery> publisher(Receiver receiver) throws ClientException {
+        return receiver.publisher();
+    }
+
+    /**
+     * Returns the {@link Flow.Publisher} of the stream deliveries that arrive on the given
+     * {@link StreamReceiver}.  Each request from the subscriber grants the same amount of link
+     * credit to the remote so the receiver must have been created with a
+     * {@link StreamReceiverOptions#creditWindow(int)} of zero.  The receiver supports a single
+     * subscriber which is completed or failed when the receiver is closed.
+     *
+     * @param receiver
+     *      The {@link StreamReceiver} whose deliveries are published.
+     *
+     * @return a {@link Flow.Publisher} of the stream deliveries that arrive on the receiver.
+     *
+     * @throws ClientException if the receiver is closed or was configured with a credit window.
+     */
+    public static Flow.Publisher<StreamDelivery> publisher(StreamReceiver receiver) throws ClientException {
+        return receiver.publisher();
+    }
+
+    /**
+     * Returns the {@link Flow.Subscriber} that sends the messages it receives using the given
+     * {@link Sender}.  Messages are only requested from the upstream publisher when the link
+     * credit and session outgoing window allow them to be sent immediately.  The sender is not
+     * closed when the upstream publisher completes and closing the sender cancels the upstream
+     * subscription.
+     *
+     * @param sender
+     *      The {@link Sender} used to send the messages.
+     *
+     * @return a {@link Flow.Subscriber} that sends messages using the sender.
+     *
+     * @throws ClientException if the sender is closed.
+     */
+    public static Flow.Subscriber<Message<?>> subscriber(Sender sender) throws ClientException {
+        return sender.subscriber();
+    }
+}
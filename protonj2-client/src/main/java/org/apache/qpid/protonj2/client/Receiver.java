@@ -16,7 +16,10 @@
  */
 package org.apache.qpid.protonj2.client;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Flow;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
@@ -253,6 +256,30 @@ public interface Receiver extends AutoCloseable {
      */
     Delivery receive(long timeout, TimeUnit unit) throws ClientException;
 
+    /**
+     * Blocking receive method that waits the given time interval for the remote to provide at
+     * least one {@link Delivery} and then returns up to the given maximum number of deliveries
+     * that are available locally without waiting any further.  The timeout follows the same rules
+     * as {@link #receive(long, TimeUnit)} and an empty {@link List} is returned if no delivery
+     * arrives before the timeout expires.
+     * <p>
+     * The deliveries are removed from the local queue together and when auto accept is enabled
+     * they are accepted as a group, any credit replenishment that results from the batch is
+     * performed once for the whole batch rather than once per delivery.
+     *
+     * @param maxDeliveries
+     *      The maximum number of deliveries to return, must be greater than zero.
+     * @param timeout
+     *      The timeout value used to control how long the receive method waits for a first {@link Delivery}.
+     * @param unit
+     *      The unit of time that the given timeout represents.
+     *
+     * @return a {@link List} of the deliveries received from the remote which is empty if none arrived in time.
+     *
+     * @throws ClientException if the {@link Receiver} or its parent is closed when the call to receive is made.
+     */
+    List<Delivery> receive(int maxDeliveries, long timeout, TimeUnit unit) throws ClientException;
+
     /**
      * Non-blocking receive method that either returns a message is one is immediately available or
      * returns null if none is currently at hand.
@@ -263,6 +290,38 @@ public interface Receiver extends AutoCloseable {
      */
     Delivery tryReceive() throws ClientException;
 
+    /**
+     * Accepts and settles each of the given deliveries as a single operation.  The dispositions are
+     * applied together and deliveries with contiguous delivery ids are acknowledged to the remote
+     * using a single ranged disposition rather than one disposition per delivery.  Any of the
+     * deliveries that have already been settled are ignored.
+     *
+     * @param deliveries
+     *      The deliveries previously received from this {@link Receiver} that should be accepted.
+     *
+     * @return this {@link Receiver} instance.
+     *
+     * @throws ClientException if the {@link Receiver} or its parent is closed when the call is made.
+     * @throws IllegalArgumentException if any of the deliveries was not received by this {@link Receiver}.
+     */
+    Receiver accept(Collection<? extends Delivery> deliveries) throws ClientException;
+
+    /**
+     * Cumulatively accepts and settles the given delivery and every unsettled delivery that this
+     * {@link Receiver} received before it.  The dispositions are applied as a single operation and
+     * where delivery ids are contiguous a single ranged disposition is sent to the remote.  If the
+     * given delivery has already been settled no other deliveries are accepted.
+     *
+     * @param delivery
+     *      The last delivery received from this {@link Receiver} that should be accepted.
+     *
+     * @return this {@link Receiver} instance.
+     *
+     * @throws ClientException if the {@link Receiver} or its parent is closed when the call is made.
+     * @throws IllegalArgumentException if the delivery was not received by this {@link Receiver}.
+     */
+    Receiver acceptUpTo(Delivery delivery) throws ClientException;
+
     /**
      * Requests the remote to drain previously granted credit for this {@link Receiver} link.
      *
@@ -272,6 +331,21 @@ public interface Receiver extends AutoCloseable {
      */
     Future<Receiver> drain() throws ClientException;
 
+    /**
+     * Returns a {@link Flow.Publisher} of the deliveries that arrive on this {@link Receiver}.
+     * Each request from the subscriber grants the same amount of link credit to the remote so the
+     * receiver must have been created with a {@link ReceiverOptions#creditWindow(int)} of zero.
+     * The receiver has a single publisher instance which supports a single subscriber and that
+     * subscriber is completed or failed when the receiver is closed.
+     * <p>
+     * All signals to the subscriber are issued from the connection event loop.
+     *
+     * @return a {@link Flow.Publisher} of the deliveries that arrive on this receiver.
+     *
+     * @throws ClientException if the receiver is closed or was configured with a credit window.
+     */
+    Flow.Publisher<? extends Delivery> publisher() throws ClientException;
+
     /**
      * Returns the number of Deliveries that are currently held in the {@link Receiver} delivery
      * queue.  This number is likely to change immediately following the call as more deliveries
@@ -283,4 +357,16 @@ public interface Receiver extends AutoCloseable {
      */
     long queuedDeliveries() throws ClientException;
 
+    /**
+     * Returns the credit window that the {@link Receiver} is currently maintaining.  For a receiver
+     * configured with an adaptive credit window this value changes over time as the window is resized
+     * to match the rate at which deliveries are consumed, otherwise it is the configured credit window.
+     * A value of zero indicates that credit is granted manually by the application.
+     *
+     * @return the current size of the credit window maintained by this {@link Receiver}.
+     *
+     * @see ReceiverOptions#adaptiveCreditWindow(boolean)
+     */
+    int creditWindow();
+
 }
@@ -21,12 +21,16 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.apache.qpid.protonj2.client.exceptions.ClientOperationTimedOutException;
+import org.apache.qpid.protonj2.client.futures.WaitStrategy;
 
 /**
  * Options that control the behavior of the {@link Receiver} created from them.
  */
 public class ReceiverOptions {
 
+    public static final int DEFAULT_MIN_CREDIT_WINDOW = 1;
+    public static final int DEFAULT_MAX_CREDIT_WINDOW = 1000;
+
     private long drainTimeout = ConnectionOptions.DEFAULT_DRAIN_TIMEOUT;
     private long requestTimeout = ConnectionOptions.DEFAULT_REQUEST_TIMEOUT;
     private long openTimeout = ConnectionOptions.DEFAULT_OPEN_TIMEOUT;
@@ -37,6 +41,11 @@ public class ReceiverOptions {
     private DeliveryMode deliveryMode = DeliveryMode.AT_LEAST_ONCE;
     private int creditWindow = 10;
     private String linkName;
+    private WaitStrategy waitStrategy;
+    private long maxPrefetchBytes;
+    private boolean adaptiveCreditWindow;
+    private int minCreditWindow = DEFAULT_MIN_CREDIT_WINDOW;
+    private int maxCreditWindow = DEFAULT_MAX_CREDIT_WINDOW;
 
     private final SourceOptions source = new SourceOptions();
     private final TargetOptions target = new TargetOptions();
@@ -162,6 +171,73 @@ public class ReceiverOptions {
         return this;
     }
 
+    /**
+     * @return true if the credit window is resized at runtime to match the rate of consumption.
+     */
+    public boolean adaptiveCreditWindow() {
+        return adaptiveCreditWindow;
+    }
+
+    /**
+     * Enables adaptive sizing of the credit window.  The configured {@link #creditWindow(int)} is used
+     * as the initial window which is then resized as the {@link Receiver} measures the rate at which the
+     * application consumes deliveries and the round trip time between granting credit and the arrival
+     * of the first delivery that uses it.  The window is kept at roughly twice the number of deliveries
+     * consumed within one round trip so that a fast consumer on a high latency link is not starved and
+     * a slow consumer does not hoard deliveries that other consumers could process.  The window always
+     * remains within the bounds set by {@link #creditWindowBounds(int, int)}.  Adaptive sizing has no
+     * effect when the credit window is zero or on a {@link StreamReceiver}.
+     *
+     * @param adaptiveCreditWindow
+     *      Should the credit window be resized based on the measured consumption rate.
+     *
+     * @return this {@link ReceiverOptions} instance.
+     */
+    public ReceiverOptions adaptiveCreditWindow(boolean adaptiveCreditWindow) {
+        this.adaptiveCreditWindow = adaptiveCreditWindow;
+        return this;
+    }
+
+    /**
+     * @return the smallest credit window an adaptive credit window will shrink to.
+     */
+    public int minCreditWindow() {
+        return minCreditWindow;
+    }
+
+    /**
+     * @return the largest credit window an adaptive credit window will grow to.
+     */
+    public int maxCreditWindow() {
+        return maxCreditWindow;
+    }
+
+    /**
+     * Sets the bounds within which an adaptive credit window is resized, by default the window can
+     * range between {@value #DEFAULT_MIN_CREDIT_WINDOW} and {@value #DEFAULT_MAX_CREDIT_WINDOW}.
+     *
+     * @param minCreditWindow
+     *      The smallest credit window that will be used, must be greater than zero.
+     * @param maxCreditWindow
+     *      The largest credit window that will be used, must not be less than the minimum.
+     *
+     * @return this {@link ReceiverOptions} instance.
+     *
+     * @see #adaptiveCreditWindow(boolean)
+     */
+    public ReceiverOptions creditWindowBounds(int minCreditWindow, int maxCreditWindow) {
+        if (minCreditWindow <= 0) {
+            throw new IllegalArgumentException("Minimum credit window must be greater than zero");
+        }
+        if (maxCreditWindow < minCreditWindow) {
+            throw new IllegalArgumentException("Maximum credit window cannot be less than the minimum");
+        }
+
+        this.minCreditWindow = minCreditWindow;
+        this.maxCreditWindow = maxCreditWindow;
+        return this;
+    }
+
     /**
      * @return the timeout used when awaiting a response from the remote when a {@link Receiver} is closed.
      */
@@ -225,6 +301,58 @@ public class ReceiverOptions {
         return this;
     }
 
+    /**
+     * @return the maximum number of message bytes this receiver prefetches or zero for no limit.
+     */
+    public long maxPrefetchBytes() {
+        return maxPrefetchBytes;
+    }
+
+    /**
+     * Configures a limit on the encoded message bytes that the receiver holds in its prefetch queue.
+     * Credit from the {@link #creditWindow(int)} is only granted while the queued messages stay under
+     * this limit, using the average size of the messages seen so far to decide how much credit is safe
+     * to grant, and is topped up as the application consumes.  A receiver with nothing queued or
+     * outstanding is always granted a single credit so that messages larger than the limit are still
+     * received.  The limit does not apply to a {@link StreamReceiver} whose buffering is controlled by
+     * its read buffer size.  A value of zero (the default) means there is no limit.
+     *
+     * @param maxPrefetchBytes
+     *      The maximum number of prefetched message bytes or zero for no limit.
+     *
+     * @return this {@link ReceiverOptions} instance.
+     */
+    public ReceiverOptions maxPrefetchBytes(long maxPrefetchBytes) {
+        if (maxPrefetchBytes < 0) {
+            throw new IllegalArgumentException("Max prefetch bytes cannot be negative");
+        }
+
+        this.maxPrefetchBytes = maxPrefetchBytes;
+        return this;
+    }
+
+    /**
+     * @return the {@link WaitStrategy} assigned to the link futures or null if the connection setting is used.
+     */
+    public WaitStrategy waitStrategy() {
+        return waitStrategy;
+    }
+
+    /**
+     * Configures the {@link WaitStrategy} used by the futures of this link while a caller waits on
+     * them and by receive calls while they wait for a delivery to arrive, when not set the link uses
+     * the wait strategy configured for its connection.
+     *
+     * @param waitStrategy
+     *      The {@link WaitStrategy} to use when waiting on link futures or null for the connection default.
+     *
+     * @return this {@link ReceiverOptions} instance.
+     */
+    public ReceiverOptions waitStrategy(WaitStrategy waitStrategy) {
+        this.waitStrategy = waitStrategy;
+        return this;
+    }
+
     /**
      * @return the timeout used when awaiting a response from the remote when a resource makes a request.
      */
@@ -330,6 +458,10 @@ public class ReceiverOptions {
      */
     protected ReceiverOptions copyInto(ReceiverOptions other) {
         other.creditWindow(creditWindow);
+        other.waitStrategy(waitStrategy);
+        other.maxPrefetchBytes(maxPrefetchBytes);
+        other.adaptiveCreditWindow(adaptiveCreditWindow);
+        other.creditWindowBounds(minCreditWindow, maxCreditWindow);
         other.linkName(linkName);
         other.closeTimeout(closeTimeout);
         other.openTimeout(openTimeout);
@@ -34,6 +34,9 @@ public class ReconnectOptions {
     public static final int DEFAULT_MAX_RECONNECT_DEALY = 30_000;
     public static final boolean DEFAULT_USE_RECONNECT_BACKOFF = true;
     public static final double DEFAULT_RECONNECT_BACKOFF_MULTIPLIER = 2.0d;
+    public static final boolean DEFAULT_PARALLEL_CONNECT = false;
+    public static final int DEFAULT_PARALLEL_CONNECT_HOSTS = 2;
+    public static final int DEFAULT_PARALLEL_CONNECT_DELAY = 250;
 
     private final List<URI> reconnectHosts = new ArrayList<>();
 
@@ -45,6 +48,9 @@ public class ReconnectOptions {
     private int maxReconnectDelay = DEFAULT_MAX_RECONNECT_DEALY;
     private boolean useReconnectBackOff = DEFAULT_USE_RECONNECT_BACKOFF;
     private double reconnectBackOffMultiplier = DEFAULT_RECONNECT_BACKOFF_MULTIPLIER;
+    private boolean parallelConnect = DEFAULT_PARALLEL_CONNECT;
+    private int parallelConnectHosts = DEFAULT_PARALLEL_CONNECT_HOSTS;
+    private int parallelConnectDelay = DEFAULT_PARALLEL_CONNECT_DELAY;
 
     /**
      * Create a new {@link ConnectionOptions} instance configured with default configuration settings.
@@ -82,6 +88,9 @@ public class ReconnectOptions {
         other.maxReconnectDelay(maxReconnectDelay);
         other.useReconnectBackOff(useReconnectBackOff);
         other.reconnectBackOffMultiplier(reconnectBackOffMultiplier);
+        other.parallelConnect(parallelConnect);
+        other.parallelConnectHosts(parallelConnectHosts);
+        other.parallelConnectDelay(parallelConnectDelay);
         other.reconnectHosts.addAll(reconnectHosts);
 
         return this;
@@ -285,4 +294,81 @@ public class ReconnectOptions {
         this.reconnectBackOffMultiplier = reconnectBackOffMultiplier;
         return this;
     }
+
+    /**
+     * @return true if connection attempts race several hosts and addresses in parallel.
+     */
+    public boolean parallelConnect() {
+        return parallelConnect;
+    }
+
+    /**
+     * Controls whether each connection attempt races several candidates instead of trying one host
+     * at a time.  When enabled an attempt takes the next {@link #parallelConnectHosts()} hosts from
+     * the reconnect pool, resolves every IPv4 and IPv6 address of each and starts a transport connect
+     * to each address in turn, spaced by {@link #parallelConnectDelay()} or sooner when the previous
+     * connect fails.  The first transport to connect carries the AMQP connection and the others are
+     * closed, so an unreachable host no longer costs a full connect timeout before the next is tried.
+     * In-VM connections always connect directly and a unix domain socket connection cannot be
+     * created with this option enabled.
+     *
+     * @param parallelConnect
+     *      true to race the candidate hosts and addresses of each connection attempt.
+     *
+     * @return this {@link ReconnectOptions} instance.
+     */
+    public ReconnectOptions parallelConnect(boolean parallelConnect) {
+        this.parallelConnect = parallelConnect;
+        return this;
+    }
+
+    /**
+     * @return the number of hosts from the reconnect pool that each parallel connection attempt races.
+     */
+    public int parallelConnectHosts() {
+        return parallelConnectHosts;
+    }
+
+    /**
+     * Sets the number of hosts taken from the reconnect pool for each parallel connection attempt,
+     * every resolved address of those hosts is raced.  Defaults to two.
+     *
+     * @param parallelConnectHosts
+     *      the number of hosts raced by each parallel connection attempt.
+     *
+     * @return this {@link ReconnectOptions} instance.
+     */
+    public ReconnectOptions parallelConnectHosts(int parallelConnectHosts) {
+        if (parallelConnectHosts < 1) {
+            throw new IllegalArgumentException("At least one host must be used for a parallel connect");
+        }
+
+        this.parallelConnectHosts = parallelConnectHosts;
+        return this;
+    }
+
+    /**
+     * @return the delay in milliseconds between starting the candidates of a parallel connection attempt.
+     */
+    public int parallelConnectDelay() {
+        return parallelConnectDelay;
+    }
+
+    /**
+     * Sets the time in milliseconds that a parallel connection attempt waits for a started candidate
+     * before also starting the next, defaults to 250 milliseconds.
+     *
+     * @param parallelConnectDelay
+     *      the delay between the staggered starts of the candidates of a parallel connection attempt.
+     *
+     * @return this {@link ReconnectOptions} instance.
+     */
+    public ReconnectOptions parallelConnectDelay(int parallelConnectDelay) {
+        if (parallelConnectDelay < 0) {
+            throw new IllegalArgumentException("The parallel connect delay cannot be negative");
+        }
+
+        this.parallelConnectDelay = parallelConnectDelay;
+        return this;
+    }
 }
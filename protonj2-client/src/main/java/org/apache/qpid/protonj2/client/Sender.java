@@ -17,6 +17,8 @@
 package org.apache.qpid.protonj2.client;
 
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
 import java.util.concurrent.Future;
 
 import org.apache.qpid.protonj2.client.exceptions.ClientException;
@@ -225,6 +227,48 @@ public interface Sender extends AutoCloseable {
      */
     Tracker send(Message<?> message, Map<String, Object> deliveryAnnotations) throws ClientException;
 
+    /**
+     * Send the given message without blocking the calling thread.  If the link has credit the
+     * message is sent immediately otherwise it is held until credit arrives or the configured
+     * {@link SenderOptions#sendTimeout()} expires.  The returned {@link CompletionStage} is
+     * completed with the {@link Tracker} for the delivery once the message has been written, or
+     * exceptionally with a {@link ClientException} if the send fails.
+     * <p>
+     * The returned stage is completed from the connection event loop, dependent actions that
+     * are not registered using the async variants of the {@link CompletionStage} methods will
+     * run on that thread and must not block.
+     *
+     * @param message
+     *      the {@link Message} to send.
+     *
+     * @return a {@link CompletionStage} that is completed with the {@link Tracker} for the message delivery.
+     *
+     * @throws ClientException if the send operation cannot be initiated.
+     */
+    CompletionStage<Tracker> sendAsync(Message<?> message) throws ClientException;
+
+    /**
+     * Send the given message without blocking the calling thread.  If the link has credit the
+     * message is sent immediately otherwise it is held until credit arrives or the configured
+     * {@link SenderOptions#sendTimeout()} expires.  The returned {@link CompletionStage} is
+     * completed with the {@link Tracker} for the delivery once the message has been written, or
+     * exceptionally with a {@link ClientException} if the send fails.
+     * <p>
+     * The returned stage is completed from the connection event loop, dependent actions that
+     * are not registered using the async variants of the {@link CompletionStage} methods will
+     * run on that thread and must not block.
+     *
+     * @param message
+     *      the {@link Message} to send.
+     * @param deliveryAnnotations
+     *      the delivery annotations that should be included in the sent {@link Message}.
+     *
+     * @return a {@link CompletionStage} that is completed with the {@link Tracker} for the message delivery.
+     *
+     * @throws ClientException if the send operation cannot be initiated.
+     */
+    CompletionStage<Tracker> sendAsync(Message<?> message, Map<String, Object> deliveryAnnotations) throws ClientException;
+
     /**
      * Send the given message if credit is available or returns null if no credit has been
      * granted to the link at the time of the send attempt.
@@ -253,4 +297,19 @@ public interface Sender extends AutoCloseable {
      */
     Tracker trySend(Message<?> message, Map<String, Object> deliveryAnnotations) throws ClientException;
 
+    /**
+     * Returns a {@link Flow.Subscriber} that sends each message it receives on this sender and
+     * which only requests messages from the upstream publisher as link credit and the session
+     * outgoing window allow them to be sent.  The sender has a single subscriber instance and
+     * remains open when the upstream publisher completes, closing the sender cancels the upstream
+     * subscription.
+     * <p>
+     * All signals to the subscriber are handled on the connection event loop.
+     *
+     * @return a {@link Flow.Subscriber} that sends messages using this sender.
+     *
+     * @throws ClientException if the sender is closed.
+     */
+    Flow.Subscriber<Message<?>> subscriber() throws ClientException;
+
 }
@@ -22,6 +22,7 @@ import java.util.Map;
 
 import org.apache.qpid.protonj2.client.exceptions.ClientOperationTimedOutException;
 import org.apache.qpid.protonj2.client.exceptions.ClientSendTimedOutException;
+import org.apache.qpid.protonj2.client.futures.WaitStrategy;
 
 /**
  * Options that control the behavior of a {@link Sender} created from them.
@@ -35,6 +36,9 @@ public class SenderOptions {
 
     private String linkName;
     private boolean autoSettle = true;
+    private int maxInFlightMessages;
+    private long maxInFlightBytes;
+    private WaitStrategy waitStrategy;
     private DeliveryMode deliveryMode = DeliveryMode.AT_LEAST_ONCE;
 
     private final SourceOptions source = new SourceOptions();
@@ -187,6 +191,82 @@ public class SenderOptions {
         return this;
     }
 
+    /**
+     * @return the maximum number of unsettled messages the {@link Sender} allows before new sends are held.
+     */
+    public int maxInFlightMessages() {
+        return maxInFlightMessages;
+    }
+
+    /**
+     * Configures the maximum number of sent messages that can remain unsettled at any time.  When the
+     * limit is reached a send will block and a try send will return null until the remote settles
+     * enough of the outstanding deliveries, a blocked send is subject to the configured send timeout.
+     * A value of zero (the default) means there is no limit.
+     *
+     * @param maxInFlightMessages
+     *      The maximum number of unsettled messages or zero for no limit.
+     *
+     * @return this {@link SenderOptions} instance.
+     */
+    public SenderOptions maxInFlightMessages(int maxInFlightMessages) {
+        if (maxInFlightMessages < 0) {
+            throw new IllegalArgumentException("Max in-flight messages cannot be negative");
+        }
+
+        this.maxInFlightMessages = maxInFlightMessages;
+        return this;
+    }
+
+    /**
+     * @return the maximum number of encoded bytes held in unsettled messages before new sends are held.
+     */
+    public long maxInFlightBytes() {
+        return maxInFlightBytes;
+    }
+
+    /**
+     * Configures the maximum number of encoded message bytes that can be held by unsettled sends at any
+     * time.  When sending a message would exceed the limit a send will block and a try send will return
+     * null until the remote settles enough of the outstanding deliveries, a single message larger than the
+     * limit can be sent once all earlier deliveries are settled.  A blocked send is subject to the configured
+     * send timeout.  A value of zero (the default) means there is no limit.
+     *
+     * @param maxInFlightBytes
+     *      The maximum number of bytes in unsettled messages or zero for no limit.
+     *
+     * @return this {@link SenderOptions} instance.
+     */
+    public SenderOptions maxInFlightBytes(long maxInFlightBytes) {
+        if (maxInFlightBytes < 0) {
+            throw new IllegalArgumentException("Max in-flight bytes cannot be negative");
+        }
+
+        this.maxInFlightBytes = maxInFlightBytes;
+        return this;
+    }
+
+    /**
+     * @return the {@link WaitStrategy} assigned to the link futures or null if the connection setting is used.
+     */
+    public WaitStrategy waitStrategy() {
+        return waitStrategy;
+    }
+
+    /**
+     * Configures the {@link WaitStrategy} used by the futures of this link while a caller waits on
+     * them, when not set the link uses the wait strategy configured for its connection.
+     *
+     * @param waitStrategy
+     *      The {@link WaitStrategy} to use when waiting on link futures or null for the connection default.
+     *
+     * @return this {@link SenderOptions} instance.
+     */
+    public SenderOptions waitStrategy(WaitStrategy waitStrategy) {
+        this.waitStrategy = waitStrategy;
+        return this;
+    }
+
     /**
      * @return the timeout used when awaiting a response from the remote when a resource makes a request.
      */
@@ -297,6 +377,9 @@ public class SenderOptions {
         other.openTimeout(openTimeout);
         other.sendTimeout(sendTimeout);
         other.requestTimeout(requestTimeout);
+        other.maxInFlightMessages(maxInFlightMessages);
+        other.maxInFlightBytes(maxInFlightBytes);
+        other.waitStrategy(waitStrategy);
 
         if (offeredCapabilities != null) {
             other.offeredCapabilities(Arrays.copyOf(offeredCapabilities, offeredCapabilities.length));
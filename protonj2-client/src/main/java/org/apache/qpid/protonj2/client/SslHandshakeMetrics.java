@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client;
+
+/**
+ * The number and duration of the TLS handshakes performed by the secure connections of a
+ * {@link Client} that use a single SSL provider.  The values can be read at any time from
+ * any thread.
+ */
+public interface SslHandshakeMetrics {
+
+    /**
+     * @return the name of the SSL provider whose handshakes these metrics describe.
+     */
+    String provider();
+
+    /**
+     * @return the number of handshakes that completed successfully.
+     */
+    long completedHandshakes();
+
+    /**
+     * @return the number of handshakes that failed.
+     */
+    long failedHandshakes();
+
+    /**
+     * @return the total time in nanoseconds spent in successful handshakes.
+     */
+    long totalHandshakeTime();
+
+    /**
+     * @return the mean time in nanoseconds of a successful handshake or zero if none have completed.
+     */
+    long averageHandshakeTime();
+
+    /**
+     * @return the longest time in nanoseconds taken by a successful handshake.
+     */
+    long maxHandshakeTime();
+
+    /**
+     * @return the time in nanoseconds taken by the most recent successful handshake.
+     */
+    long lastHandshakeTime();
+
+}
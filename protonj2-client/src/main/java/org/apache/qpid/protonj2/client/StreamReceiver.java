@@ -16,6 +16,8 @@
  */
 package org.apache.qpid.protonj2.client;
 
+import java.util.Collection;
+import java.util.concurrent.Flow;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.qpid.protonj2.client.exceptions.ClientException;
@@ -91,4 +93,45 @@ public interface StreamReceiver extends Receiver {
     @Override
     StreamReceiver addCredit(int credits) throws ClientException;
 
+    /**
+     * {@inheritDoc}
+     *
+     * @param deliveries
+     *      The deliveries previously received from this {@link StreamReceiver} that should be accepted.
+     *
+     * @return this {@link StreamReceiver} instance.
+     *
+     * @throws ClientException if the {@link StreamReceiver} or its parent is closed when the call is made.
+     */
+    @Override
+    StreamReceiver accept(Collection<? extends Delivery> deliveries) throws ClientException;
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param delivery
+     *      The last delivery received from this {@link StreamReceiver} that should be accepted.
+     *
+     * @return this {@link StreamReceiver} instance.
+     *
+     * @throws ClientException if the {@link StreamReceiver} or its parent is closed when the call is made.
+     */
+    @Override
+    StreamReceiver acceptUpTo(Delivery delivery) throws ClientException;
+
+    /**
+     * Returns a {@link Flow.Publisher} of the stream deliveries that arrive on this
+     * {@link StreamReceiver}.  Each request from the subscriber grants the same amount of link
+     * credit to the remote so the receiver must have been created with a
+     * {@link StreamReceiverOptions#creditWindow(int)} of zero.  The receiver has a single publisher
+     * instance which supports a single subscriber and that subscriber is completed or failed when
+     * the receiver is closed.
+     *
+     * @return a {@link Flow.Publisher} of the stream deliveries that arrive on this receiver.
+     *
+     * @throws ClientException if the receiver is closed or was configured with a credit window.
+     */
+    @Override
+    Flow.Publisher<StreamDelivery> publisher() throws ClientException;
+
 }
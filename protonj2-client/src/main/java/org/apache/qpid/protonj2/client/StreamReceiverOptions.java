@@ -18,6 +18,8 @@ package org.apache.qpid.protonj2.client;
 
 import java.util.Map;
 
+import org.apache.qpid.protonj2.client.futures.WaitStrategy;
+
 /**
  * Options class that controls various aspects of a {@link StreamReceiver} instance and how
  * a streamed message transfer is written.
@@ -101,6 +103,11 @@ public class StreamReceiverOptions extends ReceiverOptions {
 
     //----- Override super methods to customize the return type
 
+    @Override
+    public StreamReceiverOptions waitStrategy(WaitStrategy waitStrategy) {
+        return (StreamReceiverOptions) super.waitStrategy(waitStrategy);
+    }
+
     @Override
     public StreamReceiverOptions autoAccept(boolean autoAccept) {
         return (StreamReceiverOptions) super.autoAccept(autoAccept);
@@ -18,6 +18,8 @@ package org.apache.qpid.protonj2.client;
 
 import java.util.Map;
 
+import org.apache.qpid.protonj2.client.futures.WaitStrategy;
+
 /**
  * Options class that controls various aspects of a {@link StreamSenderMessage} instance and how
  * a streamed message transfer is written.
@@ -134,6 +136,11 @@ public class StreamSenderOptions extends SenderOptions {
         return (StreamSenderOptions) super.linkName(linkName);
     }
 
+    @Override
+    public StreamSenderOptions waitStrategy(WaitStrategy waitStrategy) {
+        return (StreamSenderOptions) super.waitStrategy(waitStrategy);
+    }
+
     @Override
     public StreamSenderOptions autoSettle(boolean autoSettle) {
         return (StreamSenderOptions) super.autoSettle(autoSettle);
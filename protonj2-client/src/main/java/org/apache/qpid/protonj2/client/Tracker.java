@@ -16,6 +16,7 @@
  */
 package org.apache.qpid.protonj2.client;
 
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
@@ -92,6 +93,17 @@ public interface Tracker {
      */
     Future<Tracker> settlementFuture();
 
+    /**
+     * Returns a {@link CompletionStage} that is completed when the remote settles the sent
+     * message or completed exceptionally with a {@link ClientException} if the delivery fails
+     * before that happens, such as when the connection is lost.  The stage is completed from the
+     * connection event loop so dependent actions registered without using the async variants of
+     * the {@link CompletionStage} methods will run on that thread and must not block.
+     *
+     * @return a {@link CompletionStage} that completes on remote settlement.
+     */
+    CompletionStage<Tracker> settlementStage();
+
     /**
      * Waits if necessary for the remote to settle the sent delivery unless it has
      * either already been settled or the original delivery was sent settled in which
@@ -38,7 +38,24 @@ public class TransportOptions implements Cloneable {
     public static final int DEFAULT_LOCAL_PORT = 0;
     public static final boolean DEFAULT_USE_WEBSOCKETS = false;
     public static final int DEFAULT_WEBSOCKET_MAX_FRAME_SIZE = 65535;
+    public static final boolean DEFAULT_WEBSOCKET_COMPRESSION = false;
+    public static final int DEFAULT_WEBSOCKET_COMPRESSION_LEVEL = 6;
+    public static final int DEFAULT_WEBSOCKET_COMPRESSION_THRESHOLD = 256;
     public static final String[] DEFAULT_NATIVEIO_PREFERENCES = { "EPOLL", "KQUEUE" };
+    public static final int DEFAULT_WRITE_BUFFER_LOW_WATER_MARK = 0;
+    public static final int DEFAULT_WRITE_BUFFER_HIGH_WATER_MARK = 0;
+    public static final boolean DEFAULT_USE_NETTY = true;
+    public static final boolean DEFAULT_TCP_QUICK_ACK = false;
+    public static final int DEFAULT_BUSY_POLL_MICROS = 0;
+    public static final long DEFAULT_TCP_NOT_SENT_LOW_WATER_MARK = 0;
+    public static final boolean DEFAULT_ADAPTIVE_RECEIVE_BUFFER = false;
+    public static final boolean DEFAULT_POOLED_BUFFERS = true;
+    public static final boolean DEFAULT_DIRECT_BUFFERS = true;
+    public static final int DEFAULT_ALLOCATOR_ARENAS = -1;
+    public static final boolean DEFAULT_ALLOCATOR_THREAD_LOCAL_CACHE = true;
+
+    public static final int LOW_LATENCY_BUSY_POLL_MICROS = 50;
+    public static final long LOW_LATENCY_TCP_NOT_SENT_LOW_WATER_MARK = 16 * 1024;
 
     private int sendBufferSize = DEFAULT_SEND_BUFFER_SIZE;
     private int receiveBufferSize = DEFAULT_RECEIVE_BUFFER_SIZE;
@@ -57,6 +74,22 @@ public class TransportOptions implements Cloneable {
     private boolean useWebSockets = DEFAULT_USE_WEBSOCKETS;
     private String webSocketPath;
     private int webSocketMaxFrameSize = DEFAULT_WEBSOCKET_MAX_FRAME_SIZE;
+    private boolean webSocketCompression = DEFAULT_WEBSOCKET_COMPRESSION;
+    private int webSocketCompressionLevel = DEFAULT_WEBSOCKET_COMPRESSION_LEVEL;
+    private int webSocketCompressionThreshold = DEFAULT_WEBSOCKET_COMPRESSION_THRESHOLD;
+    private int writeBufferLowWaterMark = DEFAULT_WRITE_BUFFER_LOW_WATER_MARK;
+    private int writeBufferHighWaterMark = DEFAULT_WRITE_BUFFER_HIGH_WATER_MARK;
+    private String unixDomainSocketPath;
+    private boolean useNetty = DEFAULT_USE_NETTY;
+    private boolean tcpQuickAck = DEFAULT_TCP_QUICK_ACK;
+    private int busyPollMicros = DEFAULT_BUSY_POLL_MICROS;
+    private long tcpNotSentLowWaterMark = DEFAULT_TCP_NOT_SENT_LOW_WATER_MARK;
+    private boolean adaptiveReceiveBuffer = DEFAULT_ADAPTIVE_RECEIVE_BUFFER;
+    private boolean pooledBuffers = DEFAULT_POOLED_BUFFERS;
+    private boolean directBuffers = DEFAULT_DIRECT_BUFFERS;
+    private int allocatorHeapArenas = DEFAULT_ALLOCATOR_ARENAS;
+    private int allocatorDirectArenas = DEFAULT_ALLOCATOR_ARENAS;
+    private boolean allocatorThreadLocalCache = DEFAULT_ALLOCATOR_THREAD_LOCAL_CACHE;
 
     private final Map<String, String> webSocketHeaders = new HashMap<>();
 
@@ -312,6 +345,411 @@ public class TransportOptions implements Cloneable {
         return webSocketMaxFrameSize;
     }
 
+    /**
+     * @return true if the WebSocket transport offers the permessage-deflate extension to the remote.
+     */
+    public boolean webSocketCompression() {
+        return webSocketCompression;
+    }
+
+    /**
+     * Controls whether the WebSocket transport requests the permessage-deflate extension during the
+     * handshake.  Compression is only applied when the remote accepts the extension, otherwise the
+     * connection proceeds uncompressed.  Compressing trades CPU time for bandwidth which pays off on
+     * constrained links carrying larger message payloads.
+     *
+     * @param webSocketCompression
+     *      true to negotiate permessage-deflate compression with the remote.
+     *
+     * @return this options instance.
+     */
+    public TransportOptions webSocketCompression(boolean webSocketCompression) {
+        this.webSocketCompression = webSocketCompression;
+        return this;
+    }
+
+    /**
+     * @return the deflate compression level used for outgoing WebSocket frames.
+     */
+    public int webSocketCompressionLevel() {
+        return webSocketCompressionLevel;
+    }
+
+    /**
+     * Sets the deflate compression level applied to outgoing WebSocket frames when compression has
+     * been negotiated, from zero (no compression) to nine (best compression).
+     *
+     * @param compressionLevel
+     *      The deflate compression level to use.
+     *
+     * @return this options instance.
+     */
+    public TransportOptions webSocketCompressionLevel(int compressionLevel) {
+        if (compressionLevel < 0 || compressionLevel > 9) {
+            throw new IllegalArgumentException("The compression level must be in the range [0..9]");
+        }
+
+        this.webSocketCompressionLevel = compressionLevel;
+        return this;
+    }
+
+    /**
+     * @return the size in bytes below which outgoing WebSocket frames are sent uncompressed.
+     */
+    public int webSocketCompressionThreshold() {
+        return webSocketCompressionThreshold;
+    }
+
+    /**
+     * Sets the size below which outgoing WebSocket frames are sent uncompressed when compression has
+     * been negotiated.  Small AMQP performatives such as flow and disposition gain little from deflate
+     * and are cheaper to send as is.
+     *
+     * @param compressionThreshold
+     *      The minimum frame payload size in bytes that will be compressed.
+     *
+     * @return this options instance.
+     */
+    public TransportOptions webSocketCompressionThreshold(int compressionThreshold) {
+        if (compressionThreshold < 0) {
+            throw new IllegalArgumentException("The compression threshold cannot be negative");
+        }
+
+        this.webSocketCompressionThreshold = compressionThreshold;
+        return this;
+    }
+
+    /**
+     * @return the number of buffered outbound bytes at which a transport that was not writable becomes writable again.
+     */
+    public int writeBufferLowWaterMark() {
+        return writeBufferLowWaterMark;
+    }
+
+    /**
+     * @return the number of buffered outbound bytes above which the transport is no longer writable, zero if disabled.
+     */
+    public int writeBufferHighWaterMark() {
+        return writeBufferHighWaterMark;
+    }
+
+    /**
+     * Configures the outbound write buffer water marks of the transport.  Once the bytes that have
+     * been written but not yet flushed to the socket exceed the high water mark the transport reports
+     * itself as not writable and senders stop dispatching new transfers, queuing them until enough of
+     * the buffered bytes drain that the amount falls below the low water mark.  Setting both values
+     * to zero, the default, disables this form of back pressure.
+     *
+     * @param lowWaterMark
+     *      The buffered byte count at which the transport becomes writable again.
+     * @param highWaterMark
+     *      The buffered byte count above which the transport is no longer writable.
+     *
+     * @return this options instance.
+     */
+    public TransportOptions writeBufferWaterMarks(int lowWaterMark, int highWaterMark) {
+        if (lowWaterMark < 0 || highWaterMark < 0) {
+            throw new IllegalArgumentException("The write buffer water marks cannot be negative");
+        }
+
+        if (lowWaterMark > highWaterMark) {
+            throw new IllegalArgumentException("The write buffer low water mark cannot exceed the high water mark");
+        }
+
+        this.writeBufferLowWaterMark = lowWaterMark;
+        this.writeBufferHighWaterMark = highWaterMark;
+        return this;
+    }
+
+    /**
+     * @return the path of the unix domain socket the transport connects to or null if TCP is used.
+     */
+    public String unixDomainSocketPath() {
+        return unixDomainSocketPath;
+    }
+
+    /**
+     * Configures the transport to connect to a unix domain socket at the given path instead of
+     * opening a TCP connection to the host and port given when connecting, the host is then only
+     * used as the AMQP host name.  For a remote that runs on the same host this avoids the cost
+     * of the TCP stack on every frame.  Unix domain sockets require the native Epoll or KQueue
+     * IO layers so native IO must be allowed and available when this option is set.  A connection
+     * to a host of the form <code>unix:/path/to/socket</code> configures this option from the path.
+     * The path applies to every connect of the transport so a connection that uses a unix domain
+     * socket cannot be configured with reconnect hosts or parallel connect, creating one fails with
+     * an {@link IllegalArgumentException}.
+     *
+     * @param unixDomainSocketPath
+     *      The file system path of the unix domain socket or null to use TCP.
+     *
+     * @return this options instance.
+     */
+    public TransportOptions unixDomainSocketPath(String unixDomainSocketPath) {
+        this.unixDomainSocketPath = unixDomainSocketPath;
+        return this;
+    }
+
+    /**
+     * @return true if connections use the Netty based transport, false if the JDK NIO transport is used.
+     */
+    public boolean useNetty() {
+        return useNetty;
+    }
+
+    /**
+     * Determines if connections use the Netty based transport or a lightweight transport built on
+     * a plain JDK NIO selector.  The NIO transport and the IO thread that services its selector do
+     * not use Netty at all, avoiding the Netty channel, pipeline, event loop and pooled allocator of
+     * each connection which reduces startup time and memory footprint at the cost of peak throughput.
+     * It supports plain TCP connections only, creating a connection that enables SSL, WebSockets, a
+     * unix domain socket or an in-VM peer fails with an {@link IllegalArgumentException} when this
+     * option is disabled.
+     *
+     * @param useNetty
+     *      true to use the Netty transport, false to use the JDK NIO transport.
+     *
+     * @return this options instance.
+     */
+    public TransportOptions useNetty(boolean useNetty) {
+        this.useNetty = useNetty;
+        return this;
+    }
+
+    /**
+     * @return true if TCP_QUICKACK is enabled on connections that use the Epoll or IO_Uring IO layers.
+     */
+    public boolean tcpQuickAck() {
+        return tcpQuickAck;
+    }
+
+    /**
+     * Enables the Linux TCP_QUICKACK socket option when the Epoll or IO_Uring IO layer is in use,
+     * which acknowledges received segments immediately instead of delaying the acknowledgement in
+     * the hope of piggybacking it on a response.  The option is ignored by other IO layers.
+     *
+     * @param tcpQuickAck
+     *      true to send acknowledgements without delay.
+     *
+     * @return this options instance.
+     */
+    public TransportOptions tcpQuickAck(boolean tcpQuickAck) {
+        this.tcpQuickAck = tcpQuickAck;
+        return this;
+    }
+
+    /**
+     * @return the SO_BUSY_POLL time in microseconds or zero if busy polling is disabled.
+     */
+    public int busyPollMicros() {
+        return busyPollMicros;
+    }
+
+    /**
+     * Configures the Linux SO_BUSY_POLL socket option when the Epoll IO layer is in use, a blocking
+     * receive then busy polls the device queue for up to the given time before sleeping.  This trades
+     * CPU time for lower receive latency and is ignored by other IO layers.
+     *
+     * @param busyPollMicros
+     *      The time in microseconds to busy poll for incoming data or zero to disable.
+     *
+     * @return this options instance.
+     */
+    public TransportOptions busyPollMicros(int busyPollMicros) {
+        if (busyPollMicros < 0) {
+            throw new IllegalArgumentException("The busy poll time cannot be negative");
+        }
+
+        this.busyPollMicros = busyPollMicros;
+        return this;
+    }
+
+    /**
+     * @return the TCP_NOTSENT_LOWAT value in bytes or zero if the system default is used.
+     */
+    public long tcpNotSentLowWaterMark() {
+        return tcpNotSentLowWaterMark;
+    }
+
+    /**
+     * Configures the Linux TCP_NOTSENT_LOWAT socket option when the Epoll or IO_Uring IO layer is in
+     * use, which limits the unsent data queued in the kernel so that the socket is only reported as
+     * writable once the queue drains below the given size.  Keeping the queue short means data that
+     * is written is sent sooner instead of waiting behind a large kernel buffer.  The option is
+     * ignored by other IO layers.
+     *
+     * @param tcpNotSentLowWaterMark
+     *      The number of unsent bytes the kernel may queue or zero to use the system default.
+     *
+     * @return this options instance.
+     */
+    public TransportOptions tcpNotSentLowWaterMark(long tcpNotSentLowWaterMark) {
+        if (tcpNotSentLowWaterMark < 0) {
+            throw new IllegalArgumentException("The TCP not sent low water mark cannot be negative");
+        }
+
+        this.tcpNotSentLowWaterMark = tcpNotSentLowWaterMark;
+        return this;
+    }
+
+    /**
+     * @return true if the Netty transports size their read buffers adaptively.
+     */
+    public boolean adaptiveReceiveBuffer() {
+        return adaptiveReceiveBuffer;
+    }
+
+    /**
+     * Determines how the Netty transports size the buffers that socket reads are performed into.  By
+     * default every read uses a buffer of the configured receive buffer size, which suits connections
+     * that move large amounts of data.  An adaptive allocator instead grows and shrinks the buffer to
+     * track the amount of data each read returns, which reduces the memory used by connections that
+     * exchange small frames.
+     *
+     * @param adaptiveReceiveBuffer
+     *      true to size read buffers adaptively, false to use the fixed receive buffer size.
+     *
+     * @return this options instance.
+     */
+    public TransportOptions adaptiveReceiveBuffer(boolean adaptiveReceiveBuffer) {
+        this.adaptiveReceiveBuffer = adaptiveReceiveBuffer;
+        return this;
+    }
+
+    /**
+     * @return true if the Netty transports allocate their IO buffers from a pooled allocator.
+     */
+    public boolean pooledBuffers() {
+        return pooledBuffers;
+    }
+
+    /**
+     * Selects between a pooled and an unpooled buffer allocator for the Netty based transports.
+     * Pooling avoids the cost of allocating and zeroing memory for every read and write, while an
+     * unpooled allocator keeps no memory in reserve which can suit a client with many mostly idle
+     * connections.  When all allocator options are left at their defaults the transports use the
+     * default Netty allocator which is shared with any other Netty users in the JVM, otherwise each
+     * client creates and shares an allocator among the connections configured the same way.
+     *
+     * @param pooledBuffers
+     *      true to allocate IO buffers from a pooled allocator.
+     *
+     * @return this options instance.
+     */
+    public TransportOptions pooledBuffers(boolean pooledBuffers) {
+        this.pooledBuffers = pooledBuffers;
+        return this;
+    }
+
+    /**
+     * @return true if the Netty transports prefer direct memory for their IO buffers.
+     */
+    public boolean directBuffers() {
+        return directBuffers;
+    }
+
+    /**
+     * Selects whether the Netty based transports prefer direct buffers which can be handed to the
+     * socket without a copy, or heap buffers which are cheaper to allocate and are reclaimed by the
+     * garbage collector.  The selection applies to outgoing frames on every socket layer and to
+     * socket reads on the JDK NIO socket layer, the native epoll, kqueue and io_uring layers read
+     * into native memory and so always read into direct buffers.
+     *
+     * @param directBuffers
+     *      true to prefer direct buffers for transport IO.
+     *
+     * @return this options instance.
+     */
+    public TransportOptions directBuffers(boolean directBuffers) {
+        this.directBuffers = directBuffers;
+        return this;
+    }
+
+    /**
+     * @return the number of heap arenas of a pooled allocator or a negative value for the Netty default.
+     */
+    public int allocatorHeapArenas() {
+        return allocatorHeapArenas;
+    }
+
+    /**
+     * Sets the number of heap memory arenas of the pooled allocator, threads are spread over the
+     * arenas so more arenas reduce contention at the cost of more memory held in reserve.
+     *
+     * @param heapArenas
+     *      The number of heap arenas or a negative value to use the Netty default.
+     *
+     * @return this options instance.
+     */
+    public TransportOptions allocatorHeapArenas(int heapArenas) {
+        this.allocatorHeapArenas = heapArenas;
+        return this;
+    }
+
+    /**
+     * @return the number of direct arenas of a pooled allocator or a negative value for the Netty default.
+     */
+    public int allocatorDirectArenas() {
+        return allocatorDirectArenas;
+    }
+
+    /**
+     * Sets the number of direct memory arenas of the pooled allocator.  Each connection has its own
+     * IO thread so a client with a few busy connections needs few arenas while one with many
+     * connections benefits from more.
+     *
+     * @param directArenas
+     *      The number of direct arenas or a negative value to use the Netty default.
+     *
+     * @return this options instance.
+     */
+    public TransportOptions allocatorDirectArenas(int directArenas) {
+        this.allocatorDirectArenas = directArenas;
+        return this;
+    }
+
+    /**
+     * @return true if the pooled allocator keeps a buffer cache for each IO thread.
+     */
+    public boolean allocatorThreadLocalCache() {
+        return allocatorThreadLocalCache;
+    }
+
+    /**
+     * Controls whether the pooled allocator keeps a cache of recently released buffers for each IO
+     * thread, which makes allocation cheaper but holds more memory per connection.
+     *
+     * @param threadLocalCache
+     *      true to enable the per thread buffer caches of the pooled allocator.
+     *
+     * @return this options instance.
+     */
+    public TransportOptions allocatorThreadLocalCache(boolean threadLocalCache) {
+        this.allocatorThreadLocalCache = threadLocalCache;
+        return this;
+    }
+
+    /**
+     * Applies a profile of options that favours low round trip latency over CPU use and throughput
+     * for connections on Linux using the Epoll or IO_Uring IO layers.  The profile enables native IO
+     * and TCP_NODELAY so frames are sent without coalescing, enables TCP_QUICKACK so acknowledgements
+     * are not delayed, busy polls the socket for {@value #LOW_LATENCY_BUSY_POLL_MICROS} microseconds
+     * on receive and limits the unsent data queued in the kernel to
+     * {@value #LOW_LATENCY_TCP_NOT_SENT_LOW_WATER_MARK} bytes.  Read buffers keep the fixed
+     * receive buffer size so that a read never needs to grow its buffer.  Options that the selected
+     * IO layer does not support are ignored, the profile has no effect beyond TCP_NODELAY elsewhere.
+     *
+     * @return this options instance.
+     */
+    public TransportOptions lowLatencyProfile() {
+        this.allowNativeIO = true;
+        this.tcpNoDelay = true;
+        this.tcpQuickAck = true;
+        this.busyPollMicros = LOW_LATENCY_BUSY_POLL_MICROS;
+        this.tcpNotSentLowWaterMark = LOW_LATENCY_TCP_NOT_SENT_LOW_WATER_MARK;
+        this.adaptiveReceiveBuffer = false;
+        return this;
+    }
+
     /**
      * Copy all configuration into the given {@link TransportOptions} from this instance.
      *
@@ -339,6 +777,21 @@ public class TransportOptions implements Cloneable {
         other.webSocketPath(webSocketPath());
         other.webSocketHeaders().putAll(webSocketHeaders);
         other.webSocketMaxFrameSize(webSocketMaxFrameSize());
+        other.webSocketCompression(webSocketCompression());
+        other.webSocketCompressionLevel(webSocketCompressionLevel());
+        other.webSocketCompressionThreshold(webSocketCompressionThreshold());
+        other.writeBufferWaterMarks(writeBufferLowWaterMark(), writeBufferHighWaterMark());
+        other.unixDomainSocketPath(unixDomainSocketPath());
+        other.useNetty(useNetty());
+        other.tcpQuickAck(tcpQuickAck());
+        other.busyPollMicros(busyPollMicros());
+        other.tcpNotSentLowWaterMark(tcpNotSentLowWaterMark());
+        other.adaptiveReceiveBuffer(adaptiveReceiveBuffer());
+        other.pooledBuffers(pooledBuffers());
+        other.directBuffers(directBuffers());
+        other.allocatorHeapArenas(allocatorHeapArenas());
+        other.allocatorDirectArenas(allocatorDirectArenas());
+        other.allocatorThreadLocalCache(allocatorThreadLocalCache());
 
         return other;
     }
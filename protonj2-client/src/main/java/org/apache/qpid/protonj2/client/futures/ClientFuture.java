@@ -59,11 +59,7 @@ public abstract class ClientFuture<V> implements Future<V>, AsyncResult<V> {
         if (STATE_FIELD_UPDATER.compareAndSet(this, INCOMPLETE, COMPLETING)) {
             STATE_FIELD_UPDATER.lazySet(this, CANCELLED);
 
-            synchronized(this) {
-                if (waiting > 0) {
-                    notifyAll();
-                }
-            }
+            signalWaiters();
 
             return true;
         } else {
@@ -120,10 +116,12 @@ public abstract class ClientFuture<V> implements Future<V>, AsyncResult<V> {
 
             STATE_FIELD_UPDATER.lazySet(this, FAILURE);
 
-            synchronized(this) {
-                if (waiting > 0) {
-                    notifyAll();
-                }
+            signalWaiters();
+
+            if (synchronization != null) {
+                try {
+                    synchronization.onFailure(error);
+                } catch(Exception ignored) {}
             }
         }
     }
@@ -141,10 +139,24 @@ public abstract class ClientFuture<V> implements Future<V>, AsyncResult<V> {
 
             STATE_FIELD_UPDATER.lazySet(this, SUCCESS);
 
-            synchronized(this) {
-                if (waiting > 0) {
-                    notifyAll();
-                }
+            signalWaiters();
+
+            if (synchronization != null) {
+                try {
+                    synchronization.onSuccess(result);
+                } catch(Exception ignored) {}
+            }
+        }
+    }
+
+    /**
+     * Wakes any threads blocked waiting for this future once it has reached a final state,
+     * by default threads waiting on the future monitor are notified.
+     */
+    protected void signalWaiters() {
+        synchronized(this) {
+            if (waiting > 0) {
+                notifyAll();
             }
         }
     }
@@ -16,6 +16,7 @@
  */
 package org.apache.qpid.protonj2.client.futures;
 
+import java.util.Objects;
 import java.util.concurrent.Future;
 
 import org.apache.qpid.protonj2.client.exceptions.ClientException;
@@ -33,6 +34,7 @@ public abstract class ClientFutureFactory {
     public static final String CONSERVATIVE = "conservative";
     public static final String BALANCED = "balanced";
     public static final String PROGRESSIVE = "progressive";
+    public static final String PARKING = "parking";
 
     /**
      * Create a new ClientFutureFactory instance based on the given type name.
@@ -60,12 +62,26 @@ public abstract class ClientFutureFactory {
                 return new BalancedProviderFutureFactory();
             case PROGRESSIVE:
                 return new ProgressiveProviderFutureFactory();
+            case PARKING:
+                return new ParkingProviderFutureFactory();
             default:
                 throw new IllegalArgumentException(
                     "No ClientFuture implementation with name " + futureType + " found");
         }
     }
 
+    /**
+     * Create a new ClientFutureFactory instance whose futures idle using the given {@link WaitStrategy}.
+     *
+     * @param waitStrategy
+     * 		the {@link WaitStrategy} that the created futures use while waiting for completion.
+     *
+     * @return a new {@link ClientFutureFactory} that will be used to create the desired future types.
+     */
+    public static ClientFutureFactory fromWaitStrategy(final WaitStrategy waitStrategy) {
+        return new WaitStrategyProviderFutureFactory(waitStrategy);
+    }
+
     public static <T> Future<T> completedFuture(T result) {
         BalancedClientFuture<T> future = new BalancedClientFuture<>();
         future.complete(result);
@@ -209,4 +225,68 @@ public abstract class ClientFutureFactory {
             };
         }
     }
+
+    private static class WaitStrategyProviderFutureFactory extends ClientFutureFactory {
+
+        private final WaitStrategy waitStrategy;
+
+        public WaitStrategyProviderFutureFactory(WaitStrategy waitStrategy) {
+            this.waitStrategy = Objects.requireNonNull(waitStrategy, "The wait strategy cannot be null");
+        }
+
+        @Override
+        public <V> ClientFuture<V> createFuture() {
+            return new WaitStrategyClientFuture<>(waitStrategy);
+        }
+
+        @Override
+        public <V> ClientFuture<V> createFuture(ClientSynchronization<V> synchronization) {
+            return new WaitStrategyClientFuture<>(waitStrategy, synchronization);
+        }
+
+        @Override
+        public <V> ClientFuture<V> createUnfailableFuture() {
+            return createUnfailableFuture(null);
+        }
+
+        @Override
+        public <V> ClientFuture<V> createUnfailableFuture(ClientSynchronization<V> synchronization) {
+            return new WaitStrategyClientFuture<>(waitStrategy, synchronization) {
+
+                @Override
+                public void failed(ClientException t) {
+                    this.complete(null);
+                }
+            };
+        }
+    }
+
+    private static class ParkingProviderFutureFactory extends ClientFutureFactory {
+
+        @Override
+        public <V> ClientFuture<V> createFuture() {
+            return new ParkingClientFuture<>();
+        }
+
+        @Override
+        public <V> ClientFuture<V> createFuture(ClientSynchronization<V> synchronization) {
+            return new ParkingClientFuture<>(synchronization);
+        }
+
+        @Override
+        public <V> ClientFuture<V> createUnfailableFuture() {
+            return createUnfailableFuture(null);
+        }
+
+        @Override
+        public <V> ClientFuture<V> createUnfailableFuture(ClientSynchronization<V> synchronization) {
+            return new ParkingClientFuture<>(synchronization) {
+
+                @Override
+                public void failed(ClientException t) {
+                    this.complete(null);
+                }
+            };
+        }
+    }
 }
@@ -25,8 +25,40 @@ package org.apache.qpid.protonj2.client.futures;
  */
 public interface ClientSynchronization<V> {
 
-    void onPendingSuccess(V result);
+    /**
+     * Called when the future succeeds but before its result is visible to callers, the
+     * state of the future must not be checked from this callback.
+     *
+     * @param result
+     *      The result that the future is being completed with.
+     */
+    default void onPendingSuccess(V result) {}
 
-    void onPendingFailure(Throwable cause);
+    /**
+     * Called when the future fails but before its failure is visible to callers, the
+     * state of the future must not be checked from this callback.
+     *
+     * @param cause
+     *      The error that the future is being failed with.
+     */
+    default void onPendingFailure(Throwable cause) {}
+
+    /**
+     * Called once the future has succeeded and waiters have been signalled, code run from
+     * this callback observes the future as done.
+     *
+     * @param result
+     *      The result that the future was completed with.
+     */
+    default void onSuccess(V result) {}
+
+    /**
+     * Called once the future has failed and waiters have been signalled, code run from
+     * this callback observes the future as done.
+     *
+     * @param cause
+     *      The error that the future was failed with.
+     */
+    default void onFailure(Throwable cause) {}
 
 }
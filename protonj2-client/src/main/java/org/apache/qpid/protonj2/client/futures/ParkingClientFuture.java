@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client.futures;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A ClientFuture that blocks waiting threads using {@link LockSupport} park and unpark
+ * instead of the future monitor.  Threads blocked in this future never hold a monitor and
+ * so a virtual thread that waits on it releases its carrier thread.
+ *
+ * @param <V> The type that result from completion of this Future
+ */
+public class ParkingClientFuture<V> extends ClientFuture<V> {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<ParkingClientFuture, Waiter> WAITERS_UPDATER =
+        AtomicReferenceFieldUpdater.newUpdater(ParkingClientFuture.class, Waiter.class, "waiters");
+
+    // Marks the waiters stack as released once the future reaches its final state, threads
+    // that arrive after that must not park as no one will wake them.
+    private static final Waiter RELEASED = new Waiter(null, null);
+
+    private volatile Waiter waiters;
+
+    public ParkingClientFuture() {
+        this(null);
+    }
+
+    public ParkingClientFuture(ClientSynchronization<V> synchronization) {
+        super(synchronization);
+    }
+
+    @Override
+    public V get(long amount, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+        if (isNotComplete() && amount > 0) {
+            final long deadline = System.nanoTime() + unit.toNanos(amount);
+
+            final Waiter waiter = enqueueWaiter();
+
+            if (waiter != null) {
+                while (isNotComplete()) {
+                    final long remaining = deadline - System.nanoTime();
+
+                    if (remaining <= 0) {
+                        removeWaiter(waiter);
+                        throw new TimeoutException("Timed out waiting for completion");
+                    } else if (Thread.interrupted()) {
+                        removeWaiter(waiter);
+                        throw new InterruptedException();
+                    }
+
+                    LockSupport.parkNanos(this, remaining);
+                }
+            }
+        }
+
+        if (error != null) {
+            throw error;
+        } else {
+            return getResult();
+        }
+    }
+
+    @Override
+    public V get() throws InterruptedException, ExecutionException {
+        if (isNotComplete()) {
+            final Waiter waiter = enqueueWaiter();
+
+            if (waiter != null) {
+                while (isNotComplete()) {
+                    if (Thread.interrupted()) {
+                        removeWaiter(waiter);
+                        throw new InterruptedException();
+                    }
+
+                    LockSupport.park(this);
+                }
+            }
+        }
+
+        if (error != null) {
+            throw error;
+        } else {
+            return getResult();
+        }
+    }
+
+    @Override
+    protected void signalWaiters() {
+        @SuppressWarnings("unchecked")
+        Waiter waiter = WAITERS_UPDATER.getAndSet(this, RELEASED);
+
+        while (waiter != null && waiter != RELEASED) {
+            final Thread thread = waiter.thread;
+            if (thread != null) {
+                LockSupport.unpark(thread);
+            }
+            waiter = waiter.next;
+        }
+    }
+
+    /**
+     * @return the number of threads currently parked waiting on this future.
+     */
+    int waiterCount() {
+        int count = 0;
+        for (Waiter waiter = waiters; waiter != null && waiter != RELEASED; waiter = waiter.next) {
+            if (waiter.thread != null) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Waiter enqueueWaiter() {
+        final Waiter waiter = new Waiter(Thread.currentThread(), null);
+
+        Waiter head;
+        do {
+            head = waiters;
+            if (head == RELEASED) {
+                return null;
+            }
+            waiter.next = head;
+        } while (!WAITERS_UPDATER.compareAndSet(this, head, waiter));
+
+        return waiter;
+    }
+
+    /*
+     * Marks the waiter of a thread that gave up as dead and unlinks every dead waiter from the
+     * stack so that repeated timed out or interrupted waits do not grow it without bound.  A
+     * concurrent unlink can leave a dead waiter linked, any later traversal removes it.
+     */
+    @SuppressWarnings("unchecked")
+    private void removeWaiter(Waiter waiter) {
+        waiter.thread = null;
+
+        retry:
+        while (true) {
+            Waiter previous = null;
+            Waiter current = waiters;
+
+            while (current != null && current != RELEASED) {
+                final Waiter next = current.next;
+
+                if (current.thread != null) {
+                    previous = current;
+                } else if (previous != null) {
+                    previous.next = next;
+                    if (previous.thread == null) {
+                        continue retry;
+                    }
+                } else if (!WAITERS_UPDATER.compareAndSet(this, current, next)) {
+                    continue retry;
+                }
+
+                current = next;
+            }
+
+            break;
+        }
+    }
+
+    private static final class Waiter {
+
+        private volatile Thread thread;
+        private volatile Waiter next;
+
+        Waiter(Thread thread, Waiter next) {
+            this.thread = thread;
+            this.next = next;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client.futures;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Strategy used by a {@link ClientFuture} to idle the calling thread while it waits for
+ * an asynchronous operation to complete.  Each time the waiting thread finds the future
+ * still incomplete it calls {@link #idle(int, long)} which either idles in some manner and
+ * returns <code>true</code> so the future is checked again, or returns <code>false</code>
+ * to indicate that the thread should block until the future signals its completion.
+ * <p>
+ * Strategies that never block trade CPU time for lower wake up latency and are best suited
+ * to applications that dedicate a core to each thread that waits on client operations.
+ */
+@FunctionalInterface
+public interface WaitStrategy {
+
+    /**
+     * Idle the calling thread once, or indicate that it should now block until the future
+     * completes.  The idle count is reset at the start of every wait operation.
+     *
+     * @param idleCount
+     *      The number of times this method has already been called in the current wait.
+     * @param maxParkNanos
+     *      The longest time in nanoseconds the strategy should park the thread for.
+     *
+     * @return true if the future should be checked again or false to block until signalled.
+     */
+    boolean idle(int idleCount, long maxParkNanos);
+
+    /**
+     * @return a {@link WaitStrategy} that spins on the calling thread until the future completes.
+     */
+    static WaitStrategy busySpin() {
+        return (idleCount, maxParkNanos) -> true;
+    }
+
+    /**
+     * @return a {@link WaitStrategy} that spins briefly and then yields the calling thread until the future completes.
+     */
+    static WaitStrategy spinThenYield() {
+        return (idleCount, maxParkNanos) -> {
+            if (idleCount >= 100) {
+                Thread.yield();
+            }
+            return true;
+        };
+    }
+
+    /**
+     * Creates a {@link WaitStrategy} that parks the calling thread for the given time between
+     * each check of the future, this avoids both spinning and the cost of signalling a blocked
+     * thread at the expense of adding up to the park time to the latency of each wait.
+     *
+     * @param parkNanos
+     *      The time in nanoseconds that the calling thread is parked for between checks.
+     *
+     * @return a {@link WaitStrategy} that parks the calling thread until the future completes.
+     */
+    static WaitStrategy timedPark(long parkNanos) {
+        if (parkNanos <= 0) {
+            throw new IllegalArgumentException("Park time must be greater than zero: " + parkNanos);
+        }
+
+        return (idleCount, maxParkNanos) -> {
+            LockSupport.parkNanos(Math.min(parkNanos, maxParkNanos));
+            return true;
+        };
+    }
+
+    /**
+     * @return a {@link WaitStrategy} that blocks the calling thread until the future signals completion.
+     */
+    static WaitStrategy blocking() {
+        return (idleCount, maxParkNanos) -> false;
+    }
+
+    /**
+     * @return a {@link WaitStrategy} that spins, yields and then parks for progressively longer before blocking.
+     */
+    static WaitStrategy progressive() {
+        return (idleCount, maxParkNanos) -> {
+            if (idleCount < 10) {
+                return true;
+            } else if (idleCount < 100) {
+                Thread.yield();
+                return true;
+            } else if (idleCount < 1000) {
+                LockSupport.parkNanos(Math.min(maxParkNanos, 1));
+                return true;
+            } else if (idleCount < 101_000) {
+                LockSupport.parkNanos(Math.min(maxParkNanos, 10_000));
+                return true;
+            } else {
+                return false;
+            }
+        };
+    }
+}
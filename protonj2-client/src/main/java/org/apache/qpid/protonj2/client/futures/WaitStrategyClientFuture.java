@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client.futures;
+
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A ClientFuture that delegates the manner in which the waiting thread idles to a
+ * configured {@link WaitStrategy}.
+ *
+ * @param <V> The type that result from completion of this Future
+ */
+public class WaitStrategyClientFuture<V> extends ClientFuture<V> {
+
+    private final WaitStrategy strategy;
+
+    public WaitStrategyClientFuture(WaitStrategy strategy) {
+        this(strategy, null);
+    }
+
+    public WaitStrategyClientFuture(WaitStrategy strategy, ClientSynchronization<V> synchronization) {
+        super(synchronization);
+
+        this.strategy = Objects.requireNonNull(strategy, "The wait strategy cannot be null");
+    }
+
+    @Override
+    public V get(long amount, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+        if (isNotComplete() && amount > 0) {
+            final long timeout = unit.toNanos(amount);
+            long maxParkNanos = timeout / 8;
+            maxParkNanos = maxParkNanos > 0 ? maxParkNanos : timeout;
+            final long startTime = System.nanoTime();
+            int idleCount = 0;
+
+            while (isNotComplete()) {
+                final long elapsed = System.nanoTime() - startTime;
+                final long diff = elapsed - timeout;
+
+                if (diff >= 0) {
+                    throw new TimeoutException("Timed out waiting for completion");
+                } else if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                } else if (strategy.idle(idleCount, maxParkNanos)) {
+                    idleCount = idleCount < Integer.MAX_VALUE ? idleCount + 1 : idleCount;
+                } else {
+                    synchronized (this) {
+                        if (isComplete()) {
+                            break;
+                        } else if (getState() < COMPLETING) {
+                            waiting++;
+                            try {
+                                wait(-diff / 1000000, (int) (-diff % 1000000));
+                            } catch (InterruptedException e) {
+                                Thread.interrupted();
+                                throw e;
+                            } finally {
+                                waiting--;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        if (error != null) {
+            throw error;
+        } else {
+            return getResult();
+        }
+    }
+
+    @Override
+    public V get() throws InterruptedException, ExecutionException {
+        if (isNotComplete()) {
+            int idleCount = 0;
+
+            while (isNotComplete()) {
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                } else if (strategy.idle(idleCount, Long.MAX_VALUE)) {
+                    idleCount = idleCount < Integer.MAX_VALUE ? idleCount + 1 : idleCount;
+                } else {
+                    synchronized (this) {
+                        if (isComplete()) {
+                            break;
+                        } else if (getState() < COMPLETING) {
+                            waiting++;
+                            try {
+                                wait();
+                            } catch (InterruptedException e) {
+                                Thread.interrupted();
+                                throw e;
+                            } finally {
+                                waiting--;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        if (error != null) {
+            throw error;
+        } else {
+            return getResult();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client.impl;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sizes a receiver credit window from the measured rate at which deliveries are consumed and
+ * the round trip time between granting credit and the arrival of the first delivery sent with
+ * it.  The window is kept at twice the deliveries consumed within one round trip, the bandwidth
+ * delay product, which leaves room for the window to grow while the link is credit limited and
+ * settles once the consumer becomes the bottleneck.  All access must occur on the connection
+ * event loop, times are given in nanoseconds from {@link System#nanoTime()}.
+ */
+final class ClientAdaptiveCreditWindow {
+
+    static final long MIN_SAMPLE_INTERVAL = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private static final long NO_SAMPLE = -1;
+
+    private final int minWindow;
+    private final int maxWindow;
+
+    private int window;
+
+    private long receivedCount;
+    private long rttSampleStart = NO_SAMPLE;
+    private long rttSampleDelivery;
+    private long roundTripTime;
+
+    private long rateSampleStart = NO_SAMPLE;
+    private long rateSampleConsumed;
+    private double consumeRate;
+
+    ClientAdaptiveCreditWindow(int initialWindow, int minWindow, int maxWindow) {
+        this.minWindow = minWindow;
+        this.maxWindow = maxWindow;
+        this.window = clamp(initialWindow);
+    }
+
+    /**
+     * @return the current credit window size.
+     */
+    int window() {
+        return window;
+    }
+
+    /**
+     * @return the smoothed round trip time in nanoseconds or zero if not yet measured.
+     */
+    long roundTripTime() {
+        return roundTripTime;
+    }
+
+    /**
+     * Records that credit was granted so that the arrival of the first delivery that uses it can
+     * be timed, deliveries already covered by the outstanding credit arrive before that one.
+     *
+     * @param now
+     *      The time at which the credit was granted.
+     * @param outstandingCredit
+     *      The credit the remote already held before this grant.
+     */
+    void creditGranted(long now, int outstandingCredit) {
+        if (rttSampleStart == NO_SAMPLE) {
+            rttSampleStart = now;
+            rttSampleDelivery = receivedCount + outstandingCredit + 1;
+        }
+    }
+
+    /**
+     * Records the arrival of a delivery and completes any round trip sample that it ends.
+     *
+     * @param now
+     *      The time at which the delivery arrived.
+     */
+    void deliveryReceived(long now) {
+        receivedCount++;
+
+        if (rttSampleStart != NO_SAMPLE && receivedCount >= rttSampleDelivery) {
+            final long sample = Math.max(1, now - rttSampleStart);
+
+            roundTripTime = roundTripTime == 0 ? sample : (roundTripTime * 7 + sample) / 8;
+            rttSampleStart = NO_SAMPLE;
+        }
+    }
+
+    /**
+     * Updates the consumption rate and resizes the window once at least a round trip has elapsed
+     * since the previous update.
+     *
+     * @param now
+     *      The current time.
+     * @param consumedCount
+     *      The total number of deliveries the application has consumed from the receiver.
+     *
+     * @return the current credit window size.
+     */
+    int update(long now, long consumedCount) {
+        if (rateSampleStart == NO_SAMPLE) {
+            rateSampleStart = now;
+            rateSampleConsumed = consumedCount;
+        } else {
+            final long elapsed = now - rateSampleStart;
+
+            if (roundTripTime > 0 && elapsed >= Math.max(roundTripTime, MIN_SAMPLE_INTERVAL)) {
+                final double rate = (double) (consumedCount - rateSampleConsumed) / elapsed;
+
+                consumeRate = consumeRate == 0 ? rate : (consumeRate + rate) / 2;
+                rateSampleStart = now;
+                rateSampleConsumed = consumedCount;
+
+                window = clamp(Math.round(2 * consumeRate * roundTripTime));
+            }
+        }
+
+        return window;
+    }
+
+    private int clamp(long value) {
+        return (int) Math.max(minWindow, Math.min(maxWindow, value));
+    }
+}
@@ -21,6 +21,8 @@ import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.security.Principal;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
@@ -29,6 +31,7 @@ import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
@@ -37,6 +40,7 @@ import java.util.function.BiConsumer;
 
 import org.apache.qpid.protonj2.buffer.ProtonBuffer;
 import org.apache.qpid.protonj2.client.Client;
+import org.apache.qpid.protonj2.client.ClientOptions;
 import org.apache.qpid.protonj2.client.Connection;
 import org.apache.qpid.protonj2.client.ConnectionEvent;
 import org.apache.qpid.protonj2.client.ConnectionOptions;
@@ -68,6 +72,7 @@ import org.apache.qpid.protonj2.client.transport.NettyIOContext;
 import org.apache.qpid.protonj2.client.transport.Transport;
 import org.apache.qpid.protonj2.client.util.ReconnectionURIPool;
 import org.apache.qpid.protonj2.client.util.TrackableThreadFactory;
+import org.apache.qpid.protonj2.client.util.VirtualThreadSupport;
 import org.apache.qpid.protonj2.engine.Engine;
 import org.apache.qpid.protonj2.engine.EngineFactory;
 import org.apache.qpid.protonj2.engine.sasl.client.SaslAuthenticator;
@@ -85,6 +90,8 @@ public class ClientConnection implements Connection {
 
     private static final int UNLIMITED = -1;
     private static final int UNDEFINED = -1;
+    private static final String UNIX_SCHEME_PREFIX = "unix:";
+    private static final String IN_VM_SCHEME_PREFIX = "vm:";
 
     // Future tracking of Closing. Closed. Failed state vs just simple boolean is intended here
     // later on we may decide this is overly optimized.
@@ -97,9 +104,12 @@ public class ClientConnection implements Connection {
     private final ConnectionOptions options;
     private final ClientConnectionCapabilities capabilities = new ClientConnectionCapabilities();
     private final ClientFutureFactory futureFactory;
+    private final ClientPrefetchBudget prefetchBudget;
+    private final ClientReadThrottle readThrottle;
     private final ClientSessionBuilder sessionBuilder;
     private final ReconnectionURIPool reconnectPool = new ReconnectionURIPool();
     private final NettyIOContext ioContext;
+    private final String inVMPeerName;
     private final String connectionId;
     private final ScheduledExecutorService executor;
     private final Map<ClientFuture<?>, Object> requests = new ConcurrentHashMap<>();
@@ -111,6 +121,7 @@ public class ClientConnection implements Connection {
     private ClientSender connectionSender;
     private Transport transport;
     private boolean autoFlush = true;
+    private boolean transportWritable = true;
     private ClientFuture<Connection> openFuture;
     private ClientFuture<Connection> closeFuture;
     private volatile int closed;
@@ -133,22 +144,58 @@ public class ClientConnection implements Connection {
      *      the connection options that configure this {@link Connection} instance.
      */
     ClientConnection(ClientInstance client, String host, int port, ConnectionOptions options) {
+        if (host != null && host.regionMatches(true, 0, UNIX_SCHEME_PREFIX, 0, UNIX_SCHEME_PREFIX.length())) {
+            // The socket path replaces the host and port, the options may be shared so copy them first
+            options = new ConnectionOptions(options);
+            options.transportOptions().unixDomainSocketPath(host.substring(UNIX_SCHEME_PREFIX.length()));
+            host = "localhost";
+        }
+
+        if (options.transportOptions().unixDomainSocketPath() != null) {
+            // The socket path is a transport wide setting that would replace every reconnect host
+            if (!options.reconnectOptions().reconnectHosts().isEmpty()) {
+                throw new IllegalArgumentException("Reconnect hosts cannot be used with a unix domain socket connection");
+            } else if (options.reconnectOptions().parallelConnect()) {
+                throw new IllegalArgumentException("Parallel connect cannot be used with a unix domain socket connection");
+            }
+        }
+
+        if (host != null && host.regionMatches(true, 0, IN_VM_SCHEME_PREFIX, 0, IN_VM_SCHEME_PREFIX.length())) {
+            // The peer name is not a valid host so it is carried separately from the reconnect pool
+            if (!options.transportOptions().useNetty()) {
+                throw new IllegalArgumentException("In-VM connections cannot be used with the JDK NIO transport");
+            }
+
+            this.inVMPeerName = host.substring(IN_VM_SCHEME_PREFIX.length());
+            host = "localhost";
+        } else {
+            this.inVMPeerName = null;
+        }
+
         this.client = client;
         this.options = options;
         this.connectionId = client.nextConnectionId();
-        this.futureFactory = ClientFutureFactory.create(client.options().futureType());
+        this.futureFactory = createFutureFactory(client.options(), options);
+        this.prefetchBudget = new ClientPrefetchBudget(options.maxPrefetchBytes());
+        this.readThrottle = new ClientReadThrottle(this, options.maxUnconsumedBytes());
         this.openFuture = futureFactory.createFuture();
         this.closeFuture = futureFactory.createFuture();
         this.sessionBuilder = new ClientSessionBuilder(this);
         this.ioContext = new NettyIOContext(options.transportOptions(),
                                             options.sslOptions(),
+                                            client.sslContextCache(),
+                                            client.bufferAllocatorCache(),
                                             "ClientConnection :(" + connectionId + "): I/O Thread");
-        this.executor = ioContext.eventLoop();
+        if (client.timer() != null) {
+            this.executor = client.timer().scheduler(ioContext.eventLoop());
+        } else {
+            this.executor = ioContext.eventLoop();
+        }
 
         // This executor can be used for dispatching asynchronous tasks that might block or result
         // in reentrant calls to this Connection that could block.
         notifications = new ThreadPoolExecutor(1, 1, 1, TimeUnit.MINUTES, new LinkedBlockingQueue<Runnable>(),
-            new TrackableThreadFactory("protonj2 Client Connection Executor: " + getId(), true));
+            createNotificationThreadFactory(client.options(), "protonj2 Client Connection Executor: " + getId()));
         notifications.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardOldestPolicy());
 
         try {
@@ -247,7 +294,7 @@ public class ClientConnection implements Connection {
         checkClosedOrFailed();
         final ClientFuture<Session> defaultSession = getFutureFactory().createFuture();
 
-        executor.execute(() -> {
+        execute(() -> {
             try {
                 checkClosedOrFailed();
                 defaultSession.complete(lazyCreateConnectionSession());
@@ -269,7 +316,7 @@ public class ClientConnection implements Connection {
         checkClosedOrFailed();
         final ClientFuture<Session> createSession = getFutureFactory().createFuture();
 
-        executor.execute(() -> {
+        execute(() -> {
             try {
                 checkClosedOrFailed();
                 createSession.complete(sessionBuilder.session(sessionOptions).open());
@@ -292,7 +339,7 @@ public class ClientConnection implements Connection {
         Objects.requireNonNull(address, "Cannot create a receiver with a null address");
         final ClientFuture<Receiver> createReceiver = getFutureFactory().createFuture();
 
-        executor.execute(() -> {
+        execute(() -> {
             try {
                 checkClosedOrFailed();
                 createReceiver.complete(lazyCreateConnectionSession().internalOpenReceiver(address, receiverOptions));
@@ -315,7 +362,7 @@ public class ClientConnection implements Connection {
         Objects.requireNonNull(address, "Cannot create a receiver with a null address");
         final ClientFuture<Receiver> createReceiver = getFutureFactory().createFuture();
 
-        executor.execute(() -> {
+        execute(() -> {
             try {
                 checkClosedOrFailed();
                 createReceiver.complete(lazyCreateConnectionSession().internalOpenDurableReceiver(address, subscriptionName, receiverOptions));
@@ -347,7 +394,7 @@ public class ClientConnection implements Connection {
         checkClosedOrFailed();
         final ClientFuture<Receiver> createReceiver = getFutureFactory().createFuture();
 
-        executor.execute(() -> {
+        execute(() -> {
             try {
                 checkClosedOrFailed();
                 createReceiver.complete(lazyCreateConnectionSession().internalOpenDynamicReceiver(dynamicNodeProperties, receiverOptions));
@@ -369,7 +416,7 @@ public class ClientConnection implements Connection {
         checkClosedOrFailed();
         final ClientFuture<StreamReceiver> createRequest = getFutureFactory().createFuture();
 
-        executor.execute(() -> {
+        execute(() -> {
             try {
                 int sessionCapacity = StreamReceiverOptions.DEFAULT_READ_BUFFER_SIZE;
                 if (receiverOptions != null) {
@@ -396,7 +443,7 @@ public class ClientConnection implements Connection {
         checkClosedOrFailed();
         final ClientFuture<Sender> defaultSender = getFutureFactory().createFuture();
 
-        executor.execute(() -> {
+        execute(() -> {
             try {
                 checkClosedOrFailed();
                 defaultSender.complete(lazyCreateConnectionSender());
@@ -419,7 +466,7 @@ public class ClientConnection implements Connection {
         Objects.requireNonNull(address, "Cannot create a sender with a null address");
         final ClientFuture<Sender> createSender = getFutureFactory().createFuture();
 
-        executor.execute(() -> {
+        execute(() -> {
             try {
                 checkClosedOrFailed();
                 createSender.complete(lazyCreateConnectionSession().internalOpenSender(address, senderOptions));
@@ -441,7 +488,7 @@ public class ClientConnection implements Connection {
         checkClosedOrFailed();
         final ClientFuture<Sender> createRequest = getFutureFactory().createFuture();
 
-        executor.execute(() -> {
+        execute(() -> {
             try {
                 checkClosedOrFailed();
                 createRequest.complete(lazyCreateConnectionSession().internalOpenAnonymousSender(senderOptions));
@@ -464,7 +511,7 @@ public class ClientConnection implements Connection {
         Objects.requireNonNull(address, "Cannot create a sender with a null address");
         final ClientFuture<StreamSender> createRequest = getFutureFactory().createFuture();
 
-        executor.execute(() -> {
+        execute(() -> {
             try {
                 int sessionCapacity = StreamSenderOptions.DEFAULT_PENDING_WRITES_BUFFER_SIZE;
                 if (senderOptions != null) {
@@ -492,7 +539,7 @@ public class ClientConnection implements Connection {
         Objects.requireNonNull(message, "Cannot send a null message");
         final ClientFuture<Sender> result = getFutureFactory().createFuture();
 
-        executor.execute(() -> {
+        execute(() -> {
             try {
                 checkClosedOrFailed();
                 result.complete(lazyCreateConnectionSender());
@@ -537,6 +584,31 @@ public class ClientConnection implements Connection {
         return engine;
     }
 
+    /*
+     * Only changes when write buffer water marks are configured, must be read on the event loop.
+     */
+    boolean isTransportWritable() {
+        return transportWritable;
+    }
+
+    void handleTransportWritabilityChanged(boolean writable) {
+        transportWritable = writable;
+
+        if (writable) {
+            LOG.trace("Transport is writable again, resuming held sends");
+            protonConnection.sessions().forEach(session -> {
+                session.senders().forEach(sender -> {
+                    final ClientSender clientSender = sender.getLinkedResource();
+                    if (clientSender != null) {
+                        clientSender.handleTransportWritable();
+                    }
+                });
+            });
+        } else {
+            LOG.trace("Transport write buffer is above its high water mark, holding new sends");
+        }
+    }
+
     ClientConnection connect() throws ClientException {
         try {
             final URI remoteHost = reconnectPool.getNext();
@@ -571,6 +643,18 @@ public class ClientConnection implements Connection {
         return futureFactory;
     }
 
+    ClientPrefetchBudget getPrefetchBudget() {
+        return prefetchBudget;
+    }
+
+    ClientReadThrottle getReadThrottle() {
+        return readThrottle;
+    }
+
+    Transport getTransport() {
+        return transport;
+    }
+
     ConnectionOptions getOptions() {
         return options;
     }
@@ -584,7 +668,20 @@ public class ClientConnection implements Connection {
     }
 
     <T> T request(Object requestor, ClientFuture<T> request) throws ClientException {
-        requests.put(request, requestor);
+        // Requests that were run inline on the event loop are already done and need no tracking.
+        final boolean pending = !request.isDone();
+
+        if (pending && ioContext.inEventLoop()) {
+            // The request can only complete on the event loop so waiting for it here would never return.
+            final ClientException error = new ClientIllegalStateException(
+                "Cannot block on a request that did not complete inline while running on the connection event loop");
+            request.failed(error);
+            throw error;
+        }
+
+        if (pending) {
+            requests.put(request, requestor);
+        }
 
         try {
             return request.get();
@@ -592,7 +689,26 @@ public class ClientConnection implements Connection {
             request.cancel(false);
             throw ClientExceptionSupport.createNonFatalOrPassthrough(error);
         } finally {
-            requests.remove(request);
+            if (pending) {
+                requests.remove(request);
+            }
+        }
+    }
+
+    /**
+     * Runs the given task immediately if the calling thread is the connection event loop
+     * otherwise the task is queued for execution on the event loop.  Requests issued from
+     * callbacks that already run on the event loop complete inline this way instead of
+     * paying for a task submission and a wait on the request future.
+     *
+     * @param task
+     *      The task to run on the connection event loop.
+     */
+    void execute(Runnable task) {
+        if (ioContext.inEventLoop()) {
+            task.run();
+        } else {
+            executor.execute(task);
         }
     }
 
@@ -646,6 +762,8 @@ public class ClientConnection implements Connection {
     }
 
     private void handleLocalClose(org.apache.qpid.protonj2.engine.Connection connection) {
+        readThrottle.reset();
+
         if (connection.isRemotelyClosed()) {
             final ClientException failureCause;
 
@@ -705,7 +823,7 @@ public class ClientConnection implements Connection {
 
     private void handleEngineOutput(ProtonBuffer output, Runnable ioComplete) {
         try {
-            if (autoFlush) {
+            if (autoFlush && !engine.isBatching()) {
                 transport.writeAndFlush(output, ioComplete);
             } else {
                 transport.write(output, ioComplete);
@@ -716,6 +834,21 @@ public class ClientConnection implements Connection {
         }
     }
 
+    /*
+     * Output written while the engine processes a read batch is flushed once the batch completes.
+     */
+    private void handleEngineBatchComplete(Engine engine) {
+        try {
+            transport.flush();
+        } catch (IOException e) {
+            LOG.debug("Error while flushing batched engine output to transport: {}", e.getMessage());
+            engine.engineFailed(ClientExceptionSupport.createOrPassthroughFatal(e));
+            return;
+        }
+
+        readThrottle.update();
+    }
+
     /*
      * When an engine fails we check if we can reconnect or not and act accordingly.
      */
@@ -768,6 +901,7 @@ public class ClientConnection implements Connection {
             }
 
             try {
+                transport.flush();
                 transport.close();
             } catch (Exception ignored) {}
 
@@ -778,6 +912,28 @@ public class ClientConnection implements Connection {
         }
     }
 
+    private static ClientFutureFactory createFutureFactory(ClientOptions clientOptions, ConnectionOptions options) {
+        if (options.waitStrategy() != null) {
+            return ClientFutureFactory.fromWaitStrategy(options.waitStrategy());
+        } else if (clientOptions.virtualThreads() && clientOptions.futureType() == null) {
+            return ClientFutureFactory.create(ClientFutureFactory.PARKING);
+        } else {
+            return ClientFutureFactory.create(clientOptions.futureType());
+        }
+    }
+
+    private static ThreadFactory createNotificationThreadFactory(ClientOptions clientOptions, String threadName) {
+        if (clientOptions.virtualThreads()) {
+            if (VirtualThreadSupport.isAvailable()) {
+                return VirtualThreadSupport.createThreadFactory(threadName + " - ");
+            }
+
+            LOG.debug("Virtual threads are not supported on this JVM, connection events will use a platform thread");
+        }
+
+        return new TrackableThreadFactory(threadName, true);
+    }
+
     private void submitConnectionEvent(BiConsumer<Connection, ConnectionEvent> handler, String host, int port, ClientIOException cause) {
         if (handler != null) {
             try {
@@ -821,6 +977,12 @@ public class ClientConnection implements Connection {
             engine.shutdown();
         } catch (Exception ignore) {}
 
+        // Output from a read batch is not flushed until the batch completes but the
+        // transport could be closed as soon as the close future is completed.
+        try {
+            transport.flush();
+        } catch (Exception ignore) {}
+
         openFuture.failed(failureCause);
         closeFuture.complete(this);
 
@@ -874,6 +1036,7 @@ public class ClientConnection implements Connection {
         }
 
         engine.outputHandler(this::handleEngineOutput)
+              .batchCompleteHandler(this::handleEngineBatchComplete)
               .shutdownHandler(this::handleEngineShutdown)
               .errorHandler(this::handleEngineFailure);
 
@@ -961,14 +1124,48 @@ public class ClientConnection implements Connection {
     private void attemptConnection(String host, int port) {
         try {
             reconnectAttempts++;
-            transport = ioContext.newTransport();
+            transportWritable = true;
+            readThrottle.reset();
+            if (inVMPeerName != null) {
+                host = inVMPeerName;
+                transport = ioContext.newInVMTransport();
+            } else if (isParallelConnect()) {
+                attemptParallelConnection(host, port);
+                return;
+            } else if (options.transportOptions().useNetty()) {
+                transport = ioContext.newTransport();
+            } else {
+                transport = ioContext.newNioTransport();
+            }
             LOG.trace("Attempting connection to remote {}:{}", host, port);
-            transport.connect(host, port, new ClientTransportListener(engine));
+            transport.connect(host, port, new ClientTransportListener(this, engine));
         } catch (Throwable error) {
             engine.engineFailed(ClientExceptionSupport.createOrPassthroughFatal(error));
         }
     }
 
+    private boolean isParallelConnect() {
+        return options.reconnectOptions().parallelConnect();
+    }
+
+    private void attemptParallelConnection(String host, int port) throws URISyntaxException {
+        final List<URI> hosts = new ArrayList<>(options.reconnectOptions().parallelConnectHosts());
+
+        // The pool has already moved the given host to the back so the next hosts are all distinct from it
+        hosts.add(new URI(null, null, host, port, null, null, null));
+        hosts.addAll(reconnectPool.getNext(Math.min(options.reconnectOptions().parallelConnectHosts(), reconnectPool.size()) - 1));
+
+        LOG.trace("Attempting parallel connection to remotes {}", hosts);
+
+        new ClientParallelConnector(this, engine, options.transportOptions().useNetty() ? ioContext::newTransport : ioContext::newNioTransport,
+                                    executor, new TrackableThreadFactory("protonj2 Client Connection Resolver: " + getId(), true),
+                                    options.reconnectOptions().parallelConnectDelay()).connect(hosts);
+    }
+
+    void handleTransportSelected(Transport transport) {
+        this.transport = transport;
+    }
+
     private void scheduleReconnect(String host, int port) {
         // Warn of ongoing connection attempts if configured.
         int warnInterval = options.reconnectOptions().warnAfterReconnectAttempts();
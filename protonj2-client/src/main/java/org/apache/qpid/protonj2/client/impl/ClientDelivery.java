@@ -44,6 +44,7 @@ public final class ClientDelivery implements Delivery {
     private final ClientReceiver receiver;
     private final IncomingDelivery delivery;
     private final ProtonBuffer payload;
+    private final int payloadSize;
 
     private DeliveryAnnotations deliveryAnnotations;
     private Message<?> cachedMessage;
@@ -63,6 +64,7 @@ public final class ClientDelivery implements Delivery {
         this.delivery = delivery;
         this.delivery.setLinkedResource(this);
         this.payload = delivery.readAll();
+        this.payloadSize = payload != null ? payload.getReadableBytes() : 0;
     }
 
     @SuppressWarnings("unchecked")
@@ -176,6 +178,10 @@ public final class ClientDelivery implements Delivery {
         return delivery;
     }
 
+    int payloadSize() {
+        return payloadSize;
+    }
+
     void deliveryAnnotations(DeliveryAnnotations deliveryAnnotations) {
         this.deliveryAnnotations = deliveryAnnotations;
     }
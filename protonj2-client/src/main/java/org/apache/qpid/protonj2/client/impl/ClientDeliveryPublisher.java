@@ -0,0 +1,251 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client.impl;
+
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.apache.qpid.protonj2.client.exceptions.ClientException;
+import org.apache.qpid.protonj2.client.exceptions.ClientIllegalStateException;
+import org.apache.qpid.protonj2.engine.Receiver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link Flow.Publisher} of incoming deliveries that maps subscriber demand directly onto the
+ * link credit of the proton receiver that backs a client receiver.  A single subscriber is
+ * supported and all signals are issued from the connection event loop.
+ *
+ * @param <D> The type of delivery that is published
+ */
+final class ClientDeliveryPublisher<D> implements Flow.Publisher<D> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ClientDeliveryPublisher.class);
+
+    private final ScheduledExecutorService executor;
+    private final Supplier<Receiver> protonReceiver;
+    private final Supplier<D> backlog;
+    private final Consumer<D> dispatchHandler;
+
+    private DeliverySubscription subscription;
+    private boolean terminated;
+    private ClientException terminationCause;
+
+    /**
+     * Creates a new delivery publisher.
+     *
+     * @param executor
+     *      The connection event loop that all work is performed on.
+     * @param protonReceiver
+     *      Supplies the current proton receiver which can change if the connection is recovered.
+     * @param backlog
+     *      Supplies any deliveries that arrived before the subscriber had demand for them.
+     * @param dispatchHandler
+     *      Applies the receiver handling of a consumed delivery, such as auto accept, before the
+     *      delivery is handed to the subscriber.
+     */
+    ClientDeliveryPublisher(ScheduledExecutorService executor, Supplier<Receiver> protonReceiver, Supplier<D> backlog, Consumer<D> dispatchHandler) {
+        this.executor = executor;
+        this.protonReceiver = protonReceiver;
+        this.backlog = backlog;
+        this.dispatchHandler = dispatchHandler;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super D> subscriber) {
+        Objects.requireNonNull(subscriber, "Subscriber cannot be null");
+
+        try {
+            executor.execute(() -> {
+                final DeliverySubscription candidate = new DeliverySubscription(subscriber);
+
+                if (terminated) {
+                    candidate.signalSubscribed();
+                    candidate.terminate(terminationCause);
+                } else if (subscription != null) {
+                    candidate.signalSubscribed();
+                    candidate.terminate(new ClientIllegalStateException("The delivery publisher only supports a single subscriber"));
+                } else {
+                    subscription = candidate;
+                    subscription.signalSubscribed();
+                }
+            });
+        } catch (RejectedExecutionException rje) {
+            final DeliverySubscription candidate = new DeliverySubscription(subscriber);
+
+            candidate.signalSubscribed();
+            candidate.terminate(new ClientIllegalStateException("The Receiver connection has been closed", rje));
+        }
+    }
+
+    /**
+     * @return true if there is a subscriber which currently has outstanding demand for deliveries.
+     */
+    boolean hasDemand() {
+        return subscription != null && subscription.demand > 0;
+    }
+
+    /**
+     * Publish the given delivery to the subscriber, the caller must have checked for demand.
+     *
+     * @param delivery
+     *      The delivery to publish.
+     */
+    void publish(D delivery) {
+        subscription.signalNext(delivery);
+    }
+
+    /**
+     * Terminates the subscription when the link is closed or fails.
+     *
+     * @param cause
+     *      The cause of the link closure or null if the link was closed normally.
+     */
+    void linkClosed(ClientException cause) {
+        if (!terminated) {
+            terminated = true;
+            terminationCause = cause;
+
+            if (subscription != null) {
+                subscription.terminate(cause);
+            }
+        }
+    }
+
+    private final class DeliverySubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super D> subscriber;
+
+        private long demand;
+        private boolean cancelled;
+
+        DeliverySubscription(Flow.Subscriber<? super D> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            try {
+                executor.execute(() -> handleRequest(n));
+            } catch (RejectedExecutionException rje) {
+                LOG.trace("Delivery request rejected from the closed event loop", rje);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            try {
+                executor.execute(() -> handleCancel());
+            } catch (RejectedExecutionException rje) {
+                LOG.trace("Delivery subscription cancel rejected from the closed event loop", rje);
+            }
+        }
+
+        private void handleRequest(long n) {
+            if (cancelled) {
+                return;
+            }
+
+            if (n <= 0) {
+                terminate(new IllegalArgumentException("Subscriber requested non-positive number of deliveries: " + n));
+                return;
+            }
+
+            demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+
+            // Deliveries that arrived before there was demand for them are published first.
+            D delivery;
+            while (!cancelled && demand > 0 && (delivery = backlog.get()) != null) {
+                signalNext(delivery);
+            }
+
+            updateCredit();
+        }
+
+        private void handleCancel() {
+            if (!cancelled) {
+                cancelled = true;
+                if (subscription == this) {
+                    subscription = null;
+                }
+            }
+        }
+
+        private void updateCredit() {
+            if (!cancelled && !terminated) {
+                final Receiver receiver = protonReceiver.get();
+                final long target = Math.min(demand, Integer.MAX_VALUE);
+
+                if (receiver.isLocallyOpen() && !receiver.isDraining() && target > receiver.getCredit()) {
+                    try {
+                        receiver.addCredit((int) (target - receiver.getCredit()));
+                    } catch (Exception ex) {
+                        LOG.debug("Error while granting credit for subscriber demand: ", ex);
+                    }
+                }
+            }
+        }
+
+        void signalSubscribed() {
+            try {
+                subscriber.onSubscribe(this);
+            } catch (Throwable error) {
+                LOG.warn("Subscriber threw from onSubscribe and will be cancelled: ", error);
+                handleCancel();
+            }
+        }
+
+        void signalNext(D delivery) {
+            demand--;
+
+            try {
+                dispatchHandler.accept(delivery);
+            } catch (Throwable error) {
+                LOG.warn("Error while applying receiver handling to published delivery: ", error);
+            }
+
+            try {
+                subscriber.onNext(delivery);
+            } catch (Throwable error) {
+                LOG.warn("Subscriber threw from onNext and will be cancelled: ", error);
+                handleCancel();
+            }
+
+            updateCredit();
+        }
+
+        void terminate(Throwable cause) {
+            if (!cancelled) {
+                handleCancel();
+
+                try {
+                    if (cause != null) {
+                        subscriber.onError(cause);
+                    } else {
+                        subscriber.onComplete();
+                    }
+                } catch (Throwable error) {
+                    LOG.warn("Subscriber threw from terminal signal: ", error);
+                }
+            }
+        }
+    }
+}
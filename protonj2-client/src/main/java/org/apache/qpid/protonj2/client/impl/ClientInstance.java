@@ -23,17 +23,23 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import org.apache.qpid.protonj2.client.BufferAllocatorMetrics;
 import org.apache.qpid.protonj2.client.Client;
 import org.apache.qpid.protonj2.client.ClientOptions;
 import org.apache.qpid.protonj2.client.Connection;
 import org.apache.qpid.protonj2.client.ConnectionOptions;
+import org.apache.qpid.protonj2.client.SslHandshakeMetrics;
 import org.apache.qpid.protonj2.client.exceptions.ClientException;
 import org.apache.qpid.protonj2.client.exceptions.ClientIllegalStateException;
 import org.apache.qpid.protonj2.client.futures.ClientFuture;
 import org.apache.qpid.protonj2.client.futures.ClientFutureFactory;
+import org.apache.qpid.protonj2.client.transport.BufferAllocatorCache;
+import org.apache.qpid.protonj2.client.transport.SslContextCache;
 import org.apache.qpid.protonj2.client.util.IdGenerator;
+import org.apache.qpid.protonj2.engine.util.HashedWheelTimer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -54,6 +60,9 @@ public final class ClientInstance implements Client {
     private final Map<String, ClientConnection> connections = new HashMap<>();
     private final String clientUniqueId = CONTAINER_ID_GENERATOR.generateId();
     private final ClientFuture<Client> closedFuture = FUTURES.createFuture();
+    private final HashedWheelTimer timer;
+    private final SslContextCache sslContextCache = new SslContextCache();
+    private final BufferAllocatorCache bufferAllocatorCache = new BufferAllocatorCache();
 
     private volatile boolean closed;
 
@@ -74,6 +83,13 @@ public final class ClientInstance implements Client {
      */
     ClientInstance(ClientOptions options) {
         this.options = options;
+
+        if (options.sharedTimer()) {
+            this.timer = new HashedWheelTimer("protonj2 Client Timer: " + clientUniqueId,
+                options.sharedTimerTickDuration(), TimeUnit.MILLISECONDS, HashedWheelTimer.DEFAULT_TICKS_PER_WHEEL);
+        } else {
+            this.timer = null;
+        }
     }
 
     @SuppressWarnings("resource")
@@ -117,6 +133,42 @@ public final class ClientInstance implements Client {
         return options;
     }
 
+    /**
+     * @return the timer shared by all connections of this client or null if not enabled.
+     */
+    HashedWheelTimer timer() {
+        return timer;
+    }
+
+    @Override
+    public SslHandshakeMetrics jdkSslHandshakeMetrics() {
+        return sslContextCache.jdkHandshakeMetrics();
+    }
+
+    @Override
+    public SslHandshakeMetrics openSslHandshakeMetrics() {
+        return sslContextCache.openSslHandshakeMetrics();
+    }
+
+    /**
+     * @return the {@link SslContextCache} used by all connections of this client.
+     */
+    SslContextCache sslContextCache() {
+        return sslContextCache;
+    }
+
+    @Override
+    public BufferAllocatorMetrics bufferAllocatorMetrics() {
+        return bufferAllocatorCache;
+    }
+
+    /**
+     * @return the {@link BufferAllocatorCache} used by all connections of this client.
+     */
+    BufferAllocatorCache bufferAllocatorCache() {
+        return bufferAllocatorCache;
+    }
+
     @Override
     public void close() {
         try {
@@ -132,7 +184,7 @@ public final class ClientInstance implements Client {
             closed = true;
 
             if (connections.isEmpty()) {
-                closedFuture.complete(this);
+                completeClose();
             } else {
                 List<Connection> connectionsView = new ArrayList<>(connections.values());
                 connectionsView.forEach((connection) -> connection.close());
@@ -158,6 +210,16 @@ public final class ClientInstance implements Client {
         }
     }
 
+    private void completeClose() {
+        if (timer != null) {
+            timer.close();
+        }
+
+        sslContextCache.clear();
+        bufferAllocatorCache.clear();
+        closedFuture.complete(this);
+    }
+
     String nextConnectionId() {
         return getClientUniqueId() + ":" + CONNECTION_COUNTER.incrementAndGet();
     }
@@ -168,11 +230,16 @@ public final class ClientInstance implements Client {
     }
 
     void unregisterConnection(ClientConnection connection) {
+        final boolean lastConnection;
+
         synchronized (connections) {
             connections.remove(connection.getId());
-            if (closed && connections.isEmpty()) {
-                closedFuture.complete(this);
-            }
+            lastConnection = closed && connections.isEmpty();
+        }
+
+        // Closing the timer waits on its worker thread which must not happen under the connections lock
+        if (lastConnection) {
+            completeClose();
         }
     }
 }
@@ -17,6 +17,7 @@
 package org.apache.qpid.protonj2.client.impl;
 
 import java.util.Arrays;
+import java.util.Collection;
 
 import org.apache.qpid.protonj2.client.Session;
 import org.apache.qpid.protonj2.client.exceptions.ClientException;
@@ -28,6 +29,7 @@ import org.apache.qpid.protonj2.client.exceptions.ClientTransactionRolledBackExc
 import org.apache.qpid.protonj2.client.futures.ClientFuture;
 import org.apache.qpid.protonj2.engine.Engine;
 import org.apache.qpid.protonj2.engine.IncomingDelivery;
+import org.apache.qpid.protonj2.engine.Receiver;
 import org.apache.qpid.protonj2.engine.Transaction;
 import org.apache.qpid.protonj2.engine.Transaction.DischargeState;
 import org.apache.qpid.protonj2.engine.TransactionController;
@@ -196,15 +198,7 @@ final class ClientLocalTransactionContext implements ClientTransactionContext {
     @Override
     public ClientTransactionContext disposition(IncomingDelivery delivery, DeliveryState outcome, boolean settled) {
         if (isInTransaction()) {
-            final DeliveryState txnOutcome;
-            if (outcome instanceof Accepted) {
-                txnOutcome = cachedReceiverOutcome != null ? cachedReceiverOutcome :
-                    (cachedReceiverOutcome = new TransactionalState().setTxnId(currentTxn.getTxnId()).setOutcome(Accepted.getInstance()));
-            } else {
-                txnOutcome = new TransactionalState().setTxnId(currentTxn.getTxnId()).setOutcome((Outcome) outcome);
-            }
-
-            delivery.disposition(txnOutcome, true);
+            delivery.disposition(transactionalOutcome(outcome), true);
         } else {
             delivery.disposition(outcome, settled);
         }
@@ -212,6 +206,26 @@ final class ClientLocalTransactionContext implements ClientTransactionContext {
         return this;
     }
 
+    @Override
+    public ClientTransactionContext disposition(Receiver receiver, Collection<IncomingDelivery> deliveries, DeliveryState outcome, boolean settled) {
+        if (isInTransaction()) {
+            receiver.disposition(deliveries, transactionalOutcome(outcome), true);
+        } else {
+            receiver.disposition(deliveries, outcome, settled);
+        }
+
+        return this;
+    }
+
+    private DeliveryState transactionalOutcome(DeliveryState outcome) {
+        if (outcome instanceof Accepted) {
+            return cachedReceiverOutcome != null ? cachedReceiverOutcome :
+                (cachedReceiverOutcome = new TransactionalState().setTxnId(currentTxn.getTxnId()).setOutcome(Accepted.getInstance()));
+        } else {
+            return new TransactionalState().setTxnId(currentTxn.getTxnId()).setOutcome((Outcome) outcome);
+        }
+    }
+
     //------ Internals of Transaction State management
 
     private void beginNewTransaction(ClientFuture<Session> beginFuture) {
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client.impl;
+
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.apache.qpid.protonj2.buffer.ProtonBuffer;
+import org.apache.qpid.protonj2.client.AdvancedMessage;
+import org.apache.qpid.protonj2.client.Message;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link Flow.Subscriber} of messages that sends each message on a client sender and which
+ * only requests items from upstream when the sender link credit, session window and in-flight
+ * limits allow them to be sent without being held.  All state is managed on the connection event loop.
+ */
+final class ClientMessageSubscriber implements Flow.Subscriber<Message<?>> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ClientMessageSubscriber.class);
+
+    private final ClientSender sender;
+    private final ScheduledExecutorService executor;
+
+    private Flow.Subscription subscription;
+    private long pending;
+    private boolean done;
+
+    ClientMessageSubscriber(ClientSender sender, ScheduledExecutorService executor) {
+        this.sender = sender;
+        this.executor = executor;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        Objects.requireNonNull(subscription, "Subscription cannot be null");
+
+        try {
+            executor.execute(() -> {
+                if (this.subscription != null || done) {
+                    subscription.cancel();
+                } else {
+                    this.subscription = subscription;
+                    creditUpdated();
+                }
+            });
+        } catch (RejectedExecutionException rje) {
+            subscription.cancel();
+        }
+    }
+
+    @Override
+    public void onNext(Message<?> message) {
+        Objects.requireNonNull(message, "Message cannot be null");
+
+        try {
+            final AdvancedMessage<?> advanced = ClientMessageSupport.convertMessage(message);
+            final ProtonBuffer buffer = advanced.encode(null);
+
+            executor.execute(() -> {
+                pending--;
+
+                if (!done) {
+                    sender.sendPublishedMessage(advanced, buffer).whenComplete((tracker, error) -> {
+                        if (error != null) {
+                            LOG.warn("Send of published message failed, subscription will be cancelled: ", error);
+                            cancelSubscription();
+                        }
+                    });
+
+                    creditUpdated();
+                }
+            });
+        } catch (Exception error) {
+            LOG.warn("Failed to dispatch published message, subscription will be cancelled: ", error);
+            cancelSubscription();
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        Objects.requireNonNull(throwable, "Error cannot be null");
+        LOG.warn("Upstream publisher signalled an error, no further messages will be sent: ", throwable);
+
+        try {
+            executor.execute(() -> done = true);
+        } catch (RejectedExecutionException ignore) {}
+    }
+
+    @Override
+    public void onComplete() {
+        try {
+            executor.execute(() -> done = true);
+        } catch (RejectedExecutionException ignore) {}
+    }
+
+    /*
+     * Called on the event loop whenever the sender credit, session window or in-flight capacity
+     * changes and after each published message is sent, requests only what can be sent immediately.
+     */
+    void creditUpdated() {
+        if (subscription == null || done) {
+            return;
+        }
+
+        final long available = sender.sendableMessages() - pending;
+
+        if (available > 0) {
+            pending += available;
+            subscription.request(available);
+        }
+    }
+
+    /*
+     * Called on the event loop when the sender is closed or fails.
+     */
+    void senderClosed() {
+        if (!done) {
+            done = true;
+            if (subscription != null) {
+                subscription.cancel();
+            }
+        }
+    }
+
+    private void cancelSubscription() {
+        try {
+            executor.execute(this::senderClosed);
+        } catch (RejectedExecutionException ignore) {}
+    }
+}
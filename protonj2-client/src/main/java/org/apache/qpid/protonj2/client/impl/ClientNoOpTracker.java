@@ -16,6 +16,8 @@
  */
 package org.apache.qpid.protonj2.client.impl;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
@@ -84,6 +86,11 @@ public class ClientNoOpTracker implements Tracker {
         return ClientFutureFactory.completedFuture(this);
     }
 
+    @Override
+    public CompletionStage<Tracker> settlementStage() {
+        return CompletableFuture.completedFuture(this);
+    }
+
     @Override
     public Tracker awaitSettlement() throws ClientException {
         return this;
@@ -16,10 +16,13 @@
  */
 package org.apache.qpid.protonj2.client.impl;
 
+import java.util.Collection;
+
 import org.apache.qpid.protonj2.client.Session;
 import org.apache.qpid.protonj2.client.exceptions.ClientIllegalStateException;
 import org.apache.qpid.protonj2.client.futures.ClientFuture;
 import org.apache.qpid.protonj2.engine.IncomingDelivery;
+import org.apache.qpid.protonj2.engine.Receiver;
 import org.apache.qpid.protonj2.types.transport.DeliveryState;
 
 /**
@@ -64,4 +67,10 @@ final class ClientNoOpTransactionContext implements ClientTransactionContext {
         delivery.disposition(outcome, settled);
         return this;
     }
+
+    @Override
+    public ClientTransactionContext disposition(Receiver receiver, Collection<IncomingDelivery> deliveries, DeliveryState outcome, boolean settled) {
+        receiver.disposition(deliveries, outcome, settled);
+        return this;
+    }
 }
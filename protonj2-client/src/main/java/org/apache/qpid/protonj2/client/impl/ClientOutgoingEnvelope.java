@@ -141,6 +141,10 @@ public class ClientOutgoingEnvelope {
         return aborted;
     }
 
+    public boolean failed() {
+        return request.isFailed();
+    }
+
     public ClientOutgoingEnvelope discard() {
         if (sendTimeout != null) {
             sendTimeout.cancel(true);
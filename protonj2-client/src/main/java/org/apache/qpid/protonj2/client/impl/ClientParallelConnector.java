@@ -0,0 +1,376 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client.impl;
+
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.apache.qpid.protonj2.buffer.ProtonBuffer;
+import org.apache.qpid.protonj2.client.transport.Transport;
+import org.apache.qpid.protonj2.client.transport.TransportListener;
+import org.apache.qpid.protonj2.engine.Engine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Races the transport connects of a single connection attempt across several hosts and each
+ * of their resolved addresses.  Candidates are started in turn spaced by a fixed delay, or as
+ * soon as every started candidate has failed, and the first transport to connect is handed to
+ * the {@link ClientConnection} while the remaining candidates are closed.  If every candidate
+ * fails the bound {@link Engine} is failed with the last error which allows the connection to
+ * proceed with its normal reconnection handling.
+ * <p>
+ * Host names are resolved in order on a separate thread so that a slow lookup never stalls the
+ * connection I/O thread, the addresses of each host join the race as soon as they are known.
+ * All resolution results, transport events and scheduled starts are processed on the connection
+ * I/O thread so no additional synchronization is required.
+ */
+final class ClientParallelConnector {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ClientParallelConnector.class);
+
+    private static final Comparator<Candidate> CANDIDATE_ORDER =
+        Comparator.<Candidate>comparingInt(candidate -> candidate.rank).thenComparingInt(candidate -> candidate.hostIndex);
+
+    private final ClientConnection connection;
+    private final Engine engine;
+    private final Supplier<Transport> transportFactory;
+    private final ScheduledExecutorService executor;
+    private final ThreadFactory resolverThreadFactory;
+    private final long delay;
+    private final List<Candidate> candidates = new ArrayList<>();
+
+    private URI firstHost;
+    private Transport initialTransport;
+    private int unresolved;
+    private int started;
+    private int failed;
+    private Candidate winner;
+    private ScheduledFuture<?> nextStart;
+    private Throwable lastError;
+
+    ClientParallelConnector(ClientConnection connection, Engine engine, Supplier<Transport> transportFactory,
+                            ScheduledExecutorService executor, ThreadFactory resolverThreadFactory, long delay) {
+        this.connection = connection;
+        this.engine = engine;
+        this.transportFactory = transportFactory;
+        this.executor = executor;
+        this.resolverThreadFactory = resolverThreadFactory;
+        this.delay = delay;
+    }
+
+    /**
+     * Starts resolving the given hosts and returns, candidates are started on the connection I/O
+     * thread as the addresses of each host become known.  The transport of the first candidate is
+     * handed to the connection before this method returns so that the connection always has a
+     * transport to report and close, it is replaced by the winning transport once one connects.
+     *
+     * @param hosts
+     *      The hosts to race in order of preference.
+     */
+    void connect(List<URI> hosts) {
+        firstHost = hosts.get(0);
+        initialTransport = transportFactory.get();
+        connection.handleTransportSelected(initialTransport);
+
+        unresolved = hosts.size();
+
+        try {
+            resolverThreadFactory.newThread(() -> resolve(hosts)).start();
+        } catch (Throwable error) {
+            LOG.debug("Parallel connect could not start host resolution: {}", error.getMessage());
+            lastError = error;
+            unresolved = 0;
+            candidates.add(new Candidate(firstHost, 0, 0, null));
+            startNext();
+        }
+    }
+
+    //----- Internal implementation
+
+    /*
+     * Runs on the resolver thread, each host is resolved in order of preference and handed to the
+     * I/O thread on its own so that the first host is being connected while later hosts resolve.
+     */
+    private void resolve(List<URI> hosts) {
+        for (int i = 0; i < hosts.size(); ++i) {
+            final URI host = hosts.get(i);
+            final int hostIndex = i;
+
+            List<InetAddress> addresses;
+            Throwable error = null;
+
+            try {
+                addresses = interleaveAddressFamilies(InetAddress.getAllByName(host.getHost()));
+            } catch (UnknownHostException e) {
+                addresses = new ArrayList<>();
+                error = e;
+            }
+
+            final List<InetAddress> resolved = addresses;
+            final Throwable failure = error;
+
+            try {
+                executor.execute(() -> hostResolved(host, hostIndex, resolved, failure));
+            } catch (RejectedExecutionException closed) {
+                return;  // The connection was closed while resolving
+            }
+        }
+    }
+
+    private void hostResolved(URI host, int hostIndex, List<InetAddress> addresses, Throwable error) {
+        unresolved--;
+
+        if (error != null) {
+            LOG.debug("Parallel connect could not resolve host {}: {}", host.getHost(), error.getMessage());
+            lastError = error;
+        }
+
+        if (winner != null || engine.isShutdown()) {
+            return;
+        }
+
+        for (int rank = 0; rank < addresses.size(); ++rank) {
+            candidates.add(new Candidate(host, hostIndex, rank, addresses.get(rank)));
+        }
+
+        // Take the most preferred address of each host before the alternates of any host so that
+        // an unreachable first host costs at most one start delay before the next host is tried.
+        candidates.subList(started, candidates.size()).sort(CANDIDATE_ORDER);
+
+        if (unresolved == 0 && candidates.isEmpty()) {
+            // Let the transport resolve the first host itself and report the failure in the usual way
+            candidates.add(new Candidate(firstHost, 0, 0, null));
+        }
+
+        LOG.trace("Parallel connect racing {} addresses with {} hosts left to resolve", candidates.size(), unresolved);
+
+        if (failed == started) {
+            // Nothing is in flight so there is no reason to wait out the start delay.
+            if (nextStart != null) {
+                nextStart.cancel(false);
+                nextStart = null;
+            }
+
+            if (started < candidates.size()) {
+                startNext();
+            } else if (unresolved == 0) {
+                engine.engineFailed(ClientExceptionSupport.convertToConnectionClosedException(lastError));
+            }
+        } else if (nextStart == null && started < candidates.size()) {
+            nextStart = executor.schedule(this::startNext, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void startNext() {
+        nextStart = null;
+
+        if (winner != null || engine.isShutdown() || started == candidates.size()) {
+            return;
+        }
+
+        final Candidate candidate = candidates.get(started++);
+
+        if (initialTransport != null) {
+            candidate.transport = initialTransport;
+            initialTransport = null;
+        }
+
+        // Scheduled ahead of the start so a candidate that fails immediately can replace it.
+        if (started < candidates.size()) {
+            nextStart = executor.schedule(this::startNext, delay, TimeUnit.MILLISECONDS);
+        }
+
+        candidate.start();
+    }
+
+    private void candidateConnected(Candidate candidate, Transport transport) {
+        if (winner != null || candidate.failed || engine.isShutdown()) {
+            closeQuietly(transport);
+            return;
+        }
+
+        LOG.trace("Parallel connect selected {}:{} at address {}", candidate.host, candidate.port, candidate.address);
+
+        winner = candidate;
+
+        if (nextStart != null) {
+            nextStart.cancel(false);
+            nextStart = null;
+        }
+
+        for (Candidate other : candidates) {
+            if (other != candidate) {
+                closeQuietly(other.transport);
+            }
+        }
+
+        // The engine was prepared for the first host, the open must name the host that won.
+        engine.connection().setHostname(candidate.host);
+        connection.handleTransportSelected(transport);
+
+        candidate.delegate = new ClientTransportListener(connection, engine);
+        candidate.delegate.transportInitialized(transport);
+        candidate.delegate.transportConnected(transport);
+    }
+
+    private void candidateFailed(Candidate candidate, Throwable error) {
+        if (winner != null || candidate.failed) {
+            return;
+        }
+
+        LOG.trace("Parallel connect to {}:{} at address {} failed: {}", candidate.host, candidate.port, candidate.address, error.getMessage());
+
+        candidate.failed = true;
+        failed++;
+        lastError = error;
+        closeQuietly(candidate.transport);
+
+        if (engine.isShutdown()) {
+            return;
+        }
+
+        if (failed == candidates.size() && unresolved == 0) {
+            if (nextStart != null) {
+                nextStart.cancel(false);
+                nextStart = null;
+            }
+
+            engine.engineFailed(ClientExceptionSupport.convertToConnectionClosedException(lastError));
+        } else if (failed == started && started < candidates.size()) {
+            // Nothing else is in flight so there is no reason to wait out the start delay.
+            if (nextStart != null) {
+                nextStart.cancel(false);
+            }
+
+            startNext();
+        }
+    }
+
+    private static List<InetAddress> interleaveAddressFamilies(InetAddress[] addresses) {
+        final List<InetAddress> preferred = new ArrayList<>(addresses.length);
+        final List<InetAddress> alternate = new ArrayList<>(addresses.length);
+        final boolean preferIPv6 = addresses.length > 0 && addresses[0] instanceof Inet6Address;
+
+        for (InetAddress address : addresses) {
+            if ((address instanceof Inet6Address) == preferIPv6) {
+                preferred.add(address);
+            } else {
+                alternate.add(address);
+            }
+        }
+
+        final List<InetAddress> interleaved = new ArrayList<>(addresses.length);
+
+        for (int i = 0; i < Math.max(preferred.size(), alternate.size()); ++i) {
+            if (i < preferred.size()) {
+                interleaved.add(preferred.get(i));
+            }
+            if (i < alternate.size()) {
+                interleaved.add(alternate.get(i));
+            }
+        }
+
+        return interleaved;
+    }
+
+    private static void closeQuietly(Transport transport) {
+        if (transport != null) {
+            try {
+                transport.close();
+            } catch (Exception ignore) {}
+        }
+    }
+
+    private final class Candidate implements TransportListener {
+
+        private final String host;
+        private final int port;
+        private final int hostIndex;
+        private final int rank;
+        private final InetAddress address;
+
+        private Transport transport;
+        private TransportListener delegate;
+        private boolean failed;
+
+        Candidate(URI host, int hostIndex, int rank, InetAddress address) {
+            this.host = host.getHost();
+            this.port = host.getPort();
+            this.hostIndex = hostIndex;
+            this.rank = rank;
+            this.address = address;
+        }
+
+        void start() {
+            try {
+                if (transport == null) {
+                    transport = transportFactory.get();
+                }
+
+                LOG.trace("Parallel connect attempting {}:{} at address {}", host, port, address);
+                transport.connect(host, port, address, this);
+            } catch (Throwable error) {
+                candidateFailed(this, error);
+            }
+        }
+
+        @Override
+        public void transportInitialized(Transport transport) {
+            // Deferred until this candidate is selected as the engine is bound to a single transport
+        }
+
+        @Override
+        public void transportConnected(Transport transport) {
+            candidateConnected(this, transport);
+        }
+
+        @Override
+        public void transportRead(ProtonBuffer incoming) {
+            if (delegate != null) {
+                delegate.transportRead(incoming);
+            }
+        }
+
+        @Override
+        public void transportWritabilityChanged(boolean writable) {
+            if (delegate != null) {
+                delegate.transportWritabilityChanged(writable);
+            }
+        }
+
+        @Override
+        public void transportError(Throwable error) {
+            if (delegate != null) {
+                delegate.transportError(error);
+            } else {
+                candidateFailed(this, error);
+            }
+        }
+    }
+}
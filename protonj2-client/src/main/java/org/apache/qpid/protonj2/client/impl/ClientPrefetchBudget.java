@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client.impl;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tracks the encoded bytes of deliveries that have been prefetched into receiver queues but
+ * not yet consumed by the application, against an optional limit.  A budget is kept for each
+ * receiver and one is shared by all receivers of a connection, all access to a budget must
+ * occur on the connection event loop.
+ */
+final class ClientPrefetchBudget {
+
+    private final long maxBytes;
+    private final Set<ClientReceiver> stalled = new LinkedHashSet<>();
+
+    private long queuedBytes;
+
+    ClientPrefetchBudget(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * @return true if this budget places a limit on the number of prefetched bytes.
+     */
+    boolean isLimited() {
+        return maxBytes > 0;
+    }
+
+    /**
+     * @return the number of bytes currently accounted against this budget.
+     */
+    long queuedBytes() {
+        return queuedBytes;
+    }
+
+    /**
+     * @return the number of bytes that can still be prefetched, which is negative if the budget is overdrawn.
+     */
+    long headroom() {
+        return isLimited() ? maxBytes - queuedBytes : Long.MAX_VALUE;
+    }
+
+    void reserve(long bytes) {
+        queuedBytes += bytes;
+    }
+
+    /**
+     * Returns bytes to the budget and notifies any receivers that stalled waiting for headroom.
+     *
+     * @param bytes
+     *      The number of bytes that were consumed from a receiver queue.
+     */
+    void release(long bytes) {
+        queuedBytes = Math.max(0, queuedBytes - bytes);
+
+        if (!stalled.isEmpty() && headroom() > 0) {
+            final List<ClientReceiver> waiting = new ArrayList<>(stalled);
+
+            stalled.clear();
+            waiting.forEach(receiver -> receiver.prefetchBudgetReleased());
+        }
+    }
+
+    /**
+     * Registers a receiver that could not be granted credit because the budget was exhausted
+     * by other receivers, it is notified when bytes are released back to the budget.
+     *
+     * @param receiver
+     *      The receiver that is waiting on the budget.
+     */
+    void stall(ClientReceiver receiver) {
+        stalled.add(receiver);
+    }
+
+    void remove(ClientReceiver receiver) {
+        stalled.remove(receiver);
+    }
+}
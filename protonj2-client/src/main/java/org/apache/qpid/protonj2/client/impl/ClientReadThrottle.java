@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client.impl;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.qpid.protonj2.client.transport.Transport;
+import org.apache.qpid.protonj2.engine.Connection;
+import org.apache.qpid.protonj2.engine.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stops the connection transport from reading while the bytes buffered for the application
+ * exceed a limit, which are the bytes of messages queued in receivers plus the bytes held by
+ * incoming deliveries that have not yet been read such as those of stream receivers.  Queued
+ * receiver bytes are reported as they are consumed, unread delivery bytes are only visible
+ * through the engine so they are checked again periodically while reads are paused.  All
+ * access must occur on the connection event loop.
+ */
+final class ClientReadThrottle {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ClientReadThrottle.class);
+
+    static final long RECHECK_INTERVAL = 10;
+
+    private final ClientConnection connection;
+    private final long maxBytes;
+
+    private long queuedBytes;
+    private boolean paused;
+    private ScheduledFuture<?> recheck;
+
+    ClientReadThrottle(ClientConnection connection, long maxBytes) {
+        this.connection = connection;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * @return true if this throttle places a limit on the unconsumed bytes of the connection.
+     */
+    boolean isEnabled() {
+        return maxBytes > 0;
+    }
+
+    /**
+     * @return true if transport reads are currently paused by this throttle.
+     */
+    boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * @return the number of bytes of messages queued in receivers awaiting consumption.
+     */
+    long queuedBytes() {
+        return queuedBytes;
+    }
+
+    void reserve(long bytes) {
+        queuedBytes += bytes;
+    }
+
+    void release(long bytes) {
+        queuedBytes = Math.max(0, queuedBytes - bytes);
+
+        if (paused) {
+            update();
+        }
+    }
+
+    /**
+     * @return the total bytes currently buffered by the connection on behalf of the application.
+     */
+    long bufferedBytes() {
+        long buffered = queuedBytes;
+
+        for (Session session : connection.getProtonConnection().sessions()) {
+            buffered += session.getPendingIncomingBytes();
+        }
+
+        return buffered;
+    }
+
+    /**
+     * Pauses transport reads if the buffered bytes exceed the limit or resumes them once the
+     * buffered bytes fall below it, called after each batch of incoming data is processed.
+     */
+    void update() {
+        if (!isEnabled()) {
+            return;
+        }
+
+        final Connection protonConnection = connection.getProtonConnection();
+        if (protonConnection == null || protonConnection.isLocallyClosed()) {
+            // Reads must continue so that the close handshake can complete.
+            reset();
+            return;
+        }
+
+        final long buffered = bufferedBytes();
+
+        if (!paused && buffered > maxBytes) {
+            LOG.trace("Pausing reads with {} unconsumed bytes buffered", buffered);
+            paused = true;
+            autoRead(false);
+        } else if (paused && buffered < maxBytes) {
+            LOG.trace("Resuming reads with {} unconsumed bytes buffered", buffered);
+            paused = false;
+            autoRead(true);
+        }
+
+        if (paused && recheck == null) {
+            recheck = connection.getScheduler().schedule(() -> {
+                recheck = null;
+                update();
+            }, RECHECK_INTERVAL, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Resumes reading and stops any pending check, reads will not be paused again until the
+     * next call to {@link #update()}.
+     */
+    void reset() {
+        if (recheck != null) {
+            recheck.cancel(false);
+            recheck = null;
+        }
+
+        if (paused) {
+            paused = false;
+            autoRead(true);
+        }
+    }
+
+    private void autoRead(boolean autoRead) {
+        final Transport transport = connection.getTransport();
+        if (transport != null) {
+            transport.autoRead(autoRead);
+        }
+    }
+}
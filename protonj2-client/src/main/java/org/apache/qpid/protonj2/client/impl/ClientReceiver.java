@@ -16,14 +16,19 @@
  */
 package org.apache.qpid.protonj2.client.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 
 import org.apache.qpid.protonj2.client.Delivery;
 import org.apache.qpid.protonj2.client.ErrorCondition;
@@ -37,10 +42,12 @@ import org.apache.qpid.protonj2.client.exceptions.ClientIllegalStateException;
 import org.apache.qpid.protonj2.client.exceptions.ClientOperationTimedOutException;
 import org.apache.qpid.protonj2.client.exceptions.ClientResourceRemotelyClosedException;
 import org.apache.qpid.protonj2.client.futures.ClientFuture;
+import org.apache.qpid.protonj2.client.futures.ClientFutureFactory;
 import org.apache.qpid.protonj2.client.util.FifoDeliveryQueue;
 import org.apache.qpid.protonj2.engine.Connection;
 import org.apache.qpid.protonj2.engine.Engine;
 import org.apache.qpid.protonj2.engine.IncomingDelivery;
+import org.apache.qpid.protonj2.types.messaging.Accepted;
 import org.apache.qpid.protonj2.types.messaging.Released;
 import org.apache.qpid.protonj2.types.transport.DeliveryState;
 import org.slf4j.Logger;
@@ -52,6 +59,8 @@ public final class ClientReceiver implements Receiver {
 
     private static final AtomicIntegerFieldUpdater<ClientReceiver> CLOSED_UPDATER =
             AtomicIntegerFieldUpdater.newUpdater(ClientReceiver.class, "closed");
+    private static final AtomicLongFieldUpdater<ClientReceiver> CONSUMED_UPDATER =
+            AtomicLongFieldUpdater.newUpdater(ClientReceiver.class, "consumedDeliveries");
 
     private final ClientFuture<Receiver> openFuture;
     private final ClientFuture<Receiver> closeFuture;
@@ -61,8 +70,17 @@ public final class ClientReceiver implements Receiver {
     private final ReceiverOptions options;
     private final ClientSession session;
     private final ScheduledExecutorService executor;
+    private final ClientFutureFactory futureFactory;
     private final String receiverId;
     private final FifoDeliveryQueue messageQueue;
+    private final ClientPrefetchBudget prefetchBudget;
+    private final ClientPrefetchBudget connectionPrefetchBudget;
+    private final ClientReadThrottle readThrottle;
+    private long averageDeliverySize;
+    private final ClientAdaptiveCreditWindow adaptiveCreditWindow;
+    private volatile int creditWindow;
+    private volatile long consumedDeliveries;
+    private volatile ClientDeliveryPublisher<Delivery> publisher;
     private volatile int closed;
     private ClientException failureCause;
 
@@ -76,16 +94,32 @@ public final class ClientReceiver implements Receiver {
         this.session = session;
         this.receiverId = receiverId;
         this.executor = session.getScheduler();
-        this.openFuture = session.getFutureFactory().createFuture();
-        this.closeFuture = session.getFutureFactory().createFuture();
+        this.futureFactory = this.options.waitStrategy() != null ?
+            ClientFutureFactory.fromWaitStrategy(this.options.waitStrategy()) : session.getFutureFactory();
+        this.openFuture = futureFactory.createFuture();
+        this.closeFuture = futureFactory.createFuture();
         this.protonReceiver = receiver.setLinkedResource(this);
-
-        if (options.creditWindow() > 0) {
-            protonReceiver.addCredit(options.creditWindow());
+        this.prefetchBudget = new ClientPrefetchBudget(options.maxPrefetchBytes());
+        this.connectionPrefetchBudget = session.getConnection().getPrefetchBudget();
+        this.readThrottle = session.getConnection().getReadThrottle();
+        this.creditWindow = options.creditWindow();
+
+        if (options.adaptiveCreditWindow() && options.creditWindow() > 0) {
+            this.adaptiveCreditWindow = new ClientAdaptiveCreditWindow(
+                options.creditWindow(), options.minCreditWindow(), options.maxCreditWindow());
+            this.creditWindow = adaptiveCreditWindow.window();
+        } else {
+            this.adaptiveCreditWindow = null;
         }
 
-        messageQueue = new FifoDeliveryQueue(options.creditWindow());
+        // Receive calls wait on the delivery queue rather than a future so it idles with the same strategy
+        messageQueue = new FifoDeliveryQueue(options.creditWindow(), options.waitStrategy() != null ?
+            options.waitStrategy() : session.getConnection().getOptions().waitStrategy());
         messageQueue.start();
+
+        if (creditWindow > 0) {
+            protonReceiver.addCredit(limitCreditToPrefetchBytes(creditWindow, 0));
+        }
     }
 
     @Override
@@ -142,6 +176,9 @@ public final class ClientReceiver implements Receiver {
         try {
             ClientDelivery delivery = messageQueue.dequeue(units.toMillis(timeout));
             if (delivery != null) {
+                deliveriesConsumed(1);
+                prefetchConsumed(delivery.payloadSize());
+
                 if (options.autoAccept()) {
                     delivery.disposition(org.apache.qpid.protonj2.client.DeliveryState.accepted(), options.autoSettle());
                 } else {
@@ -160,12 +197,89 @@ public final class ClientReceiver implements Receiver {
         }
     }
 
+    @Override
+    public List<Delivery> receive(int maxDeliveries, long timeout, TimeUnit units) throws ClientException {
+        if (maxDeliveries <= 0) {
+            throw new IllegalArgumentException("The maximum number of deliveries to receive must be greater than zero");
+        }
+
+        checkClosedOrFailed();
+
+        try {
+            final List<Delivery> deliveries = new ArrayList<>(Math.min(maxDeliveries, Math.max(1, messageQueue.size())));
+
+            if (messageQueue.dequeue(deliveries, maxDeliveries, units.toMillis(timeout)) > 0) {
+                long consumedBytes = 0;
+                for (Delivery delivery : deliveries) {
+                    consumedBytes += ((ClientDelivery) delivery).payloadSize();
+                }
+
+                deliveriesConsumed(deliveries.size());
+                prefetchConsumed(consumedBytes);
+
+                if (options.autoAccept()) {
+                    asyncApplyDisposition(protonDeliveries(deliveries), Accepted.getInstance(), options.autoSettle());
+                } else {
+                    asyncReplenishCreditIfNeeded();
+                }
+            } else {
+                checkClosedOrFailed();
+            }
+
+            return deliveries;
+        } catch (InterruptedException e) {
+            Thread.interrupted();
+            throw new ClientException("Receive wait interrupted", e);
+        }
+    }
+
+    @Override
+    public Receiver accept(Collection<? extends Delivery> deliveries) throws ClientException {
+        Objects.requireNonNull(deliveries, "Deliveries to accept cannot be null");
+
+        final List<IncomingDelivery> protonDeliveries = protonDeliveries(deliveries);
+
+        checkClosedOrFailed();
+
+        if (!protonDeliveries.isEmpty()) {
+            asyncApplyDisposition(protonDeliveries, Accepted.getInstance(), true);
+        }
+
+        return this;
+    }
+
+    @Override
+    public Receiver acceptUpTo(Delivery delivery) throws ClientException {
+        final IncomingDelivery lastDelivery = protonDelivery(delivery);
+
+        checkClosedOrFailed();
+
+        session.execute(() -> {
+            final List<IncomingDelivery> deliveries = new ArrayList<>();
+
+            // Unsettled deliveries are held in arrival order so stop once the target is reached.
+            for (IncomingDelivery unsettled : protonReceiver.unsettled()) {
+                deliveries.add(unsettled);
+                if (unsettled == lastDelivery) {
+                    session.getTransactionContext().disposition(protonReceiver, deliveries, Accepted.getInstance(), true);
+                    replenishCreditIfNeeded();
+                    break;
+                }
+            }
+        });
+
+        return this;
+    }
+
     @Override
     public Delivery tryReceive() throws ClientException {
         checkClosedOrFailed();
 
-        Delivery delivery = messageQueue.dequeueNoWait();
+        ClientDelivery delivery = messageQueue.dequeueNoWait();
         if (delivery != null) {
+            deliveriesConsumed(1);
+            prefetchConsumed(delivery.payloadSize());
+
             if (options.autoAccept()) {
                 delivery.disposition(org.apache.qpid.protonj2.client.DeliveryState.accepted(), options.autoSettle());
             } else {
@@ -271,12 +385,17 @@ public final class ClientReceiver implements Receiver {
         return messageQueue.size();
     }
 
+    @Override
+    public int creditWindow() {
+        return creditWindow;
+    }
+
     @Override
     public Receiver addCredit(int credits) throws ClientException {
         checkClosedOrFailed();
-        ClientFuture<Receiver> creditAdded = session.getFutureFactory().createFuture();
+        ClientFuture<Receiver> creditAdded = futureFactory.createFuture();
 
-        executor.execute(() -> {
+        session.execute(() -> {
             if (notClosedOrFailed(creditAdded)) {
                 if (options.creditWindow() != 0) {
                     creditAdded.failed(new ClientIllegalStateException("Cannot add credit when a credit window has been configured"));
@@ -296,10 +415,25 @@ public final class ClientReceiver implements Receiver {
         return session.request(this, creditAdded);
     }
 
+    @Override
+    public synchronized Flow.Publisher<Delivery> publisher() throws ClientException {
+        checkClosedOrFailed();
+
+        if (options.creditWindow() != 0) {
+            throw new ClientIllegalStateException("Cannot publish deliveries when a credit window has been configured");
+        }
+
+        if (publisher == null) {
+            publisher = new ClientDeliveryPublisher<>(executor, () -> protonReceiver, messageQueue::dequeueNoWait, this::handleDeliveryPublished);
+        }
+
+        return publisher;
+    }
+
     @Override
     public Future<Receiver> drain() throws ClientException {
         checkClosedOrFailed();
-        final ClientFuture<Receiver> drainComplete = session.getFutureFactory().createFuture();
+        final ClientFuture<Receiver> drainComplete = futureFactory.createFuture();
 
         executor.execute(() -> {
             if (notClosedOrFailed(drainComplete)) {
@@ -384,6 +518,10 @@ public final class ClientReceiver implements Receiver {
         return receiverId;
     }
 
+    ClientFutureFactory getFutureFactory() {
+        return futureFactory;
+    }
+
     boolean isClosed() {
         return closed > 0;
     }
@@ -475,6 +613,7 @@ public final class ClientReceiver implements Receiver {
             int previousCredit = protonReceiver.getCredit() + messageQueue.size();
 
             messageQueue.clear();  // Prefetched messages should be discarded.
+            releasePrefetchBytes(prefetchBudget.queuedBytes());
 
             if (drainingFuture != null) {
                 drainingFuture.complete(this);
@@ -520,12 +659,38 @@ public final class ClientReceiver implements Receiver {
 
         if (!delivery.isPartial()) {
             LOG.trace("{} has incoming Message(s).", this);
-            messageQueue.enqueue(new ClientDelivery(this, delivery));
+            if (adaptiveCreditWindow != null) {
+                adaptiveCreditWindow.deliveryReceived(System.nanoTime());
+            }
+
+            if (publisher != null && publisher.hasDemand()) {
+                publisher.publish(new ClientDelivery(this, delivery));
+            } else {
+                final ClientDelivery clientDelivery = new ClientDelivery(this, delivery);
+
+                if (isPrefetchBytesTracked()) {
+                    reservePrefetchBytes(clientDelivery.payloadSize());
+                }
+
+                messageQueue.enqueue(clientDelivery);
+            }
         } else {
             delivery.claimAvailableBytes();
         }
     }
 
+    /*
+     * Called on the event loop as the publisher hands a delivery to its subscriber, which is
+     * where a receive call would have consumed the delivery.
+     */
+    private void handleDeliveryPublished(Delivery delivery) {
+        deliveriesConsumed(1);
+
+        if (options.autoAccept()) {
+            session.getTransactionContext().disposition(protonDelivery(delivery), Accepted.getInstance(), options.autoSettle());
+        }
+    }
+
     private void handleDeliveryAborted(IncomingDelivery delivery) {
         LOG.trace("Delivery data was aborted: {}", delivery);
         delivery.settle();
@@ -553,37 +718,166 @@ public final class ClientReceiver implements Receiver {
     //----- Private implementation details
 
     private void asyncApplyDisposition(IncomingDelivery delivery, DeliveryState state, boolean settle) {
-        executor.execute(() -> {
+        session.execute(() -> {
             session.getTransactionContext().disposition(delivery, state, settle);
             replenishCreditIfNeeded();
         });
     }
 
+    private void asyncApplyDisposition(List<IncomingDelivery> deliveries, DeliveryState state, boolean settle) {
+        session.execute(() -> {
+            session.getTransactionContext().disposition(protonReceiver, deliveries, state, settle);
+            replenishCreditIfNeeded();
+        });
+    }
+
+    private List<IncomingDelivery> protonDeliveries(Collection<? extends Delivery> deliveries) {
+        final List<IncomingDelivery> protonDeliveries = new ArrayList<>(deliveries.size());
+
+        for (Delivery delivery : deliveries) {
+            protonDeliveries.add(protonDelivery(delivery));
+        }
+
+        return protonDeliveries;
+    }
+
+    private IncomingDelivery protonDelivery(Delivery delivery) {
+        Objects.requireNonNull(delivery, "Delivery cannot be null");
+
+        if (delivery.receiver() != this) {
+            throw new IllegalArgumentException("Delivery was not received by this receiver: " + delivery);
+        }
+
+        return ((ClientDelivery) delivery).protonDelivery();
+    }
+
     private void replenishCreditIfNeeded() {
-        int creditWindow = options.creditWindow();
+        if (adaptiveCreditWindow != null) {
+            creditWindow = adaptiveCreditWindow.update(System.nanoTime(), consumedDeliveries);
+        }
+
+        int creditWindow = this.creditWindow;
         if (creditWindow > 0) {
             int currentCredit = protonReceiver.getCredit();
             if (currentCredit <= creditWindow * 0.5) {
                 int potentialPrefetch = currentCredit + messageQueue.size();
 
                 if (potentialPrefetch <= creditWindow * 0.7) {
-                    int additionalCredit = creditWindow - potentialPrefetch;
+                    int additionalCredit = limitCreditToPrefetchBytes(creditWindow - potentialPrefetch, currentCredit);
 
-                    LOG.trace("Consumer granting additional credit: {}", additionalCredit);
-                    try {
-                        protonReceiver.addCredit(additionalCredit);
-                    } catch (Exception ex) {
-                        LOG.debug("Error caught during credit top-up", ex);
+                    if (additionalCredit > 0) {
+                        LOG.trace("Consumer granting additional credit: {}", additionalCredit);
+                        try {
+                            if (adaptiveCreditWindow != null) {
+                                adaptiveCreditWindow.creditGranted(System.nanoTime(), currentCredit);
+                            }
+
+                            protonReceiver.addCredit(additionalCredit);
+                        } catch (Exception ex) {
+                            LOG.debug("Error caught during credit top-up", ex);
+                        }
                     }
                 }
             }
         }
     }
 
+    private boolean isPrefetchBytesLimited() {
+        return prefetchBudget.isLimited() || connectionPrefetchBudget.isLimited();
+    }
+
+    private boolean isPrefetchBytesTracked() {
+        return isPrefetchBytesLimited() || readThrottle.isEnabled();
+    }
+
+    /*
+     * Reduces a credit grant so that the deliveries it admits, at the average size of those
+     * seen so far, fit within the receiver and connection prefetch byte budgets.  A single
+     * credit is allowed when nothing is outstanding so that the receiver always makes progress
+     * and learns the size of its deliveries even when they are larger than the budget.
+     */
+    private int limitCreditToPrefetchBytes(int credit, int currentCredit) {
+        if (!isPrefetchBytesLimited()) {
+            return credit;
+        }
+
+        final boolean idle = currentCredit == 0 && messageQueue.isEmpty();
+        final long headroom = Math.min(prefetchBudget.headroom(), connectionPrefetchBudget.headroom());
+
+        if (headroom <= 0) {
+            if (idle) {
+                // Only other receivers can be holding the budget, wait for them to release some.
+                connectionPrefetchBudget.stall(this);
+            }
+
+            return 0;
+        } else if (averageDeliverySize == 0) {
+            return idle ? 1 : 0;
+        } else {
+            final long affordable = headroom / averageDeliverySize - currentCredit;
+
+            if (affordable <= 0) {
+                return idle ? 1 : 0;
+            } else {
+                return (int) Math.min(credit, affordable);
+            }
+        }
+    }
+
+    private void reservePrefetchBytes(int bytes) {
+        if (averageDeliverySize == 0) {
+            averageDeliverySize = Math.max(1, bytes);
+        } else {
+            averageDeliverySize = Math.max(1, (averageDeliverySize * 7 + bytes) / 8);
+        }
+
+        prefetchBudget.reserve(bytes);
+        connectionPrefetchBudget.reserve(bytes);
+        readThrottle.reserve(bytes);
+    }
+
+    private void releasePrefetchBytes(long bytes) {
+        // Never release more than this receiver holds so a late release cannot overdraw the shared budget.
+        final long released = Math.min(bytes, prefetchBudget.queuedBytes());
+
+        if (released > 0) {
+            prefetchBudget.release(released);
+            connectionPrefetchBudget.release(released);
+            readThrottle.release(released);
+        }
+    }
+
+    /*
+     * Counts deliveries handed to the application, deliveries discarded from the queue on drain
+     * or recovery were never consumed and must not inflate the measured consumption rate.
+     */
+    private void deliveriesConsumed(int count) {
+        if (adaptiveCreditWindow != null) {
+            CONSUMED_UPDATER.addAndGet(this, count);
+        }
+    }
+
+    private void prefetchConsumed(long bytes) {
+        if (isPrefetchBytesTracked()) {
+            session.execute(() -> {
+                releasePrefetchBytes(bytes);
+                replenishCreditIfNeeded();
+            });
+        }
+    }
+
+    /*
+     * Called on the event loop when a shared prefetch budget this receiver stalled on has headroom.
+     */
+    void prefetchBudgetReleased() {
+        if (!isClosed() && protonReceiver.isLocallyOpen()) {
+            replenishCreditIfNeeded();
+        }
+    }
+
     private void asyncReplenishCreditIfNeeded() {
-        int creditWindow = options.creditWindow();
         if (creditWindow > 0) {
-            executor.execute(() -> replenishCreditIfNeeded());
+            session.execute(() -> replenishCreditIfNeeded());
         }
     }
 
@@ -653,6 +947,13 @@ public final class ClientReceiver implements Receiver {
             drainingTimeout = null;
         }
 
+        if (publisher != null) {
+            publisher.linkClosed(failureCause);
+        }
+
+        connectionPrefetchBudget.remove(this);
+        releasePrefetchBytes(prefetchBudget.queuedBytes());
+
         closeFuture.complete(this);
     }
 }
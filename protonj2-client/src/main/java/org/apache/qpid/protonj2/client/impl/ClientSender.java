@@ -20,7 +20,11 @@ import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
@@ -42,6 +46,7 @@ import org.apache.qpid.protonj2.client.exceptions.ClientOperationTimedOutExcepti
 import org.apache.qpid.protonj2.client.exceptions.ClientResourceRemotelyClosedException;
 import org.apache.qpid.protonj2.client.exceptions.ClientUnsupportedOperationException;
 import org.apache.qpid.protonj2.client.futures.ClientFuture;
+import org.apache.qpid.protonj2.client.futures.ClientFutureFactory;
 import org.apache.qpid.protonj2.client.futures.ClientSynchronization;
 import org.apache.qpid.protonj2.engine.Connection;
 import org.apache.qpid.protonj2.engine.Engine;
@@ -72,10 +77,17 @@ class ClientSender implements Sender {
     protected final SenderOptions options;
     protected final ClientSession session;
     protected final ScheduledExecutorService executor;
+    protected final ClientFutureFactory futureFactory;
     protected final String senderId;
     protected final boolean sendsSettled;
     protected org.apache.qpid.protonj2.engine.Sender protonSender;
     protected Consumer<Sender> senderRemotelyClosedHandler;
+    protected volatile ClientMessageSubscriber subscriber;
+
+    // Unsettled sends tracked only when the options configure an in-flight limit
+    private final boolean limitsInFlight;
+    private int inFlightMessages;
+    private long inFlightBytes;
 
     protected volatile Source remoteSource;
     protected volatile Target remoteTarget;
@@ -85,10 +97,13 @@ class ClientSender implements Sender {
         this.session = session;
         this.senderId = senderId;
         this.executor = session.getScheduler();
-        this.openFuture = session.getFutureFactory().createFuture();
-        this.closeFuture = session.getFutureFactory().createFuture();
+        this.futureFactory = this.options.waitStrategy() != null ?
+            ClientFutureFactory.fromWaitStrategy(this.options.waitStrategy()) : session.getFutureFactory();
+        this.openFuture = futureFactory.createFuture();
+        this.closeFuture = futureFactory.createFuture();
         this.protonSender = protonSender.setLinkedResource(this);
         this.sendsSettled = protonSender.getSenderSettleMode() == SenderSettleMode.SETTLED;
+        this.limitsInFlight = this.options.maxInFlightMessages() > 0 || this.options.maxInFlightBytes() > 0;
     }
 
     @Override
@@ -255,6 +270,29 @@ class ClientSender implements Sender {
         return sendMessage(ClientMessageSupport.convertMessage(message), deliveryAnnotations, true);
     }
 
+    @Override
+    public CompletionStage<Tracker> sendAsync(Message<?> message) throws ClientException {
+        checkClosedOrFailed();
+        return sendMessageAsync(ClientMessageSupport.convertMessage(message), null);
+    }
+
+    @Override
+    public CompletionStage<Tracker> sendAsync(Message<?> message, Map<String, Object> deliveryAnnotations) throws ClientException {
+        checkClosedOrFailed();
+        return sendMessageAsync(ClientMessageSupport.convertMessage(message), deliveryAnnotations);
+    }
+
+    @Override
+    public synchronized Flow.Subscriber<Message<?>> subscriber() throws ClientException {
+        checkClosedOrFailed();
+
+        if (subscriber == null) {
+            subscriber = new ClientMessageSubscriber(this, executor);
+        }
+
+        return subscriber;
+    }
+
     @Override
     public Tracker trySend(Message<?> message) throws ClientException {
         checkClosedOrFailed();
@@ -280,14 +318,17 @@ class ClientSender implements Sender {
 
     void disposition(OutgoingDelivery delivery, DeliveryState state, boolean settled) throws ClientException {
         checkClosedOrFailed();
-        executor.execute(() -> {
+        session.execute(() -> {
             delivery.disposition(state, settled);
+            if (settled) {
+                releaseInFlight(delivery.getLinkedResource());
+            }
         });
     }
 
     void abort(OutgoingDelivery delivery, ClientTracker tracker) throws ClientException {
         checkClosedOrFailed();
-        ClientFuture<Tracker> request = session().getFutureFactory().createFuture(new ClientSynchronization<Tracker>() {
+        ClientFuture<Tracker> request = futureFactory.createFuture(new ClientSynchronization<Tracker>() {
 
             @Override
             public void onPendingSuccess(Tracker result) {
@@ -307,7 +348,7 @@ class ClientSender implements Sender {
             } else {
                 ClientOutgoingEnvelope envelope = new ClientOutgoingEnvelope(this, delivery, delivery.getMessageFormat(), null, false, request).abort();
                 try {
-                    if (protonSender.isSendable() && (protonSender.current() == null || protonSender.current() == delivery)) {
+                    if (isDispatchable() && (protonSender.current() == null || protonSender.current() == delivery)) {
                         envelope.sendPayload(delivery.getState(), delivery.isSettled());
                     } else {
                         if (protonSender.current() == delivery) {
@@ -327,7 +368,7 @@ class ClientSender implements Sender {
 
     void complete(OutgoingDelivery delivery, ClientTracker tracker) throws ClientException {
         checkClosedOrFailed();
-        ClientFuture<Tracker> request = session().getFutureFactory().createFuture(new ClientSynchronization<Tracker>() {
+        ClientFuture<Tracker> request = futureFactory.createFuture(new ClientSynchronization<Tracker>() {
 
             @Override
             public void onPendingSuccess(Tracker result) {
@@ -343,7 +384,7 @@ class ClientSender implements Sender {
         executor.execute(() -> {
             ClientOutgoingEnvelope envelope = new ClientOutgoingEnvelope(this, delivery, delivery.getMessageFormat(), null, true, request);
             try {
-                if (protonSender.isSendable() && (protonSender.current() == null || protonSender.current() == delivery)) {
+                if (isDispatchable() && (protonSender.current() == null || protonSender.current() == delivery)) {
                     envelope.sendPayload(delivery.getState(), delivery.isSettled());
                 } else {
                     if (protonSender.current() == delivery) {
@@ -383,6 +424,36 @@ class ClientSender implements Sender {
         return protonSender;
     }
 
+    /*
+     * Called on the event loop once a tracked delivery is settled either locally or by the remote
+     * and releases its in-flight capacity which can allow held sends to proceed.
+     */
+    void releaseInFlight(ClientTracker tracker) {
+        if (tracker != null && tracker.inFlightBytes() >= 0) {
+            inFlightMessages--;
+            inFlightBytes -= tracker.inFlightBytes();
+            tracker.inFlightBytes(-1);
+
+            handleCreditStateUpdated(protonSender);
+        }
+    }
+
+    /*
+     * Called on the event loop when the connection transport drains below its write buffer low
+     * water mark so that sends held while the transport was not writable can be dispatched.
+     */
+    void handleTransportWritable() {
+        handleCreditStateUpdated(protonSender);
+    }
+
+    /*
+     * Sends are only written into the engine when the link has credit and the transport has not
+     * reported that its outbound buffer is above the configured high water mark.
+     */
+    protected boolean isDispatchable() {
+        return protonSender.isSendable() && session.getConnection().isTransportWritable();
+    }
+
     ClientException getFailureCause() {
         if (failureCause == null) {
             return session.getFailureCause();
@@ -395,6 +466,10 @@ class ClientSender implements Sender {
         return senderId;
     }
 
+    ClientFutureFactory getFutureFactory() {
+        return futureFactory;
+    }
+
     boolean isClosed() {
         return closed > 0;
     }
@@ -491,15 +566,22 @@ class ClientSender implements Sender {
 
     private void handleCreditStateUpdated(org.apache.qpid.protonj2.engine.Sender sender) {
         if (!blocked.isEmpty()) {
-            while (sender.isSendable() && !blocked.isEmpty()) {
+            while (isDispatchable() && !blocked.isEmpty()) {
                 ClientOutgoingEnvelope held = blocked.peek();
-                if (held.delivery() == protonSender.current()) {
+                if (held.delivery() == null && held.failed()) {
+                    // The sender already reported this send as failed so it must never be transmitted.
+                    blocked.poll();
+                } else if (held.delivery() == protonSender.current()) {
+                    if (held.delivery() == null && isInFlightLimitReached(held)) {
+                        break;
+                    }
+
                     LOG.trace("Dispatching previously held send");
                     try {
                         // We don't currently allow a sender to define any outcome so we pass null for
                         // now, however a transaction context will apply its TransactionalState outcome
                         // and would wrap anything we passed in the future.
-                        session.getTransactionContext().send(held, null, isSendingSettled());
+                        sendAndTrackInFlight(held);
                     } catch (Exception error) {
                         held.failed(ClientExceptionSupport.createNonFatalOrPassthrough(error));
                     } finally {
@@ -514,6 +596,10 @@ class ClientSender implements Sender {
         if (sender.isDraining() && sender.current() == null && blocked.isEmpty()) {
             sender.drained();
         }
+
+        if (subscriber != null) {
+            subscriber.creditUpdated();
+        }
     }
 
     private void handleEngineShutdown(Engine engine) {
@@ -592,28 +678,129 @@ class ClientSender implements Sender {
     }
 
     protected Tracker sendMessage(AdvancedMessage<?> message, Map<String, Object> deliveryAnnotations, boolean waitForCredit) throws ClientException {
-        final ClientFuture<Tracker> operation = session.getFutureFactory().createFuture();
-        final ProtonBuffer buffer = message.encode(deliveryAnnotations);
+        final ClientFuture<Tracker> operation = futureFactory.createFuture();
 
-        executor.execute(() -> {
-            if (notClosedOrFailed(operation)) {
-                try {
-                    final ClientOutgoingEnvelope envelope = new ClientOutgoingEnvelope(this, message.messageFormat(), buffer, operation);
+        dispatchSend(message, message.encode(deliveryAnnotations), waitForCredit, operation);
 
-                    if (protonSender.isSendable() && protonSender.current() == null) {
-                        session.getTransactionContext().send(envelope, null, protonSender.getSenderSettleMode() == SenderSettleMode.SETTLED);
-                    } else if (waitForCredit) {
-                        addToTailOfBlockedQueue(envelope);
-                    } else {
-                        operation.complete(null);
-                    }
-                } catch (Exception error) {
-                    operation.failed(ClientExceptionSupport.createNonFatalOrPassthrough(error));
-                }
+        return session.request(this, operation);
+    }
+
+    protected CompletionStage<Tracker> sendMessageAsync(AdvancedMessage<?> message, Map<String, Object> deliveryAnnotations) throws ClientException {
+        final CompletableFuture<Tracker> stage = new CompletableFuture<>();
+        final ClientFuture<Tracker> operation = createStageOperation(stage);
+
+        try {
+            dispatchSend(message, message.encode(deliveryAnnotations), true, operation);
+        } catch (RejectedExecutionException rje) {
+            operation.failed(new ClientIllegalStateException("The Sender connection is closed", rje));
+        }
+
+        return stage;
+    }
+
+    /*
+     * Called on the event loop to send a message published to the sender subscriber, the message
+     * is held like any other asynchronous send if it cannot be sent immediately.
+     */
+    CompletionStage<Tracker> sendPublishedMessage(AdvancedMessage<?> message, ProtonBuffer buffer) {
+        final CompletableFuture<Tracker> stage = new CompletableFuture<>();
+
+        doDispatchSend(message, buffer, true, createStageOperation(stage));
+
+        return stage;
+    }
+
+    /*
+     * Called on the event loop to compute how many more messages can be sent right now without
+     * being held for link credit, the session window or the configured in-flight limits.
+     */
+    long sendableMessages() {
+        if (!protonSender.isSendable() || protonSender.isDraining() || !blocked.isEmpty()) {
+            return 0;
+        }
+
+        long sendable = protonSender.getCredit();
+
+        if (options.maxInFlightMessages() > 0) {
+            sendable = Math.min(sendable, options.maxInFlightMessages() - inFlightMessages);
+        }
+
+        if (options.maxInFlightBytes() > 0 && inFlightBytes > 0) {
+            // The size of the next message is not known so only one is allowed while bytes are in flight
+            sendable = inFlightBytes < options.maxInFlightBytes() ? Math.min(sendable, 1) : 0;
+        }
+
+        return Math.max(0, sendable);
+    }
+
+    private ClientFuture<Tracker> createStageOperation(CompletableFuture<Tracker> stage) {
+        return futureFactory.createFuture(new ClientSynchronization<Tracker>() {
+
+            @Override
+            public void onSuccess(Tracker result) {
+                stage.complete(result);
+            }
+
+            @Override
+            public void onFailure(Throwable cause) {
+                stage.completeExceptionally(cause instanceof ExecutionException ? cause.getCause() : cause);
             }
         });
+    }
 
-        return session.request(this, operation);
+    private void dispatchSend(AdvancedMessage<?> message, ProtonBuffer buffer, boolean waitForCredit, ClientFuture<Tracker> operation) {
+        session.execute(() -> doDispatchSend(message, buffer, waitForCredit, operation));
+    }
+
+    private void doDispatchSend(AdvancedMessage<?> message, ProtonBuffer buffer, boolean waitForCredit, ClientFuture<Tracker> operation) {
+        if (notClosedOrFailed(operation)) {
+            try {
+                final ClientOutgoingEnvelope envelope = new ClientOutgoingEnvelope(this, message.messageFormat(), buffer, operation);
+
+                if (isDispatchable() && protonSender.current() == null && !isInFlightLimitReached(envelope)) {
+                    sendAndTrackInFlight(envelope);
+                } else if (waitForCredit) {
+                    addToTailOfBlockedQueue(envelope);
+                } else {
+                    operation.complete(null);
+                }
+            } catch (Exception error) {
+                operation.failed(ClientExceptionSupport.createNonFatalOrPassthrough(error));
+            }
+        }
+    }
+
+    private boolean isInFlightLimitReached(ClientOutgoingEnvelope envelope) {
+        if (!limitsInFlight) {
+            return false;
+        } else if (envelope.delivery() == null && !blocked.isEmpty() && blocked.peek() != envelope) {
+            return true; // New sends queue behind those already held by the limits
+        } else if (options.maxInFlightMessages() > 0 && inFlightMessages >= options.maxInFlightMessages()) {
+            return true;
+        } else if (options.maxInFlightBytes() > 0 && inFlightBytes > 0) {
+            return inFlightBytes + payloadSize(envelope) > options.maxInFlightBytes();
+        } else {
+            return false;
+        }
+    }
+
+    private void sendAndTrackInFlight(ClientOutgoingEnvelope envelope) {
+        final boolean newDelivery = envelope.delivery() == null;
+        final int size = payloadSize(envelope);
+
+        session.getTransactionContext().send(envelope, null, isSendingSettled());
+
+        if (limitsInFlight && newDelivery && envelope.delivery() != null && !envelope.delivery().isSettled()) {
+            final ClientTracker tracker = envelope.delivery().getLinkedResource();
+
+            tracker.inFlightBytes(size);
+            inFlightMessages++;
+            inFlightBytes += size;
+        }
+    }
+
+    private static int payloadSize(ClientOutgoingEnvelope envelope) {
+        return envelope.payload() == null ? 0 : envelope.payload().getReadableBytes();
     }
 
     protected Tracker createTracker(OutgoingDelivery delivery) {
@@ -678,6 +865,10 @@ class ClientSender implements Sender {
             openFuture.complete(this);
         }
 
+        if (subscriber != null) {
+            subscriber.senderClosed();
+        }
+
         closeFuture.complete(this);
     }
 
@@ -686,11 +877,15 @@ class ClientSender implements Sender {
         protonSender.unsettled().forEach((delivery) -> {
             try {
                 final ClientTracker tracker = delivery.getLinkedResource();
+                tracker.inFlightBytes(-1);
                 tracker.settlementFuture().failed(cause);
             } catch (Exception e) {
             }
         });
 
+        inFlightMessages = 0;
+        inFlightBytes = 0;
+
         // Cancel all blocked sends passing an appropriate error to the future
         blocked.removeIf((held) -> {
             held.failed(cause);
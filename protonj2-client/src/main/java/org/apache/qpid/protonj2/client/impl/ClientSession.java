@@ -165,7 +165,7 @@ public class ClientSession implements Session {
         Objects.requireNonNull(address, "Cannot create a receiver with a null address");
         final ClientFuture<Receiver> createReceiver = getFutureFactory().createFuture();
 
-        serializer.execute(() -> {
+        connection.execute(() -> {
             try {
                 checkClosedOrFailed();
                 createReceiver.complete(internalOpenReceiver(address, receiverOptions));
@@ -188,7 +188,7 @@ public class ClientSession implements Session {
         Objects.requireNonNull(address, "Cannot create a receiver with a null address");
         final ClientFuture<Receiver> createReceiver = getFutureFactory().createFuture();
 
-        serializer.execute(() -> {
+        connection.execute(() -> {
             try {
                 checkClosedOrFailed();
                 createReceiver.complete(internalOpenDurableReceiver(address, subscriptionName, receiverOptions));
@@ -220,7 +220,7 @@ public class ClientSession implements Session {
         checkClosedOrFailed();
         final ClientFuture<Receiver> createReceiver = getFutureFactory().createFuture();
 
-        serializer.execute(() -> {
+        connection.execute(() -> {
             try {
                 checkClosedOrFailed();
                 createReceiver.complete(internalOpenDynamicReceiver(dynamicNodeProperties, receiverOptions));
@@ -243,7 +243,7 @@ public class ClientSession implements Session {
         Objects.requireNonNull(address, "Cannot create a sender with a null address");
         final ClientFuture<Sender> createSender = getFutureFactory().createFuture();
 
-        serializer.execute(() -> {
+        connection.execute(() -> {
             try {
                 checkClosedOrFailed();
                 createSender.complete(internalOpenSender(address, senderOptions));
@@ -265,7 +265,7 @@ public class ClientSession implements Session {
         checkClosedOrFailed();
         final ClientFuture<Sender> createSender = getFutureFactory().createFuture();
 
-        serializer.execute(() -> {
+        connection.execute(() -> {
             try {
                 checkClosedOrFailed();
                 createSender.complete(internalOpenAnonymousSender(senderOptions));
@@ -410,6 +410,10 @@ public class ClientSession implements Session {
         return serializer;
     }
 
+    void execute(Runnable task) {
+        connection.execute(task);
+    }
+
     ClientFutureFactory getFutureFactory() {
         return connection.getFutureFactory();
     }
@@ -218,7 +218,7 @@ public final class ClientStreamDelivery implements StreamDelivery {
             markIndex = INVALID_MARK;
 
             if (closed.compareAndSet(false, true)) {
-                final ClientFuture<Void> closed = receiver.session().getFutureFactory().createFuture();
+                final ClientFuture<Void> closed = receiver.getFutureFactory().createFuture();
 
                 try {
                     executor.execute(() -> {
@@ -284,7 +284,7 @@ public final class ClientStreamDelivery implements StreamDelivery {
             if (buffer.isReadable()) {
                 return buffer.getReadableBytes();
             } else {
-                final ClientFuture<Integer> request = receiver.session().getFutureFactory().createFuture();
+                final ClientFuture<Integer> request = receiver.getFutureFactory().createFuture();
 
                 try {
                     executor.execute(() -> {
@@ -437,7 +437,7 @@ public final class ClientStreamDelivery implements StreamDelivery {
         }
 
         private int requestMoreData() throws IOException {
-            final ClientFuture<Integer> request = receiver.session().getFutureFactory().createFuture();
+            final ClientFuture<Integer> request = receiver.getFutureFactory().createFuture();
 
             try {
                 executor.execute(() -> {
@@ -16,18 +16,23 @@
  */
 package org.apache.qpid.protonj2.client.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
+import org.apache.qpid.protonj2.client.Delivery;
 import org.apache.qpid.protonj2.client.ErrorCondition;
 import org.apache.qpid.protonj2.client.Receiver;
 import org.apache.qpid.protonj2.client.Source;
@@ -41,9 +46,11 @@ import org.apache.qpid.protonj2.client.exceptions.ClientIllegalStateException;
 import org.apache.qpid.protonj2.client.exceptions.ClientOperationTimedOutException;
 import org.apache.qpid.protonj2.client.exceptions.ClientResourceRemotelyClosedException;
 import org.apache.qpid.protonj2.client.futures.ClientFuture;
+import org.apache.qpid.protonj2.client.futures.ClientFutureFactory;
 import org.apache.qpid.protonj2.engine.Connection;
 import org.apache.qpid.protonj2.engine.Engine;
 import org.apache.qpid.protonj2.engine.IncomingDelivery;
+import org.apache.qpid.protonj2.types.messaging.Accepted;
 import org.apache.qpid.protonj2.types.messaging.Released;
 import org.apache.qpid.protonj2.types.transport.DeliveryState;
 import org.slf4j.Logger;
@@ -63,10 +70,12 @@ public final class ClientStreamReceiver implements StreamReceiver {
     private final StreamReceiverOptions options;
     private final ClientSession session;
     private final ScheduledExecutorService executor;
+    private final ClientFutureFactory futureFactory;
     private final String receiverId;
     private final Map<ClientFuture<StreamDelivery>, ScheduledFuture<?>> receiveRequests = new LinkedHashMap<>();
 
     private org.apache.qpid.protonj2.engine.Receiver protonReceiver;
+    private volatile ClientDeliveryPublisher<StreamDelivery> publisher;
     private volatile int closed;
     private ClientException failureCause;
     private volatile Source remoteSource;
@@ -77,8 +86,10 @@ public final class ClientStreamReceiver implements StreamReceiver {
         this.session = session;
         this.receiverId = receiverId;
         this.executor = session.getScheduler();
-        this.openFuture = session.getFutureFactory().createFuture();
-        this.closeFuture = session.getFutureFactory().createFuture();
+        this.futureFactory = this.options.waitStrategy() != null ?
+            ClientFutureFactory.fromWaitStrategy(this.options.waitStrategy()) : session.getFutureFactory();
+        this.openFuture = futureFactory.createFuture();
+        this.closeFuture = futureFactory.createFuture();
         this.protonReceiver = receiver.setLinkedResource(this);
 
         if (options.creditWindow() > 0) {
@@ -200,7 +211,7 @@ public final class ClientStreamReceiver implements StreamReceiver {
     @Override
     public StreamDelivery receive(long timeout, TimeUnit unit) throws ClientException {
         checkClosedOrFailed();
-        final ClientFuture<StreamDelivery> receive = session.getFutureFactory().createFuture();
+        final ClientFuture<StreamDelivery> receive = futureFactory.createFuture();
 
         executor.execute(() -> {
             if (notClosedOrFailed(receive)) {
@@ -241,6 +252,88 @@ public final class ClientStreamReceiver implements StreamReceiver {
         return session.request(this, receive);
     }
 
+    @Override
+    public List<Delivery> receive(int maxDeliveries, long timeout, TimeUnit unit) throws ClientException {
+        if (maxDeliveries <= 0) {
+            throw new IllegalArgumentException("The maximum number of deliveries to receive must be greater than zero");
+        }
+
+        checkClosedOrFailed();
+        final ClientFuture<List<Delivery>> receive = futureFactory.createFuture();
+
+        executor.execute(() -> {
+            if (notClosedOrFailed(receive)) {
+                final List<Delivery> deliveries = new ArrayList<>();
+
+                for (IncomingDelivery unsettled : protonReceiver.unsettled()) {
+                    if (deliveries.size() == maxDeliveries) {
+                        break;
+                    } else if (unsettled.getLinkedResource() == null) {
+                        deliveries.add(new ClientStreamDelivery(this, unsettled));
+                    }
+                }
+
+                receive.complete(deliveries);
+            }
+        });
+
+        final List<Delivery> deliveries = session.request(this, receive);
+
+        // Nothing was ready so fall back to waiting for the next delivery to arrive.
+        if (deliveries.isEmpty() && timeout != 0) {
+            final StreamDelivery delivery = receive(timeout, unit);
+            if (delivery != null) {
+                deliveries.add(delivery);
+            }
+        }
+
+        return deliveries;
+    }
+
+    @Override
+    public StreamReceiver accept(Collection<? extends Delivery> deliveries) throws ClientException {
+        Objects.requireNonNull(deliveries, "Deliveries to accept cannot be null");
+
+        final List<IncomingDelivery> protonDeliveries = new ArrayList<>(deliveries.size());
+        for (Delivery delivery : deliveries) {
+            protonDeliveries.add(protonDelivery(delivery));
+        }
+
+        checkClosedOrFailed();
+
+        if (!protonDeliveries.isEmpty()) {
+            session.execute(() -> {
+                session.getTransactionContext().disposition(protonReceiver, protonDeliveries, Accepted.getInstance(), true);
+                replenishCreditIfNeeded();
+            });
+        }
+
+        return this;
+    }
+
+    @Override
+    public StreamReceiver acceptUpTo(Delivery delivery) throws ClientException {
+        final IncomingDelivery lastDelivery = protonDelivery(delivery);
+
+        checkClosedOrFailed();
+
+        session.execute(() -> {
+            final List<IncomingDelivery> deliveries = new ArrayList<>();
+
+            // Unsettled deliveries are held in arrival order so stop once the target is reached.
+            for (IncomingDelivery unsettled : protonReceiver.unsettled()) {
+                deliveries.add(unsettled);
+                if (unsettled == lastDelivery) {
+                    session.getTransactionContext().disposition(protonReceiver, deliveries, Accepted.getInstance(), true);
+                    replenishCreditIfNeeded();
+                    break;
+                }
+            }
+        });
+
+        return this;
+    }
+
     @Override
     public StreamDelivery tryReceive() throws ClientException {
         checkClosedOrFailed();
@@ -250,9 +343,9 @@ public final class ClientStreamReceiver implements StreamReceiver {
     @Override
     public StreamReceiver addCredit(int credits) throws ClientException {
         checkClosedOrFailed();
-        ClientFuture<StreamReceiver> creditAdded = session.getFutureFactory().createFuture();
+        ClientFuture<StreamReceiver> creditAdded = futureFactory.createFuture();
 
-        executor.execute(() -> {
+        session.execute(() -> {
             if (notClosedOrFailed(creditAdded)) {
                 if (options.creditWindow() != 0) {
                     creditAdded.failed(new ClientIllegalStateException("Cannot add credit when a credit window has been configured"));
@@ -272,10 +365,26 @@ public final class ClientStreamReceiver implements StreamReceiver {
         return session.request(this, creditAdded);
     }
 
+    @Override
+    public synchronized Flow.Publisher<StreamDelivery> publisher() throws ClientException {
+        checkClosedOrFailed();
+
+        if (options.creditWindow() != 0) {
+            throw new ClientIllegalStateException("Cannot publish deliveries when a credit window has been configured");
+        }
+
+        if (publisher == null) {
+            // Stream deliveries are auto accepted once the application has read the full message
+            publisher = new ClientDeliveryPublisher<>(executor, () -> protonReceiver, this::nextUnclaimedDelivery, delivery -> {});
+        }
+
+        return publisher;
+    }
+
     @Override
     public Future<Receiver> drain() throws ClientException {
         checkClosedOrFailed();
-        final ClientFuture<Receiver> drainComplete = session.getFutureFactory().createFuture();
+        final ClientFuture<Receiver> drainComplete = futureFactory.createFuture();
 
         executor.execute(() -> {
             if (notClosedOrFailed(drainComplete)) {
@@ -341,10 +450,15 @@ public final class ClientStreamReceiver implements StreamReceiver {
         return remoteTarget;
     }
 
+    @Override
+    public int creditWindow() {
+        return options.creditWindow();
+    }
+
     @Override
     public long queuedDeliveries() throws ClientException {
         checkClosedOrFailed();
-        final ClientFuture<Integer> request = session.getFutureFactory().createFuture();
+        final ClientFuture<Integer> request = futureFactory.createFuture();
 
         executor.execute(() -> {
             if (notClosedOrFailed(request)) {
@@ -401,6 +515,10 @@ public final class ClientStreamReceiver implements StreamReceiver {
         return receiverId;
     }
 
+    ClientFutureFactory getFutureFactory() {
+        return futureFactory;
+    }
+
     boolean isClosed() {
         return closed > 0;
     }
@@ -535,8 +653,10 @@ public final class ClientStreamReceiver implements StreamReceiver {
         }
 
         if (delivery.getLinkedResource() == null) {
-            // New delivery that can be sent to a waiting receive caller
-            if (!receiveRequests.isEmpty()) {
+            // New delivery that can be sent to a subscriber or a waiting receive caller
+            if (publisher != null && publisher.hasDemand()) {
+                publisher.publish(new ClientStreamDelivery(this, delivery));
+            } else if (!receiveRequests.isEmpty()) {
                 Iterator<Entry<ClientFuture<StreamDelivery>, ScheduledFuture<?>>> entries =
                     receiveRequests.entrySet().iterator();
 
@@ -580,13 +700,33 @@ public final class ClientStreamReceiver implements StreamReceiver {
 
     //----- Private implementation details
 
+    private StreamDelivery nextUnclaimedDelivery() {
+        for (IncomingDelivery unsettled : protonReceiver.unsettled()) {
+            if (unsettled.getLinkedResource() == null) {
+                return new ClientStreamDelivery(this, unsettled);
+            }
+        }
+
+        return null;
+    }
+
+    private IncomingDelivery protonDelivery(Delivery delivery) {
+        Objects.requireNonNull(delivery, "Delivery cannot be null");
+
+        if (delivery.receiver() != this) {
+            throw new IllegalArgumentException("Delivery was not received by this receiver: " + delivery);
+        }
+
+        return ((ClientStreamDelivery) delivery).getProtonDelivery();
+    }
+
     void disposition(IncomingDelivery delivery, DeliveryState state, boolean settle) throws ClientException {
         checkClosedOrFailed();
         asyncApplyDisposition(delivery, state, settle);
     }
 
     private void asyncApplyDisposition(IncomingDelivery delivery, DeliveryState state, boolean settle) throws ClientException {
-        executor.execute(() -> {
+        session.execute(() -> {
             session.getTransactionContext().disposition(delivery, state, settle);
             replenishCreditIfNeeded();
         });
@@ -702,6 +842,10 @@ public final class ClientStreamReceiver implements StreamReceiver {
             drainingTimeout = null;
         }
 
+        if (publisher != null) {
+            publisher.linkClosed(failureCause);
+        }
+
         closeFuture.complete(this);
     }
 }
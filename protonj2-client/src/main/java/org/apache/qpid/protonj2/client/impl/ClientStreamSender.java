@@ -74,7 +74,7 @@ public final class ClientStreamSender extends ClientSender implements StreamSend
     @Override
     public ClientStreamSenderMessage beginMessage(Map<String, Object> deliveryAnnotations) throws ClientException {
         checkClosedOrFailed();
-        final ClientFuture<ClientStreamSenderMessage> request = session.getFutureFactory().createFuture();
+        final ClientFuture<ClientStreamSenderMessage> request = getFutureFactory().createFuture();
         final DeliveryAnnotations annotations;
 
         if (deliveryAnnotations != null) {
@@ -115,7 +115,7 @@ public final class ClientStreamSender extends ClientSender implements StreamSend
     }
 
     StreamTracker sendMessage(ClientStreamSenderMessage context, AdvancedMessage<?> message) throws ClientException {
-        final ClientFuture<Tracker> operation = session.getFutureFactory().createFuture();
+        final ClientFuture<Tracker> operation = getFutureFactory().createFuture();
         final ProtonBuffer buffer = message.encode(null);
         final ClientOutgoingEnvelope envelope = new ClientOutgoingEnvelope(
             this, context.getProtonDelivery(), message.messageFormat(), buffer, context.completed(), operation);
@@ -123,7 +123,7 @@ public final class ClientStreamSender extends ClientSender implements StreamSend
         executor.execute(() -> {
             if (notClosedOrFailed(operation)) {
                 try {
-                    if (protonSender.isSendable()) {
+                    if (isDispatchable()) {
                         session.getTransactionContext().send(envelope, null, isSendingSettled());
                     } else {
                         addToHeadOfBlockedQueue(envelope);
@@ -16,6 +16,8 @@
  */
 package org.apache.qpid.protonj2.client.impl;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -27,6 +29,7 @@ import org.apache.qpid.protonj2.client.exceptions.ClientDeliveryStateException;
 import org.apache.qpid.protonj2.client.exceptions.ClientException;
 import org.apache.qpid.protonj2.client.exceptions.ClientOperationTimedOutException;
 import org.apache.qpid.protonj2.client.futures.ClientFuture;
+import org.apache.qpid.protonj2.client.futures.ClientSynchronization;
 import org.apache.qpid.protonj2.engine.OutgoingDelivery;
 
 /**
@@ -38,6 +41,9 @@ class ClientTracker implements Tracker {
     private final OutgoingDelivery delivery;
 
     private final ClientFuture<Tracker> remoteSettlementFuture;
+    private final CompletableFuture<Tracker> remoteSettlementStage = new CompletableFuture<>();
+
+    private int inFlightBytes = -1;
 
     private volatile boolean remotelySetted;
     private volatile DeliveryState remoteDeliveryState;
@@ -54,13 +60,32 @@ class ClientTracker implements Tracker {
         this.sender = sender;
         this.delivery = delivery;
         this.delivery.deliveryStateUpdatedHandler(this::processDeliveryUpdated);
-        this.remoteSettlementFuture = sender.session().getFutureFactory().createFuture();
+        this.remoteSettlementFuture = sender.getFutureFactory().createFuture(new ClientSynchronization<Tracker>() {
+
+            @Override
+            public void onSuccess(Tracker result) {
+                remoteSettlementStage.complete(result);
+            }
+
+            @Override
+            public void onFailure(Throwable cause) {
+                remoteSettlementStage.completeExceptionally(cause instanceof ExecutionException ? cause.getCause() : cause);
+            }
+        });
     }
 
     OutgoingDelivery delivery() {
         return delivery;
     }
 
+    int inFlightBytes() {
+        return inFlightBytes;
+    }
+
+    void inFlightBytes(int inFlightBytes) {
+        this.inFlightBytes = inFlightBytes;
+    }
+
     @Override
     public Sender sender() {
         return sender;
@@ -119,6 +144,15 @@ class ClientTracker implements Tracker {
         return remoteSettlementFuture;
     }
 
+    @Override
+    public CompletionStage<Tracker> settlementStage() {
+        if (delivery.isSettled()) {
+            remoteSettlementFuture.complete(this);
+        }
+
+        return remoteSettlementStage;
+    }
+
     @Override
     public Tracker awaitSettlement() throws ClientException {
         try {
@@ -210,5 +244,9 @@ class ClientTracker implements Tracker {
         if (sender.options().autoSettle() && delivery.isRemotelySettled()) {
             delivery.settle();
         }
+
+        if (delivery.isRemotelySettled()) {
+            sender.releaseInFlight(this);
+        }
     }
 }
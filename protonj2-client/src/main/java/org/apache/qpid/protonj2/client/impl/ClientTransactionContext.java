@@ -16,10 +16,13 @@
  */
 package org.apache.qpid.protonj2.client.impl;
 
+import java.util.Collection;
+
 import org.apache.qpid.protonj2.client.Session;
 import org.apache.qpid.protonj2.client.exceptions.ClientIllegalStateException;
 import org.apache.qpid.protonj2.client.futures.ClientFuture;
 import org.apache.qpid.protonj2.engine.IncomingDelivery;
+import org.apache.qpid.protonj2.engine.Receiver;
 import org.apache.qpid.protonj2.types.transactions.TransactionalState;
 import org.apache.qpid.protonj2.types.transport.DeliveryState;
 
@@ -115,4 +118,21 @@ public interface ClientTransactionContext {
      */
     ClientTransactionContext disposition(IncomingDelivery delivery, DeliveryState state, boolean settled);
 
+    /**
+     * Apply a disposition to each of the given deliveries as a single operation on the receiver link
+     * following the same transactional rules as {@link #disposition(IncomingDelivery, DeliveryState, boolean)}.
+     *
+     * @param receiver
+     *      The receiver link that the deliveries were received on.
+     * @param deliveries
+     *      The incoming deliveries that the receiver is applying a disposition to.
+     * @param state
+     *      The delivery state that is being applied as the outcome of the deliveries.
+     * @param settled
+     *      The settlement value that is being requested for the deliveries.
+     *
+     * @return this {@link ClientTransactionContext} instance.
+     */
+    ClientTransactionContext disposition(Receiver receiver, Collection<IncomingDelivery> deliveries, DeliveryState state, boolean settled);
+
 }
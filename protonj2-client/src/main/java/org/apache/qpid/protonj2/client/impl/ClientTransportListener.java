@@ -33,9 +33,11 @@ final class ClientTransportListener implements TransportListener {
 
     private static final Logger LOG = LoggerFactory.getLogger(ClientTransportListener.class);
 
+    private final ClientConnection connection;
     private final Engine engine;
 
-    public ClientTransportListener(Engine engine) {
+    public ClientTransportListener(ClientConnection connection, Engine engine) {
+        this.connection = connection;
         this.engine = engine;
     }
 
@@ -52,16 +54,28 @@ final class ClientTransportListener implements TransportListener {
     @Override
     public void transportRead(ProtonBuffer incoming) {
         try {
-            do {
-                engine.ingest(incoming);
-            } while (incoming.isReadable() && engine.isWritable());
-            // TODO - How do we handle case of not all data read ?
+            engine.beginBatch();
+            try {
+                do {
+                    engine.ingest(incoming);
+                } while (incoming.isReadable() && engine.isWritable());
+                // TODO - How do we handle case of not all data read ?
+            } finally {
+                engine.endBatch();
+            }
         } catch (EngineStateException e) {
             LOG.warn("Caught problem during incoming data processing: {}", e.getMessage(), e);
             engine.engineFailed(ClientExceptionSupport.createOrPassthroughFatal(e));
         }
     }
 
+    @Override
+    public void transportWritabilityChanged(boolean writable) {
+        if (!engine.isShutdown()) {
+            connection.handleTransportWritabilityChanged(writable);
+        }
+    }
+
     @Override
     public void transportError(Throwable error) {
         if (!engine.isShutdown()) {
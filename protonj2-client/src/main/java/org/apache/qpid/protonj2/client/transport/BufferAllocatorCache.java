@@ -0,0 +1,231 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client.transport;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.apache.qpid.protonj2.client.BufferAllocatorMetrics;
+import org.apache.qpid.protonj2.client.TransportOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufAllocatorMetricProvider;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+
+/**
+ * Cache of the Netty buffer allocators used by the transports of a client which allows every
+ * connection that uses the same allocator related {@link TransportOptions} to share a single
+ * allocator and therefore a single set of pooled arenas.  The cache also provides the memory
+ * statistics of the allocators it holds so that the allocator options can be tuned for the
+ * number and size of the connections a client maintains.  Options left at their defaults map
+ * to the default Netty allocator whose statistics cover every user of it in the JVM.
+ */
+public final class BufferAllocatorCache implements BufferAllocatorMetrics {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BufferAllocatorCache.class);
+
+    private final Map<AllocatorKey, ByteBufAllocator> allocators = new HashMap<>();
+
+    /**
+     * Returns the allocator matching the given options, creating it if no connection of this
+     * client has used the same allocator options before.
+     *
+     * @param options
+     *      The transport options that configure the allocator.
+     *
+     * @return the {@link ByteBufAllocator} that transports with the given options should use.
+     */
+    public synchronized ByteBufAllocator getOrCreateAllocator(TransportOptions options) {
+        return allocators.computeIfAbsent(new AllocatorKey(options), BufferAllocatorCache::createAllocator);
+    }
+
+    /**
+     * Creates an allocator configured from the given options without caching it.
+     *
+     * @param options
+     *      The transport options that configure the allocator.
+     *
+     * @return a {@link ByteBufAllocator} configured from the given options.
+     */
+    public static ByteBufAllocator createAllocator(TransportOptions options) {
+        return createAllocator(new AllocatorKey(options));
+    }
+
+    /**
+     * @return the heap memory in bytes currently used by the allocators in this cache.
+     */
+    @Override
+    public synchronized long usedHeapMemory() {
+        long used = 0;
+        for (ByteBufAllocator allocator : allocators.values()) {
+            if (allocator instanceof ByteBufAllocatorMetricProvider) {
+                used += ((ByteBufAllocatorMetricProvider) allocator).metric().usedHeapMemory();
+            }
+        }
+
+        return used;
+    }
+
+    /**
+     * @return the direct memory in bytes currently used by the allocators in this cache.
+     */
+    @Override
+    public synchronized long usedDirectMemory() {
+        long used = 0;
+        for (ByteBufAllocator allocator : allocators.values()) {
+            if (allocator instanceof ByteBufAllocatorMetricProvider) {
+                used += ((ByteBufAllocatorMetricProvider) allocator).metric().usedDirectMemory();
+            }
+        }
+
+        return used;
+    }
+
+    /**
+     * @return the number of heap arenas of the pooled allocators in this cache.
+     */
+    @Override
+    public synchronized int numHeapArenas() {
+        int arenas = 0;
+        for (ByteBufAllocator allocator : allocators.values()) {
+            if (allocator instanceof PooledByteBufAllocator) {
+                arenas += ((PooledByteBufAllocator) allocator).metric().numHeapArenas();
+            }
+        }
+
+        return arenas;
+    }
+
+    /**
+     * @return the number of direct arenas of the pooled allocators in this cache.
+     */
+    @Override
+    public synchronized int numDirectArenas() {
+        int arenas = 0;
+        for (ByteBufAllocator allocator : allocators.values()) {
+            if (allocator instanceof PooledByteBufAllocator) {
+                arenas += ((PooledByteBufAllocator) allocator).metric().numDirectArenas();
+            }
+        }
+
+        return arenas;
+    }
+
+    /**
+     * @return the number of thread local caches of the pooled allocators in this cache.
+     */
+    @Override
+    public synchronized int numThreadLocalCaches() {
+        int caches = 0;
+        for (ByteBufAllocator allocator : allocators.values()) {
+            if (allocator instanceof PooledByteBufAllocator) {
+                caches += ((PooledByteBufAllocator) allocator).metric().numThreadLocalCaches();
+            }
+        }
+
+        return caches;
+    }
+
+    /**
+     * @return the number of allocators currently held in this cache.
+     */
+    public synchronized int size() {
+        return allocators.size();
+    }
+
+    /**
+     * Discards all cached allocators, connections created afterwards will create new allocators.
+     */
+    public synchronized void clear() {
+        allocators.clear();
+    }
+
+    //----- Internal implementation
+
+    private static ByteBufAllocator createAllocator(AllocatorKey key) {
+        if (key.isDefault()) {
+            return ByteBufAllocator.DEFAULT;
+        } else if (!key.pooled) {
+            LOG.trace("Creating new unpooled buffer allocator preferring direct buffers: {}", key.direct);
+            return new UnpooledByteBufAllocator(key.direct);
+        } else {
+            final int heapArenas = key.heapArenas < 0 ? PooledByteBufAllocator.defaultNumHeapArena() : key.heapArenas;
+            final int directArenas = key.directArenas < 0 ? PooledByteBufAllocator.defaultNumDirectArena() : key.directArenas;
+
+            LOG.trace("Creating new pooled buffer allocator with {} heap and {} direct arenas", heapArenas, directArenas);
+
+            return new PooledByteBufAllocator(key.direct, heapArenas, directArenas,
+                                              PooledByteBufAllocator.defaultPageSize(),
+                                              PooledByteBufAllocator.defaultMaxOrder(),
+                                              key.threadLocalCache ? PooledByteBufAllocator.defaultSmallCacheSize() : 0,
+                                              key.threadLocalCache ? PooledByteBufAllocator.defaultNormalCacheSize() : 0,
+                                              key.threadLocalCache && PooledByteBufAllocator.defaultUseCacheForAllThreads());
+        }
+    }
+
+    private static final class AllocatorKey {
+
+        private final boolean pooled;
+        private final boolean direct;
+        private final int heapArenas;
+        private final int directArenas;
+        private final boolean threadLocalCache;
+
+        AllocatorKey(TransportOptions options) {
+            this.pooled = options.pooledBuffers();
+            this.direct = options.directBuffers();
+            this.heapArenas = Math.max(-1, options.allocatorHeapArenas());
+            this.directArenas = Math.max(-1, options.allocatorDirectArenas());
+            this.threadLocalCache = options.allocatorThreadLocalCache();
+        }
+
+        boolean isDefault() {
+            return pooled == TransportOptions.DEFAULT_POOLED_BUFFERS &&
+                   direct == TransportOptions.DEFAULT_DIRECT_BUFFERS &&
+                   heapArenas < 0 && directArenas < 0 &&
+                   threadLocalCache == TransportOptions.DEFAULT_ALLOCATOR_THREAD_LOCAL_CACHE;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(pooled, direct, heapArenas, directArenas, threadLocalCache);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+
+            if (!(obj instanceof AllocatorKey)) {
+                return false;
+            }
+
+            final AllocatorKey other = (AllocatorKey) obj;
+
+            return pooled == other.pooled &&
+                   direct == other.direct &&
+                   heapArenas == other.heapArenas &&
+                   directArenas == other.directArenas &&
+                   threadLocalCache == other.threadLocalCache;
+        }
+    }
+}
@@ -22,9 +22,12 @@ import org.apache.qpid.protonj2.client.TransportOptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.Channel;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollDomainSocketChannel;
 import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.epoll.EpollSocketChannel;
 
@@ -50,4 +53,31 @@ public class EpollSupport {
     public static Class<? extends Channel> getChannelClass() {
         return EpollSocketChannel.class;
     }
+
+    /**
+     * Applies the Linux specific TCP socket options from the given options to a bootstrap that
+     * creates Epoll socket channels.
+     *
+     * @param bootstrap
+     *      The bootstrap whose channel options are configured.
+     * @param options
+     *      The transport options that define the socket options to apply.
+     */
+    public static void configureSocketOptions(Bootstrap bootstrap, TransportOptions options) {
+        if (options.tcpQuickAck()) {
+            bootstrap.option(EpollChannelOption.TCP_QUICKACK, true);
+        }
+
+        if (options.busyPollMicros() > 0) {
+            bootstrap.option(EpollChannelOption.SO_BUSY_POLL, options.busyPollMicros());
+        }
+
+        if (options.tcpNotSentLowWaterMark() > 0) {
+            bootstrap.option(EpollChannelOption.TCP_NOTSENT_LOWAT, options.tcpNotSentLowWaterMark());
+        }
+    }
+
+    public static Class<? extends Channel> getDomainSocketChannelClass() {
+        return EpollDomainSocketChannel.class;
+    }
 }
@@ -22,9 +22,11 @@ import org.apache.qpid.protonj2.client.TransportOptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.Channel;
 import io.netty.channel.EventLoopGroup;
 import io.netty.incubator.channel.uring.IOUring;
+import io.netty.incubator.channel.uring.IOUringChannelOption;
 import io.netty.incubator.channel.uring.IOUringEventLoopGroup;
 import io.netty.incubator.channel.uring.IOUringSocketChannel;
 
@@ -50,4 +52,27 @@ public class IOUringSupport {
     public static Class<? extends Channel> getChannelClass() {
         return IOUringSocketChannel.class;
     }
+
+    /**
+     * Applies the Linux specific TCP socket options from the given options to a bootstrap that
+     * creates IO_Uring socket channels, busy polling is not supported by this IO layer.
+     *
+     * @param bootstrap
+     *      The bootstrap whose channel options are configured.
+     * @param options
+     *      The transport options that define the socket options to apply.
+     */
+    public static void configureSocketOptions(Bootstrap bootstrap, TransportOptions options) {
+        if (options.tcpQuickAck()) {
+            bootstrap.option(IOUringChannelOption.TCP_QUICKACK, true);
+        }
+
+        if (options.busyPollMicros() > 0) {
+            LOG.debug("Busy polling is not supported by the IO_Uring IO layer and will not be enabled");
+        }
+
+        if (options.tcpNotSentLowWaterMark() > 0) {
+            bootstrap.option(IOUringChannelOption.TCP_NOTSENT_LOWAT, options.tcpNotSentLowWaterMark());
+        }
+    }
 }
@@ -0,0 +1,409 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client.transport;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.security.Principal;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.apache.qpid.protonj2.buffer.ProtonBuffer;
+import org.apache.qpid.protonj2.buffer.ProtonBufferAllocator;
+import org.apache.qpid.protonj2.buffer.ProtonByteBufferAllocator;
+import org.apache.qpid.protonj2.client.SslOptions;
+import org.apache.qpid.protonj2.client.TransportOptions;
+import org.apache.qpid.protonj2.client.util.IOExceptionSupport;
+import org.apache.qpid.protonj2.engine.Engine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.netty.channel.EventLoop;
+
+/**
+ * Transport that connects to a peer {@link Engine} running in the same JVM without any socket
+ * or Netty channel, buffers written to this transport are ingested directly by the peer engine
+ * and the buffers the peer engine writes are handed to the {@link TransportListener} without
+ * being copied.
+ * <p>
+ * Peers are registered under a name using {@link #bind(String, Supplier)} and each connection
+ * to that name obtains a new started engine from the supplier.  The peer engine is driven from
+ * the IO thread of the connecting transport, its handlers must therefore not block and must not
+ * interact with the engine from any other thread.  The output of the peer is always delivered to
+ * the listener as a separate IO thread task so that neither engine is ever re-entered while it is
+ * processing a write.  The transport installs the output, error and shutdown handlers of the peer
+ * engine, a peer engine that fails or is shut down is reported to the listener in the same way as
+ * a dropped socket connection.
+ */
+public class InVMTransport implements Transport {
+
+    private static final Logger LOG = LoggerFactory.getLogger(InVMTransport.class);
+
+    private static final Map<String, Supplier<Engine>> PEERS = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean connected = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final AtomicBoolean failed = new AtomicBoolean();
+    private final CountDownLatch connectedLatch = new CountDownLatch(1);
+    private final ArrayDeque<ProtonBuffer> pendingReads = new ArrayDeque<>();
+    private final EventLoop eventLoop;
+    private final TransportOptions options;
+    private final SslOptions sslOptions;
+
+    private volatile IOException failureCause;
+    private volatile boolean autoRead = true;
+
+    private TransportListener listener;
+    private Engine peer;
+    private String host;
+    private int port;
+
+    /**
+     * Create a new {@link InVMTransport} instance with the given configuration.
+     *
+     * @param eventLoop
+     *        the IO thread that drives both this transport and the connected peer engine.
+     * @param options
+     *        the {@link TransportOptions} that were used to create this transport.
+     * @param sslOptions
+     * 		  the {@link SslOptions} that were used to create this transport, SSL is never applied.
+     */
+    public InVMTransport(EventLoop eventLoop, TransportOptions options, SslOptions sslOptions) {
+        if (eventLoop == null) {
+            throw new IllegalArgumentException("A transport must have an assigned IO thread.");
+        }
+
+        if (options == null) {
+            throw new IllegalArgumentException("Transport Options cannot be null");
+        }
+
+        if (sslOptions == null) {
+            throw new IllegalArgumentException("Transport SSL Options cannot be null");
+        }
+
+        this.eventLoop = eventLoop;
+        this.options = options;
+        this.sslOptions = sslOptions;
+    }
+
+    /**
+     * Registers a peer that in-VM transports can connect to using the given name as the host.
+     *
+     * @param name
+     *      The name that transports use to connect to the peer.
+     * @param peerFactory
+     *      Supplier of a new started {@link Engine} for each transport that connects.
+     *
+     * @throws IllegalStateException if a peer is already bound to the given name.
+     */
+    public static void bind(String name, Supplier<Engine> peerFactory) {
+        Objects.requireNonNull(name, "The in-VM peer name cannot be null");
+        Objects.requireNonNull(peerFactory, "The in-VM peer engine supplier cannot be null");
+
+        if (PEERS.putIfAbsent(name, peerFactory) != null) {
+            throw new IllegalStateException("An in-VM peer is already bound to the name: " + name);
+        }
+    }
+
+    /**
+     * Removes the peer bound to the given name, existing connections to the peer are unaffected.
+     *
+     * @param name
+     *      The name that the peer was bound to.
+     *
+     * @return true if a peer was bound to the given name.
+     */
+    public static boolean unbind(String name) {
+        return PEERS.remove(name) != null;
+    }
+
+    @Override
+    public InVMTransport connect(String host, int port, TransportListener listener) throws IOException {
+        if (closed.get()) {
+            throw new IllegalStateException("Transport has already been closed");
+        }
+
+        if (listener == null) {
+            throw new IllegalArgumentException("A transport listener must be set before connection attempts.");
+        }
+
+        if (host == null || host.isEmpty()) {
+            throw new IllegalArgumentException("Transport host value cannot be null");
+        }
+
+        this.host = host;
+        this.port = port;
+        this.listener = listener;
+
+        eventLoop.execute(this::handleConnect);
+
+        return this;
+    }
+
+    @Override
+    public void awaitConnect() throws InterruptedException, IOException {
+        connectedLatch.await();
+        if (!connected.get()) {
+            if (failureCause != null) {
+                throw failureCause;
+            } else {
+                throw new IOException("Transport was closed before a connection was established.");
+            }
+        }
+    }
+
+    @Override
+    public boolean isConnected() {
+        return connected.get();
+    }
+
+    @Override
+    public InVMTransport autoRead(boolean autoRead) {
+        LOG.trace("Transport auto read being set to: {}", autoRead);
+        this.autoRead = autoRead;
+        if (autoRead) {
+            execute(this::deliverPendingReads);
+        }
+
+        return this;
+    }
+
+    @Override
+    public boolean isAutoRead() {
+        return autoRead;
+    }
+
+    @Override
+    public boolean isSecure() {
+        return false;
+    }
+
+    @Override
+    public String getHost() {
+        return host;
+    }
+
+    @Override
+    public int getPort() {
+        return port;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed.compareAndSet(false, true)) {
+            connected.set(false);
+            connectedLatch.countDown();
+            execute(() -> {
+                pendingReads.clear();
+                if (peer != null && !peer.isShutdown()) {
+                    peer.shutdown();
+                }
+            });
+        }
+    }
+
+    @Override
+    public ProtonBufferAllocator getBufferAllocator() {
+        return ProtonByteBufferAllocator.DEFAULT;
+    }
+
+    @Override
+    public InVMTransport write(ProtonBuffer output) throws IOException {
+        return write(output, null);
+    }
+
+    @Override
+    public InVMTransport write(ProtonBuffer output, Runnable onComplete) throws IOException {
+        checkConnected();
+        LOG.trace("Attempted write of buffer: {}", output);
+        if (eventLoop.inEventLoop()) {
+            ingest(output, onComplete);
+        } else {
+            eventLoop.execute(() -> ingest(output, onComplete));
+        }
+        return this;
+    }
+
+    @Override
+    public InVMTransport writeAndFlush(ProtonBuffer output) throws IOException {
+        return write(output, null);
+    }
+
+    @Override
+    public InVMTransport writeAndFlush(ProtonBuffer output, Runnable onComplete) throws IOException {
+        return write(output, onComplete);
+    }
+
+    @Override
+    public InVMTransport flush() throws IOException {
+        checkConnected();
+        return this;
+    }
+
+    @Override
+    public TransportListener getTransportListener() {
+        return listener;
+    }
+
+    @Override
+    public TransportOptions getTransportOptions() {
+        return options.clone();
+    }
+
+    @Override
+    public SslOptions getSslOptions() {
+        return sslOptions.clone();
+    }
+
+    @Override
+    public URI getRemoteURI() {
+        if (host != null) {
+            try {
+                return new URI("vm", host, null);
+            } catch (URISyntaxException e) {
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public Principal getLocalPrincipal() {
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return "InVMTransport:[remote = vm:" + host + "]";
+    }
+
+    //----- Internal implementation
+
+    private void handleConnect() {
+        if (closed.get()) {
+            return;
+        }
+
+        try {
+            listener.transportInitialized(this);
+
+            final Supplier<Engine> peerFactory = PEERS.get(host);
+            if (peerFactory == null) {
+                throw new IOException("No in-VM peer is bound to the name: " + host);
+            }
+
+            peer = peerFactory.get();
+            if (peer == null) {
+                throw new IOException("The in-VM peer bound to the name: " + host + " did not provide an engine");
+            }
+
+            peer.outputHandler((buffer, ioComplete) -> execute(() -> handlePeerOutput(buffer, ioComplete)));
+            peer.errorHandler(engine -> execute(() -> handleTransportFailure(
+                engine.failureCause() != null ? engine.failureCause() : new IOException("The in-VM peer engine failed"))));
+            peer.shutdownHandler(engine -> execute(() -> handleTransportFailure(new IOException("The in-VM peer engine was shut down"))));
+        } catch (Throwable error) {
+            handleTransportFailure(error);
+            return;
+        }
+
+        LOG.trace("In-VM transport connected to peer: {}", host);
+        connected.set(true);
+        listener.transportConnected(this);
+        connectedLatch.countDown();
+    }
+
+    private void ingest(ProtonBuffer output, Runnable onComplete) {
+        if (!connected.get()) {
+            return;
+        }
+
+        try {
+            do {
+                peer.ingest(output);
+            } while (output.isReadable() && peer.isWritable());
+
+            if (output.isReadable()) {
+                throw new IOException("The in-VM peer stopped accepting input with " + output.getReadableBytes() + " bytes unread");
+            }
+        } catch (Throwable error) {
+            handleTransportFailure(error);
+            return;
+        }
+
+        if (onComplete != null) {
+            onComplete.run();
+        }
+    }
+
+    private void handlePeerOutput(ProtonBuffer buffer, Runnable ioComplete) {
+        if (connected.get()) {
+            if (autoRead && pendingReads.isEmpty()) {
+                LOG.trace("New data read: {}", buffer);
+                listener.transportRead(buffer);
+            } else {
+                pendingReads.add(buffer);
+            }
+        }
+
+        if (ioComplete != null) {
+            ioComplete.run();
+        }
+    }
+
+    private void deliverPendingReads() {
+        while (autoRead && connected.get() && !pendingReads.isEmpty()) {
+            listener.transportRead(pendingReads.poll());
+        }
+    }
+
+    private void handleTransportFailure(Throwable cause) {
+        if (!closed.get() && failed.compareAndSet(false, true)) {
+            LOG.trace("Transport indicates connection failure! Peer is {}", host);
+            failureCause = IOExceptionSupport.create(cause);
+            connected.set(false);
+            connectedLatch.countDown();
+            listener.transportError(failureCause);
+        } else {
+            LOG.trace("Closed or failed Transport signalled that the peer failed: {}", host);
+        }
+    }
+
+    private void checkConnected() throws IOException {
+        if (!connected.get()) {
+            throw new IOException("Cannot send to a non-connected transport.", failureCause);
+        }
+    }
+
+    private void execute(Runnable task) {
+        if (eventLoop.isShuttingDown()) {
+            return;
+        }
+
+        try {
+            eventLoop.execute(task);
+        } catch (RejectedExecutionException rejected) {
+            LOG.trace("In-VM transport task rejected by shutdown IO thread");
+        }
+    }
+}
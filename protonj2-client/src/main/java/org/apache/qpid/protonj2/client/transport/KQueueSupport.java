@@ -25,6 +25,7 @@ import org.slf4j.LoggerFactory;
 import io.netty.channel.Channel;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.kqueue.KQueue;
+import io.netty.channel.kqueue.KQueueDomainSocketChannel;
 import io.netty.channel.kqueue.KQueueEventLoopGroup;
 import io.netty.channel.kqueue.KQueueSocketChannel;
 
@@ -50,4 +51,8 @@ public class KQueueSupport {
     public static Class<? extends Channel> getChannelClass() {
         return KQueueSocketChannel.class;
     }
+
+    public static Class<? extends Channel> getDomainSocketChannelClass() {
+        return KQueueDomainSocketChannel.class;
+    }
 }
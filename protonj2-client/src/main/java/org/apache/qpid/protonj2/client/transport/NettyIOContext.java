@@ -17,6 +17,7 @@
 package org.apache.qpid.protonj2.client.transport;
 
 import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 
@@ -27,8 +28,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoop;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.PreferHeapByteBufAllocator;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.util.concurrent.Future;
@@ -44,35 +49,73 @@ public final class NettyIOContext {
     private static final int SHUTDOWN_TIMEOUT = 50;
 
     private final EventLoopGroup group;
+    private final EventLoop eventLoop;
+    private final NioSelectorLoop selectorLoop;
     private final Class<? extends Channel> channelClass;
+    private final String nativeSocketLayer;
     private final TransportOptions options;
     private final SslOptions sslOptions;
     private final ThreadFactory threadFactory;
+    private final SslContextCache sslContextCache;
+    private final ByteBufAllocator allocator;
 
     public NettyIOContext(TransportOptions options, SslOptions ssl, String ioThreadName) {
+        this(options, ssl, null, ioThreadName);
+    }
+
+    public NettyIOContext(TransportOptions options, SslOptions ssl, SslContextCache sslContextCache, String ioThreadName) {
+        this(options, ssl, sslContextCache, null, ioThreadName);
+    }
+
+    public NettyIOContext(TransportOptions options, SslOptions ssl, SslContextCache sslContextCache, BufferAllocatorCache allocatorCache, String ioThreadName) {
         Objects.requireNonNull(options, "Transport Options cannot be null");
         Objects.requireNonNull(ssl, "Transport SSL Options cannot be null");
 
         this.options = options;
         this.sslOptions = ssl;
+        this.sslContextCache = sslContextCache;
         this.threadFactory = new TrackableThreadFactory(ioThreadName, true);
 
         final String[] nativeIOPreference = options.nativeIOPeference();
 
         EventLoopGroup selectedGroup = null;
         Class<? extends Channel> selectedChannelClass = null;
+        String selectedSocketLayer = null;
 
-        if (options.allowNativeIO()) {
+        if (!options.useNetty()) {
+            if (ssl.sslEnabled()) {
+                throw new IllegalArgumentException(
+                    "SSL connections are not supported by the JDK NIO transport selected by TransportOptions.useNetty(false)");
+            } else if (options.useWebSockets() || options.unixDomainSocketPath() != null) {
+                throw new IllegalArgumentException(
+                    "The NIO transport only supports plain TCP connections, WebSockets and unix domain sockets require Netty");
+            }
+        } else if (options.unixDomainSocketPath() != null) {
+            if (EpollSupport.isAvailable(options)) {
+                LOG.trace("Netty Transports will be using Epoll unix domain sockets");
+                selectedGroup = EpollSupport.createGroup(1, threadFactory);
+                selectedChannelClass = EpollSupport.getDomainSocketChannelClass();
+            } else if (KQueueSupport.isAvailable(options)) {
+                LOG.trace("Netty Transports will be using KQueue unix domain sockets");
+                selectedGroup = KQueueSupport.createGroup(1, threadFactory);
+                selectedChannelClass = KQueueSupport.getDomainSocketChannelClass();
+            } else {
+                throw new IllegalArgumentException(
+                    "Unix domain socket transports require native IO to be allowed and Epoll or KQueue to be available");
+            }
+        } else if (options.allowNativeIO()) {
             for (String nativeID : nativeIOPreference) {
                 if (EpollSupport.NAME.equalsIgnoreCase(nativeID) && EpollSupport.isAvailable(options)) {
                     LOG.trace("Netty Transports will be using Epoll mode");
                     selectedGroup = EpollSupport.createGroup(1, threadFactory);
                     selectedChannelClass = EpollSupport.getChannelClass();
+                    selectedSocketLayer = EpollSupport.NAME;
                     break;
                 } else if (IOUringSupport.NAME.equalsIgnoreCase(nativeID) && IOUringSupport.isAvailable(options)) {
                     LOG.trace("Netty Transports will be using IO-Uring mode");
                     selectedGroup = IOUringSupport.createGroup(1, threadFactory);
                     selectedChannelClass = IOUringSupport.getChannelClass();
+                    selectedSocketLayer = IOUringSupport.NAME;
                     break;
                 } else if (KQueueSupport.NAME.equalsIgnoreCase(nativeID) && KQueueSupport.isAvailable(options)) {
                     LOG.trace("Netty Transports will be using KQueue mode");
@@ -86,18 +129,49 @@ public final class NettyIOContext {
             }
         }
 
-        if (selectedGroup == null) {
+        if (selectedGroup == null && options.useNetty()) {
             LOG.trace("Netty Transports will be using NIO mode");
             selectedGroup = new NioEventLoopGroup(1, threadFactory);
             selectedChannelClass = NioSocketChannel.class;
         }
 
-        this.group = selectedGroup;
+        if (options.useNetty()) {
+            this.group = selectedGroup;
+            this.eventLoop = selectedGroup.next();  // Single threaded group
+            this.selectorLoop = null;
+        } else {
+            // The NIO transport registers its socket with the selector of the connection IO thread
+            LOG.trace("Connections will be using the JDK NIO transport");
+            this.group = null;
+            this.eventLoop = null;
+            this.selectorLoop = new NioSelectorLoop(threadFactory);
+        }
+
         this.channelClass = selectedChannelClass;
+        this.nativeSocketLayer = selectedSocketLayer;
+
+        if (!options.useNetty()) {
+            this.allocator = null;
+        } else if (allocatorCache != null) {
+            this.allocator = allocatorCache.getOrCreateAllocator(options);
+        } else {
+            this.allocator = BufferAllocatorCache.createAllocator(options);
+        }
     }
 
     public void shutdown() {
-        if (!group.isShutdown()) {
+        if (selectorLoop != null) {
+            if (!selectorLoop.isShutdown()) {
+                selectorLoop.shutdown();
+                try {
+                    if (!selectorLoop.inEventLoop() && !selectorLoop.awaitTermination(2 * SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                        LOG.trace("Connection IO Selector Loop shutdown failed to complete in allotted time");
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        } else if (!group.isShutdown()) {
             Future<?> fut = group.shutdownGracefully(0, SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS);
             if (!fut.awaitUninterruptibly(2 * SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS)) {
                 LOG.trace("Connection IO Event Loop shutdown failed to complete in allotted time");
@@ -105,25 +179,87 @@ public final class NettyIOContext {
         }
     }
 
-    public EventLoopGroup eventLoop() {
-        return group;
+    /**
+     * @return the single threaded executor of the I/O thread that services this context.
+     */
+    public ScheduledExecutorService eventLoop() {
+        return selectorLoop != null ? selectorLoop : group;
+    }
+
+    /**
+     * @return true if the calling thread is the I/O thread that services this context.
+     */
+    public boolean inEventLoop() {
+        return selectorLoop != null ? selectorLoop.inEventLoop() : eventLoop.inEventLoop();
     }
 
     public TcpTransport newTransport() {
-        if (group.isShutdown() || group.isShuttingDown() || group.isTerminated()) {
-            throw new IllegalStateException("Cannot create a Transport from a shutdown IO context");
+        checkNotShutdown();
+
+        if (selectorLoop != null) {
+            throw new IllegalStateException("Cannot create a Netty Transport from an IO context configured for the NIO transport");
         }
 
         final Bootstrap bootstrap = new Bootstrap().channel(channelClass).group(group);
 
+        // Preferring heap buffers also applies to socket reads, the native socket layers read into
+        // direct buffers regardless as they require native memory.
+        bootstrap.option(ChannelOption.ALLOCATOR, options.directBuffers() ? allocator : new PreferHeapByteBufAllocator(allocator));
+
+        if (EpollSupport.NAME.equals(nativeSocketLayer)) {
+            EpollSupport.configureSocketOptions(bootstrap, options);
+        } else if (IOUringSupport.NAME.equals(nativeSocketLayer)) {
+            IOUringSupport.configureSocketOptions(bootstrap, options);
+        }
+
         final TcpTransport transport;
 
         if (options.useWebSockets()) {
-            transport = new WebSocketTransport(bootstrap, options, sslOptions);
+            transport = new WebSocketTransport(bootstrap, options, sslOptions, sslContextCache);
         } else {
-            transport = new TcpTransport(bootstrap, options, sslOptions);
+            transport = new TcpTransport(bootstrap, options, sslOptions, sslContextCache);
         }
 
         return transport;
     }
+
+    /**
+     * Creates a transport that performs its IO using a JDK NIO selector instead of a Netty channel,
+     * the context must have been created with options that disable the use of Netty.
+     *
+     * @return a new {@link NioTransport} whose listener is signalled on the IO thread of this context.
+     */
+    public NioTransport newNioTransport() {
+        checkNotShutdown();
+
+        if (selectorLoop == null) {
+            throw new IllegalStateException("Cannot create a NIO Transport from an IO context configured for Netty");
+        }
+
+        return new NioTransport(selectorLoop, options, sslOptions);
+    }
+
+    /**
+     * Creates a transport that connects to a peer engine bound in this JVM using
+     * {@link InVMTransport#bind(String, java.util.function.Supplier)}, the transport and the
+     * peer engine are both driven by the IO thread of this context.  The in-VM transport runs on
+     * a Netty IO thread and so cannot be created from a context configured for the NIO transport.
+     *
+     * @return a new {@link InVMTransport} serviced by this context.
+     */
+    public InVMTransport newInVMTransport() {
+        checkNotShutdown();
+
+        if (selectorLoop != null) {
+            throw new IllegalStateException("Cannot create an in-VM Transport from an IO context configured for the NIO transport");
+        }
+
+        return new InVMTransport(eventLoop, options, sslOptions);
+    }
+
+    private void checkNotShutdown() {
+        if (selectorLoop != null ? selectorLoop.isShutdown() : group.isShutdown() || group.isShuttingDown() || group.isTerminated()) {
+            throw new IllegalStateException("Cannot create a Transport from a shutdown IO context");
+        }
+    }
 }
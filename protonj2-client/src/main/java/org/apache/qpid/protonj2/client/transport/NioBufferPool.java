@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client.transport;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+
+/**
+ * Small pool of fixed size direct {@link ByteBuffer} instances used by the {@link NioTransport}
+ * for socket reads and writes.  Buffers are allocated on demand when the pool is empty and at
+ * most a fixed number of released buffers are retained, so the footprint of an idle transport is
+ * bounded while a busy one does not allocate a direct buffer for each socket operation.  Buffers
+ * may be acquired and released from any thread.
+ */
+final class NioBufferPool {
+
+    private final int bufferSize;
+    private final int maxPooled;
+    private final ArrayDeque<ByteBuffer> pool;
+
+    NioBufferPool(int bufferSize, int maxPooled) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Pooled buffer size must be greater than zero");
+        }
+
+        this.bufferSize = bufferSize;
+        this.maxPooled = maxPooled;
+        this.pool = new ArrayDeque<>(maxPooled);
+    }
+
+    /**
+     * @return the capacity of each buffer this pool provides.
+     */
+    int bufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * @return the number of released buffers currently retained by this pool.
+     */
+    synchronized int pooled() {
+        return pool.size();
+    }
+
+    /**
+     * @return a cleared direct buffer taken from the pool or newly allocated if the pool is empty.
+     */
+    ByteBuffer acquire() {
+        final ByteBuffer buffer;
+
+        synchronized (this) {
+            buffer = pool.poll();
+        }
+
+        return buffer != null ? buffer : ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    /**
+     * @return a cleared direct buffer taken from the pool or null if the pool is currently empty.
+     */
+    synchronized ByteBuffer poll() {
+        return pool.poll();
+    }
+
+    /**
+     * Returns a buffer to the pool, it is dropped if the pool already retains its maximum.
+     *
+     * @param buffer
+     *      The buffer that is no longer in use.
+     */
+    void release(ByteBuffer buffer) {
+        buffer.clear();
+
+        synchronized (this) {
+            if (pool.size() < maxPooled) {
+                pool.offer(buffer);
+            }
+        }
+    }
+
+    /**
+     * Drops all retained buffers.
+     */
+    synchronized void clear() {
+        pool.clear();
+    }
+}
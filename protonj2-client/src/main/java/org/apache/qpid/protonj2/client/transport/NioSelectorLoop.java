@@ -0,0 +1,387 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client.transport;
+
+import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Single threaded {@link ScheduledExecutorService} that services a JDK NIO {@link Selector}
+ * between the tasks it runs.  The connection work and the socket IO of the {@link NioTransport}
+ * are performed on the same thread so the transport needs no IO thread of its own, registered
+ * channels are signalled through their {@link Handler} when selected.
+ */
+final class NioSelectorLoop extends AbstractExecutorService implements ScheduledExecutorService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NioSelectorLoop.class);
+
+    private static final int RUNNING = 0;
+    private static final int SHUTDOWN = 1;
+    private static final int TERMINATED = 2;
+
+    private final Selector selector;
+    private final Thread thread;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final PriorityQueue<ScheduledTask<?>> scheduledTasks = new PriorityQueue<>();
+    private final AtomicBoolean wakeupPending = new AtomicBoolean();
+    private final AtomicLong scheduleSequence = new AtomicLong();
+    private final CountDownLatch terminated = new CountDownLatch(1);
+
+    private volatile int state = RUNNING;
+
+    /**
+     * Handler of a channel registered with the loop, both methods are called on the loop thread.
+     */
+    interface Handler {
+
+        /**
+         * Called when the channel is selected for any of the operations it is interested in.
+         *
+         * @param key
+         *      The {@link SelectionKey} of the ready channel.
+         *
+         * @throws Exception if an error occurs while servicing the channel.
+         */
+        void channelReady(SelectionKey key) throws Exception;
+
+        /**
+         * Called when the channel registration ends because the loop shut down or the handler failed.
+         *
+         * @param cause
+         *      The error thrown by the handler or null if the loop was shut down.
+         */
+        void channelUnregistered(Throwable cause);
+
+    }
+
+    NioSelectorLoop(ThreadFactory threadFactory) {
+        try {
+            this.selector = Selector.open();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to open the NIO selector", e);
+        }
+
+        this.thread = threadFactory.newThread(this::run);
+        this.thread.start();
+    }
+
+    /**
+     * @return true if the calling thread is the thread that services this loop.
+     */
+    boolean inEventLoop() {
+        return Thread.currentThread() == thread;
+    }
+
+    /**
+     * Registers the channel with the selector of this loop, must be called on the loop thread.
+     *
+     * @param channel
+     *      The non-blocking channel to register.
+     * @param interestOps
+     *      The initial interest set of the registration.
+     * @param handler
+     *      The {@link Handler} that is signalled when the channel is selected.
+     *
+     * @return the {@link SelectionKey} of the new registration.
+     *
+     * @throws ClosedChannelException if the channel has been closed.
+     */
+    SelectionKey register(SelectableChannel channel, int interestOps, Handler handler) throws ClosedChannelException {
+        if (!inEventLoop()) {
+            throw new IllegalStateException("Channels can only be registered from the selector loop thread");
+        }
+
+        return channel.register(selector, interestOps, handler);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (state != RUNNING) {
+            throw new RejectedExecutionException("The NIO selector loop has been shut down");
+        }
+
+        tasks.add(task);
+
+        if (!inEventLoop() && wakeupPending.compareAndSet(false, true)) {
+            selector.wakeup();
+        }
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        return schedule(new ScheduledTask<>(Executors.callable(command), deadline(delay, unit), 0));
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        return schedule(new ScheduledTask<>(callable, deadline(delay, unit), 0));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("The period must be greater than zero");
+        }
+
+        return schedule(new ScheduledTask<>(Executors.callable(command), deadline(initialDelay, unit), unit.toNanos(period)));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        if (delay <= 0) {
+            throw new IllegalArgumentException("The delay must be greater than zero");
+        }
+
+        return schedule(new ScheduledTask<>(Executors.callable(command), deadline(initialDelay, unit), -unit.toNanos(delay)));
+    }
+
+    @Override
+    public void shutdown() {
+        if (state == RUNNING) {
+            state = SHUTDOWN;
+            selector.wakeup();
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown();
+
+        final List<Runnable> pending = new ArrayList<>();
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            pending.add(task);
+        }
+
+        return pending;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return state != RUNNING;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return state == TERMINATED;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return terminated.await(timeout, unit);
+    }
+
+    //----- Loop thread implementation
+
+    private void run() {
+        try {
+            while (state == RUNNING) {
+                runTasks();
+
+                final long timeout = nextScheduledDelay();
+
+                if (!tasks.isEmpty() || timeout == 0) {
+                    selector.selectNow();
+                } else if (timeout < 0) {
+                    selector.select();
+                } else {
+                    selector.select(Math.max(1, TimeUnit.NANOSECONDS.toMillis(timeout)));
+                }
+
+                wakeupPending.set(false);
+
+                processSelectedKeys();
+            }
+        } catch (Throwable error) {
+            LOG.warn("NIO selector loop failed and will shut down: ", error);
+            state = SHUTDOWN;
+        } finally {
+            // Work submitted before the shutdown is still run, such as the closing of transports
+            runTasks();
+            unregisterChannels();
+
+            scheduledTasks.forEach(task -> task.cancel(false));
+            scheduledTasks.clear();
+
+            try {
+                selector.close();
+            } catch (IOException ignore) {
+            }
+
+            state = TERMINATED;
+            terminated.countDown();
+        }
+    }
+
+    private void runTasks() {
+        final long now = System.nanoTime();
+
+        ScheduledTask<?> scheduled;
+        while ((scheduled = scheduledTasks.peek()) != null && scheduled.deadline - now <= 0) {
+            scheduledTasks.poll();
+            scheduled.run();
+        }
+
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            try {
+                task.run();
+            } catch (Throwable error) {
+                LOG.warn("Task run from the NIO selector loop threw an error: ", error);
+            }
+        }
+    }
+
+    /*
+     * Returns the nanoseconds until the next scheduled task is due or -1 if there is none.
+     */
+    private long nextScheduledDelay() {
+        ScheduledTask<?> scheduled;
+        while ((scheduled = scheduledTasks.peek()) != null && scheduled.isCancelled()) {
+            scheduledTasks.poll();
+        }
+
+        return scheduled == null ? -1 : Math.max(0, scheduled.deadline - System.nanoTime());
+    }
+
+    private void processSelectedKeys() {
+        final Iterator<SelectionKey> selected = selector.selectedKeys().iterator();
+
+        while (selected.hasNext()) {
+            final SelectionKey key = selected.next();
+            final Handler handler = (Handler) key.attachment();
+
+            selected.remove();
+
+            if (!key.isValid()) {
+                continue;
+            }
+
+            try {
+                handler.channelReady(key);
+            } catch (Throwable error) {
+                key.cancel();
+                handler.channelUnregistered(error);
+            }
+        }
+    }
+
+    private void unregisterChannels() {
+        for (SelectionKey key : selector.keys()) {
+            final Handler handler = (Handler) key.attachment();
+
+            key.cancel();
+
+            try {
+                handler.channelUnregistered(null);
+            } catch (Throwable error) {
+                LOG.trace("Error from channel handler while the NIO selector loop shut down: ", error);
+            }
+        }
+    }
+
+    private <V> ScheduledTask<V> schedule(ScheduledTask<V> task) {
+        execute(() -> {
+            if (!task.isCancelled()) {
+                scheduledTasks.add(task);
+            }
+        });
+
+        return task;
+    }
+
+    private static long deadline(long delay, TimeUnit unit) {
+        return System.nanoTime() + unit.toNanos(Math.max(0, delay));
+    }
+
+    /*
+     * A task run on the loop thread once its deadline passes, periodic tasks are rescheduled
+     * after each run with a positive period for fixed rate and a negative one for fixed delay.
+     */
+    private final class ScheduledTask<V> extends FutureTask<V> implements ScheduledFuture<V> {
+
+        private final long sequence = scheduleSequence.getAndIncrement();
+        private final long period;
+
+        private long deadline;
+
+        ScheduledTask(Callable<V> callable, long deadline, long period) {
+            super(callable);
+
+            this.deadline = deadline;
+            this.period = period;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            if (other == this) {
+                return 0;
+            } else if (other instanceof ScheduledTask) {
+                final ScheduledTask<?> task = (ScheduledTask<?>) other;
+                final long difference = deadline - task.deadline;
+
+                if (difference != 0) {
+                    return difference < 0 ? -1 : 1;
+                } else {
+                    return sequence < task.sequence ? -1 : 1;
+                }
+            } else {
+                return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+            }
+        }
+
+        @Override
+        public void run() {
+            if (period == 0) {
+                super.run();
+            } else if (super.runAndReset() && state == RUNNING) {
+                deadline = period > 0 ? deadline + period : System.nanoTime() - period;
+                scheduledTasks.add(this);
+            }
+        }
+    }
+}
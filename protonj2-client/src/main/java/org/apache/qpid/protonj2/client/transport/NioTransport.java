@@ -0,0 +1,754 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client.transport;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.security.Principal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.qpid.protonj2.buffer.ProtonBuffer;
+import org.apache.qpid.protonj2.buffer.ProtonBufferAllocator;
+import org.apache.qpid.protonj2.buffer.ProtonByteBufferAllocator;
+import org.apache.qpid.protonj2.buffer.ProtonNioByteBuffer;
+import org.apache.qpid.protonj2.client.SslOptions;
+import org.apache.qpid.protonj2.client.TransportOptions;
+import org.apache.qpid.protonj2.client.util.IOExceptionSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Lightweight TCP transport built directly on a JDK NIO {@link SocketChannel} rather than a Netty
+ * channel and pipeline, neither the transport nor the {@link NioSelectorLoop} that services it
+ * depend on Netty and SSL connections are not supported.  The socket is registered with the
+ * selector of the connection IO thread so the connect and all socket reads are performed on the
+ * same thread that services the {@link TransportListener}, each read lands in a pooled direct
+ * buffer that is handed to the listener and returned to the pool once the listener is done with
+ * it.  Frame output buffers requested by the engine are served from the direct buffers retained
+ * by the write pool whenever one is free, these are returned to the pool once a flush has copied
+ * them into a write buffer.  As the next read is not taken until the previous one has been
+ * processed a slow listener stops the transport reading from the socket instead of queueing up
+ * buffers.  Written buffers are coalesced into pooled direct buffers on flush and are written to
+ * the socket from the flushing thread, only the bytes the socket does not accept are left for the
+ * IO thread to write once the socket becomes writable again.
+ */
+public class NioTransport implements Transport, NioSelectorLoop.Handler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NioTransport.class);
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_POOLED_BUFFERS = 4;
+    private static final int MAX_POOLED_READ_BUFFERS = 1;
+    private static final int CLOSE_TIMEOUT = 1000;
+
+    private final AtomicBoolean connected = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final AtomicBoolean failed = new AtomicBoolean();
+    private final CountDownLatch connectedLatch = new CountDownLatch(1);
+    private final Object writeLock = new Object();
+    private final ArrayDeque<PendingOutput> unflushed = new ArrayDeque<>();
+    private final ArrayDeque<WriteChunk> writeQueue = new ArrayDeque<>();
+    private final NioSelectorLoop eventLoop;
+    private final TransportOptions options;
+    private final SslOptions sslOptions;
+    private final NioBufferPool readPool;
+    private final NioBufferPool writePool;
+    private final ProtonBufferAllocator allocator = new NioOutputBufferAllocator();
+
+    private volatile IOException failureCause;
+    private volatile boolean autoRead = true;
+    private volatile boolean writable = true;
+
+    private long pendingBytes;
+
+    private TransportListener listener;
+    private String host;
+    private int port;
+
+    private volatile SocketChannel socket;
+    private volatile SelectionKey selectionKey;
+    private ScheduledFuture<?> connectTimeoutTask;
+    private boolean connecting = true;
+    private boolean socketClosed;
+
+    /**
+     * Create a new {@link NioTransport} instance with the given configuration.
+     *
+     * @param eventLoop
+     *        the IO thread that performs the socket IO and on which the {@link TransportListener} is signalled.
+     * @param options
+     *        the {@link TransportOptions} used to configure the socket connection.
+     * @param sslOptions
+     * 		  the {@link SslOptions} of the connection which must not enable SSL.
+     */
+    NioTransport(NioSelectorLoop eventLoop, TransportOptions options, SslOptions sslOptions) {
+        if (eventLoop == null) {
+            throw new IllegalArgumentException("A transport must have an assigned IO thread.");
+        }
+
+        if (options == null) {
+            throw new IllegalArgumentException("Transport Options cannot be null");
+        }
+
+        if (sslOptions == null) {
+            throw new IllegalArgumentException("Transport SSL Options cannot be null");
+        }
+
+        if (sslOptions.sslEnabled()) {
+            throw new IllegalArgumentException("SSL connections are not supported by the JDK NIO transport");
+        }
+
+        this.eventLoop = eventLoop;
+        this.options = options;
+        this.sslOptions = sslOptions;
+        this.readPool = new NioBufferPool(
+            options.receiveBufferSize() > 0 ? options.receiveBufferSize() : DEFAULT_BUFFER_SIZE, MAX_POOLED_READ_BUFFERS);
+        this.writePool = new NioBufferPool(
+            options.sendBufferSize() > 0 ? options.sendBufferSize() : DEFAULT_BUFFER_SIZE, MAX_POOLED_BUFFERS);
+    }
+
+    @Override
+    public NioTransport connect(String host, int port, TransportListener listener) throws IOException {
+        return connect(host, port, null, listener);
+    }
+
+    @Override
+    public NioTransport connect(String host, int port, InetAddress address, TransportListener listener) throws IOException {
+        if (closed.get()) {
+            throw new IllegalStateException("Transport has already been closed");
+        }
+
+        if (listener == null) {
+            throw new IllegalArgumentException("A transport listener must be set before connection attempts.");
+        }
+
+        if (host == null || host.isEmpty()) {
+            throw new IllegalArgumentException("Transport host value cannot be null");
+        }
+
+        if (port < 0 && options.defaultTcpPort() < 0) {
+            throw new IllegalArgumentException("Transport port value must be a non-negative int value or a default port configured");
+        }
+
+        this.host = host;
+        this.port = port > 0 ? port : options.defaultTcpPort();
+        this.listener = listener;
+
+        eventLoop.execute(() -> {
+            try {
+                listener.transportInitialized(this);
+            } catch (Throwable initError) {
+                LOG.warn("Error during initialization of channel from Transport Listener");
+                handleTransportFailure(initError);
+            }
+        });
+
+        try {
+            final InetSocketAddress remote =
+                address != null ? new InetSocketAddress(address, this.port) : new InetSocketAddress(host, this.port);
+            if (remote.isUnresolved()) {
+                throw new UnknownHostException(host);
+            }
+
+            socket = SocketChannel.open();
+            socket.configureBlocking(false);
+            configureSocket(socket, options);
+
+            // A socket that connects immediately is registered for write readiness which is signalled
+            // straight away, either way the first ready callback completes the connect.
+            final int interestOps = socket.connect(remote) ? SelectionKey.OP_WRITE : SelectionKey.OP_CONNECT;
+
+            runOnEventLoop(() -> {
+                try {
+                    selectionKey = eventLoop.register(socket, interestOps, this);
+                } catch (Throwable error) {
+                    handleTransportFailure(error);
+                }
+            });
+
+            if (options.connectTimeout() > 0) {
+                connectTimeoutTask = eventLoop.schedule(() -> {
+                    if (connecting) {
+                        handleTransportFailure(new ConnectException("Connection timed out: " + this.host + ":" + this.port));
+                    }
+                }, options.connectTimeout(), TimeUnit.MILLISECONDS);
+            }
+        } catch (Throwable error) {
+            handleTransportFailure(error);
+        }
+
+        return this;
+    }
+
+    @Override
+    public void awaitConnect() throws InterruptedException, IOException {
+        connectedLatch.await();
+        if (!connected.get()) {
+            if (failureCause != null) {
+                throw failureCause;
+            } else {
+                throw new IOException("Transport was closed before a connection was established.");
+            }
+        }
+    }
+
+    @Override
+    public boolean isConnected() {
+        return connected.get();
+    }
+
+    @Override
+    public NioTransport autoRead(boolean autoRead) {
+        LOG.trace("Transport auto read being set to: {}", autoRead);
+        this.autoRead = autoRead;
+        runOnEventLoop(this::updateReadInterest);
+        return this;
+    }
+
+    @Override
+    public boolean isAutoRead() {
+        return autoRead;
+    }
+
+    @Override
+    public boolean isSecure() {
+        return false;
+    }
+
+    @Override
+    public String getHost() {
+        return host;
+    }
+
+    @Override
+    public int getPort() {
+        return port;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed.compareAndSet(false, true)) {
+            connected.set(false);
+            connectedLatch.countDown();
+
+            if (eventLoop.inEventLoop()) {
+                closeSocket();
+            } else {
+                try {
+                    eventLoop.submit(this::closeSocket).get(CLOSE_TIMEOUT, TimeUnit.MILLISECONDS);
+                } catch (RejectedExecutionException rejected) {
+                    closeSocket();
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException | TimeoutException error) {
+                    LOG.trace("Transport socket close did not complete on the IO thread: ", error);
+                }
+            }
+        }
+    }
+
+    @Override
+    public ProtonBufferAllocator getBufferAllocator() {
+        return allocator;
+    }
+
+    @Override
+    public NioTransport write(ProtonBuffer output) throws IOException {
+        return write(output, null);
+    }
+
+    @Override
+    public NioTransport write(ProtonBuffer output, Runnable onComplete) throws IOException {
+        checkConnected();
+        LOG.trace("Attempted write of buffer: {}", output);
+        synchronized (writeLock) {
+            unflushed.add(new PendingOutput(output, onComplete));
+            pendingBytes += output.getReadableBytes();
+            updateWritability();
+        }
+        return this;
+    }
+
+    @Override
+    public NioTransport writeAndFlush(ProtonBuffer output) throws IOException {
+        return writeAndFlush(output, null);
+    }
+
+    @Override
+    public NioTransport writeAndFlush(ProtonBuffer output, Runnable onComplete) throws IOException {
+        write(output, onComplete);
+        return flush();
+    }
+
+    @Override
+    public NioTransport flush() throws IOException {
+        checkConnected();
+        LOG.trace("Attempted flush of pending writes");
+        try {
+            synchronized (writeLock) {
+                while (!unflushed.isEmpty()) {
+                    writeQueue.add(fillChunk());
+                }
+
+                if (!writeQueued()) {
+                    runOnEventLoop(() -> updateInterest(SelectionKey.OP_WRITE, true));
+                }
+            }
+        } catch (IOException ex) {
+            handleTransportFailure(ex);
+            throw ex;
+        }
+        return this;
+    }
+
+    @Override
+    public TransportListener getTransportListener() {
+        return listener;
+    }
+
+    @Override
+    public TransportOptions getTransportOptions() {
+        return options.clone();
+    }
+
+    @Override
+    public SslOptions getSslOptions() {
+        return sslOptions.clone();
+    }
+
+    @Override
+    public URI getRemoteURI() {
+        if (host != null) {
+            try {
+                return new URI("tcp", null, host, port, null, null, null);
+            } catch (URISyntaxException e) {
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public Principal getLocalPrincipal() {
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return "NioTransport:[remote = " + host + ":" + port + "]";
+    }
+
+    //----- IO thread implementation
+
+    @Override
+    public void channelReady(SelectionKey key) throws Exception {
+        try {
+            if (connecting && (key.isWritable() || (key.isConnectable() && socket.finishConnect()))) {
+                handleConnected();
+            }
+
+            if (key.isValid() && key.isReadable() && autoRead) {
+                handleReadable();
+            }
+
+            if (key.isValid() && key.isWritable() && !connecting) {
+                synchronized (writeLock) {
+                    if (writeQueued()) {
+                        updateInterest(SelectionKey.OP_WRITE, false);
+                    }
+                }
+            }
+        } catch (Throwable error) {
+            handleTransportFailure(error);
+        }
+    }
+
+    @Override
+    public void channelUnregistered(Throwable cause) {
+        if (!socketClosed) {
+            handleTransportFailure(cause != null ? cause : new IOException("Transport IO thread was shut down"));
+            closeSocket();
+        }
+    }
+
+    private void handleConnected() {
+        LOG.trace("Socket has become connected! Socket is {}", socket);
+        connecting = false;
+
+        if (connectTimeoutTask != null) {
+            connectTimeoutTask.cancel(false);
+            connectTimeoutTask = null;
+        }
+
+        selectionKey.interestOps(autoRead ? SelectionKey.OP_READ : 0);
+
+        execute(() -> {
+            if (!closed.get() && !failed.get()) {
+                connected.set(true);
+                listener.transportConnected(this);
+            }
+            connectedLatch.countDown();
+        });
+    }
+
+    private void handleReadable() throws IOException {
+        final ByteBuffer buffer = readPool.acquire();
+        final int count;
+
+        try {
+            count = socket.read(buffer);
+        } catch (IOException ex) {
+            readPool.release(buffer);
+            throw ex;
+        }
+
+        if (count < 0) {
+            readPool.release(buffer);
+            throw new IOException("Remote closed connection unexpectedly");
+        } else if (count == 0) {
+            readPool.release(buffer);
+        } else {
+            buffer.flip();
+
+            final ProtonBuffer incoming = new ProtonNioByteBuffer(buffer);
+
+            try {
+                if (!closed.get()) {
+                    LOG.trace("New data read: {}", incoming);
+                    listener.transportRead(incoming);
+                }
+            } finally {
+                readPool.release(buffer);
+            }
+        }
+    }
+
+    private void updateReadInterest() {
+        if (!connecting) {
+            updateInterest(SelectionKey.OP_READ, autoRead);
+        }
+    }
+
+    private void updateInterest(int operation, boolean enabled) {
+        final SelectionKey key = selectionKey;
+        if (key != null && key.isValid()) {
+            key.interestOps(enabled ? key.interestOps() | operation : key.interestOps() & ~operation);
+        }
+    }
+
+    private void runOnEventLoop(Runnable task) {
+        if (eventLoop.inEventLoop()) {
+            task.run();
+        } else {
+            execute(task);
+        }
+    }
+
+    /*
+     * Must be called on the IO thread, the socket is only ever closed once.
+     */
+    private void closeSocket() {
+        if (socketClosed) {
+            return;
+        }
+
+        socketClosed = true;
+
+        if (connectTimeoutTask != null) {
+            connectTimeoutTask.cancel(false);
+            connectTimeoutTask = null;
+        }
+
+        synchronized (writeLock) {
+            try {
+                if (socket != null && socket.isConnected()) {
+                    writeQueued();
+                }
+            } catch (IOException ignore) {
+            }
+
+            writeQueue.forEach(chunk -> writePool.release(chunk.buffer));
+            writeQueue.clear();
+            unflushed.clear();
+            pendingBytes = 0;
+        }
+
+        try {
+            if (socket != null) {
+                socket.close();
+            }
+        } catch (IOException ignore) {
+        }
+
+        readPool.clear();
+        writePool.clear();
+    }
+
+    //----- Write path implementation, callers must hold the write lock
+
+    private WriteChunk fillChunk() {
+        final ByteBuffer buffer = writePool.acquire();
+        List<Runnable> completions = null;
+
+        while (buffer.hasRemaining() && !unflushed.isEmpty()) {
+            final PendingOutput pending = unflushed.peek();
+            final ProtonBuffer output = pending.output;
+            final int count = Math.min(buffer.remaining(), output.getReadableBytes());
+
+            if (count > 0) {
+                final ByteBuffer target = buffer.duplicate();
+                target.limit(buffer.position() + count);
+                output.getBytes(output.getReadIndex(), target);
+                output.skipBytes(count);
+                buffer.position(buffer.position() + count);
+            }
+
+            if (!output.isReadable()) {
+                unflushed.poll();
+                if (output instanceof PooledOutputBuffer) {
+                    writePool.release(((PooledOutputBuffer) output).pooled);
+                }
+                if (pending.onComplete != null) {
+                    if (completions == null) {
+                        completions = new ArrayList<>(2);
+                    }
+                    completions.add(pending.onComplete);
+                }
+            }
+        }
+
+        buffer.flip();
+
+        return new WriteChunk(buffer, completions);
+    }
+
+    /*
+     * Writes as much of the queued data as the socket accepts and returns true if all of it was written.
+     */
+    private boolean writeQueued() throws IOException {
+        try {
+            while (!writeQueue.isEmpty()) {
+                final WriteChunk chunk = writeQueue.peek();
+
+                pendingBytes -= socket.write(chunk.buffer);
+
+                if (chunk.buffer.hasRemaining()) {
+                    return false;
+                }
+
+                writeQueue.poll();
+                writePool.release(chunk.buffer);
+
+                if (chunk.completions != null) {
+                    final List<Runnable> completions = chunk.completions;
+                    execute(() -> completions.forEach(Runnable::run));
+                }
+            }
+
+            return true;
+        } finally {
+            updateWritability();
+        }
+    }
+
+    private void updateWritability() {
+        if (options.writeBufferHighWaterMark() > 0) {
+            if (writable && pendingBytes > options.writeBufferHighWaterMark()) {
+                writable = false;
+                execute(() -> listener.transportWritabilityChanged(false));
+            } else if (!writable && pendingBytes <= options.writeBufferLowWaterMark()) {
+                writable = true;
+                execute(() -> listener.transportWritabilityChanged(true));
+            }
+        }
+    }
+
+    //----- Internal support methods
+
+    private void handleTransportFailure(Throwable cause) {
+        if (!closed.get() && failed.compareAndSet(false, true)) {
+            LOG.trace("Transport indicates connection failure! Socket is {}", socket);
+            failureCause = IOExceptionSupport.create(cause);
+            connected.set(false);
+            connectedLatch.countDown();
+
+            if (eventLoop.inEventLoop()) {
+                closeSocket();
+            } else {
+                try {
+                    eventLoop.execute(this::closeSocket);
+                } catch (RejectedExecutionException rejected) {
+                    closeSocket();
+                }
+            }
+
+            LOG.trace("Firing onTransportError listener");
+            execute(() -> listener.transportError(failureCause));
+        } else {
+            LOG.trace("Closed Transport signalled that the socket ended: {}", socket);
+        }
+    }
+
+    private void checkConnected() throws IOException {
+        if (!connected.get()) {
+            throw new IOException("Cannot send to a non-connected transport.", failureCause);
+        }
+    }
+
+    private void execute(Runnable task) {
+        try {
+            eventLoop.execute(task);
+        } catch (RejectedExecutionException rejected) {
+            LOG.trace("NIO transport task rejected by shutdown IO thread");
+        }
+    }
+
+    private static void configureSocket(SocketChannel socket, TransportOptions options) throws IOException {
+        socket.setOption(StandardSocketOptions.TCP_NODELAY, options.tcpNoDelay());
+        socket.setOption(StandardSocketOptions.SO_KEEPALIVE, options.tcpKeepAlive());
+
+        if (options.soLinger() != TransportOptions.DEFAULT_SO_LINGER) {
+            socket.setOption(StandardSocketOptions.SO_LINGER, options.soLinger());
+        }
+
+        if (options.sendBufferSize() != -1) {
+            socket.setOption(StandardSocketOptions.SO_SNDBUF, options.sendBufferSize());
+        }
+
+        if (options.receiveBufferSize() != -1) {
+            socket.setOption(StandardSocketOptions.SO_RCVBUF, options.receiveBufferSize());
+        }
+
+        if (options.trafficClass() != -1) {
+            socket.setOption(StandardSocketOptions.IP_TOS, options.trafficClass());
+        }
+
+        if (options.localAddress() != null || options.localPort() != 0) {
+            if (options.localAddress() != null) {
+                socket.bind(new InetSocketAddress(options.localAddress(), options.localPort()));
+            } else {
+                socket.bind(new InetSocketAddress(options.localPort()));
+            }
+        }
+    }
+
+    /*
+     * Output buffers never cause the write pool to allocate, a frame gets a pooled buffer only if one
+     * is retained and can hold the largest frame the engine may write into it, otherwise it gets a heap
+     * buffer.  All other allocations are heap buffers as the engine has no release point for them.
+     */
+    private final class NioOutputBufferAllocator implements ProtonBufferAllocator {
+
+        @Override
+        public ProtonBuffer outputBuffer(int initialCapacity) {
+            return ProtonByteBufferAllocator.DEFAULT.outputBuffer(initialCapacity);
+        }
+
+        @Override
+        public ProtonBuffer outputBuffer(int initialCapacity, int maximumCapacity) {
+            if (maximumCapacity <= writePool.bufferSize()) {
+                final ByteBuffer pooled = writePool.poll();
+                if (pooled != null) {
+                    return new PooledOutputBuffer(pooled, maximumCapacity);
+                }
+            }
+
+            return ProtonByteBufferAllocator.DEFAULT.outputBuffer(initialCapacity, maximumCapacity);
+        }
+
+        @Override
+        public ProtonBuffer allocate() {
+            return ProtonByteBufferAllocator.DEFAULT.allocate();
+        }
+
+        @Override
+        public ProtonBuffer allocate(int initialCapacity) {
+            return ProtonByteBufferAllocator.DEFAULT.allocate(initialCapacity);
+        }
+
+        @Override
+        public ProtonBuffer allocate(int initialCapacity, int maximumCapacity) {
+            return ProtonByteBufferAllocator.DEFAULT.allocate(initialCapacity, maximumCapacity);
+        }
+
+        @Override
+        public ProtonBuffer wrap(byte[] array) {
+            return ProtonByteBufferAllocator.DEFAULT.wrap(array);
+        }
+
+        @Override
+        public ProtonBuffer wrap(byte[] array, int offset, int length) {
+            return ProtonByteBufferAllocator.DEFAULT.wrap(array, offset, length);
+        }
+
+        @Override
+        public ProtonBuffer wrap(ByteBuffer buffer) {
+            return ProtonByteBufferAllocator.DEFAULT.wrap(buffer);
+        }
+    }
+
+    private static final class PooledOutputBuffer extends ProtonNioByteBuffer {
+
+        private final ByteBuffer pooled;
+
+        PooledOutputBuffer(ByteBuffer pooled, int capacity) {
+            super(pooled.duplicate().limit(capacity), 0);
+
+            this.pooled = pooled;
+        }
+    }
+
+    private static final class PendingOutput {
+
+        private final ProtonBuffer output;
+        private final Runnable onComplete;
+
+        PendingOutput(ProtonBuffer output, Runnable onComplete) {
+            this.output = output;
+            this.onComplete = onComplete;
+        }
+    }
+
+    private static final class WriteChunk {
+
+        private final ByteBuffer buffer;
+        private final List<Runnable> completions;
+
+        WriteChunk(ByteBuffer buffer, List<Runnable> completions) {
+            this.buffer = buffer;
+            this.completions = completions;
+        }
+    }
+}
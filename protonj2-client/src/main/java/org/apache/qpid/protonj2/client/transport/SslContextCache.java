@@ -0,0 +1,253 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client.transport;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+
+import org.apache.qpid.protonj2.client.SslHandshakeMetrics;
+import org.apache.qpid.protonj2.client.SslOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.handler.ssl.ReferenceCountedOpenSslEngine;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslHandler;
+
+/**
+ * Cache of the SSL contexts created for the transports of a client which allows every connection
+ * and reconnection that uses the same effective {@link SslOptions} to share a single context.
+ * Sharing the context avoids reloading the key and trust stores on each connect and keeps the
+ * TLS session cache of the context alive so that later connections to the same host and port
+ * can resume an earlier session instead of performing a full handshake.  A cached context is
+ * recreated when the modification time of its key or trust store file changes so that rotated
+ * certificates are picked up by new connections.
+ */
+public final class SslContextCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SslContextCache.class);
+
+    private final Map<ContextKey, CachedContext<SSLContext>> jdkContexts = new HashMap<>();
+    private final Map<ContextKey, CachedContext<SslContext>> openSslContexts = new HashMap<>();
+
+    private final SslHandshakeMetricsRecorder jdkMetrics = new SslHandshakeMetricsRecorder("JDK");
+    private final SslHandshakeMetricsRecorder openSslMetrics = new SslHandshakeMetricsRecorder("OpenSSL");
+
+    /**
+     * Creates a Netty SslHandler in the same manner as
+     * {@link SslSupport#createSslHandler(ByteBufAllocator, String, int, SslOptions)} but using an
+     * SSL context taken from this cache when one matching the given options exists.
+     *
+     * @param allocator
+     *		  The Netty Buffer Allocator to use when Netty resources need to be created.
+     * @param host
+     *        the host name or IP address that this transport connects to.
+     * @param port
+     * 		  the port on the given host that this transport connects to.
+     * @param options
+     *        The SSL options object to build the SslHandler instance from.
+     *
+     * @return a new SslHandler that is configured from the given options.
+     *
+     * @throws Exception if an error occurs while creating the SslHandler instance.
+     */
+    public SslHandler createSslHandler(ByteBufAllocator allocator, String host, int port, SslOptions options) throws Exception {
+        final SSLEngine sslEngine;
+
+        if (SslSupport.isOpenSSLPossible(options)) {
+            final SslContext sslContext = getOrCreateOpenSslContext(options);
+            sslEngine = SslSupport.createOpenSslEngine(allocator, host, port, sslContext, options);
+        } else {
+            SSLContext sslContext = options.sslContextOverride();
+            if (sslContext == null) {
+                sslContext = getOrCreateJdkSslContext(options);
+            }
+
+            sslEngine = SslSupport.createJdkSslEngine(host, port, sslContext, options);
+        }
+
+        return new SslHandler(sslEngine);
+    }
+
+    /**
+     * Records the outcome of the handshake performed by a handler created from this cache.
+     *
+     * @param handler
+     *      The SslHandler that performed the handshake.
+     * @param handshakeTime
+     *      The time in nanoseconds from the start of the handshake until it completed or failed.
+     * @param success
+     *      true if the handshake completed successfully.
+     */
+    public void handshakeCompleted(SslHandler handler, long handshakeTime, boolean success) {
+        final SslHandshakeMetricsRecorder metrics =
+            handler.engine() instanceof ReferenceCountedOpenSslEngine ? openSslMetrics : jdkMetrics;
+
+        if (success) {
+            metrics.recordCompleted(handshakeTime);
+            LOG.trace("{} TLS handshake completed in {} ns", metrics.provider(), handshakeTime);
+        } else {
+            metrics.recordFailed();
+        }
+    }
+
+    /**
+     * @return the handshake metrics of connections that use the JDK SSL provider.
+     */
+    public SslHandshakeMetrics jdkHandshakeMetrics() {
+        return jdkMetrics;
+    }
+
+    /**
+     * @return the handshake metrics of connections that use the OpenSSL provider.
+     */
+    public SslHandshakeMetrics openSslHandshakeMetrics() {
+        return openSslMetrics;
+    }
+
+    /**
+     * @return the number of SSL contexts currently held in this cache.
+     */
+    public synchronized int size() {
+        return jdkContexts.size() + openSslContexts.size();
+    }
+
+    /**
+     * Discards all cached contexts, connections created afterwards will create new contexts.
+     */
+    public synchronized void clear() {
+        jdkContexts.clear();
+        openSslContexts.clear();
+    }
+
+    //----- Internal implementation
+
+    private synchronized SSLContext getOrCreateJdkSslContext(SslOptions options) throws Exception {
+        final ContextKey key = new ContextKey(options);
+        final CachedContext<SSLContext> cached = jdkContexts.get(key);
+
+        if (cached != null && cached.isCurrent(options)) {
+            return cached.context;
+        }
+
+        LOG.trace("Creating new JDK SSLContext for cache");
+        final SSLContext context = SslSupport.createJdkSslContext(options);
+        jdkContexts.put(key, new CachedContext<>(context, options));
+
+        return context;
+    }
+
+    private synchronized SslContext getOrCreateOpenSslContext(SslOptions options) throws Exception {
+        final ContextKey key = new ContextKey(options);
+        final CachedContext<SslContext> cached = openSslContexts.get(key);
+
+        if (cached != null && cached.isCurrent(options)) {
+            return cached.context;
+        }
+
+        LOG.trace("Creating new OpenSSL SslContext for cache");
+        final SslContext context = SslSupport.createOpenSslContext(options);
+        openSslContexts.put(key, new CachedContext<>(context, options));
+
+        return context;
+    }
+
+    private static long lastModified(String location) {
+        return location != null ? new File(location).lastModified() : 0;
+    }
+
+    private static final class CachedContext<T> {
+
+        private final T context;
+        private final long keyStoreModified;
+        private final long trustStoreModified;
+
+        CachedContext(T context, SslOptions options) {
+            this.context = context;
+            this.keyStoreModified = lastModified(options.keyStoreLocation());
+            this.trustStoreModified = lastModified(options.trustStoreLocation());
+        }
+
+        boolean isCurrent(SslOptions options) {
+            return keyStoreModified == lastModified(options.keyStoreLocation()) &&
+                   trustStoreModified == lastModified(options.trustStoreLocation());
+        }
+    }
+
+    /*
+     * Only the options that are applied to the context itself are part of the key, the options
+     * applied to each engine such as the enabled protocols are applied on every connect.
+     */
+    private static final class ContextKey {
+
+        private final String keyStoreLocation;
+        private final String keyStorePassword;
+        private final String keyStoreType;
+        private final String trustStoreLocation;
+        private final String trustStorePassword;
+        private final String trustStoreType;
+        private final String keyAlias;
+        private final String contextProtocol;
+        private final boolean trustAll;
+
+        ContextKey(SslOptions options) {
+            this.keyStoreLocation = options.keyStoreLocation();
+            this.keyStorePassword = options.keyStorePassword();
+            this.keyStoreType = options.keyStoreType();
+            this.trustStoreLocation = options.trustStoreLocation();
+            this.trustStorePassword = options.trustStorePassword();
+            this.trustStoreType = options.trustStoreType();
+            this.keyAlias = options.keyAlias();
+            this.contextProtocol = options.contextProtocol();
+            this.trustAll = options.trustAll();
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(keyStoreLocation, keyStoreType, trustStoreLocation, trustStoreType, keyAlias, contextProtocol, trustAll);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+
+            if (!(obj instanceof ContextKey)) {
+                return false;
+            }
+
+            final ContextKey other = (ContextKey) obj;
+
+            return trustAll == other.trustAll &&
+                   Objects.equals(keyStoreLocation, other.keyStoreLocation) &&
+                   Objects.equals(keyStorePassword, other.keyStorePassword) &&
+                   Objects.equals(keyStoreType, other.keyStoreType) &&
+                   Objects.equals(trustStoreLocation, other.trustStoreLocation) &&
+                   Objects.equals(trustStorePassword, other.trustStorePassword) &&
+                   Objects.equals(trustStoreType, other.trustStoreType) &&
+                   Objects.equals(keyAlias, other.keyAlias) &&
+                   Objects.equals(contextProtocol, other.contextProtocol);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client.transport;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.qpid.protonj2.client.SslHandshakeMetrics;
+
+/**
+ * Records the number and duration of the TLS handshakes performed by the transports that
+ * use a single SSL provider, the values can be read at any time from any thread.
+ */
+public final class SslHandshakeMetricsRecorder implements SslHandshakeMetrics {
+
+    private final String provider;
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder totalTime = new LongAdder();
+    private final AtomicLong maxTime = new AtomicLong();
+    private volatile long lastTime;
+
+    SslHandshakeMetricsRecorder(String provider) {
+        this.provider = provider;
+    }
+
+    @Override
+    public String provider() {
+        return provider;
+    }
+
+    @Override
+    public long completedHandshakes() {
+        return completed.sum();
+    }
+
+    @Override
+    public long failedHandshakes() {
+        return failed.sum();
+    }
+
+    @Override
+    public long totalHandshakeTime() {
+        return totalTime.sum();
+    }
+
+    @Override
+    public long averageHandshakeTime() {
+        final long count = completed.sum();
+        return count == 0 ? 0 : totalTime.sum() / count;
+    }
+
+    @Override
+    public long maxHandshakeTime() {
+        return maxTime.get();
+    }
+
+    @Override
+    public long lastHandshakeTime() {
+        return lastTime;
+    }
+
+    void recordCompleted(long handshakeTime) {
+        completed.increment();
+        totalTime.add(handshakeTime);
+        maxTime.accumulateAndGet(handshakeTime, Math::max);
+        lastTime = handshakeTime;
+    }
+
+    void recordFailed() {
+        failed.increment();
+    }
+
+    @Override
+    public String toString() {
+        return "SslHandshakeMetrics { provider = " + provider +
+               ", completed = " + completedHandshakes() +
+               ", failed = " + failedHandshakes() +
+               ", average = " + averageHandshakeTime() +
+               ", max = " + maxHandshakeTime() + " }";
+    }
+}
@@ -17,6 +17,8 @@
 package org.apache.qpid.protonj2.client.transport;
 
 import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.security.Principal;
@@ -35,6 +37,7 @@ import org.slf4j.LoggerFactory;
 
 import io.netty.bootstrap.Bootstrap;
 import io.netty.buffer.ByteBuf;
+import io.netty.channel.AdaptiveRecvByteBufAllocator;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
@@ -44,6 +47,8 @@ import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.FixedRecvByteBufAllocator;
 import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.unix.DomainSocketAddress;
 import io.netty.handler.logging.LoggingHandler;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.util.ReferenceCountUtil;
@@ -63,11 +68,13 @@ public class TcpTransport implements Transport {
     protected final TransportOptions options;
     protected final SslOptions sslOptions;
     protected final Bootstrap bootstrap;
+    protected final SslContextCache sslContextCache;
 
     protected Channel channel;
     protected volatile IOException failureCause;
     protected String host;
     protected int port;
+    protected InetAddress address;
     protected TransportListener listener;
 
     /**
@@ -81,6 +88,22 @@ public class TcpTransport implements Transport {
      * 		  the {@link SslOptions} to use if the options indicate SSL is enabled.
      */
     public TcpTransport(Bootstrap bootstrap, TransportOptions options, SslOptions sslOptions) {
+        this(bootstrap, options, sslOptions, null);
+    }
+
+    /**
+     * Create a new {@link TcpTransport} instance with the given configuration.
+     *
+     * @param bootstrap
+     *        the Netty {@link Bootstrap} that this transport's IO layer is bound to.
+     * @param options
+     *        the {@link TransportOptions} used to configure the socket connection.
+     * @param sslOptions
+     * 		  the {@link SslOptions} to use if the options indicate SSL is enabled.
+     * @param sslContextCache
+     *        the {@link SslContextCache} that provides SSL contexts or null to create a new one on connect.
+     */
+    public TcpTransport(Bootstrap bootstrap, TransportOptions options, SslOptions sslOptions, SslContextCache sslContextCache) {
         if (options == null) {
             throw new IllegalArgumentException("Transport Options cannot be null");
         }
@@ -96,10 +119,16 @@ public class TcpTransport implements Transport {
         this.sslOptions = sslOptions;
         this.options = options;
         this.bootstrap = bootstrap;
+        this.sslContextCache = sslContextCache;
     }
 
     @Override
     public TcpTransport connect(String host, int port, TransportListener listener) throws IOException {
+        return connect(host, port, null, listener);
+    }
+
+    @Override
+    public TcpTransport connect(String host, int port, InetAddress address, TransportListener listener) throws IOException {
         if (closed.get()) {
             throw new IllegalStateException("Transport has already been closed");
         }
@@ -118,6 +147,7 @@ public class TcpTransport implements Transport {
 
         this.host = host;
         this.listener = listener;
+        this.address = address;
 
         if (port > 0) {
             this.port = port;
@@ -146,7 +176,19 @@ public class TcpTransport implements Transport {
 
         configureNetty(bootstrap, options);
 
-        bootstrap.connect(getHost(), getPort()).addListener(ChannelFutureListener.FIRE_EXCEPTION_ON_FAILURE);
+        if (isUnixDomainSocket()) {
+            // A missing socket file fails the connect before it returns, by which time the
+            // channel is closed and its handlers removed so the failure is signalled directly.
+            bootstrap.connect(new DomainSocketAddress(options.unixDomainSocketPath())).addListener((ChannelFutureListener) future -> {
+                if (!future.isSuccess()) {
+                    handleTransportFailure(future.channel(), future.cause());
+                }
+            });
+        } else if (address != null) {
+            bootstrap.connect(new InetSocketAddress(address, getPort())).addListener(ChannelFutureListener.FIRE_EXCEPTION_ON_FAILURE);
+        } else {
+            bootstrap.connect(getHost(), getPort()).addListener(ChannelFutureListener.FIRE_EXCEPTION_ON_FAILURE);
+        }
 
         return this;
     }
@@ -168,6 +210,21 @@ public class TcpTransport implements Transport {
         return connected.get();
     }
 
+    @Override
+    public TcpTransport autoRead(boolean autoRead) {
+        if (channel != null) {
+            LOG.trace("Transport auto read being set to: {}", autoRead);
+            channel.config().setAutoRead(autoRead);
+        }
+
+        return this;
+    }
+
+    @Override
+    public boolean isAutoRead() {
+        return channel == null || channel.config().isAutoRead();
+    }
+
     @Override
     public boolean isSecure() {
         return sslOptions.sslEnabled();
@@ -200,12 +257,12 @@ public class TcpTransport implements Transport {
 
             @Override
             public ProtonBuffer outputBuffer(int initialCapacity) {
-                return new ProtonNettyByteBuffer(channel.alloc().ioBuffer(initialCapacity));
+                return new ProtonNettyByteBuffer(allocateOutputBuffer(initialCapacity, Integer.MAX_VALUE));
             }
 
             @Override
             public ProtonBuffer outputBuffer(int initialCapacity, int maximumCapacity) {
-                return new ProtonNettyByteBuffer(channel.alloc().ioBuffer(initialCapacity, maximumCapacity));
+                return new ProtonNettyByteBuffer(allocateOutputBuffer(initialCapacity, maximumCapacity));
             }
         };
      }
@@ -301,7 +358,7 @@ public class TcpTransport implements Transport {
         if (output instanceof ProtonNettyByteBuffer) {
             nettyBuf = (ByteBuf) output.unwrap();
         } else {
-            ProtonNettyByteBuffer wrapped = new ProtonNettyByteBuffer(channel.alloc().ioBuffer(output.getReadableBytes()));
+            ProtonNettyByteBuffer wrapped = new ProtonNettyByteBuffer(allocateOutputBuffer(output.getReadableBytes(), Integer.MAX_VALUE));
             wrapped.writeBytes(output);
             nettyBuf = wrapped.unwrap();
         }
@@ -309,6 +366,14 @@ public class TcpTransport implements Transport {
         return nettyBuf;
     }
 
+    private ByteBuf allocateOutputBuffer(int initialCapacity, int maximumCapacity) {
+        if (options.directBuffers()) {
+            return channel.alloc().ioBuffer(initialCapacity, maximumCapacity);
+        } else {
+            return channel.alloc().heapBuffer(initialCapacity, maximumCapacity);
+        }
+    }
+
     //----- Internal implementation details, can be overridden as needed -----//
 
     protected void addAdditionalHandlers(ChannelPipeline pipeline) {
@@ -368,10 +433,14 @@ public class TcpTransport implements Transport {
     }
 
     private void configureNetty(Bootstrap bootstrap, TransportOptions options) {
-        bootstrap.option(ChannelOption.TCP_NODELAY, options.tcpNoDelay());
         bootstrap.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, options.connectTimeout());
-        bootstrap.option(ChannelOption.SO_KEEPALIVE, options.tcpKeepAlive());
-        bootstrap.option(ChannelOption.SO_LINGER, options.soLinger());
+
+        // Domain sockets do not support the TCP specific options or binding to a local address
+        if (!isUnixDomainSocket()) {
+            bootstrap.option(ChannelOption.TCP_NODELAY, options.tcpNoDelay());
+            bootstrap.option(ChannelOption.SO_KEEPALIVE, options.tcpKeepAlive());
+            bootstrap.option(ChannelOption.SO_LINGER, options.soLinger());
+        }
 
         if (options.sendBufferSize() != -1) {
             bootstrap.option(ChannelOption.SO_SNDBUF, options.sendBufferSize());
@@ -379,27 +448,44 @@ public class TcpTransport implements Transport {
 
         if (options.receiveBufferSize() != -1) {
             bootstrap.option(ChannelOption.SO_RCVBUF, options.receiveBufferSize());
-            bootstrap.option(ChannelOption.RCVBUF_ALLOCATOR, new FixedRecvByteBufAllocator(options.receiveBufferSize()));
+            if (!options.adaptiveReceiveBuffer()) {
+                bootstrap.option(ChannelOption.RCVBUF_ALLOCATOR, new FixedRecvByteBufAllocator(options.receiveBufferSize()));
+            }
         }
 
-        if (options.trafficClass() != -1) {
-            bootstrap.option(ChannelOption.IP_TOS, options.trafficClass());
+        if (options.adaptiveReceiveBuffer()) {
+            bootstrap.option(ChannelOption.RCVBUF_ALLOCATOR, new AdaptiveRecvByteBufAllocator());
         }
 
-        if (options.localAddress() != null || options.localPort() != 0) {
-            if (options.localAddress() != null) {
-                bootstrap.localAddress(options.localAddress(), options.localPort());
-            } else {
-                bootstrap.localAddress(options.localPort());
+        if (!isUnixDomainSocket()) {
+            if (options.trafficClass() != -1) {
+                bootstrap.option(ChannelOption.IP_TOS, options.trafficClass());
+            }
+
+            if (options.localAddress() != null || options.localPort() != 0) {
+                if (options.localAddress() != null) {
+                    bootstrap.localAddress(options.localAddress(), options.localPort());
+                } else {
+                    bootstrap.localAddress(options.localPort());
+                }
             }
         }
+
+        if (options.writeBufferHighWaterMark() > 0) {
+            bootstrap.option(ChannelOption.WRITE_BUFFER_WATER_MARK,
+                new WriteBufferWaterMark(options.writeBufferLowWaterMark(), options.writeBufferHighWaterMark()));
+        }
     }
 
     private void configureChannel(final Channel channel) throws Exception {
         if (isSecure()) {
             final SslHandler sslHandler;
             try {
-                sslHandler = SslSupport.createSslHandler(channel.alloc(), host, port, sslOptions);
+                if (sslContextCache != null) {
+                    sslHandler = sslContextCache.createSslHandler(channel.alloc(), host, port, sslOptions);
+                } else {
+                    sslHandler = SslSupport.createSslHandler(channel.alloc(), host, port, sslOptions);
+                }
             } catch (Exception ex) {
                 LOG.warn("Error during initialization of channel from SSL Handler creation:");
                 handleTransportFailure(channel, IOExceptionSupport.create(ex));
@@ -434,10 +520,15 @@ public class TcpTransport implements Transport {
             if (!isSecure()) {
                 handleConnected(context.channel());
             } else {
-                SslHandler sslHandler = context.pipeline().get(SslHandler.class);
+                final SslHandler sslHandler = context.pipeline().get(SslHandler.class);
+                final long handshakeStart = System.nanoTime();
                 sslHandler.handshakeFuture().addListener(new GenericFutureListener<Future<Channel>>() {
                     @Override
                     public void operationComplete(Future<Channel> future) throws Exception {
+                        if (sslContextCache != null) {
+                            sslContextCache.handshakeCompleted(sslHandler, System.nanoTime() - handshakeStart, future.isSuccess());
+                        }
+
                         if (future.isSuccess()) {
                             LOG.trace("SSL Handshake has completed: {}", channel);
                             handleConnected(channel);
@@ -450,6 +541,16 @@ public class TcpTransport implements Transport {
             }
         }
 
+        @Override
+        public void channelWritabilityChanged(ChannelHandlerContext context) throws Exception {
+            if (options.writeBufferHighWaterMark() > 0) {
+                LOG.trace("Transport writability changed, writable = {}", context.channel().isWritable());
+                listener.transportWritabilityChanged(context.channel().isWritable());
+            }
+
+            context.fireChannelWritabilityChanged();
+        }
+
         @Override
         public void channelInactive(ChannelHandlerContext context) throws Exception {
             handleTransportFailure(context.channel(), new IOException("Remote closed connection unexpectedly"));
@@ -484,7 +585,12 @@ public class TcpTransport implements Transport {
 
     @Override
     public URI getRemoteURI() {
-        if (host != null) {
+        if (host != null && isUnixDomainSocket()) {
+            try {
+                return new URI("unix", null, options.unixDomainSocketPath(), null);
+            } catch (URISyntaxException e) {
+            }
+        } else if (host != null) {
             try {
                 return new URI(getScheme(), null, host, port, null, null, null);
             } catch (URISyntaxException e) {
@@ -494,6 +600,10 @@ public class TcpTransport implements Transport {
         return null;
     }
 
+    protected boolean isUnixDomainSocket() {
+        return options.unixDomainSocketPath() != null;
+    }
+
     protected String getScheme() {
         return isSecure() ? "ssl" : "tcp";
     }
@@ -17,6 +17,7 @@
 package org.apache.qpid.protonj2.client.transport;
 
 import java.io.IOException;
+import java.net.InetAddress;
 import java.net.URI;
 import java.security.Principal;
 
@@ -52,6 +53,29 @@ public interface Transport {
      */
     Transport connect(String host, int port, TransportListener listener) throws IOException;
 
+    /**
+     * Performs the connect operation in the same manner as {@link #connect(String, int, TransportListener)}
+     * but connects to the given resolved address of the host instead of resolving the host name.  The
+     * host name is still used for TLS server name indication and host verification.  Transports that
+     * do not connect to a network address ignore the given address.
+     *
+     * @param host
+     *      The remote host that this {@link Transport} should attempt to connect to.
+     * @param port
+     *      The port on the remote host that this {@link Transport} should attempt to bind to.
+     * @param address
+     *      The resolved address of the remote host to connect to or null to resolve the host name.
+     * @param listener
+     *      The {@link TransportListener} that will handle {@link Transport} events.
+     *
+     * @return this {@link Transport} instance.
+     *
+     * @throws IOException if an error occurs while attempting the connect.
+     */
+    default Transport connect(String host, int port, InetAddress address, TransportListener listener) throws IOException {
+        return connect(host, port, listener);
+    }
+
     /**
      * Waits interruptibly for the {@link Transport} to connect to the remote that was
      * indicated in the {@link #connect(String, int, TransportListener)} call.
@@ -68,6 +92,24 @@ public interface Transport {
      */
     boolean isConnected();
 
+    /**
+     * Enables or disables reading from the underlying connection, while reads are disabled no new
+     * data is delivered to the {@link TransportListener} and incoming bytes remain in the socket
+     * receive buffer which in turn applies back pressure to the remote peer.  Reading is enabled
+     * by default when the transport connects.
+     *
+     * @param autoRead
+     *      true to read incoming data as it arrives or false to stop reading.
+     *
+     * @return this {@link Transport} instance.
+     */
+    Transport autoRead(boolean autoRead);
+
+    /**
+     * @return true if the transport is currently reading incoming data as it arrives.
+     */
+    boolean isAutoRead();
+
     /**
      * @return true if transport is connected using a secured channel (SSL).
      */
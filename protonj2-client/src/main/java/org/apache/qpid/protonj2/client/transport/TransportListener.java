@@ -64,4 +64,15 @@ public interface TransportListener {
      */
     void transportError(Throwable cause);
 
+    /**
+     * Called when the {@link Transport} crosses one of its configured write buffer water marks,
+     * either because buffered writes exceeded the high water mark or because they drained below
+     * the low water mark again.  This event is only signaled when water marks have been configured.
+     *
+     * @param writable
+     *        true if the transport can accept writes again, false if writes should be held back.
+     */
+    default void transportWritabilityChanged(boolean writable) {
+    }
+
 }
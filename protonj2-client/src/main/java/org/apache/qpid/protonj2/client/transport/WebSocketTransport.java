@@ -22,7 +22,6 @@ import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
 import java.util.concurrent.TimeUnit;
 
-import org.apache.qpid.protonj2.buffer.ProtonBuffer;
 import org.apache.qpid.protonj2.buffer.ProtonNettyByteBuffer;
 import org.apache.qpid.protonj2.client.SslOptions;
 import org.apache.qpid.protonj2.client.TransportOptions;
@@ -30,10 +29,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
 import io.netty.channel.ChannelPipeline;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.CoalescingBufferQueue;
 import io.netty.handler.codec.http.DefaultHttpHeaders;
 import io.netty.handler.codec.http.FullHttpResponse;
 import io.netty.handler.codec.http.HttpClientCodec;
@@ -48,8 +51,11 @@ import io.netty.handler.codec.http.websocketx.WebSocketClientHandshaker;
 import io.netty.handler.codec.http.websocketx.WebSocketClientHandshakerFactory;
 import io.netty.handler.codec.http.websocketx.WebSocketFrame;
 import io.netty.handler.codec.http.websocketx.WebSocketVersion;
-import io.netty.util.concurrent.Future;
-import io.netty.util.concurrent.GenericFutureListener;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketClientExtensionHandler;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketExtensionFilter;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketExtensionFilterProvider;
+import io.netty.handler.codec.http.websocketx.extensions.compression.PerMessageDeflateClientExtensionHandshaker;
+import io.netty.handler.codec.http.websocketx.extensions.compression.PerMessageDeflateServerExtensionHandshaker;
 import io.netty.util.concurrent.ScheduledFuture;
 
 /**
@@ -77,58 +83,20 @@ public class WebSocketTransport extends TcpTransport {
         super(bootstrap, options, sslOptions);
     }
 
-    @Override
-    public WebSocketTransport write(ProtonBuffer output, Runnable onComplete) throws IOException {
-        checkConnected();
-        int length = output.getReadableBytes();
-        if (length == 0) {
-            return this;
-        }
-
-        LOG.trace("Attempted write of: {} bytes", length);
-
-        if (onComplete == null) {
-            channel.write(new BinaryWebSocketFrame(toOutputBuffer(output)), channel.voidPromise());
-        } else {
-            channel.write(new BinaryWebSocketFrame(toOutputBuffer(output)), channel.newPromise().addListener(new GenericFutureListener<Future<? super Void>>() {
-
-                @Override
-                public void operationComplete(Future<? super Void> future) throws Exception {
-                    if (future.isSuccess()) {
-                        onComplete.run();
-                    }
-                }
-            }));
-        }
-
-        return this;
-    }
-
-    @Override
-    public WebSocketTransport writeAndFlush(ProtonBuffer output, Runnable onComplete) throws IOException {
-        checkConnected();
-        int length = output.getReadableBytes();
-        if (length == 0) {
-            return this;
-        }
-
-        LOG.trace("Attempted write and flush of: {} bytes", length);
-
-        if (onComplete == null) {
-            channel.writeAndFlush(new BinaryWebSocketFrame(toOutputBuffer(output)), channel.voidPromise());
-        } else {
-            channel.writeAndFlush(new BinaryWebSocketFrame(toOutputBuffer(output)), channel.newPromise().addListener(new GenericFutureListener<Future<? super Void>>() {
-
-                @Override
-                public void operationComplete(Future<? super Void> future) throws Exception {
-                    if (future.isSuccess()) {
-                        onComplete.run();
-                    }
-                }
-            }));
-        }
-
-        return this;
+    /**
+     * Create a new {@link WebSocketTransport} instance with the given configuration.
+     *
+     * @param bootstrap
+     *        the {@link Bootstrap} that this transport's IO is bound to.
+     * @param options
+     *        the {@link TransportOptions} used to configure the socket connection.
+     * @param sslOptions
+     *        the {@link SslOptions} to use if the options indicate SSL is enabled.
+     * @param sslContextCache
+     *        the {@link SslContextCache} that provides SSL contexts or null to create a new one on connect.
+     */
+    public WebSocketTransport(Bootstrap bootstrap, TransportOptions options, SslOptions sslOptions, SslContextCache sslContextCache) {
+        super(bootstrap, options, sslOptions, sslContextCache);
     }
 
     @Override
@@ -152,6 +120,14 @@ public class WebSocketTransport extends TcpTransport {
     protected void addAdditionalHandlers(ChannelPipeline pipeline) {
         pipeline.addLast(new HttpClientCodec());
         pipeline.addLast(new HttpObjectAggregator(8192));
+
+        if (options.webSocketCompression()) {
+            pipeline.addLast(new WebSocketClientExtensionHandler(new PerMessageDeflateClientExtensionHandshaker(
+                options.webSocketCompressionLevel(), false, PerMessageDeflateServerExtensionHandshaker.MAX_WINDOW_SIZE,
+                false, false, new CompressionThresholdFilterProvider(options.webSocketCompressionThreshold()))));
+        }
+
+        pipeline.addLast(new WebSocketFrameCoalescer(options.webSocketMaxFrameSize()));
     }
 
     @Override
@@ -164,6 +140,85 @@ public class WebSocketTransport extends TcpTransport {
         return isSecure() ? "wss" : "ws";
     }
 
+    //----- Outgoing frame handling ------------------------------------------//
+
+    /*
+     * Collects the buffers written by the transport and frames them on flush, a burst of engine
+     * writes is sent as a few frames of up to the configured maximum frame size instead of one
+     * frame per write.  The buffers are composed without copying and each write promise completes
+     * once the frame carrying its final byte has been written.
+     */
+    private static final class WebSocketFrameCoalescer extends ChannelOutboundHandlerAdapter {
+
+        private final int maxFrameSize;
+
+        private CoalescingBufferQueue pending;
+
+        public WebSocketFrameCoalescer(int maxFrameSize) {
+            this.maxFrameSize = Math.max(1, maxFrameSize);
+        }
+
+        @Override
+        public void handlerAdded(ChannelHandlerContext context) throws Exception {
+            pending = new CoalescingBufferQueue(context.channel(), 4, true);
+        }
+
+        @Override
+        public void handlerRemoved(ChannelHandlerContext context) throws Exception {
+            pending.releaseAndFailAll(new IOException("Transport closed before pending writes were sent"));
+        }
+
+        @Override
+        public void write(ChannelHandlerContext context, Object message, ChannelPromise promise) throws Exception {
+            if (message instanceof ByteBuf && !((ByteBuf) message).isReadable()) {
+                ((ByteBuf) message).release();
+                promise.trySuccess();
+            } else if (message instanceof ByteBuf) {
+                pending.add((ByteBuf) message, promise);
+                while (pending.readableBytes() >= maxFrameSize) {
+                    writeFrame(context);
+                }
+            } else {
+                context.write(message, promise);
+            }
+        }
+
+        @Override
+        public void flush(ChannelHandlerContext context) throws Exception {
+            while (!pending.isEmpty()) {
+                writeFrame(context);
+            }
+
+            context.flush();
+        }
+
+        private void writeFrame(ChannelHandlerContext context) {
+            final ChannelPromise framePromise = context.newPromise();
+            final ByteBuf payload = pending.remove(maxFrameSize, framePromise);
+
+            context.write(new BinaryWebSocketFrame(payload), framePromise);
+        }
+    }
+
+    private static final class CompressionThresholdFilterProvider implements WebSocketExtensionFilterProvider {
+
+        private final WebSocketExtensionFilter encoderFilter;
+
+        public CompressionThresholdFilterProvider(int threshold) {
+            this.encoderFilter = frame -> frame.content().readableBytes() < threshold;
+        }
+
+        @Override
+        public WebSocketExtensionFilter encoderFilter() {
+            return encoderFilter;
+        }
+
+        @Override
+        public WebSocketExtensionFilter decoderFilter() {
+            return WebSocketExtensionFilter.NEVER_SKIP;
+        }
+    }
+
     //----- Handle connection events -----------------------------------------//
 
     private class NettyWebSocketTransportHandler extends NettyDefaultHandler<Object> {
@@ -229,6 +284,8 @@ public class WebSocketTransport extends TcpTransport {
                     ", content=" + response.content().toString(StandardCharsets.UTF_8) + ')');
             }
 
+            // Fragments are handed to the engine as they arrive, it reassembles AMQP frames
+            // from the byte stream so aggregating the WebSocket message would only add a copy.
             WebSocketFrame frame = (WebSocketFrame) message;
             if (frame instanceof TextWebSocketFrame) {
                 TextWebSocketFrame textFrame = (TextWebSocketFrame) frame;
@@ -16,6 +16,8 @@
  */
 package org.apache.qpid.protonj2.client.util;
 
+import java.util.Collection;
+
 import org.apache.qpid.protonj2.client.Delivery;
 import org.apache.qpid.protonj2.client.Receiver;
 import org.apache.qpid.protonj2.client.impl.ClientDelivery;
@@ -70,6 +72,24 @@ public interface DeliveryQueue {
      */
     ClientDelivery dequeue(long timeout) throws InterruptedException;
 
+    /**
+     * Used to get a batch of enqueued {@link Delivery} objects.  The method waits for a first
+     * Delivery using the same timeout rules as {@link #dequeue(long)} and then transfers up to the
+     * requested maximum number of deliveries into the given collection without waiting further.
+     *
+     * @param target
+     *      The collection that the dequeued deliveries are added to.
+     * @param maxDeliveries
+     *      The maximum number of deliveries that should be dequeued.
+     * @param timeout
+     *      The amount of time to wait for a first entry to be added before returning.
+     *
+     * @return the number of deliveries that were added to the target, zero on timeout or if the {@link Receiver} is closed.
+     *
+     * @throws InterruptedException if the wait is interrupted.
+     */
+    int dequeue(Collection<? super ClientDelivery> target, int maxDeliveries, long timeout) throws InterruptedException;
+
     /**
      * Used to get an enqueued {@link Delivery} if on exists, otherwise returns null.
      *
@@ -17,6 +17,7 @@
 package org.apache.qpid.protonj2.client.util;
 
 import java.util.ArrayDeque;
+import java.util.Collection;
 import java.util.Deque;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
@@ -24,10 +25,14 @@ import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.qpid.protonj2.client.Delivery;
+import org.apache.qpid.protonj2.client.futures.WaitStrategy;
 import org.apache.qpid.protonj2.client.impl.ClientDelivery;
 
 /**
  * Simple first in / first out {@link Delivery} Queue.
+ * <p>
+ * When created with a {@link WaitStrategy} a dequeue that finds the queue empty first idles
+ * using the strategy and only blocks on the queue lock once the strategy says to do so.
  */
 public final class FifoDeliveryQueue implements DeliveryQueue {
 
@@ -44,9 +49,18 @@ public final class FifoDeliveryQueue implements DeliveryQueue {
     protected final Condition condition = lock.newCondition();
 
     protected final Deque<ClientDelivery> queue;
+    protected final WaitStrategy waitStrategy;
+
+    // Lets a thread idling with the wait strategy check for deliveries without taking the lock
+    private volatile int available;
 
     public FifoDeliveryQueue(int queueDepth) {
+        this(queueDepth, null);
+    }
+
+    public FifoDeliveryQueue(int queueDepth, WaitStrategy waitStrategy) {
         this.queue = new ArrayDeque<ClientDelivery>(Math.max(1, queueDepth));
+        this.waitStrategy = waitStrategy;
     }
 
     @Override
@@ -54,6 +68,7 @@ public final class FifoDeliveryQueue implements DeliveryQueue {
         lock.lock();
         try {
             queue.addFirst(envelope);
+            available = queue.size();
             condition.signal();
         } finally {
             lock.unlock();
@@ -65,6 +80,7 @@ public final class FifoDeliveryQueue implements DeliveryQueue {
         lock.lock();
         try {
             queue.addLast(envelope);
+            available = queue.size();
             condition.signal();
         } finally {
             lock.unlock();
@@ -74,6 +90,8 @@ public final class FifoDeliveryQueue implements DeliveryQueue {
 
     @Override
     public ClientDelivery dequeue(long timeout) throws InterruptedException {
+        timeout = idle(timeout);
+
         lock.lock();
         try {
             // Wait until the receiver is ready to deliver messages.
@@ -91,7 +109,40 @@ public final class FifoDeliveryQueue implements DeliveryQueue {
                 return null;
             }
 
-            return queue.pollFirst();
+            return poll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int dequeue(Collection<? super ClientDelivery> target, int maxDeliveries, long timeout) throws InterruptedException {
+        timeout = idle(timeout);
+
+        lock.lock();
+        try {
+            // Wait until the receiver is ready to deliver messages.
+            while (timeout != 0 && isRunning() && queue.isEmpty()) {
+                if (timeout == -1) {
+                    condition.await();
+                } else {
+                    long start = System.currentTimeMillis();
+                    condition.await(timeout, TimeUnit.MILLISECONDS);
+                    timeout = Math.max(timeout + start - System.currentTimeMillis(), 0);
+                }
+            }
+
+            if (!isRunning()) {
+                return 0;
+            }
+
+            int count = 0;
+            while (count < maxDeliveries && !queue.isEmpty()) {
+                target.add(poll());
+                count++;
+            }
+
+            return count;
         } finally {
             lock.unlock();
         }
@@ -105,7 +156,7 @@ public final class FifoDeliveryQueue implements DeliveryQueue {
                 return null;
             }
 
-            return queue.pollFirst();
+            return poll();
         } finally {
             lock.unlock();
         }
@@ -182,6 +233,7 @@ public final class FifoDeliveryQueue implements DeliveryQueue {
         lock.lock();
         try {
             queue.clear();
+            available = 0;
         } finally {
             lock.unlock();
         }
@@ -196,4 +248,46 @@ public final class FifoDeliveryQueue implements DeliveryQueue {
             lock.unlock();
         }
     }
+
+    //----- Internal implementation, poll requires the lock be held
+
+    private ClientDelivery poll() {
+        final ClientDelivery delivery = queue.pollFirst();
+        available = queue.size();
+        return delivery;
+    }
+
+    /*
+     * Idles with the wait strategy until a delivery is available, the queue stops, the timeout
+     * expires or the strategy asks to block.  Returns the timeout that remains for the blocking
+     * wait which is zero once expired and -1 when the wait is unbounded.
+     */
+    private long idle(long timeout) throws InterruptedException {
+        if (waitStrategy == null || timeout == 0) {
+            return timeout;
+        }
+
+        final long deadline = timeout > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout) : 0;
+        long remaining = timeout > 0 ? TimeUnit.MILLISECONDS.toNanos(timeout) : Long.MAX_VALUE;
+        int idleCount = 0;
+
+        while (available == 0 && isRunning()) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            } else if (!waitStrategy.idle(idleCount, remaining)) {
+                break;
+            }
+
+            idleCount = idleCount < Integer.MAX_VALUE ? idleCount + 1 : idleCount;
+
+            if (timeout > 0) {
+                remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return 0;
+                }
+            }
+        }
+
+        return timeout > 0 ? Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())) : timeout;
+    }
 }
@@ -88,6 +88,30 @@ public class ReconnectionURIPool {
         return next;
     }
 
+    /**
+     * Returns up to the given number of distinct URIs from the front of the pool.  Each
+     * URI returned is shifted to the end of the list in the same manner as {@link #getNext()}
+     * so that the next call continues with the URIs that were not returned.
+     *
+     * @param count
+     *        The maximum number of URIs to return.
+     *
+     * @return the next URIs that should be used for a connection attempt, never null.
+     */
+    public List<URI> getNext(int count) {
+        final List<URI> next = new ArrayList<>(Math.max(0, count));
+        synchronized (uris) {
+            final int available = Math.min(count, uris.size());
+            for (int i = 0; i < available; ++i) {
+                final URI uri = uris.removeFirst();
+                uris.addLast(uri);
+                next.add(uri);
+            }
+        }
+
+        return next;
+    }
+
     /**
      * Randomizes the order of the list of URIs contained within the pool.
      */
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client.util;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Support for creating virtual threads when the client runs on a JVM that provides them.
+ * The virtual thread builder API is resolved reflectively so that the client continues to
+ * run on older JVMs where this support simply reports that it is not available.
+ */
+public final class VirtualThreadSupport {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadSupport.class);
+
+    private static final Method OF_VIRTUAL;
+    private static final Method BUILDER_NAME;
+    private static final Method BUILDER_FACTORY;
+
+    static {
+        Method ofVirtual = null;
+        Method builderName = null;
+        Method builderFactory = null;
+
+        try {
+            final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            builderName = builderClass.getMethod("name", String.class, long.class);
+            builderFactory = builderClass.getMethod("factory");
+
+            // Virtual threads were a preview feature before Java 21 and the builder can
+            // exist yet fail when the preview features have not been enabled.
+            builderFactory.invoke(ofVirtual.invoke(null));
+        } catch (Throwable error) {
+            LOG.trace("Virtual threads are not available on this JVM: {}", error.getMessage());
+            ofVirtual = null;
+            builderName = null;
+            builderFactory = null;
+        }
+
+        OF_VIRTUAL = ofVirtual;
+        BUILDER_NAME = builderName;
+        BUILDER_FACTORY = builderFactory;
+    }
+
+    private VirtualThreadSupport() {}
+
+    /**
+     * @return true if the running JVM supports the creation of virtual threads.
+     */
+    public static boolean isAvailable() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Creates a {@link ThreadFactory} that creates virtual threads whose names begin with the
+     * given prefix followed by an increasing counter.
+     *
+     * @param namePrefix
+     *      The prefix used to name the threads that the returned factory creates.
+     *
+     * @return a {@link ThreadFactory} that creates virtual threads.
+     *
+     * @throws UnsupportedOperationException if the JVM does not support virtual threads.
+     */
+    public static ThreadFactory createThreadFactory(String namePrefix) {
+        if (!isAvailable()) {
+            throw new UnsupportedOperationException("Virtual threads are not supported on this JVM");
+        }
+
+        try {
+            final Object builder = BUILDER_NAME.invoke(OF_VIRTUAL.invoke(null), namePrefix, 0L);
+
+            return (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+        } catch (ReflectiveOperationException error) {
+            throw new UnsupportedOperationException("Failed to create virtual thread factory", error);
+        }
+    }
+}
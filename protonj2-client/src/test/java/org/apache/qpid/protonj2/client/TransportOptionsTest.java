@@ -21,6 +21,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -49,6 +51,21 @@ public class TransportOptionsTest extends ImperativeClientTestCase {
     public static final String TEST_WEBSOCKET_HEADER_KEY = "compression";
     public static final String TEST_WEBSOCKET_HEADER_VALUE = "gzip";
     public static final int TEST_WEBSOCKET_MAX_FRAME_SIZE = TransportOptions.DEFAULT_WEBSOCKET_MAX_FRAME_SIZE + 1024;
+    public static final int TEST_WRITE_BUFFER_LOW_WATER_MARK = 32 * 1024;
+    public static final int TEST_WRITE_BUFFER_HIGH_WATER_MARK = 64 * 1024;
+    public static final String TEST_UNIX_DOMAIN_SOCKET_PATH = "/var/run/amqp.sock";
+    public static final boolean TEST_TCP_QUICK_ACK = true;
+    public static final int TEST_BUSY_POLL_MICROS = 100;
+    public static final long TEST_TCP_NOT_SENT_LOW_WATER_MARK = 32 * 1024;
+    public static final boolean TEST_ADAPTIVE_RECEIVE_BUFFER = true;
+    public static final boolean TEST_WEBSOCKET_COMPRESSION = true;
+    public static final int TEST_WEBSOCKET_COMPRESSION_LEVEL = 9;
+    public static final int TEST_WEBSOCKET_COMPRESSION_THRESHOLD = 1024;
+    public static final boolean TEST_POOLED_BUFFERS = false;
+    public static final boolean TEST_DIRECT_BUFFERS = false;
+    public static final int TEST_ALLOCATOR_HEAP_ARENAS = 2;
+    public static final int TEST_ALLOCATOR_DIRECT_ARENAS = 4;
+    public static final boolean TEST_ALLOCATOR_THREAD_LOCAL_CACHE = false;
 
     @Test
     public void testCreate() {
@@ -59,6 +76,22 @@ public class TransportOptionsTest extends ImperativeClientTestCase {
         assertTrue(options.allowNativeIO());
         assertFalse(options.useWebSockets());
         assertNull(options.webSocketPath());
+        assertEquals(TransportOptions.DEFAULT_WRITE_BUFFER_LOW_WATER_MARK, options.writeBufferLowWaterMark());
+        assertEquals(TransportOptions.DEFAULT_WRITE_BUFFER_HIGH_WATER_MARK, options.writeBufferHighWaterMark());
+        assertNull(options.unixDomainSocketPath());
+        assertEquals(TransportOptions.DEFAULT_USE_NETTY, options.useNetty());
+        assertEquals(TransportOptions.DEFAULT_TCP_QUICK_ACK, options.tcpQuickAck());
+        assertEquals(TransportOptions.DEFAULT_BUSY_POLL_MICROS, options.busyPollMicros());
+        assertEquals(TransportOptions.DEFAULT_TCP_NOT_SENT_LOW_WATER_MARK, options.tcpNotSentLowWaterMark());
+        assertEquals(TransportOptions.DEFAULT_ADAPTIVE_RECEIVE_BUFFER, options.adaptiveReceiveBuffer());
+        assertEquals(TransportOptions.DEFAULT_WEBSOCKET_COMPRESSION, options.webSocketCompression());
+        assertEquals(TransportOptions.DEFAULT_WEBSOCKET_COMPRESSION_LEVEL, options.webSocketCompressionLevel());
+        assertEquals(TransportOptions.DEFAULT_WEBSOCKET_COMPRESSION_THRESHOLD, options.webSocketCompressionThreshold());
+        assertEquals(TransportOptions.DEFAULT_POOLED_BUFFERS, options.pooledBuffers());
+        assertEquals(TransportOptions.DEFAULT_DIRECT_BUFFERS, options.directBuffers());
+        assertEquals(TransportOptions.DEFAULT_ALLOCATOR_ARENAS, options.allocatorHeapArenas());
+        assertEquals(TransportOptions.DEFAULT_ALLOCATOR_ARENAS, options.allocatorDirectArenas());
+        assertEquals(TransportOptions.DEFAULT_ALLOCATOR_THREAD_LOCAL_CACHE, options.allocatorThreadLocalCache());
     }
 
     @Test
@@ -98,6 +131,60 @@ public class TransportOptionsTest extends ImperativeClientTestCase {
         assertEquals(TEST_WEBSOCKET_PATH, options.webSocketPath());
         assertEquals(TEST_WEBSOCKET_HEADER_VALUE, options.webSocketHeaders().get(TEST_WEBSOCKET_HEADER_KEY));
         assertEquals(TEST_WEBSOCKET_MAX_FRAME_SIZE, options.webSocketMaxFrameSize());
+        assertEquals(TEST_WRITE_BUFFER_LOW_WATER_MARK, options.writeBufferLowWaterMark());
+        assertEquals(TEST_WRITE_BUFFER_HIGH_WATER_MARK, options.writeBufferHighWaterMark());
+        assertEquals(TEST_UNIX_DOMAIN_SOCKET_PATH, options.unixDomainSocketPath());
+        assertEquals(!TransportOptions.DEFAULT_USE_NETTY, options.useNetty());
+        assertEquals(TEST_TCP_QUICK_ACK, options.tcpQuickAck());
+        assertEquals(TEST_BUSY_POLL_MICROS, options.busyPollMicros());
+        assertEquals(TEST_TCP_NOT_SENT_LOW_WATER_MARK, options.tcpNotSentLowWaterMark());
+        assertEquals(TEST_ADAPTIVE_RECEIVE_BUFFER, options.adaptiveReceiveBuffer());
+        assertEquals(TEST_WEBSOCKET_COMPRESSION, options.webSocketCompression());
+        assertEquals(TEST_WEBSOCKET_COMPRESSION_LEVEL, options.webSocketCompressionLevel());
+        assertEquals(TEST_WEBSOCKET_COMPRESSION_THRESHOLD, options.webSocketCompressionThreshold());
+        assertEquals(TEST_POOLED_BUFFERS, options.pooledBuffers());
+        assertEquals(TEST_DIRECT_BUFFERS, options.directBuffers());
+        assertEquals(TEST_ALLOCATOR_HEAP_ARENAS, options.allocatorHeapArenas());
+        assertEquals(TEST_ALLOCATOR_DIRECT_ARENAS, options.allocatorDirectArenas());
+        assertEquals(TEST_ALLOCATOR_THREAD_LOCAL_CACHE, options.allocatorThreadLocalCache());
+    }
+
+    @Test
+    public void testWebSocketCompressionOptionValidation() {
+        TransportOptions options = new TransportOptions();
+
+        assertThrows(IllegalArgumentException.class, () -> options.webSocketCompressionLevel(-1));
+        assertThrows(IllegalArgumentException.class, () -> options.webSocketCompressionLevel(10));
+        assertThrows(IllegalArgumentException.class, () -> options.webSocketCompressionThreshold(-1));
+
+        options.webSocketCompressionLevel(0);
+        options.webSocketCompressionLevel(9);
+        options.webSocketCompressionThreshold(0);
+    }
+
+    @Test
+    public void testLowLatencyProfile() {
+        TransportOptions options = new TransportOptions().allowNativeIO(false).tcpNoDelay(false).adaptiveReceiveBuffer(true);
+
+        assertSame(options, options.lowLatencyProfile());
+
+        assertTrue(options.allowNativeIO());
+        assertTrue(options.tcpNoDelay());
+        assertTrue(options.tcpQuickAck());
+        assertEquals(TransportOptions.LOW_LATENCY_BUSY_POLL_MICROS, options.busyPollMicros());
+        assertEquals(TransportOptions.LOW_LATENCY_TCP_NOT_SENT_LOW_WATER_MARK, options.tcpNotSentLowWaterMark());
+        assertFalse(options.adaptiveReceiveBuffer());
+    }
+
+    @Test
+    public void testLinuxSocketOptionValidation() {
+        TransportOptions options = new TransportOptions();
+
+        assertThrows(IllegalArgumentException.class, () -> options.busyPollMicros(-1));
+        assertThrows(IllegalArgumentException.class, () -> options.tcpNotSentLowWaterMark(-1));
+
+        options.busyPollMicros(0);
+        options.tcpNotSentLowWaterMark(0);
     }
 
     @Test
@@ -153,6 +240,32 @@ public class TransportOptionsTest extends ImperativeClientTestCase {
         options.trafficClass(255);
     }
 
+    @Test
+    public void testWriteBufferWaterMarksValidation() {
+        TransportOptions options = createNonDefaultOptions().clone();
+        try {
+            options.writeBufferWaterMarks(-1, 1024);
+            fail("Should have thrown an IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            options.writeBufferWaterMarks(0, -1);
+            fail("Should have thrown an IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            options.writeBufferWaterMarks(2048, 1024);
+            fail("Should have thrown an IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+        }
+
+        assertEquals(TEST_WRITE_BUFFER_LOW_WATER_MARK, options.writeBufferLowWaterMark());
+        assertEquals(TEST_WRITE_BUFFER_HIGH_WATER_MARK, options.writeBufferHighWaterMark());
+
+        options.writeBufferWaterMarks(1024, 1024);
+        options.writeBufferWaterMarks(0, 0);
+    }
+
     @Test
     public void testNativeIOPerferencesCannotBeNulled() {
         TransportOptions options = createNonDefaultOptions();
@@ -204,6 +317,21 @@ public class TransportOptionsTest extends ImperativeClientTestCase {
         options.webSocketPath(TEST_WEBSOCKET_PATH);
         options.addWebSocketHeader(TEST_WEBSOCKET_HEADER_KEY, TEST_WEBSOCKET_HEADER_VALUE);
         options.webSocketMaxFrameSize(TEST_WEBSOCKET_MAX_FRAME_SIZE);
+        options.writeBufferWaterMarks(TEST_WRITE_BUFFER_LOW_WATER_MARK, TEST_WRITE_BUFFER_HIGH_WATER_MARK);
+        options.unixDomainSocketPath(TEST_UNIX_DOMAIN_SOCKET_PATH);
+        options.useNetty(!TransportOptions.DEFAULT_USE_NETTY);
+        options.tcpQuickAck(TEST_TCP_QUICK_ACK);
+        options.busyPollMicros(TEST_BUSY_POLL_MICROS);
+        options.tcpNotSentLowWaterMark(TEST_TCP_NOT_SENT_LOW_WATER_MARK);
+        options.adaptiveReceiveBuffer(TEST_ADAPTIVE_RECEIVE_BUFFER);
+        options.webSocketCompression(TEST_WEBSOCKET_COMPRESSION);
+        options.webSocketCompressionLevel(TEST_WEBSOCKET_COMPRESSION_LEVEL);
+        options.webSocketCompressionThreshold(TEST_WEBSOCKET_COMPRESSION_THRESHOLD);
+        options.pooledBuffers(TEST_POOLED_BUFFERS);
+        options.directBuffers(TEST_DIRECT_BUFFERS);
+        options.allocatorHeapArenas(TEST_ALLOCATOR_HEAP_ARENAS);
+        options.allocatorDirectArenas(TEST_ALLOCATOR_DIRECT_ARENAS);
+        options.allocatorThreadLocalCache(TEST_ALLOCATOR_THREAD_LOCAL_CACHE);
 
         return options;
     }
@@ -18,6 +18,7 @@ package org.apache.qpid.protonj2.client.futures;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -83,4 +84,31 @@ public class ClientFutureFactoryTest {
 
         assertTrue(future instanceof ProgressiveClientFuture);
     }
+
+    @Test
+    public void testCreateParkingFactoryFromConfiguration() {
+        ClientFutureFactory factory = ClientFutureFactory.create("parking");
+
+        ClientFuture<Void> future = factory.createFuture();
+        assertNotNull(future);
+        assertFalse(future.isComplete());
+
+        assertTrue(future instanceof ParkingClientFuture);
+    }
+
+    @Test
+    public void testCreateWaitStrategyFactory() {
+        ClientFutureFactory factory = ClientFutureFactory.fromWaitStrategy(WaitStrategy.busySpin());
+
+        ClientFuture<Void> future = factory.createFuture();
+        assertNotNull(future);
+        assertFalse(future.isComplete());
+
+        assertTrue(future instanceof WaitStrategyClientFuture);
+    }
+
+    @Test
+    public void testCreateWaitStrategyFactoryFailsWithNullStrategy() {
+        assertThrows(NullPointerException.class, () -> ClientFutureFactory.fromWaitStrategy(null));
+    }
 }
@@ -39,7 +39,7 @@ import org.junit.jupiter.params.provider.ValueSource;
 public class ClientFutureTest {
 
     @ParameterizedTest
-    @ValueSource(strings = { "conservative", "balanced", "progressive" })
+    @ValueSource(strings = { "conservative", "balanced", "progressive", "parking" })
     public void testIsComplete(String futureType) {
         final ClientFutureFactory futuresFactory = ClientFutureFactory.create(futureType);
         final ClientFuture<Void> future = futuresFactory.createFuture();
@@ -56,7 +56,7 @@ public class ClientFutureTest {
     }
 
     @ParameterizedTest
-    @ValueSource(strings = { "conservative", "balanced", "progressive" })
+    @ValueSource(strings = { "conservative", "balanced", "progressive", "parking" })
     public void testOnSuccess(String futureType) {
         final ClientFutureFactory futuresFactory = ClientFutureFactory.create(futureType);
         final ClientFuture<Boolean> future = futuresFactory.createFuture();
@@ -77,7 +77,7 @@ public class ClientFutureTest {
     }
 
     @ParameterizedTest
-    @ValueSource(strings = { "conservative", "balanced", "progressive" })
+    @ValueSource(strings = { "conservative", "balanced", "progressive", "parking" })
     public void testOnSuccessFromAnotherThread(String futureType) {
         final ClientFutureFactory futuresFactory = ClientFutureFactory.create(futureType);
         final ClientFuture<Boolean> future = futuresFactory.createFuture();
@@ -98,7 +98,7 @@ public class ClientFutureTest {
     }
 
     @ParameterizedTest
-    @ValueSource(strings = { "conservative", "balanced", "progressive" })
+    @ValueSource(strings = { "conservative", "balanced", "progressive", "parking" })
     public void testTimedGet(String futureType) {
         final ClientFutureFactory futuresFactory = ClientFutureFactory.create(futureType);
         final ClientFuture<Void> future = futuresFactory.createFuture();
@@ -112,7 +112,7 @@ public class ClientFutureTest {
     }
 
     @ParameterizedTest
-    @ValueSource(strings = { "conservative", "balanced", "progressive" })
+    @ValueSource(strings = { "conservative", "balanced", "progressive", "parking" })
     public void testTimedGetWhenComplete(String futureType) {
         final ClientFutureFactory futuresFactory = ClientFutureFactory.create(futureType);
         final ClientFuture<Void> future = futuresFactory.createFuture();
@@ -127,7 +127,7 @@ public class ClientFutureTest {
     }
 
     @ParameterizedTest
-    @ValueSource(strings = { "conservative", "balanced", "progressive" })
+    @ValueSource(strings = { "conservative", "balanced", "progressive", "parking" })
     public void testTimedGetWhenCompleteWithZeroTimeout(String futureType) {
         final ClientFutureFactory futuresFactory = ClientFutureFactory.create(futureType);
         final ClientFuture<Void> future = futuresFactory.createFuture();
@@ -142,7 +142,7 @@ public class ClientFutureTest {
     }
 
     @ParameterizedTest
-    @ValueSource(strings = { "conservative", "balanced", "progressive" })
+    @ValueSource(strings = { "conservative", "balanced", "progressive", "parking" })
     public void testTimedGetWhenNotCompleteWithZeroTimeout(String futureType) {
         final ClientFutureFactory futuresFactory = ClientFutureFactory.create(futureType);
         final ClientFuture<Void> future = futuresFactory.createFuture();
@@ -155,7 +155,7 @@ public class ClientFutureTest {
     }
 
     @ParameterizedTest
-    @ValueSource(strings = { "conservative", "balanced", "progressive" })
+    @ValueSource(strings = { "conservative", "balanced", "progressive", "parking" })
     public void testTimedGetWhenCancelled(String futureType) {
         final ClientFutureFactory futuresFactory = ClientFutureFactory.create(futureType);
         final ClientFuture<Void> future = futuresFactory.createFuture();
@@ -174,7 +174,7 @@ public class ClientFutureTest {
     }
 
     @ParameterizedTest
-    @ValueSource(strings = { "conservative", "balanced", "progressive" })
+    @ValueSource(strings = { "conservative", "balanced", "progressive", "parking" })
     public void testTimedGetWhenCancelledFromAnotherThread(String futureType) {
         final ClientFutureFactory futuresFactory = ClientFutureFactory.create(futureType);
         final ClientFuture<Void> future = futuresFactory.createFuture();
@@ -193,7 +193,7 @@ public class ClientFutureTest {
     }
 
     @ParameterizedTest
-    @ValueSource(strings = { "conservative", "balanced", "progressive" })
+    @ValueSource(strings = { "conservative", "balanced", "progressive", "parking" })
     public void testOnFailure(String futureType) {
         final ClientFutureFactory futuresFactory = ClientFutureFactory.create(futureType);
         final ClientFuture<Void> future = futuresFactory.createFuture();
@@ -216,7 +216,7 @@ public class ClientFutureTest {
     }
 
     @ParameterizedTest
-    @ValueSource(strings = { "conservative", "balanced", "progressive" })
+    @ValueSource(strings = { "conservative", "balanced", "progressive", "parking" })
     public void testOnFailureFromAnotherThread(String futureType) {
         final ClientFutureFactory futuresFactory = ClientFutureFactory.create(futureType);
         final ClientFuture<Void> future = futuresFactory.createFuture();
@@ -240,7 +240,7 @@ public class ClientFutureTest {
     }
 
     @ParameterizedTest
-    @ValueSource(strings = { "conservative", "balanced", "progressive" })
+    @ValueSource(strings = { "conservative", "balanced", "progressive", "parking" })
     public void testOnSuccessCallsSynchronization(String futureType) {
         final AtomicBoolean syncCalled = new AtomicBoolean(false);
         final ClientFutureFactory futuresFactory = ClientFutureFactory.create(futureType);
@@ -269,7 +269,7 @@ public class ClientFutureTest {
     }
 
     @ParameterizedTest
-    @ValueSource(strings = { "conservative", "balanced", "progressive" })
+    @ValueSource(strings = { "conservative", "balanced", "progressive", "parking" })
     public void testOnFailureCallsSynchronization(String futureType) {
         final AtomicBoolean syncCalled = new AtomicBoolean(false);
         final ClientFutureFactory futuresFactory = ClientFutureFactory.create(futureType);
@@ -305,7 +305,7 @@ public class ClientFutureTest {
     }
 
     @ParameterizedTest
-    @ValueSource(strings = { "conservative", "balanced", "progressive" })
+    @ValueSource(strings = { "conservative", "balanced", "progressive", "parking" })
     public void testOnSuccessCallsSynchronizationIngoresThrownError(String futureType) {
         final AtomicBoolean syncCalled = new AtomicBoolean(false);
         final ClientFutureFactory futuresFactory = ClientFutureFactory.create(futureType);
@@ -338,7 +338,7 @@ public class ClientFutureTest {
     }
 
     @ParameterizedTest
-    @ValueSource(strings = { "conservative", "balanced", "progressive" })
+    @ValueSource(strings = { "conservative", "balanced", "progressive", "parking" })
     public void testOnFailureCallsSynchronizationAndIngoresThrownErrors(String futureType) {
         final AtomicBoolean syncCalled = new AtomicBoolean(false);
         final ClientFutureFactory futuresFactory = ClientFutureFactory.create(futureType);
@@ -378,7 +378,7 @@ public class ClientFutureTest {
     }
 
     @ParameterizedTest
-    @ValueSource(strings = { "conservative", "balanced", "progressive" })
+    @ValueSource(strings = { "conservative", "balanced", "progressive", "parking" })
     public void testSuccessfulStateIsFixed(String futureType) {
         final ClientFutureFactory futuresFactory = ClientFutureFactory.create(futureType);
         final ClientFuture<Void> future = futuresFactory.createFuture();
@@ -394,7 +394,7 @@ public class ClientFutureTest {
     }
 
     @ParameterizedTest
-    @ValueSource(strings = { "conservative", "balanced", "progressive" })
+    @ValueSource(strings = { "conservative", "balanced", "progressive", "parking" })
     public void testFailedStateIsFixed(String futureType) {
         final ClientFutureFactory futuresFactory = ClientFutureFactory.create(futureType);
         final ClientFuture<Void> future = futuresFactory.createFuture();
@@ -415,7 +415,7 @@ public class ClientFutureTest {
     }
 
     @ParameterizedTest
-    @ValueSource(strings = { "conservative", "balanced", "progressive" })
+    @ValueSource(strings = { "conservative", "balanced", "progressive", "parking" })
     public void testSyncHandlesInterruption(String futureType) throws InterruptedException {
         final ClientFutureFactory futuresFactory = ClientFutureFactory.create(futureType);
         final ClientFuture<Void> future = futuresFactory.createFuture();
@@ -451,7 +451,7 @@ public class ClientFutureTest {
     }
 
     @ParameterizedTest
-    @ValueSource(strings = { "conservative", "balanced", "progressive" })
+    @ValueSource(strings = { "conservative", "balanced", "progressive", "parking" })
     public void testTimedSyncHandlesInterruption(String futureType) throws InterruptedException {
         final ClientFutureFactory futuresFactory = ClientFutureFactory.create(futureType);
         final ClientFuture<Void> future = futuresFactory.createFuture();
@@ -488,7 +488,7 @@ public class ClientFutureTest {
     }
 
     @ParameterizedTest
-    @ValueSource(strings = { "conservative", "balanced", "progressive" })
+    @ValueSource(strings = { "conservative", "balanced", "progressive", "parking" })
     public void testUnfailableOnSuccessCallsSuccessSynchronization(String futureType) {
         final AtomicBoolean syncCalled = new AtomicBoolean(false);
         final ClientFutureFactory futuresFactory = ClientFutureFactory.create(futureType);
@@ -517,7 +517,7 @@ public class ClientFutureTest {
     }
 
     @ParameterizedTest
-    @ValueSource(strings = { "conservative", "balanced", "progressive" })
+    @ValueSource(strings = { "conservative", "balanced", "progressive", "parking" })
     public void testUnfailableOnFailureCannotFail(String futureType) {
         final ClientFutureFactory futuresFactory = ClientFutureFactory.create(futureType);
         final ClientFuture<Void> future = futuresFactory.createUnfailableFuture();
@@ -537,7 +537,7 @@ public class ClientFutureTest {
     }
 
     @ParameterizedTest
-    @ValueSource(strings = { "conservative", "balanced", "progressive" })
+    @ValueSource(strings = { "conservative", "balanced", "progressive", "parking" })
     public void testUnfailableOnFailureCallsSuccessSynchronizationWhenFailed(String futureType) {
         final AtomicBoolean syncCalled = new AtomicBoolean(false);
         final ClientFutureFactory futuresFactory = ClientFutureFactory.create(futureType);
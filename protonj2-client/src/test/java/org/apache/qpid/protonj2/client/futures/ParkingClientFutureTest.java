@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client.futures;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.qpid.protonj2.client.test.Wait;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+@Timeout(20)
+public class ParkingClientFutureTest {
+
+    @Test
+    public void testTimedOutWaitersAreRemoved() throws Exception {
+        final ParkingClientFuture<Boolean> future = new ParkingClientFuture<>();
+
+        for (int i = 0; i < 100; ++i) {
+            assertThrows(TimeoutException.class, () -> future.get(1, TimeUnit.MILLISECONDS));
+        }
+
+        assertEquals(0, future.waiterCount());
+
+        future.complete(true);
+
+        assertTrue(future.get(1, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testInterruptedWaitersAreRemoved() throws Exception {
+        final ParkingClientFuture<Boolean> future = new ParkingClientFuture<>();
+        final CountDownLatch interrupted = new CountDownLatch(2);
+
+        final Thread untimed = new Thread(() -> {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            } catch (Exception e) {
+            }
+        });
+        final Thread timed = new Thread(() -> {
+            try {
+                future.get(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            } catch (Exception e) {
+            }
+        });
+
+        untimed.start();
+        timed.start();
+
+        assertTrue(Wait.waitFor(() -> future.waiterCount() == 2, 10000, 1));
+
+        untimed.interrupt();
+        timed.interrupt();
+
+        assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+        assertEquals(0, future.waiterCount());
+    }
+
+    @Test
+    public void testRemainingWaitersSignalledAfterOthersTimeOut() throws Exception {
+        final ParkingClientFuture<Boolean> future = new ParkingClientFuture<>();
+        final AtomicBoolean result = new AtomicBoolean();
+        final CountDownLatch done = new CountDownLatch(1);
+
+        final Thread waiter = new Thread(() -> {
+            try {
+                result.set(future.get());
+            } catch (Exception e) {
+            } finally {
+                done.countDown();
+            }
+        });
+
+        waiter.start();
+
+        assertTrue(Wait.waitFor(() -> future.waiterCount() == 1, 10000, 1));
+
+        for (int i = 0; i < 10; ++i) {
+            assertThrows(TimeoutException.class, () -> future.get(1, TimeUnit.MILLISECONDS));
+        }
+
+        assertEquals(1, future.waiterCount());
+
+        future.complete(true);
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertTrue(result.get());
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client.futures;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.apache.qpid.protonj2.client.exceptions.ClientException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+@Timeout(20)
+public class WaitStrategyClientFutureTest {
+
+    static Stream<Arguments> waitStrategies() {
+        return Stream.of(Arguments.of("busy-spin", WaitStrategy.busySpin()),
+                         Arguments.of("spin-then-yield", WaitStrategy.spinThenYield()),
+                         Arguments.of("timed-park", WaitStrategy.timedPark(TimeUnit.MICROSECONDS.toNanos(50))),
+                         Arguments.of("blocking", WaitStrategy.blocking()),
+                         Arguments.of("progressive", WaitStrategy.progressive()));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("waitStrategies")
+    public void testGetCompletedFromAnotherThread(String name, WaitStrategy strategy) throws Exception {
+        final ClientFuture<Boolean> future = ClientFutureFactory.fromWaitStrategy(strategy).createFuture();
+
+        ForkJoinPool.commonPool().submit(() -> future.complete(true));
+
+        assertTrue(future.get());
+        assertTrue(future.isComplete());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("waitStrategies")
+    public void testTimedGetCompletedFromAnotherThread(String name, WaitStrategy strategy) throws Exception {
+        final ClientFuture<Boolean> future = ClientFutureFactory.fromWaitStrategy(strategy).createFuture();
+
+        ForkJoinPool.commonPool().submit(() -> future.complete(true));
+
+        assertTrue(future.get(5, TimeUnit.SECONDS));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("waitStrategies")
+    public void testTimedGetTimesOut(String name, WaitStrategy strategy) {
+        final ClientFuture<Void> future = ClientFutureFactory.fromWaitStrategy(strategy).createFuture();
+
+        assertThrows(TimeoutException.class, () -> future.get(10, TimeUnit.MILLISECONDS));
+        assertFalse(future.isDone());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("waitStrategies")
+    public void testGetThrowsWhenFailedFromAnotherThread(String name, WaitStrategy strategy) throws Exception {
+        final ClientFuture<Void> future = ClientFutureFactory.fromWaitStrategy(strategy).createFuture();
+        final ClientException failure = new ClientException("failed");
+
+        ForkJoinPool.commonPool().submit(() -> future.failed(failure));
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> future.get());
+        assertSame(failure, error.getCause());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("waitStrategies")
+    public void testGetHandlesInterruption(String name, WaitStrategy strategy) throws Exception {
+        final ClientFuture<Void> future = ClientFutureFactory.fromWaitStrategy(strategy).createFuture();
+
+        final CountDownLatch waiting = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(1);
+        final AtomicBoolean interrupted = new AtomicBoolean(false);
+
+        Thread runner = new Thread(() -> {
+            try {
+                waiting.countDown();
+                future.get();
+            } catch (InterruptedException cause) {
+                interrupted.set(true);
+            } catch (ExecutionException e) {
+            } finally {
+                done.countDown();
+            }
+        });
+
+        runner.start();
+        assertTrue(waiting.await(5, TimeUnit.SECONDS));
+        runner.interrupt();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(interrupted.get());
+    }
+
+    @Test
+    public void testTimedParkRequiresPositiveParkTime() {
+        assertThrows(IllegalArgumentException.class, () -> WaitStrategy.timedPark(0));
+        assertThrows(IllegalArgumentException.class, () -> WaitStrategy.timedPark(-1));
+    }
+
+    @Test
+    public void testUnfailableFutureCompletesWhenFailed() throws Exception {
+        final ClientFuture<Void> future = ClientFutureFactory.fromWaitStrategy(WaitStrategy.busySpin()).createUnfailableFuture();
+
+        future.failed(new ClientException("failed"));
+
+        assertTrue(future.isComplete());
+        assertFalse(future.isFailed());
+        future.get();
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class ClientAdaptiveCreditWindowTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void testInitialWindowIsClampedToBounds() {
+        assertEquals(5, new ClientAdaptiveCreditWindow(1, 5, 100).window());
+        assertEquals(100, new ClientAdaptiveCreditWindow(1000, 5, 100).window());
+        assertEquals(10, new ClientAdaptiveCreditWindow(10, 5, 100).window());
+    }
+
+    @Test
+    void testWindowUnchangedUntilRoundTripMeasured() {
+        final ClientAdaptiveCreditWindow window = new ClientAdaptiveCreditWindow(10, 1, 1000);
+
+        assertEquals(10, window.update(0, 0));
+        assertEquals(10, window.update(100 * MILLIS, 500));
+        assertEquals(0, window.roundTripTime());
+    }
+
+    @Test
+    void testRoundTripEndsAtFirstDeliveryUsingNewCredit() {
+        final ClientAdaptiveCreditWindow window = new ClientAdaptiveCreditWindow(10, 1, 1000);
+
+        // Two credits were outstanding so the third delivery is the first sent with the new credit
+        window.creditGranted(0, 2);
+        window.deliveryReceived(1 * MILLIS);
+        window.deliveryReceived(2 * MILLIS);
+        assertEquals(0, window.roundTripTime());
+        window.deliveryReceived(5 * MILLIS);
+        assertEquals(5 * MILLIS, window.roundTripTime());
+    }
+
+    @Test
+    void testWindowGrowsToBandwidthDelayProduct() {
+        final ClientAdaptiveCreditWindow window = new ClientAdaptiveCreditWindow(10, 1, 1000);
+
+        window.creditGranted(0, 0);
+        window.deliveryReceived(10 * MILLIS);
+
+        window.update(10 * MILLIS, 0);
+
+        // Ten deliveries per millisecond over a ten millisecond round trip, doubled for headroom
+        assertEquals(200, window.update(30 * MILLIS, 200));
+    }
+
+    @Test
+    void testWindowShrinksWhenConsumptionSlows() {
+        final ClientAdaptiveCreditWindow window = new ClientAdaptiveCreditWindow(10, 2, 1000);
+
+        window.creditGranted(0, 0);
+        window.deliveryReceived(10 * MILLIS);
+
+        window.update(10 * MILLIS, 0);
+        assertEquals(200, window.update(30 * MILLIS, 200));
+        assertEquals(100, window.update(50 * MILLIS, 200));
+        assertEquals(50, window.update(70 * MILLIS, 200));
+        assertEquals(25, window.update(90 * MILLIS, 200));
+    }
+
+    @Test
+    void testWindowStaysWithinBounds() {
+        final ClientAdaptiveCreditWindow window = new ClientAdaptiveCreditWindow(10, 5, 50);
+
+        window.creditGranted(0, 0);
+        window.deliveryReceived(10 * MILLIS);
+
+        window.update(10 * MILLIS, 0);
+        assertEquals(50, window.update(30 * MILLIS, 200));
+
+        for (int i = 0; i < 20; ++i) {
+            window.update((50 + i * 20) * MILLIS, 200);
+        }
+
+        assertEquals(5, window.window());
+    }
+
+    @Test
+    void testWindowNotResizedBeforeRoundTripHasElapsed() {
+        final ClientAdaptiveCreditWindow window = new ClientAdaptiveCreditWindow(10, 1, 1000);
+
+        window.creditGranted(0, 0);
+        window.deliveryReceived(20 * MILLIS);
+
+        window.update(20 * MILLIS, 0);
+        assertEquals(10, window.update(30 * MILLIS, 100));
+        assertEquals(400, window.update(40 * MILLIS, 200));
+    }
+}
@@ -27,10 +27,12 @@ import java.io.IOException;
 import java.net.URI;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 
+import org.apache.qpid.protonj2.client.BufferAllocatorMetrics;
 import org.apache.qpid.protonj2.client.Client;
 import org.apache.qpid.protonj2.client.ClientOptions;
 import org.apache.qpid.protonj2.client.Connection;
@@ -130,6 +132,53 @@ public class ConnectionTest extends ImperativeClientTestCase {
         }
     }
 
+    @Test
+    public void testConnectionsWithSameAllocatorOptionsShareClientAllocator() throws Exception {
+        try (ProtonTestServer firstPeer = new ProtonTestServer(testServerOptions());
+             ProtonTestServer secondPeer = new ProtonTestServer(testServerOptions())) {
+
+            firstPeer.expectSASLAnonymousConnect();
+            firstPeer.expectOpen().respond();
+            firstPeer.expectClose().respond();
+            firstPeer.start();
+
+            secondPeer.expectSASLAnonymousConnect();
+            secondPeer.expectOpen().respond();
+            secondPeer.expectClose().respond();
+            secondPeer.start();
+
+            final URI firstURI = firstPeer.getServerURI();
+            final URI secondURI = secondPeer.getServerURI();
+
+            ConnectionOptions options = connectionOptions();
+            options.transportOptions().allocatorHeapArenas(1).allocatorDirectArenas(2);
+
+            ClientInstance container = (ClientInstance) Client.create();
+            Connection connection1 = container.connect(firstURI.getHost(), firstURI.getPort(), options);
+            Connection connection2 = container.connect(secondURI.getHost(), secondURI.getPort(), options);
+
+            connection1.openFuture().get();
+            connection2.openFuture().get();
+
+            final BufferAllocatorMetrics metrics = container.bufferAllocatorMetrics();
+
+            assertEquals(1, container.bufferAllocatorCache().size());
+            assertEquals(1, metrics.numHeapArenas());
+            assertEquals(2, metrics.numDirectArenas());
+            assertTrue(metrics.usedHeapMemory() + metrics.usedDirectMemory() > 0);
+
+            connection1.closeAsync().get();
+            connection2.closeAsync().get();
+
+            firstPeer.waitForScriptToComplete();
+            secondPeer.waitForScriptToComplete();
+
+            container.close();
+
+            assertEquals(0, container.bufferAllocatorCache().size());
+        }
+    }
+
     @Test
     public void testCreateConnectionToNonSaslPeer() throws Exception {
         doConnectionWithUnexpectedHeaderTestImpl(AMQPHeader.getAMQPHeader().toArray());
@@ -291,6 +340,41 @@ public class ConnectionTest extends ImperativeClientTestCase {
         }
     }
 
+    @Test
+    public void testConnectionInVirtualThreadModeSignalsEstablishedHandler() throws Exception {
+        try (ProtonTestServer peer = new ProtonTestServer(testServerOptions())) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectEnd().respond();
+            peer.expectClose().respond();
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Connect test started, peer listening on: {}", remoteURI);
+
+            final CountDownLatch established = new CountDownLatch(1);
+            ConnectionOptions options = connectionOptions();
+
+            options.connectedHandler((connection, location) -> {
+                LOG.info("Connection signaled that it was established");
+                established.countDown();
+            });
+
+            Client container = Client.create(new ClientOptions().id(UUID.randomUUID().toString()).virtualThreads(true));
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort(), options);
+
+            assertTrue(established.await(10, TimeUnit.SECONDS));
+
+            connection.openFuture().get(10, TimeUnit.SECONDS);
+            connection.openSession().openFuture().get(10, TimeUnit.SECONDS).closeAsync().get(10, TimeUnit.SECONDS);
+            connection.closeAsync().get(10, TimeUnit.SECONDS);
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
+
     @Test
     public void testCreateConnectionFailedHandlerGetsCalled() throws Exception {
         try (ProtonTestServer peer = new ProtonTestServer(testServerOptions())) {
@@ -751,6 +835,37 @@ public class ConnectionTest extends ImperativeClientTestCase {
         }
     }
 
+    @Test
+    public void testConnectionOpenTimeoutUsingSharedClientTimer() throws Exception {
+        try (ProtonTestServer peer = new ProtonTestServer(testServerOptions())) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen();
+            peer.expectClose();
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Test started, peer listening on: {}", remoteURI);
+
+            final ClientOptions clientOptions = new ClientOptions().id(UUID.randomUUID().toString())
+                                                             .sharedTimer(true)
+                                                             .sharedTimerTickDuration(5);
+            final ConnectionOptions options = connectionOptions().openTimeout(75);
+
+            Client container = Client.create(clientOptions);
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort(), options);
+
+            try {
+                connection.openFuture().get(10, TimeUnit.SECONDS);
+                fail("Open should timeout when no open response and complete future with error.");
+            } catch (ExecutionException error) {
+                LOG.info("connection open failed with error: ", error);
+            }
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
+
     @Test
     public void testConnectionOpenWaitWithTimeoutCanceledWhenConnectionDrops() throws Exception {
         doTestConnectionOpenWaitCanceledWhenConnectionDrops(true);
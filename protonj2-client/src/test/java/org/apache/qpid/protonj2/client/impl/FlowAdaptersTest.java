@@ -0,0 +1,458 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.qpid.protonj2.client.Client;
+import org.apache.qpid.protonj2.client.Connection;
+import org.apache.qpid.protonj2.client.Delivery;
+import org.apache.qpid.protonj2.client.FlowAdapters;
+import org.apache.qpid.protonj2.client.Message;
+import org.apache.qpid.protonj2.client.Receiver;
+import org.apache.qpid.protonj2.client.ReceiverOptions;
+import org.apache.qpid.protonj2.client.Sender;
+import org.apache.qpid.protonj2.client.SenderOptions;
+import org.apache.qpid.protonj2.client.Session;
+import org.apache.qpid.protonj2.client.exceptions.ClientIllegalStateException;
+import org.apache.qpid.protonj2.client.exceptions.ClientLinkRemotelyClosedException;
+import org.apache.qpid.protonj2.client.test.ImperativeClientTestCase;
+import org.apache.qpid.protonj2.client.test.Wait;
+import org.apache.qpid.protonj2.test.driver.ProtonTestServer;
+import org.apache.qpid.protonj2.types.messaging.AmqpValue;
+import org.apache.qpid.protonj2.types.transport.AmqpError;
+import org.apache.qpid.protonj2.types.transport.Role;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@Timeout(20)
+public class FlowAdaptersTest extends ImperativeClientTestCase {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FlowAdaptersTest.class);
+
+    @Test
+    public void testPublisherRequiresZeroCreditWindow() throws Exception {
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().withRole(Role.RECEIVER.getValue()).respond();
+            peer.expectFlow().withLinkCredit(10);
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Test started, peer listening on: {}", remoteURI);
+
+            Client container = Client.create();
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort());
+            Session session = connection.openSession();
+            Receiver receiver = session.openReceiver("test-queue", new ReceiverOptions().creditWindow(10));
+            receiver.openFuture().get();
+
+            assertThrows(ClientIllegalStateException.class, () -> FlowAdapters.publisher(receiver));
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectClose().respond();
+
+            connection.closeAsync().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testPublisherGrantsCreditOnlyForSubscriberDemand() throws Exception {
+        final byte[] payload = createEncodedMessage(new AmqpValue<>("Hello World"));
+
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().withRole(Role.RECEIVER.getValue()).respond();
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Test started, peer listening on: {}", remoteURI);
+
+            Client container = Client.create();
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort());
+            Session session = connection.openSession();
+            Receiver receiver = session.openReceiver("test-queue", new ReceiverOptions().creditWindow(0));
+            receiver.openFuture().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectFlow().withLinkCredit(2);
+            peer.remoteTransfer().withHandle(0)
+                                 .withDeliveryId(0)
+                                 .withDeliveryTag(new byte[] { 1 })
+                                 .withMessageFormat(0)
+                                 .withPayload(payload).queue();
+            peer.remoteTransfer().withHandle(0)
+                                 .withDeliveryId(1)
+                                 .withDeliveryTag(new byte[] { 2 })
+                                 .withMessageFormat(0)
+                                 .withPayload(payload).queue();
+            peer.expectDisposition().withFirst(0).withSettled(true).withState().accepted();
+            peer.expectDisposition().withFirst(1).withSettled(true).withState().accepted();
+
+            final TestSubscriber<Delivery> subscriber = new TestSubscriber<>(2);
+
+            FlowAdapters.publisher(receiver).subscribe(subscriber);
+
+            assertTrue(subscriber.subscribed.await(5, TimeUnit.SECONDS));
+            subscriber.subscription.request(2);
+
+            assertTrue(subscriber.received.await(5, TimeUnit.SECONDS));
+            assertEquals(2, subscriber.items.size());
+            assertEquals("Hello World", subscriber.items.get(0).message().body());
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectFlow().withLinkCredit(1);
+
+            subscriber.subscription.request(1);
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectDetach().respond();
+            peer.expectClose().respond();
+
+            receiver.closeAsync().get();
+
+            assertTrue(subscriber.terminated.await(5, TimeUnit.SECONDS));
+            assertEquals(null, subscriber.error.get());
+
+            connection.closeAsync().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testPublisherLeavesDeliveriesUnsettledWithoutAutoAccept() throws Exception {
+        final byte[] payload = createEncodedMessage(new AmqpValue<>("Hello World"));
+
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().withRole(Role.RECEIVER.getValue()).respond();
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Test started, peer listening on: {}", remoteURI);
+
+            Client container = Client.create();
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort());
+            Session session = connection.openSession();
+            Receiver receiver = session.openReceiver("test-queue", new ReceiverOptions().creditWindow(0).autoAccept(false));
+            receiver.openFuture().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectFlow().withLinkCredit(1);
+            peer.remoteTransfer().withHandle(0)
+                                 .withDeliveryId(0)
+                                 .withDeliveryTag(new byte[] { 1 })
+                                 .withMessageFormat(0)
+                                 .withPayload(payload).queue();
+
+            final TestSubscriber<Delivery> subscriber = new TestSubscriber<>(1);
+
+            FlowAdapters.publisher(receiver).subscribe(subscriber);
+
+            assertTrue(subscriber.subscribed.await(5, TimeUnit.SECONDS));
+            subscriber.subscription.request(1);
+
+            assertTrue(subscriber.received.await(5, TimeUnit.SECONDS));
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectDisposition().withFirst(0).withSettled(true).withState().accepted();
+
+            final Delivery delivery = subscriber.items.get(0);
+
+            assertFalse(delivery.settled());
+
+            delivery.accept();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectClose().respond();
+
+            connection.closeAsync().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testPublisherSignalsErrorWhenLinkRemotelyClosed() throws Exception {
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().withRole(Role.RECEIVER.getValue()).respond();
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Test started, peer listening on: {}", remoteURI);
+
+            Client container = Client.create();
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort());
+            Session session = connection.openSession();
+            Receiver receiver = session.openReceiver("test-queue", new ReceiverOptions().creditWindow(0));
+            receiver.openFuture().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectFlow().withLinkCredit(1);
+            peer.remoteDetach().withClosed(true)
+                               .withErrorCondition(AmqpError.RESOURCE_DELETED.toString(), "Link was deleted").queue();
+            peer.expectDetach();
+            peer.expectClose().respond();
+
+            final TestSubscriber<Delivery> subscriber = new TestSubscriber<>(1);
+
+            FlowAdapters.publisher(receiver).subscribe(subscriber);
+
+            assertTrue(subscriber.subscribed.await(5, TimeUnit.SECONDS));
+            subscriber.subscription.request(1);
+
+            assertTrue(subscriber.terminated.await(5, TimeUnit.SECONDS));
+            assertTrue(subscriber.error.get() instanceof ClientLinkRemotelyClosedException);
+
+            connection.closeAsync().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testSubscriberRequestsOnlyWhatCreditAllows() throws Exception {
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().ofSender().respond();
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Test started, peer listening on: {}", remoteURI);
+
+            Client container = Client.create();
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort());
+            Session session = connection.openSession();
+            Sender sender = session.openSender("test-queue");
+            sender.openFuture().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectTransfer().withNonNullPayload();
+            peer.expectTransfer().withNonNullPayload();
+
+            final CountDownLatch requested = new CountDownLatch(2);
+            final AtomicReference<Flow.Subscription> upstream = new AtomicReference<>();
+            final Flow.Subscriber<Message<?>> subscriber = FlowAdapters.subscriber(sender);
+            final List<Long> requests = new CopyOnWriteArrayList<>();
+
+            try (SubmissionPublisher<Message<?>> publisher = new SubmissionPublisher<>()) {
+                // Wrap the subscription to observe what the sender asks the publisher for.
+                publisher.subscribe(new Flow.Subscriber<Message<?>>() {
+
+                    @Override
+                    public void onSubscribe(Flow.Subscription subscription) {
+                        upstream.set(subscription);
+                        subscriber.onSubscribe(new Flow.Subscription() {
+
+                            @Override
+                            public void request(long n) {
+                                requests.add(n);
+                                subscription.request(n);
+                                for (int i = 0; i < n; ++i) {
+                                    requested.countDown();
+                                }
+                            }
+
+                            @Override
+                            public void cancel() {
+                                subscription.cancel();
+                            }
+                        });
+                    }
+
+                    @Override
+                    public void onNext(Message<?> item) {
+                        subscriber.onNext(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        subscriber.onError(throwable);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        subscriber.onComplete();
+                    }
+                });
+
+                // No credit yet so nothing should have been requested.
+                Thread.sleep(20);
+                assertTrue(requests.isEmpty());
+
+                peer.remoteFlow().withLinkCredit(2).now();
+
+                assertTrue(requested.await(5, TimeUnit.SECONDS));
+                assertEquals(1, requests.size());
+                assertEquals(2L, requests.get(0));
+
+                publisher.submit(Message.create("one"));
+                publisher.submit(Message.create("two"));
+
+                peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            }
+
+            assertNotNull(upstream.get());
+
+            peer.expectDetach().respond();
+            peer.expectClose().respond();
+
+            sender.closeAsync().get();
+            connection.closeAsync().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testSubscriberRequestsOnlyWhatTheInFlightLimitAllows() throws Exception {
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().ofSender().respond();
+            peer.remoteFlow().withLinkCredit(10).queue();
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Test started, peer listening on: {}", remoteURI);
+
+            Client container = Client.create();
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort());
+            Session session = connection.openSession();
+            Sender sender = session.openSender("test-queue", new SenderOptions().maxInFlightMessages(1));
+            sender.openFuture().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectTransfer().withNonNullPayload();
+
+            final List<Long> requests = new CopyOnWriteArrayList<>();
+            final Flow.Subscriber<Message<?>> subscriber = sender.subscriber();
+
+            subscriber.onSubscribe(new Flow.Subscription() {
+
+                @Override
+                public void request(long n) {
+                    requests.add(n);
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+
+            // The link has ten credits but only one message may be in flight at a time.
+            Wait.assertTrue(() -> requests.size() == 1);
+            assertEquals(1L, requests.get(0));
+
+            subscriber.onNext(Message.create("one"));
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+
+            assertEquals(1, requests.size());
+
+            peer.remoteDisposition().withRole(Role.RECEIVER.getValue())
+                                    .withFirst(0)
+                                    .withSettled(true)
+                                    .withState().accepted().now();
+
+            Wait.assertTrue(() -> requests.size() == 2);
+            assertEquals(1L, requests.get(1));
+
+            peer.expectDetach().respond();
+            peer.expectClose().respond();
+
+            sender.closeAsync().get();
+            connection.closeAsync().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private static class TestSubscriber<T> implements Flow.Subscriber<T> {
+
+        final CountDownLatch subscribed = new CountDownLatch(1);
+        final CountDownLatch received;
+        final CountDownLatch terminated = new CountDownLatch(1);
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        final List<T> items = new CopyOnWriteArrayList<>();
+
+        volatile Flow.Subscription subscription;
+
+        TestSubscriber(int expected) {
+            this.received = new CountDownLatch(expected);
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscribed.countDown();
+        }
+
+        @Override
+        public void onNext(T item) {
+            items.add(item);
+            received.countDown();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error.set(throwable);
+            terminated.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            terminated.countDown();
+        }
+    }
+}
@@ -11,6 +11,7 @@ import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -22,8 +23,12 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 
 import org.apache.qpid.protonj2.client.AdvancedMessage;
 import org.apache.qpid.protonj2.client.Client;
@@ -47,7 +52,9 @@ import org.apache.qpid.protonj2.client.exceptions.ClientIOException;
 import org.apache.qpid.protonj2.client.exceptions.ClientIllegalStateException;
 import org.apache.qpid.protonj2.client.exceptions.ClientLinkRemotelyClosedException;
 import org.apache.qpid.protonj2.client.exceptions.ClientOperationTimedOutException;
+import org.apache.qpid.protonj2.client.futures.WaitStrategy;
 import org.apache.qpid.protonj2.client.test.ImperativeClientTestCase;
+import org.apache.qpid.protonj2.client.test.Wait;
 import org.apache.qpid.protonj2.test.driver.ProtonTestServer;
 import org.apache.qpid.protonj2.test.driver.codec.messaging.Modified;
 import org.apache.qpid.protonj2.test.driver.codec.messaging.Released;
@@ -1528,6 +1535,593 @@ public class ReceiverTest extends ImperativeClientTestCase {
         }
     }
 
+    @Test
+    public void testBatchedReceiveAcceptsAndReplenishesCreditOncePerBatch() throws Exception {
+        final byte[] payload = createEncodedMessage(new AmqpValue<>("Hello World"));
+
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().withRole(Role.RECEIVER.getValue()).respond();
+            peer.expectFlow().withLinkCredit(4);
+            for (int i = 0; i < 4; ++i) {
+                peer.remoteTransfer().withHandle(0)
+                                     .withDeliveryId(i)
+                                     .withDeliveryTag(new byte[] { (byte) i })
+                                     .withMessageFormat(0)
+                                     .withPayload(payload).queue();
+            }
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Test started, peer listening on: {}", remoteURI);
+
+            Client container = Client.create();
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort());
+            Session session = connection.openSession();
+            final Receiver receiver = session.openReceiver("test-queue", new ReceiverOptions().creditWindow(4));
+
+            Wait.assertTrue("All deliveries should arrive", () -> receiver.queuedDeliveries() == 4);
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectDisposition().withFirst(0).withLast(2).withSettled(true).withState().accepted();
+            peer.expectFlow().withLinkCredit(3);
+
+            final List<Delivery> batch = receiver.receive(3, 5, TimeUnit.SECONDS);
+
+            assertEquals(3, batch.size());
+            for (Delivery delivery : batch) {
+                assertEquals("Hello World", delivery.message().body());
+            }
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectDisposition().withFirst(3).withSettled(true).withState().accepted();
+
+            final List<Delivery> remainder = receiver.receive(10, 5, TimeUnit.SECONDS);
+
+            assertEquals(1, remainder.size());
+            assertEquals("Hello World", remainder.get(0).message().body());
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+
+            assertTrue(receiver.receive(2, 10, TimeUnit.MILLISECONDS).isEmpty());
+            assertThrows(IllegalArgumentException.class, () -> receiver.receive(0, 10, TimeUnit.MILLISECONDS));
+
+            peer.expectDetach().respond();
+            peer.expectClose().respond();
+
+            receiver.closeAsync().get();
+            connection.closeAsync().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testBatchedReceiveWithoutAutoAcceptLeavesDeliveriesUnsettled() throws Exception {
+        final byte[] payload = createEncodedMessage(new AmqpValue<>("Hello World"));
+
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().withRole(Role.RECEIVER.getValue()).respond();
+            peer.expectFlow().withLinkCredit(10);
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Test started, peer listening on: {}", remoteURI);
+
+            Client container = Client.create();
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort());
+            Session session = connection.openSession();
+            final Receiver receiver = session.openReceiver("test-queue", new ReceiverOptions().autoAccept(false));
+            receiver.openFuture().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+
+            final ForkJoinTask<List<Delivery>> pending = ForkJoinPool.commonPool().submit(() -> receiver.receive(5, 5, TimeUnit.SECONDS));
+
+            peer.remoteTransfer().withHandle(0)
+                                 .withDeliveryId(0)
+                                 .withDeliveryTag(new byte[] { 1 })
+                                 .withMessageFormat(0)
+                                 .withPayload(payload).later(20);
+
+            final List<Delivery> batch = pending.get(5, TimeUnit.SECONDS);
+
+            assertEquals(1, batch.size());
+            assertFalse(batch.get(0).settled());
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectDisposition().withFirst(0).withSettled(true).withState().accepted();
+            peer.expectDetach().respond();
+            peer.expectClose().respond();
+
+            batch.get(0).accept();
+
+            receiver.closeAsync().get();
+            connection.closeAsync().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testReceiveWithLinkWaitStrategyOverridingConnectionStrategy() throws Exception {
+        final byte[] payload = createEncodedMessage(new AmqpValue<>("Hello World"));
+        final AtomicInteger connectionIdles = new AtomicInteger();
+        final AtomicInteger linkIdles = new AtomicInteger();
+
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().withRole(Role.RECEIVER.getValue()).respond();
+            peer.expectFlow().withLinkCredit(10);
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Test started, peer listening on: {}", remoteURI);
+
+            Client container = Client.create();
+            ConnectionOptions options = new ConnectionOptions().waitStrategy((idleCount, maxParkNanos) -> {
+                connectionIdles.incrementAndGet();
+                return false;
+            });
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort(), options);
+            Session session = connection.openSession();
+            ReceiverOptions receiverOptions = new ReceiverOptions().waitStrategy((idleCount, maxParkNanos) -> {
+                linkIdles.incrementAndGet();
+                LockSupport.parkNanos(Math.min(maxParkNanos, 100_000));
+                return true;
+            });
+            final Receiver receiver = session.openReceiver("test-queue", receiverOptions);
+            receiver.openFuture().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectDisposition().withFirst(0).withSettled(true).withState().accepted();
+            peer.remoteTransfer().withHandle(0)
+                                 .withDeliveryId(0)
+                                 .withDeliveryTag(new byte[] { 1 })
+                                 .withMessageFormat(0)
+                                 .withPayload(payload).later(20);
+
+            final int connectionIdlesBeforeReceive = connectionIdles.get();
+
+            final Delivery delivery = receiver.receive(5, TimeUnit.SECONDS);
+
+            assertNotNull(delivery);
+            assertEquals("Hello World", delivery.message().body());
+
+            // The receive waited for the delivery using the link strategy alone
+            assertTrue(linkIdles.get() > 0);
+            assertEquals(connectionIdlesBeforeReceive, connectionIdles.get());
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectDetach().respond().afterDelay(20);
+
+            final int linkIdlesBeforeClose = linkIdles.get();
+
+            // The close future was created by the link future factory and waits with its strategy
+            final Future<Receiver> closed = receiver.closeAsync();
+
+            assertSame(receiver, closed.get(5, TimeUnit.SECONDS));
+            assertTrue(linkIdles.get() > linkIdlesBeforeClose);
+            assertEquals(connectionIdlesBeforeReceive, connectionIdles.get());
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectClose().respond();
+
+            connection.closeAsync().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testMaxPrefetchBytesLimitsCreditGrantedByReceiver() throws Exception {
+        final byte[] payload = createEncodedMessage(new AmqpValue<>("Hello World"));
+
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().withRole(Role.RECEIVER.getValue()).respond();
+            peer.expectFlow().withLinkCredit(1);
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Test started, peer listening on: {}", remoteURI);
+
+            Client container = Client.create();
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort());
+            Session session = connection.openSession();
+            ReceiverOptions options = new ReceiverOptions().autoAccept(false).maxPrefetchBytes(payload.length * 3);
+            final Receiver receiver = session.openReceiver("test-queue", options);
+            receiver.openFuture().get();
+
+            // Nothing is known about delivery sizes so only a single credit is granted at first
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.remoteTransfer().withHandle(0)
+                                 .withDeliveryId(0)
+                                 .withDeliveryTag(new byte[] { 0 })
+                                 .withMessageFormat(0)
+                                 .withPayload(payload).now();
+
+            Wait.assertTrue(() -> receiver.queuedDeliveries() == 1);
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectFlow().withLinkCredit(3);
+
+            assertNotNull(receiver.receive());
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            for (int i = 1; i <= 3; ++i) {
+                peer.remoteTransfer().withHandle(0)
+                                     .withDeliveryId(i)
+                                     .withDeliveryTag(new byte[] { (byte) i })
+                                     .withMessageFormat(0)
+                                     .withPayload(payload).now();
+            }
+
+            Wait.assertTrue(() -> receiver.queuedDeliveries() == 3);
+
+            // Consuming one delivery frees room for exactly one more in the budget
+            peer.expectFlow().withLinkCredit(1);
+
+            assertNotNull(receiver.receive());
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectDetach().respond();
+            peer.expectClose().respond();
+
+            receiver.closeAsync().get();
+            connection.closeAsync().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testConnectionMaxPrefetchBytesSharedBetweenReceivers() throws Exception {
+        final byte[] payload = createEncodedMessage(new AmqpValue<>("Hello World"));
+
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().withRole(Role.RECEIVER.getValue()).respond();
+            peer.expectFlow().withHandle(0).withLinkCredit(1);
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Test started, peer listening on: {}", remoteURI);
+
+            Client container = Client.create();
+            ConnectionOptions connectionOptions = new ConnectionOptions().maxPrefetchBytes(payload.length);
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort(), connectionOptions);
+            Session session = connection.openSession();
+            final Receiver receiver1 = session.openReceiver("test-queue-1", new ReceiverOptions().autoAccept(false));
+            receiver1.openFuture().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectAttach().withRole(Role.RECEIVER.getValue()).respond();
+            peer.expectFlow().withHandle(1).withLinkCredit(1);
+
+            final Receiver receiver2 = session.openReceiver("test-queue-2", new ReceiverOptions().autoAccept(false));
+            receiver2.openFuture().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.remoteTransfer().withHandle(0)
+                                 .withDeliveryId(0)
+                                 .withDeliveryTag(new byte[] { 0 })
+                                 .withMessageFormat(0)
+                                 .withPayload(payload).now();
+            peer.remoteTransfer().withHandle(1)
+                                 .withDeliveryId(1)
+                                 .withDeliveryTag(new byte[] { 1 })
+                                 .withMessageFormat(0)
+                                 .withPayload(payload).now();
+
+            Wait.assertTrue(() -> receiver1.queuedDeliveries() == 1 && receiver2.queuedDeliveries() == 1);
+
+            // The first receiver still holds the whole budget so the second cannot be granted credit
+            assertNotNull(receiver2.receive());
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectFlow().withHandle(1).withLinkCredit(1);
+            peer.expectFlow().withHandle(0).withLinkCredit(1);
+
+            // Releasing the budget wakes the stalled receiver as well as topping up the first
+            assertNotNull(receiver1.receive());
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectClose().respond();
+
+            connection.closeAsync().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testConnectionPausesReadsWhileUnconsumedBytesExceedLimit() throws Exception {
+        final byte[] payload = createEncodedMessage(new AmqpValue<>("Hello World"));
+
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().withRole(Role.RECEIVER.getValue()).respond();
+            peer.expectFlow().withLinkCredit(10);
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Test started, peer listening on: {}", remoteURI);
+
+            Client container = Client.create();
+            ConnectionOptions connectionOptions = new ConnectionOptions().maxUnconsumedBytes(payload.length - 1);
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort(), connectionOptions);
+            Session session = connection.openSession();
+            final Receiver receiver = session.openReceiver("test-queue", new ReceiverOptions().autoAccept(false));
+            receiver.openFuture().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.remoteTransfer().withDeliveryId(0)
+                                 .withDeliveryTag(new byte[] { 0 })
+                                 .withMessageFormat(0)
+                                 .withPayload(payload).now();
+
+            Wait.assertTrue(() -> receiver.queuedDeliveries() == 1);
+
+            // The first delivery exceeds the limit so the second remains unread in the socket
+            peer.remoteTransfer().withDeliveryId(1)
+                                 .withDeliveryTag(new byte[] { 1 })
+                                 .withMessageFormat(0)
+                                 .withPayload(payload).now();
+
+            Thread.sleep(50);
+
+            assertEquals(1, receiver.queuedDeliveries());
+            assertNotNull(receiver.receive());
+
+            // Consuming the first delivery resumes reading which admits the second
+            Wait.assertTrue(() -> receiver.queuedDeliveries() == 1);
+            assertNotNull(receiver.receive());
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectClose().respond();
+
+            connection.closeAsync().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testAdaptiveCreditWindowStartsWithinConfiguredBounds() throws Exception {
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().withRole(Role.RECEIVER.getValue()).respond();
+            peer.expectFlow().withLinkCredit(100);
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Test started, peer listening on: {}", remoteURI);
+
+            Client container = Client.create();
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort());
+            Session session = connection.openSession();
+            ReceiverOptions options = new ReceiverOptions().creditWindow(500)
+                                                           .adaptiveCreditWindow(true)
+                                                           .creditWindowBounds(1, 100);
+            Receiver receiver = session.openReceiver("test-queue", options);
+            receiver.openFuture().get();
+
+            assertEquals(100, receiver.creditWindow());
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectDetach().respond();
+            peer.expectClose().respond();
+
+            receiver.closeAsync().get();
+            connection.closeAsync().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testAdaptiveCreditWindowGrowsWhenLinkIsCreditLimited() throws Exception {
+        final byte[] payload = createEncodedMessage(new AmqpValue<>("Hello World"));
+
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().withRole(Role.RECEIVER.getValue()).respond();
+            peer.expectFlow().withLinkCredit(1);
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Test started, peer listening on: {}", remoteURI);
+
+            Client container = Client.create();
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort());
+            Session session = connection.openSession();
+            ReceiverOptions options = new ReceiverOptions().creditWindow(1)
+                                                           .autoAccept(false)
+                                                           .adaptiveCreditWindow(true)
+                                                           .creditWindowBounds(1, 100);
+            Receiver receiver = session.openReceiver("test-queue", options);
+            receiver.openFuture().get();
+
+            assertEquals(1, receiver.creditWindow());
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectFlow().withLinkCredit(1);
+            peer.remoteTransfer().withHandle(0)
+                                 .withDeliveryId(1)
+                                 .withDeliveryTag(new byte[] { 1 })
+                                 .withMessageFormat(0)
+                                 .withPayload(payload).afterDelay(100).queue();
+            peer.remoteTransfer().withHandle(0)
+                                 .withDeliveryId(0)
+                                 .withDeliveryTag(new byte[] { 0 })
+                                 .withMessageFormat(0)
+                                 .withPayload(payload).now();
+
+            assertNotNull(receiver.receive());
+
+            // The round trip to the next delivery is timed from the credit granted above and
+            // every delivery was consumed within about one round trip so the window must grow.
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectFlow();
+
+            assertNotNull(receiver.receive());
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+
+            assertTrue(receiver.creditWindow() > 1);
+
+            peer.expectDetach().respond();
+            peer.expectClose().respond();
+
+            receiver.closeAsync().get();
+            connection.closeAsync().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testAcceptCollectionOfDeliveriesSendsRangedDispositions() throws Exception {
+        final byte[] payload = createEncodedMessage(new AmqpValue<>("Hello World"));
+
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().withRole(Role.RECEIVER.getValue()).respond();
+            peer.expectFlow().withLinkCredit(10);
+            for (int i = 0; i < 4; ++i) {
+                peer.remoteTransfer().withHandle(0)
+                                     .withDeliveryId(i)
+                                     .withDeliveryTag(new byte[] { (byte) i })
+                                     .withMessageFormat(0)
+                                     .withPayload(payload).queue();
+            }
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Test started, peer listening on: {}", remoteURI);
+
+            Client container = Client.create();
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort());
+            Session session = connection.openSession();
+            final Receiver receiver = session.openReceiver("test-queue", new ReceiverOptions().autoAccept(false));
+
+            final List<Delivery> deliveries = new ArrayList<>();
+            for (int i = 0; i < 4; ++i) {
+                deliveries.add(receiver.receive(5, TimeUnit.SECONDS));
+            }
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectDisposition().withFirst(0).withLast(1).withSettled(true).withState().accepted();
+            peer.expectDisposition().withFirst(3).withLast(nullValue()).withSettled(true).withState().accepted();
+
+            receiver.accept(Arrays.asList(deliveries.get(0), deliveries.get(1), deliveries.get(3)));
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectDisposition().withFirst(2).withLast(nullValue()).withSettled(true).withState().accepted();
+
+            // Previously accepted deliveries in the collection are skipped
+            receiver.accept(deliveries);
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectDetach().respond();
+            peer.expectClose().respond();
+
+            receiver.closeAsync().get();
+            connection.closeAsync().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testAcceptUpToCumulativelyAcceptsEarlierDeliveries() throws Exception {
+        final byte[] payload = createEncodedMessage(new AmqpValue<>("Hello World"));
+
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().withRole(Role.RECEIVER.getValue()).respond();
+            peer.expectFlow().withLinkCredit(10);
+            for (int i = 0; i < 4; ++i) {
+                peer.remoteTransfer().withHandle(0)
+                                     .withDeliveryId(i)
+                                     .withDeliveryTag(new byte[] { (byte) i })
+                                     .withMessageFormat(0)
+                                     .withPayload(payload).queue();
+            }
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Test started, peer listening on: {}", remoteURI);
+
+            Client container = Client.create();
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort());
+            Session session = connection.openSession();
+            final Receiver receiver = session.openReceiver("test-queue", new ReceiverOptions().autoAccept(false));
+
+            Wait.assertTrue("All deliveries should arrive", () -> receiver.queuedDeliveries() == 4);
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectAttach().withRole(Role.RECEIVER.getValue()).respond();
+
+            final Receiver other = session.openReceiver("other-queue", new ReceiverOptions().creditWindow(0)).openFuture().get();
+
+            receiver.receive(5, TimeUnit.SECONDS);
+            receiver.receive(5, TimeUnit.SECONDS);
+            final Delivery third = receiver.receive(5, TimeUnit.SECONDS);
+
+            assertThrows(IllegalArgumentException.class, () -> other.acceptUpTo(third));
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectDisposition().withFirst(0).withLast(2).withSettled(true).withState().accepted();
+
+            receiver.acceptUpTo(third);
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectDisposition().withFirst(3).withLast(nullValue()).withSettled(true).withState().accepted();
+
+            receiver.acceptUpTo(receiver.receive(5, TimeUnit.SECONDS));
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectClose().respond();
+
+            connection.closeAsync().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
+
     @Test
     public void testReceiverAddCreditOnAbortedTransferWhenNeeded() throws Exception {
         try (ProtonTestServer peer = new ProtonTestServer()) {
@@ -17,6 +17,7 @@
 package org.apache.qpid.protonj2.client.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -29,6 +30,7 @@ import java.util.concurrent.atomic.AtomicReference;
 import org.apache.qpid.protonj2.client.Client;
 import org.apache.qpid.protonj2.client.Connection;
 import org.apache.qpid.protonj2.client.ConnectionOptions;
+import org.apache.qpid.protonj2.client.ReconnectOptions;
 import org.apache.qpid.protonj2.client.Session;
 import org.apache.qpid.protonj2.client.exceptions.ClientConnectionRemotelyClosedException;
 import org.apache.qpid.protonj2.client.exceptions.ClientConnectionSecurityException;
@@ -119,6 +121,165 @@ public class ReconnectTest extends ImperativeClientTestCase {
         }
     }
 
+    @Test
+    public void testParallelConnectDoesNotWaitForUnreachableHost() throws Exception {
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().withHostname("localhost").respond();
+            peer.start();
+
+            final URI remoteURI = peer.getServerURI();
+            final AtomicReference<String> connectedHost = new AtomicReference<>();
+            final AtomicReference<Integer> connectedPort = new AtomicReference<>();
+
+            ConnectionOptions options = new ConnectionOptions();
+            options.transportOptions().connectTimeout(60000);
+            options.reconnectOptions().reconnectEnabled(true);
+            options.reconnectOptions().parallelConnect(true);
+            options.reconnectOptions().parallelConnectDelay(50);
+            options.reconnectOptions().addReconnectHost(remoteURI.getHost(), remoteURI.getPort());
+            options.connectedHandler((connection, context) -> {
+                connectedHost.set(context.host());
+                connectedPort.set(context.port());
+            });
+
+            // Documentation only address range, connects to it are never answered or fail outright
+            Client container = Client.create();
+            Connection connection = container.connect("192.0.2.1", 5672, options);
+
+            connection.openFuture().get(10, TimeUnit.SECONDS);
+
+            peer.waitForScriptToComplete();
+            peer.expectClose().respond();
+
+            connection.close();
+
+            peer.waitForScriptToComplete();
+
+            assertEquals(remoteURI.getHost(), connectedHost.get());
+            assertEquals(remoteURI.getPort(), connectedPort.get());
+        }
+    }
+
+    @Test
+    public void testParallelConnectSkipsHostThatCannotBeResolved() throws Exception {
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().withHostname("localhost").respond();
+            peer.start();
+
+            final URI remoteURI = peer.getServerURI();
+            final AtomicReference<String> connectedHost = new AtomicReference<>();
+
+            ConnectionOptions options = new ConnectionOptions();
+            options.reconnectOptions().reconnectEnabled(true);
+            options.reconnectOptions().parallelConnect(true);
+            options.reconnectOptions().parallelConnectDelay(50);
+            options.reconnectOptions().addReconnectHost(remoteURI.getHost(), remoteURI.getPort());
+            options.connectedHandler((connection, context) -> connectedHost.set(context.host()));
+
+            // Names under the reserved invalid domain never resolve
+            Client container = Client.create();
+            Connection connection = container.connect("unresolvable.invalid", 5672, options);
+
+            connection.openFuture().get(10, TimeUnit.SECONDS);
+
+            peer.waitForScriptToComplete();
+            peer.expectClose().respond();
+
+            connection.close();
+
+            peer.waitForScriptToComplete();
+
+            assertEquals(remoteURI.getHost(), connectedHost.get());
+        }
+    }
+
+    @Test
+    public void testParallelConnectReconnectsAfterAllCandidatesFail() throws Exception {
+        final URI deadURI;
+
+        try (ProtonTestServer deadPeer = new ProtonTestServer()) {
+            deadPeer.start();
+            deadURI = deadPeer.getServerURI();
+        }
+
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.start();
+
+            final URI remoteURI = peer.getServerURI();
+
+            ConnectionOptions options = new ConnectionOptions();
+            options.reconnectOptions().reconnectEnabled(true);
+            options.reconnectOptions().reconnectDelay(10);
+            options.reconnectOptions().useReconnectBackOff(false);
+            options.reconnectOptions().parallelConnect(true);
+            options.reconnectOptions().parallelConnectHosts(1);
+            options.reconnectOptions().addReconnectHost(remoteURI.getHost(), remoteURI.getPort());
+
+            Client container = Client.create();
+            Connection connection = container.connect(deadURI.getHost(), deadURI.getPort(), options);
+
+            connection.openFuture().get(10, TimeUnit.SECONDS);
+
+            peer.waitForScriptToComplete();
+            peer.expectClose().respond();
+
+            connection.close();
+
+            peer.waitForScriptToComplete();
+        }
+    }
+
+    @Test
+    public void testParallelConnectOptionValidation() {
+        ConnectionOptions options = new ConnectionOptions();
+
+        assertEquals(ReconnectOptions.DEFAULT_PARALLEL_CONNECT, options.reconnectOptions().parallelConnect());
+        assertEquals(ReconnectOptions.DEFAULT_PARALLEL_CONNECT_HOSTS, options.reconnectOptions().parallelConnectHosts());
+        assertEquals(ReconnectOptions.DEFAULT_PARALLEL_CONNECT_DELAY, options.reconnectOptions().parallelConnectDelay());
+
+        assertThrows(IllegalArgumentException.class, () -> options.reconnectOptions().parallelConnectHosts(0));
+        assertThrows(IllegalArgumentException.class, () -> options.reconnectOptions().parallelConnectDelay(-1));
+
+        options.reconnectOptions().parallelConnect(true).parallelConnectHosts(3).parallelConnectDelay(10);
+
+        ConnectionOptions copy = new ConnectionOptions(options);
+
+        assertTrue(copy.reconnectOptions().parallelConnect());
+        assertEquals(3, copy.reconnectOptions().parallelConnectHosts());
+        assertEquals(10, copy.reconnectOptions().parallelConnectDelay());
+    }
+
+    @Test
+    public void testUnixDomainSocketConnectRejectsReconnectHosts() throws Exception {
+        final Client container = Client.create();
+        final ConnectionOptions options = new ConnectionOptions();
+        options.reconnectOptions().reconnectEnabled(true);
+        options.reconnectOptions().addReconnectHost("localhost", 5672);
+
+        assertThrows(IllegalArgumentException.class, () -> container.connect("unix:/tmp/amqp.sock", options));
+
+        options.transportOptions().unixDomainSocketPath("/tmp/amqp.sock");
+
+        assertThrows(IllegalArgumentException.class, () -> container.connect("localhost", options));
+
+        container.close();
+    }
+
+    @Test
+    public void testUnixDomainSocketConnectRejectsParallelConnect() throws Exception {
+        final Client container = Client.create();
+        final ConnectionOptions options = new ConnectionOptions();
+        options.reconnectOptions().parallelConnect(true);
+
+        assertThrows(IllegalArgumentException.class, () -> container.connect("unix:/tmp/amqp.sock", options));
+
+        container.close();
+    }
+
     @Test
     public void testConnectThrowsSecurityViolationOnFailureSaslAuth() throws Exception {
         doTestConnectThrowsSecurityViolationOnFailuredSaslExchange(SaslCode.AUTH.byteValue());
@@ -8,6 +8,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -17,11 +18,13 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.qpid.protonj2.client.Client;
 import org.apache.qpid.protonj2.client.Connection;
@@ -44,6 +47,7 @@ import org.apache.qpid.protonj2.client.Tracker;
 import org.apache.qpid.protonj2.client.exceptions.ClientConnectionRemotelyClosedException;
 import org.apache.qpid.protonj2.client.exceptions.ClientDeliveryStateException;
 import org.apache.qpid.protonj2.client.exceptions.ClientException;
+import org.apache.qpid.protonj2.client.exceptions.ClientIllegalStateException;
 import org.apache.qpid.protonj2.client.exceptions.ClientLinkRedirectedException;
 import org.apache.qpid.protonj2.client.exceptions.ClientLinkRemotelyClosedException;
 import org.apache.qpid.protonj2.client.exceptions.ClientOperationTimedOutException;
@@ -590,6 +594,145 @@ public class SenderTest extends ImperativeClientTestCase {
         }
     }
 
+    @Test
+    public void testSendsCompleteWhenTransportWriteBufferWaterMarksConfigured() throws Exception {
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().ofSender().respond();
+            peer.remoteFlow().withLinkCredit(10).queue();
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Sender test started, peer listening on: {}", remoteURI);
+
+            Client container = Client.create();
+            ConnectionOptions options = new ConnectionOptions();
+            // Every write crosses the high water mark so sends are held until each write drains
+            options.transportOptions().writeBufferWaterMarks(1, 2);
+            options.sendTimeout(5000);
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort(), options);
+            Session session = connection.openSession();
+            Sender sender = session.openSender("test-queue");
+            sender.openFuture().get(10, TimeUnit.SECONDS);
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            for (int i = 0; i < 10; ++i) {
+                peer.expectTransfer().withNonNullPayload();
+            }
+            peer.expectDetach().respond();
+            peer.expectClose().respond();
+
+            for (int i = 0; i < 10; ++i) {
+                assertNotNull(sender.send(Message.create("Hello World " + i)));
+            }
+
+            sender.closeAsync().get(10, TimeUnit.SECONDS);
+
+            connection.closeAsync().get(10, TimeUnit.SECONDS);
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testSendsHeldWhileTransportIsNotWritable() throws Exception {
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().ofSender().respond();
+            peer.remoteFlow().withLinkCredit(10).queue();
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Sender test started, peer listening on: {}", remoteURI);
+
+            Client container = Client.create();
+            ConnectionOptions options = new ConnectionOptions();
+            options.transportOptions().writeBufferWaterMarks(32 * 1024, 64 * 1024);
+            ClientConnection connection = (ClientConnection) container.connect(remoteURI.getHost(), remoteURI.getPort(), options);
+            Session session = connection.openSession();
+            Sender sender = session.openSender("test-queue");
+            sender.openFuture().get(10, TimeUnit.SECONDS);
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+
+            // Signal the write buffer crossing its high water mark as the transport would
+            connection.getScheduler().submit(() -> connection.handleTransportWritabilityChanged(false)).get(5, TimeUnit.SECONDS);
+
+            final CompletableFuture<Tracker> first = sender.sendAsync(Message.create("Hello World 1")).toCompletableFuture();
+            final CompletableFuture<Tracker> second = sender.sendAsync(Message.create("Hello World 2")).toCompletableFuture();
+
+            // Both sends have been dispatched on the event loop once this task has run
+            connection.getScheduler().submit(() -> {}).get(5, TimeUnit.SECONDS);
+
+            assertFalse(first.isDone());
+            assertFalse(second.isDone());
+
+            peer.expectTransfer().withDeliveryId(0).withNonNullPayload();
+            peer.expectTransfer().withDeliveryId(1).withNonNullPayload();
+
+            connection.getScheduler().submit(() -> connection.handleTransportWritabilityChanged(true)).get(5, TimeUnit.SECONDS);
+
+            assertNotNull(first.get(5, TimeUnit.SECONDS));
+            assertNotNull(second.get(5, TimeUnit.SECONDS));
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectClose().respond();
+
+            connection.closeAsync().get(10, TimeUnit.SECONDS);
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testSendsCompleteWhenUsingNioTransport() throws Exception {
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().ofSender().respond();
+            peer.remoteFlow().withLinkCredit(10).queue();
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Sender test started, peer listening on: {}", remoteURI);
+
+            Client container = Client.create();
+            ConnectionOptions options = new ConnectionOptions();
+            options.transportOptions().useNetty(false);
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort(), options);
+            Session session = connection.openSession();
+            Sender sender = session.openSender("test-queue");
+            sender.openFuture().get(10, TimeUnit.SECONDS);
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            for (int i = 0; i < 10; ++i) {
+                peer.expectTransfer().withNonNullPayload().respond().withSettled(true).withState().accepted();
+            }
+            peer.expectDetach().respond();
+            peer.expectClose().respond();
+
+            for (int i = 0; i < 10; ++i) {
+                final Tracker tracker = sender.send(Message.create("Hello World " + i));
+                assertNotNull(tracker.awaitSettlement(10, TimeUnit.SECONDS));
+                assertTrue(tracker.remoteSettled());
+            }
+
+            sender.closeAsync().get(10, TimeUnit.SECONDS);
+
+            connection.closeAsync().get(10, TimeUnit.SECONDS);
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
+
     @Test
     public void testSendWhenCreditIsAvailable() throws Exception {
         doTestSendWhenCreditIsAvailable(false, false);
@@ -1553,6 +1696,426 @@ public class SenderTest extends ImperativeClientTestCase {
         }
     }
 
+    @Test
+    public void testSendAsyncMultipleMessagesAndAwaitSettlementStages() throws Exception {
+        final int CREDIT = 20;
+
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().ofSender().respond();
+            peer.remoteFlow().withDeliveryCount(0).withLinkCredit(CREDIT).queue();
+            for (int i = 0; i < CREDIT; ++i) {
+                peer.expectTransfer().withDeliveryId(i)
+                                     .withNonNullPayload()
+                                     .withSettled(false)
+                                     .respond()
+                                     .withSettled(true)
+                                     .withState().accepted();
+            }
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Sender test started, peer listening on: {}", remoteURI);
+
+            Client container = Client.create();
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort());
+            Session session = connection.openSession();
+            Sender sender = session.openSender("test-queue");
+
+            Message<String> message = Message.create("Hello World");
+
+            final List<CompletableFuture<Tracker>> settlements = new ArrayList<>();
+
+            // Sends queue until the credit arrives and none of them block the calling thread
+            for (int i = 0; i < CREDIT; ++i) {
+                settlements.add(sender.sendAsync(message).thenCompose(Tracker::settlementStage).toCompletableFuture());
+            }
+
+            CompletableFuture.allOf(settlements.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+
+            for (CompletableFuture<Tracker> settlement : settlements) {
+                Tracker tracker = settlement.get();
+                assertTrue(tracker.remoteSettled());
+                assertTrue(tracker.remoteState().isAccepted());
+            }
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectDetach().respond();
+            peer.expectClose().respond();
+
+            sender.closeAsync().get();
+            connection.closeAsync().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testRequestsIssuedFromEventLoopCallbackCompleteInline() throws Exception {
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().ofSender().respond();
+            peer.remoteFlow().withDeliveryCount(0).withLinkCredit(2).queue();
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Sender test started, peer listening on: {}", remoteURI);
+
+            Client container = Client.create();
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort());
+            Session session = connection.openSession();
+            Sender sender = session.openSender("test-queue");
+            sender.openFuture().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectAttach().ofReceiver().respond();
+
+            Receiver receiver = session.openReceiver("test-queue", new ReceiverOptions().creditWindow(0));
+            receiver.openFuture().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectTransfer().withDeliveryId(0).withNonNullPayload();
+
+            final Tracker first = sender.sendAsync(Message.create("first")).toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            // Flow writes are deferred until the end of the current read batch
+            peer.expectTransfer().withDeliveryId(1).withNonNullPayload();
+            peer.expectFlow().withHandle(1).withLinkCredit(5);
+
+            final Thread ioThread = ((ClientConnection) connection).getScheduler().submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+            final AtomicReference<Thread> callbackThread = new AtomicReference<>();
+            final AtomicReference<Tracker> second = new AtomicReference<>();
+            final AtomicReference<Throwable> failure = new AtomicReference<>();
+            final CountDownLatch callbackDone = new CountDownLatch(1);
+
+            // The settlement callback is registered before the peer settles the delivery so that it
+            // runs on the connection event loop, blocking requests made from it must complete inline
+            // as a queued task could never run while the loop is waiting.
+            first.settlementStage().thenAccept(tracker -> {
+                callbackThread.set(Thread.currentThread());
+                try {
+                    receiver.addCredit(5);
+                    second.set(sender.send(Message.create("second")));
+                } catch (ClientException e) {
+                    failure.set(e);
+                } finally {
+                    callbackDone.countDown();
+                }
+            });
+
+            peer.remoteDisposition().withRole(Role.RECEIVER.getValue())
+                                    .withFirst(0)
+                                    .withSettled(true)
+                                    .withState().accepted().now();
+
+            assertTrue(callbackDone.await(5, TimeUnit.SECONDS));
+            assertSame(ioThread, callbackThread.get());
+            assertNotNull(second.get());
+            assertNull(failure.get());
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectClose().respond();
+
+            connection.closeAsync().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testBlockingSendFromEventLoopCallbackFailsWhenItCannotCompleteInline() throws Exception {
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().ofSender().respond();
+            peer.remoteFlow().withDeliveryCount(0).withLinkCredit(1).queue();
+            peer.expectTransfer().withDeliveryId(0).withNonNullPayload();
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Sender test started, peer listening on: {}", remoteURI);
+
+            Client container = Client.create();
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort());
+            Sender sender = connection.openSender("test-queue");
+            sender.openFuture().get();
+
+            final Tracker first = sender.sendAsync(Message.create("first")).toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+
+            final AtomicReference<Throwable> failure = new AtomicReference<>();
+            final CountDownLatch callbackDone = new CountDownLatch(1);
+
+            // No credit remains so the send could only complete once the event loop that is
+            // running this callback processes a flow from the remote.
+            first.settlementStage().thenAccept(tracker -> {
+                try {
+                    sender.send(Message.create("second"));
+                } catch (ClientException e) {
+                    failure.set(e);
+                } finally {
+                    callbackDone.countDown();
+                }
+            });
+
+            peer.remoteDisposition().withRole(Role.RECEIVER.getValue())
+                                    .withFirst(0)
+                                    .withSettled(true)
+                                    .withState().accepted().now();
+
+            assertTrue(callbackDone.await(5, TimeUnit.SECONDS));
+            assertTrue(failure.get() instanceof ClientIllegalStateException);
+
+            // The failed send must not be transmitted once credit arrives
+            peer.expectClose().respond();
+            peer.remoteFlow().withDeliveryCount(1).withLinkCredit(1).now();
+
+            connection.closeAsync().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testSettlementStageCallbackObservesCompletedSettlement() throws Exception {
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().ofSender().respond();
+            peer.remoteFlow().withDeliveryCount(0).withLinkCredit(1).queue();
+            peer.expectTransfer().withDeliveryId(0).withNonNullPayload();
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Sender test started, peer listening on: {}", remoteURI);
+
+            Client container = Client.create();
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort());
+            Session session = connection.openSession();
+            Sender sender = session.openSender("test-queue");
+
+            final Tracker tracker = sender.sendAsync(Message.create("Hello World")).toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+
+            final AtomicBoolean settlementDone = new AtomicBoolean();
+            final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+            final CompletableFuture<Tracker> observed = tracker.settlementStage().thenApply(settled -> {
+                settlementDone.set(settled.settlementFuture().isDone());
+                try {
+                    // Times out from the IO thread if the settlement future is not yet complete
+                    return settled.awaitSettlement(5, TimeUnit.SECONDS);
+                } catch (ClientException e) {
+                    failure.set(e);
+                    return null;
+                }
+            }).toCompletableFuture();
+
+            peer.remoteDisposition().withRole(Role.RECEIVER.getValue())
+                                    .withFirst(0)
+                                    .withSettled(true)
+                                    .withState().accepted().now();
+
+            assertSame(tracker, observed.get(5, TimeUnit.SECONDS));
+            assertTrue(settlementDone.get());
+            assertNull(failure.get());
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectClose().respond();
+
+            connection.closeAsync().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testSendAsyncBlockedForCreditFailsWhenLinkRemotelyClosed() throws Exception {
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().ofSender().respond();
+            peer.remoteDetach().withErrorCondition(AmqpError.RESOURCE_DELETED.toString(), "Link was deleted").afterDelay(25).queue();
+            peer.expectDetach();
+            peer.expectClose().respond();
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Sender test started, peer listening on: {}", remoteURI);
+
+            Client container = Client.create();
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort());
+            Session session = connection.openSession();
+            Sender sender = session.openSender("test-queue");
+            sender.openFuture().get();
+
+            Message<String> message = Message.create("Hello World");
+
+            try {
+                sender.sendAsync(message).toCompletableFuture().get();
+                fail("Send should have failed when the link was remotely closed.");
+            } catch (ExecutionException exe) {
+                assertTrue(exe.getCause() instanceof ClientResourceRemotelyClosedException);
+            }
+
+            connection.closeAsync().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testSettlementStageFailedAfterConnectionDropped() throws Exception {
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().ofSender().withTarget().withAddress("test").and().respond();
+            peer.remoteFlow().withLinkCredit(1).queue();
+            peer.expectTransfer();
+            peer.dropAfterLastHandler();
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            Message<String> message = Message.create("test-message");
+            Client container = Client.create();
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort());
+            Session session = connection.openSession();
+            Sender sender = session.openSender("test");
+
+            Tracker tracker = sender.sendAsync(message).toCompletableFuture().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+
+            try {
+                tracker.settlementStage().toCompletableFuture().get();
+                fail("Settlement stage should fail with remotely closed error after remote drops");
+            } catch (ExecutionException exe) {
+                assertTrue(exe.getCause() instanceof ClientConnectionRemotelyClosedException);
+            }
+
+            connection.closeAsync().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testTrySendReturnsNullWhenMaxInFlightMessagesReached() throws Exception {
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().ofSender().respond();
+            peer.remoteFlow().withLinkCredit(10).queue();
+            peer.expectTransfer().withDeliveryId(0).withNonNullPayload();
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Sender test started, peer listening on: {}", remoteURI);
+
+            Client container = Client.create();
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort());
+            Session session = connection.openSession();
+            Sender sender = session.openSender("test-queue", new SenderOptions().maxInFlightMessages(1));
+            sender.openFuture().get();
+
+            Message<String> message = Message.create("Hello World");
+
+            final Tracker tracker = sender.send(message);
+            assertNotNull(tracker);
+            assertNull(sender.trySend(message));
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectTransfer().withDeliveryId(1).withNonNullPayload();
+            peer.remoteDisposition().withRole(Role.RECEIVER.getValue())
+                                    .withFirst(0)
+                                    .withSettled(true)
+                                    .withState().accepted().now();
+
+            tracker.awaitSettlement(5, TimeUnit.SECONDS);
+
+            assertNotNull(sender.trySend(message));
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectDetach().respond();
+            peer.expectClose().respond();
+
+            sender.closeAsync().get();
+            connection.closeAsync().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testSendBlockedByMaxInFlightBytesResumesOnSettlement() throws Exception {
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().ofSender().respond();
+            peer.remoteFlow().withLinkCredit(10).queue();
+            peer.expectTransfer().withDeliveryId(0).withNonNullPayload();
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Sender test started, peer listening on: {}", remoteURI);
+
+            Client container = Client.create();
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort());
+            Session session = connection.openSession();
+            Sender sender = session.openSender("test-queue", new SenderOptions().maxInFlightBytes(16));
+            sender.openFuture().get();
+
+            Message<String> message = Message.create("Hello World");
+
+            // The first send is always admitted even though it exceeds the limit alone
+            final Tracker tracker = sender.send(message);
+            final CompletableFuture<Tracker> blocked = sender.sendAsync(message).toCompletableFuture();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+
+            assertFalse(blocked.isDone());
+
+            peer.expectTransfer().withDeliveryId(1).withNonNullPayload();
+            peer.remoteDisposition().withRole(Role.RECEIVER.getValue())
+                                    .withFirst(0)
+                                    .withSettled(true)
+                                    .withState().accepted().now();
+
+            assertNotNull(blocked.get(5, TimeUnit.SECONDS));
+            assertTrue(tracker.remoteSettled());
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectDetach().respond();
+            peer.expectClose().respond();
+
+            sender.closeAsync().get();
+            connection.closeAsync().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
+
     @Test
     public void testSendBlockedForCreditFailsWhenLinkRemotelyClosed() throws Exception {
         try (ProtonTestServer peer = new ProtonTestServer()) {
@@ -37,6 +37,7 @@ import javax.net.ssl.SSLSession;
 import org.apache.qpid.protonj2.client.Client;
 import org.apache.qpid.protonj2.client.Connection;
 import org.apache.qpid.protonj2.client.ConnectionOptions;
+import org.apache.qpid.protonj2.client.SslHandshakeMetrics;
 import org.apache.qpid.protonj2.client.SslOptions;
 import org.apache.qpid.protonj2.client.test.ImperativeClientTestCase;
 import org.apache.qpid.protonj2.client.transport.SslSupport;
@@ -146,6 +147,69 @@ public class SslConnectionTest extends ImperativeClientTestCase {
         }
     }
 
+    @Test
+    public void testConnectionsFromOneClientShareSslContextJDK() throws Exception {
+        doTestConnectionsFromOneClientShareSslContext(false);
+    }
+
+    @Test
+    public void testConnectionsFromOneClientShareSslContextOpenSSL() throws Exception {
+        assumeTrue(OpenSsl.isAvailable());
+        assumeTrue(OpenSsl.supportsKeyManagerFactory());
+
+        doTestConnectionsFromOneClientShareSslContext(true);
+    }
+
+    private void doTestConnectionsFromOneClientShareSslContext(boolean openSSL) throws Exception {
+        ProtonTestServerOptions serverOptions = serverOptions();
+        serverOptions.setSecure(true);
+        serverOptions.setKeyStoreLocation(BROKER_JKS_KEYSTORE);
+        serverOptions.setKeyStorePassword(PASSWORD);
+        serverOptions.setVerifyHost(false);
+
+        try (ProtonTestServer peer1 = new ProtonTestServer(serverOptions.clone());
+             ProtonTestServer peer2 = new ProtonTestServer(serverOptions.clone())) {
+
+            peer1.expectSASLAnonymousConnect();
+            peer1.expectOpen().respond();
+            peer1.expectClose().respond();
+            peer1.start();
+
+            peer2.expectSASLAnonymousConnect();
+            peer2.expectOpen().respond();
+            peer2.expectClose().respond();
+            peer2.start();
+
+            ConnectionOptions clientOptions = connectionOptions();
+            clientOptions.sslOptions()
+                         .trustStoreLocation(CLIENT_JKS_TRUSTSTORE)
+                         .trustStorePassword(PASSWORD)
+                         .allowNativeSSL(openSSL);
+
+            ClientInstance container = (ClientInstance) Client.create();
+
+            for (ProtonTestServer peer : new ProtonTestServer[] { peer1, peer2 }) {
+                URI remoteURI = peer.getServerURI();
+                Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort(), clientOptions);
+
+                connection.openFuture().get(10, TimeUnit.SECONDS);
+                assertTrue(peer.hasSecureConnection());
+                connection.closeAsync().get(10, TimeUnit.SECONDS);
+
+                peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            }
+
+            final SslHandshakeMetrics metrics = openSSL ?
+                container.openSslHandshakeMetrics() : container.jdkSslHandshakeMetrics();
+
+            assertEquals(1, container.sslContextCache().size());
+            assertEquals(2, metrics.completedHandshakes());
+            assertTrue(metrics.maxHandshakeTime() > 0);
+
+            container.close();
+        }
+    }
+
     @Test
     public void testCreateAndCloseSslConnectionWithDefaultPortJDK() throws Exception {
         testCreateAndCloseSslConnectionWithDefaultPort(false);
@@ -47,6 +47,7 @@ import java.util.concurrent.TimeUnit;
 import org.apache.qpid.protonj2.client.Client;
 import org.apache.qpid.protonj2.client.Connection;
 import org.apache.qpid.protonj2.client.ConnectionOptions;
+import org.apache.qpid.protonj2.client.Delivery;
 import org.apache.qpid.protonj2.client.DeliveryState;
 import org.apache.qpid.protonj2.client.ErrorCondition;
 import org.apache.qpid.protonj2.client.Receiver;
@@ -441,6 +442,58 @@ class StreamReceiverTest extends ImperativeClientTestCase {
         }
     }
 
+    @Test
+    public void testStreamReceiverBatchedReceiveReturnsAvailableDeliveries() throws Exception {
+        final byte[] payload = createEncodedMessage(new AmqpValue<>("Hello World"));
+
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().withRole(Role.RECEIVER.getValue()).respond();
+            peer.expectFlow();
+            for (int i = 0; i < 3; ++i) {
+                peer.remoteTransfer().withHandle(0)
+                                     .withDeliveryId(i)
+                                     .withDeliveryTag(new byte[] { (byte) i })
+                                     .withMessageFormat(0)
+                                     .withPayload(payload).queue();
+            }
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Test started, peer listening on: {}", remoteURI);
+
+            Client container = Client.create();
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort());
+            StreamReceiver receiver = connection.openStreamReceiver("test-queue");
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+
+            Wait.assertTrue("All deliveries should arrive", () -> receiver.queuedDeliveries() == 3);
+
+            final List<Delivery> batch = receiver.receive(2, 5, TimeUnit.SECONDS);
+            assertEquals(2, batch.size());
+            assertTrue(batch.get(0) instanceof StreamDelivery);
+            assertNotSame(batch.get(0), batch.get(1));
+
+            final List<Delivery> remainder = receiver.receive(5, 5, TimeUnit.SECONDS);
+            assertEquals(1, remainder.size());
+
+            assertTrue(receiver.receive(5, 3, TimeUnit.MILLISECONDS).isEmpty());
+
+            peer.expectDetach().respond();
+            peer.expectEnd().respond();
+            peer.expectClose().respond();
+
+            receiver.close();
+            connection.closeAsync().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
+
     @Test
     public void testReceiveFailsWhenLinkRemotelyClosed() throws Exception {
         doTestReceiveFailsWhenLinkRemotelyClose(false);
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client.transport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.apache.qpid.protonj2.client.TransportOptions;
+import org.junit.jupiter.api.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+
+/**
+ * Test the per client cache of Netty buffer allocators.
+ */
+public class BufferAllocatorCacheTest {
+
+    @Test
+    public void testDefaultOptionsUseNettyDefaultAllocator() {
+        BufferAllocatorCache cache = new BufferAllocatorCache();
+
+        assertSame(ByteBufAllocator.DEFAULT, cache.getOrCreateAllocator(new TransportOptions()));
+        assertSame(ByteBufAllocator.DEFAULT, BufferAllocatorCache.createAllocator(new TransportOptions()));
+    }
+
+    @Test
+    public void testSameOptionsShareAllocator() {
+        BufferAllocatorCache cache = new BufferAllocatorCache();
+
+        ByteBufAllocator first = cache.getOrCreateAllocator(new TransportOptions().allocatorDirectArenas(1));
+        ByteBufAllocator second = cache.getOrCreateAllocator(new TransportOptions().allocatorDirectArenas(1));
+        ByteBufAllocator third = cache.getOrCreateAllocator(new TransportOptions().allocatorDirectArenas(2));
+
+        assertSame(first, second);
+        assertNotSame(first, third);
+        assertEquals(2, cache.size());
+
+        cache.clear();
+
+        assertEquals(0, cache.size());
+        assertNotSame(first, cache.getOrCreateAllocator(new TransportOptions().allocatorDirectArenas(1)));
+    }
+
+    @Test
+    public void testUnpooledHeapAllocator() {
+        BufferAllocatorCache cache = new BufferAllocatorCache();
+
+        ByteBufAllocator allocator = cache.getOrCreateAllocator(new TransportOptions().pooledBuffers(false).directBuffers(false));
+
+        assertTrue(allocator instanceof UnpooledByteBufAllocator);
+        assertFalse(allocator.isDirectBufferPooled());
+
+        ByteBuf buffer = allocator.buffer(1024);
+        assertFalse(buffer.isDirect());
+
+        assertEquals(1024, cache.usedHeapMemory());
+        assertEquals(0, cache.usedDirectMemory());
+
+        buffer.release();
+
+        assertEquals(0, cache.usedHeapMemory());
+    }
+
+    @Test
+    public void testPooledAllocatorConfiguredFromOptions() {
+        BufferAllocatorCache cache = new BufferAllocatorCache();
+
+        TransportOptions options = new TransportOptions().allocatorHeapArenas(1)
+                                                         .allocatorDirectArenas(3)
+                                                         .allocatorThreadLocalCache(false);
+
+        ByteBufAllocator allocator = cache.getOrCreateAllocator(options);
+
+        assertTrue(allocator instanceof PooledByteBufAllocator);
+
+        PooledByteBufAllocator pooled = (PooledByteBufAllocator) allocator;
+
+        assertEquals(1, cache.numHeapArenas());
+        assertEquals(3, cache.numDirectArenas());
+        assertEquals(0, pooled.metric().smallCacheSize());
+        assertEquals(0, pooled.metric().normalCacheSize());
+
+        ByteBuf buffer = allocator.heapBuffer(1024);
+
+        assertTrue(cache.usedHeapMemory() > 0);
+
+        buffer.release();
+    }
+}
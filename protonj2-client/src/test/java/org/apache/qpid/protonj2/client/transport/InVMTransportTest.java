@@ -0,0 +1,262 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client.transport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.qpid.protonj2.buffer.ProtonBuffer;
+import org.apache.qpid.protonj2.client.Client;
+import org.apache.qpid.protonj2.client.Connection;
+import org.apache.qpid.protonj2.client.ConnectionOptions;
+import org.apache.qpid.protonj2.client.Message;
+import org.apache.qpid.protonj2.client.Sender;
+import org.apache.qpid.protonj2.client.SslOptions;
+import org.apache.qpid.protonj2.client.Tracker;
+import org.apache.qpid.protonj2.client.TransportOptions;
+import org.apache.qpid.protonj2.client.test.ImperativeClientTestCase;
+import org.apache.qpid.protonj2.client.test.Wait;
+import org.apache.qpid.protonj2.engine.Engine;
+import org.apache.qpid.protonj2.engine.EngineFactory;
+import org.apache.qpid.protonj2.types.messaging.Accepted;
+import org.apache.qpid.protonj2.types.messaging.Target;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.Timeout;
+
+/**
+ * Test the in-VM transport connecting to a peer engine in the same JVM.
+ */
+@Timeout(30)
+public class InVMTransportTest extends ImperativeClientTestCase {
+
+    private static final String PEER_NAME = "in-vm-test-peer";
+
+    private final List<Throwable> exceptions = new CopyOnWriteArrayList<>();
+    private final AtomicInteger deliveriesRead = new AtomicInteger();
+    private final AtomicReference<Engine> peerEngine = new AtomicReference<>();
+
+    private NettyIOContext context;
+
+    @Override
+    @AfterEach
+    public void tearDown(TestInfo testInfo) throws Exception {
+        super.tearDown(testInfo);
+
+        InVMTransport.unbind(PEER_NAME);
+
+        if (context != null) {
+            context.shutdown();
+            context = null;
+        }
+    }
+
+    @Test
+    public void testBindRejectsDuplicateName() {
+        InVMTransport.bind(PEER_NAME, this::createPeerEngine);
+
+        assertThrows(IllegalStateException.class, () -> InVMTransport.bind(PEER_NAME, this::createPeerEngine));
+        assertTrue(InVMTransport.unbind(PEER_NAME));
+        assertFalse(InVMTransport.unbind(PEER_NAME));
+    }
+
+    @Test
+    public void testConnectFailsWhenNoPeerBound() throws Exception {
+        Transport transport = createTransport();
+
+        assertThrows(IOException.class, () -> transport.connect(PEER_NAME, -1, new TestListener()).awaitConnect());
+        assertFalse(transport.isConnected());
+        assertTrue(Wait.waitFor(() -> exceptions.size() == 1, 10000, 10));
+
+        transport.close();
+    }
+
+    @Test
+    public void testConnectAndExchangeHeaderWithPeer() throws Exception {
+        InVMTransport.bind(PEER_NAME, this::createPeerEngine);
+
+        final AtomicInteger bytesRead = new AtomicInteger();
+        final Transport transport = createTransport();
+
+        transport.connect(PEER_NAME, -1, new TestListener() {
+
+            @Override
+            public void transportRead(ProtonBuffer incoming) {
+                bytesRead.addAndGet(incoming.getReadableBytes());
+            }
+        }).awaitConnect();
+
+        assertTrue(transport.isConnected());
+        assertEquals("vm:" + PEER_NAME, transport.getRemoteURI().toString());
+
+        final ProtonBuffer header = transport.getBufferAllocator().outputBuffer(8);
+        header.writeBytes(new byte[] { 'A', 'M', 'Q', 'P', 0, 1, 0, 0 });
+        transport.writeAndFlush(header);
+
+        // The peer responds with its own AMQP header
+        assertTrue(Wait.waitFor(() -> bytesRead.get() == 8, 10000, 10));
+
+        transport.close();
+
+        assertTrue(exceptions.isEmpty());
+    }
+
+    @Test
+    public void testPeerEngineFailureReportedAsTransportError() throws Exception {
+        InVMTransport.bind(PEER_NAME, this::createPeerEngine);
+
+        final Transport transport = createTransport();
+        transport.connect(PEER_NAME, -1, new TestListener()).awaitConnect();
+
+        context.eventLoop().execute(() -> peerEngine.get().engineFailed(new IOException("Peer failed")));
+
+        assertTrue(Wait.waitFor(() -> exceptions.size() == 1, 10000, 10));
+        assertFalse(transport.isConnected());
+        assertEquals("Peer failed", exceptions.get(0).getMessage());
+
+        transport.close();
+
+        assertEquals(1, exceptions.size());
+    }
+
+    @Test
+    public void testPeerEngineShutdownReportedAsTransportError() throws Exception {
+        InVMTransport.bind(PEER_NAME, this::createPeerEngine);
+
+        final Transport transport = createTransport();
+        transport.connect(PEER_NAME, -1, new TestListener()).awaitConnect();
+
+        context.eventLoop().execute(() -> peerEngine.get().shutdown());
+
+        assertTrue(Wait.waitFor(() -> exceptions.size() == 1, 10000, 10));
+        assertFalse(transport.isConnected());
+        assertThrows(IOException.class, () -> transport.writeAndFlush(transport.getBufferAllocator().allocate(1).writeByte(0)));
+
+        transport.close();
+
+        assertEquals(1, exceptions.size());
+    }
+
+    @Test
+    public void testInputRejectedByPeerReportedOnceAsTransportError() throws Exception {
+        InVMTransport.bind(PEER_NAME, this::createPeerEngine);
+
+        final Transport transport = createTransport();
+        transport.connect(PEER_NAME, -1, new TestListener()).awaitConnect();
+
+        final ProtonBuffer output = transport.getBufferAllocator().outputBuffer(24);
+        output.writeBytes(new byte[] { 'A', 'M', 'Q', 'P', 0, 1, 0, 0 });
+        for (int i = 0; i < 16; ++i) {
+            output.writeByte(0xFF);
+        }
+
+        transport.writeAndFlush(output);
+
+        assertTrue(Wait.waitFor(() -> exceptions.size() == 1, 10000, 10));
+        assertFalse(transport.isConnected());
+
+        transport.close();
+
+        assertEquals(1, exceptions.size());
+    }
+
+    @Test
+    public void testClientSendsMessageToInVMPeer() throws Exception {
+        InVMTransport.bind(PEER_NAME, this::createPeerEngine);
+
+        final Client container = Client.create();
+        final ConnectionOptions options = new ConnectionOptions();
+        options.saslOptions().saslEnabled(false);
+
+        final Connection connection = container.connect("vm:" + PEER_NAME, options).openFuture().get(10, TimeUnit.SECONDS);
+        final Sender sender = connection.openSender("test").openFuture().get(10, TimeUnit.SECONDS);
+
+        for (int i = 0; i < 10; ++i) {
+            final Tracker tracker = sender.send(Message.create("Hello World " + i));
+            tracker.awaitSettlement(10, TimeUnit.SECONDS);
+            assertTrue(tracker.remoteSettled());
+        }
+
+        assertEquals(10, deliveriesRead.get());
+
+        sender.closeAsync().get(10, TimeUnit.SECONDS);
+        connection.closeAsync().get(10, TimeUnit.SECONDS);
+        container.closeAsync().get(10, TimeUnit.SECONDS);
+    }
+
+    private Transport createTransport() {
+        context = new NettyIOContext(new TransportOptions(), new SslOptions(), getTestName());
+        return context.newInVMTransport();
+    }
+
+    private Engine createPeerEngine() {
+        final Engine engine = EngineFactory.PROTON.createNonSaslEngine();
+
+        peerEngine.set(engine);
+
+        engine.start().openHandler(connection -> connection.open())
+                      .closeHandler(connection -> connection.close())
+                      .sessionOpenHandler(session -> session.open())
+                      .receiverOpenHandler(receiver -> {
+            receiver.setSource(receiver.getRemoteSource());
+            receiver.setTarget(receiver.<Target>getRemoteTarget());
+            receiver.deliveryReadHandler(delivery -> {
+                if (!delivery.isPartial()) {
+                    delivery.readAll();
+                    delivery.disposition(Accepted.getInstance(), true);
+                    deliveriesRead.incrementAndGet();
+                    receiver.addCredit(1);
+                }
+            });
+            receiver.detachHandler(link -> link.detach());
+            receiver.closeHandler(link -> link.close());
+            receiver.open().addCredit(10);
+        });
+
+        return engine;
+    }
+
+    private class TestListener implements TransportListener {
+
+        @Override
+        public void transportInitialized(Transport transport) {
+        }
+
+        @Override
+        public void transportConnected(Transport transport) {
+        }
+
+        @Override
+        public void transportRead(ProtonBuffer incoming) {
+        }
+
+        @Override
+        public void transportError(Throwable cause) {
+            exceptions.add(cause);
+        }
+    }
+}
@@ -34,6 +34,7 @@ class NettyIOContextTest {
         context.shutdown();
 
         assertThrows(IllegalStateException.class, () -> context.newTransport());
+        assertThrows(IllegalStateException.class, () -> context.newInVMTransport());
     }
 
     @Test
@@ -26,6 +26,8 @@ import java.nio.charset.StandardCharsets;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.net.ServerSocketFactory;
 import javax.net.ssl.SSLContext;
@@ -50,8 +52,11 @@ import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelOutboundHandlerAdapter;
 import io.netty.channel.ChannelPromise;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerDomainSocketChannel;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.unix.DomainSocketAddress;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
 import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.FullHttpResponse;
@@ -63,6 +68,7 @@ import io.netty.handler.codec.http.websocketx.ContinuationWebSocketFrame;
 import io.netty.handler.codec.http.websocketx.WebSocketFrame;
 import io.netty.handler.codec.http.websocketx.WebSocketServerProtocolHandler;
 import io.netty.handler.codec.http.websocketx.WebSocketServerProtocolHandler.HandshakeComplete;
+import io.netty.handler.codec.http.websocketx.extensions.compression.WebSocketServerCompressionHandler;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
 import io.netty.handler.ssl.SslHandler;
@@ -91,8 +97,11 @@ public abstract class NettyServer implements AutoCloseable {
     private String webSocketPath = WEBSOCKET_PATH;
     private volatile boolean fragmentWrites;
     private volatile SslHandler sslHandler;
+    private SSLContext sslContext;
     private volatile HandshakeComplete handshakeComplete;
     private final CountDownLatch handshakeCompletion = new CountDownLatch(1);
+    private final AtomicLong bytesReceived = new AtomicLong();
+    private final AtomicInteger webSocketFramesReceived = new AtomicInteger();
 
     private final AtomicBoolean started = new AtomicBoolean();
 
@@ -106,6 +115,10 @@ public abstract class NettyServer implements AutoCloseable {
         this.needClientAuth = needClientAuth;
     }
 
+    public boolean isUnixDomainSocketServer() {
+        return options.unixDomainSocketPath() != null;
+    }
+
     public boolean isSecureServer() {
         return sslOptions.sslEnabled();
     }
@@ -142,6 +155,14 @@ public abstract class NettyServer implements AutoCloseable {
         return fragmentWrites;
     }
 
+    public long getBytesReceived() {
+        return bytesReceived.get();
+    }
+
+    public int getWebSocketFramesReceived() {
+        return webSocketFramesReceived.get();
+    }
+
     public boolean awaitHandshakeCompletion(long delayMs) throws InterruptedException {
         return handshakeCompletion.await(delayMs, TimeUnit.MILLISECONDS);
     }
@@ -188,12 +209,18 @@ public abstract class NettyServer implements AutoCloseable {
         if (started.compareAndSet(false, true)) {
 
             // Configure the server.
-            bossGroup = new NioEventLoopGroup(1);
-            workerGroup = new NioEventLoopGroup();
-
             ServerBootstrap server = new ServerBootstrap();
-            server.group(bossGroup, workerGroup);
-            server.channel(NioServerSocketChannel.class);
+            if (isUnixDomainSocketServer()) {
+                bossGroup = new EpollEventLoopGroup(1);
+                workerGroup = new EpollEventLoopGroup();
+                server.group(bossGroup, workerGroup);
+                server.channel(EpollServerDomainSocketChannel.class);
+            } else {
+                bossGroup = new NioEventLoopGroup(1);
+                workerGroup = new NioEventLoopGroup();
+                server.group(bossGroup, workerGroup);
+                server.channel(NioServerSocketChannel.class);
+            }
             server.option(ChannelOption.SO_BACKLOG, 100);
             server.handler(new LoggingHandler(LogLevel.INFO));
             server.childHandler(new ChannelInitializer<>() {
@@ -201,7 +228,7 @@ public abstract class NettyServer implements AutoCloseable {
                 @Override
                 public void initChannel(Channel ch) throws Exception {
                     if (isSecureServer()) {
-                        SSLContext context = SslSupport.createJdkSslContext(sslOptions);
+                        SSLContext context = getOrCreateSslContext();
                         SSLEngine engine = SslSupport.createJdkSslEngine(null, -1, context, sslOptions);
                         engine.setUseClientMode(false);
                         engine.setNeedClientAuth(needClientAuth);
@@ -209,9 +236,14 @@ public abstract class NettyServer implements AutoCloseable {
                         ch.pipeline().addLast(sslHandler);
                     }
 
+                    ch.pipeline().addLast(new NettyServerBytesReceivedHandler());
+
                     if (isWebSocketServer()) {
                         ch.pipeline().addLast(new HttpServerCodec());
                         ch.pipeline().addLast(new HttpObjectAggregator(65536));
+                        if (options.webSocketCompression()) {
+                            ch.pipeline().addLast(new WebSocketServerCompressionHandler());
+                        }
                         ch.pipeline().addLast(new WebSocketServerProtocolHandler(getWebSocketPath(), "amqp", true, maxFrameSize));
                     }
 
@@ -222,7 +254,11 @@ public abstract class NettyServer implements AutoCloseable {
             });
 
             // Start the server.
-            serverChannel = server.bind(getServerPort()).sync().channel();
+            if (isUnixDomainSocketServer()) {
+                serverChannel = server.bind(new DomainSocketAddress(options.unixDomainSocketPath())).sync().channel();
+            } else {
+                serverChannel = server.bind(getServerPort()).sync().channel();
+            }
         }
     }
 
@@ -303,6 +339,18 @@ public abstract class NettyServer implements AutoCloseable {
         }
     }
 
+    private class NettyServerBytesReceivedHandler extends ChannelInboundHandlerAdapter  {
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            if (msg instanceof ByteBuf) {
+                bytesReceived.addAndGet(((ByteBuf) msg).readableBytes());
+            }
+
+            ctx.fireChannelRead(msg);
+        }
+    }
+
     private class NettyServerInboundHandler extends ChannelInboundHandlerAdapter  {
 
         @Override
@@ -341,6 +389,7 @@ public abstract class NettyServer implements AutoCloseable {
             LOG.trace("NettyServerHandler: Channel read: {}", msg);
             if (msg instanceof WebSocketFrame) {
                 WebSocketFrame frame = (WebSocketFrame) msg;
+                webSocketFramesReceived.incrementAndGet();
                 ctx.fireChannelRead(frame.content());
             } else if (msg instanceof FullHttpRequest) {
                 // Reject anything not on the WebSocket path
@@ -382,6 +431,15 @@ public abstract class NettyServer implements AutoCloseable {
         }
     }
 
+    // A single context is shared by all connections so that clients are able to resume sessions
+    private synchronized SSLContext getOrCreateSslContext() throws Exception {
+        if (sslContext == null) {
+            sslContext = SslSupport.createJdkSslContext(sslOptions);
+        }
+
+        return sslContext;
+    }
+
     protected SslHandler getSslHandler() {
         return sslHandler;
     }
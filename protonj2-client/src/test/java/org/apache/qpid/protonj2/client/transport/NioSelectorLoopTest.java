@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client.transport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.qpid.protonj2.client.util.TrackableThreadFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+@Timeout(20)
+class NioSelectorLoopTest {
+
+    private NioSelectorLoop loop;
+
+    @BeforeEach
+    void setUp() {
+        loop = new NioSelectorLoop(new TrackableThreadFactory("NioSelectorLoopTest", true));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        loop.shutdown();
+        assertTrue(loop.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testTasksRunInOrderOnTheLoopThread() throws Exception {
+        final List<Integer> order = new CopyOnWriteArrayList<>();
+        final AtomicReference<Thread> loopThread = new AtomicReference<>();
+
+        assertFalse(loop.inEventLoop());
+
+        for (int i = 0; i < 10; ++i) {
+            final int value = i;
+            loop.execute(() -> order.add(value));
+        }
+
+        loop.submit(() -> {
+            loopThread.set(Thread.currentThread());
+            assertTrue(loop.inEventLoop());
+        }).get(5, TimeUnit.SECONDS);
+
+        assertEquals(10, order.size());
+        for (int i = 0; i < 10; ++i) {
+            assertEquals(i, order.get(i));
+        }
+        assertEquals("NioSelectorLoopTest", loopThread.get().getName());
+    }
+
+    @Test
+    void testScheduledTasksRunInDeadlineOrder() throws Exception {
+        final List<String> order = new CopyOnWriteArrayList<>();
+        final CountDownLatch done = new CountDownLatch(2);
+
+        loop.schedule(() -> { order.add("second"); done.countDown(); }, 40, TimeUnit.MILLISECONDS);
+        loop.schedule(() -> { order.add("first"); done.countDown(); }, 10, TimeUnit.MILLISECONDS);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals("first", order.get(0));
+        assertEquals("second", order.get(1));
+    }
+
+    @Test
+    void testScheduledCallableProvidesResult() throws Exception {
+        final ScheduledFuture<String> result = loop.schedule(() -> "done", 10, TimeUnit.MILLISECONDS);
+
+        assertEquals("done", result.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testCancelledScheduledTaskDoesNotRun() throws Exception {
+        final AtomicInteger runs = new AtomicInteger();
+        final ScheduledFuture<?> cancelled = loop.schedule(runs::incrementAndGet, 20, TimeUnit.MILLISECONDS);
+
+        assertTrue(cancelled.cancel(false));
+
+        loop.schedule(() -> {}, 50, TimeUnit.MILLISECONDS).get(5, TimeUnit.SECONDS);
+
+        assertEquals(0, runs.get());
+    }
+
+    @Test
+    void testFixedRateTaskRepeatsUntilCancelled() throws Exception {
+        final CountDownLatch runs = new CountDownLatch(3);
+        final ScheduledFuture<?> periodic = loop.scheduleAtFixedRate(runs::countDown, 0, 5, TimeUnit.MILLISECONDS);
+
+        assertTrue(runs.await(5, TimeUnit.SECONDS));
+        assertTrue(periodic.cancel(false));
+        assertTrue(periodic.isCancelled());
+    }
+
+    @Test
+    void testShutdownRunsQueuedTasksAndRejectsNewOnes() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger runs = new AtomicInteger();
+
+        loop.execute(() -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        loop.execute(runs::incrementAndGet);
+
+        loop.shutdown();
+        release.countDown();
+
+        assertTrue(loop.isShutdown());
+        assertThrows(RejectedExecutionException.class, () -> loop.execute(() -> {}));
+        assertTrue(loop.awaitTermination(5, TimeUnit.SECONDS));
+        assertTrue(loop.isTerminated());
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void testRegisteredChannelUnregisteredOnShutdown() throws Exception {
+        final CountDownLatch unregistered = new CountDownLatch(1);
+        final NioSelectorLoop.Handler handler = new NioSelectorLoop.Handler() {
+
+            @Override
+            public void channelReady(SelectionKey key) throws Exception {
+            }
+
+            @Override
+            public void channelUnregistered(Throwable cause) {
+                unregistered.countDown();
+            }
+        };
+
+        try (SocketChannel channel = SocketChannel.open()) {
+            channel.configureBlocking(false);
+
+            assertThrows(IllegalStateException.class, () -> loop.register(channel, 0, handler));
+
+            final SelectionKey key = loop.submit(() -> loop.register(channel, 0, handler)).get(5, TimeUnit.SECONDS);
+
+            assertTrue(key.isValid());
+
+            loop.shutdown();
+
+            assertTrue(unregistered.await(5, TimeUnit.SECONDS));
+            assertFalse(key.isValid());
+        }
+    }
+}
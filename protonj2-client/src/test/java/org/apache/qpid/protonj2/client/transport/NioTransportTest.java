@@ -0,0 +1,444 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client.transport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.qpid.protonj2.buffer.ProtonBuffer;
+import org.apache.qpid.protonj2.buffer.ProtonBufferAllocator;
+import org.apache.qpid.protonj2.buffer.ProtonByteBufferAllocator;
+import org.apache.qpid.protonj2.client.Client;
+import org.apache.qpid.protonj2.client.ConnectionOptions;
+import org.apache.qpid.protonj2.client.SslOptions;
+import org.apache.qpid.protonj2.client.TransportOptions;
+import org.apache.qpid.protonj2.client.test.ImperativeClientTestCase;
+import org.apache.qpid.protonj2.client.test.Wait;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.Timeout;
+
+/**
+ * Test the JDK NIO based transport.
+ */
+@Timeout(30)
+public class NioTransportTest extends ImperativeClientTestCase {
+
+    private static final String HOSTNAME = "localhost";
+    private static final int SEND_BYTE_COUNT = 1024;
+
+    private final List<Throwable> exceptions = new CopyOnWriteArrayList<>();
+    private final List<Boolean> writabilityChanges = new CopyOnWriteArrayList<>();
+    private final AtomicInteger bytesRead = new AtomicInteger();
+
+    private NettyIOContext context;
+
+    @Override
+    @AfterEach
+    public void tearDown(TestInfo testInfo) throws Exception {
+        super.tearDown(testInfo);
+
+        if (context != null) {
+            context.shutdown();
+            context = null;
+        }
+    }
+
+    @Test
+    public void testNioContextRequiresPlainTcp() throws Exception {
+        assertThrows(IllegalArgumentException.class,
+            () -> new NettyIOContext(createTransportOptions(), new SslOptions().sslEnabled(true), getTestName()));
+        assertThrows(IllegalArgumentException.class,
+            () -> new NettyIOContext(createTransportOptions().useWebSockets(true), new SslOptions(), getTestName()));
+        assertThrows(IllegalArgumentException.class,
+            () -> new NettyIOContext(createTransportOptions().unixDomainSocketPath("/tmp/amqp.sock"), new SslOptions(), getTestName()));
+    }
+
+    @Test
+    public void testNioContextCreatesOnlyNioTransports() throws Exception {
+        context = new NettyIOContext(createTransportOptions(), new SslOptions(), getTestName());
+
+        assertThrows(IllegalStateException.class, () -> context.newTransport());
+        assertThrows(IllegalStateException.class, () -> context.newInVMTransport());
+        assertTrue(context.newNioTransport() instanceof NioTransport);
+        assertTrue(context.eventLoop() instanceof NioSelectorLoop);
+
+        final NettyIOContext nettyContext = new NettyIOContext(new TransportOptions(), new SslOptions(), getTestName());
+        try {
+            assertThrows(IllegalStateException.class, () -> nettyContext.newNioTransport());
+        } finally {
+            nettyContext.shutdown();
+        }
+    }
+
+    @Test
+    public void testClientRejectsConnectionsTheNioTransportCannotServe() throws Exception {
+        final Client container = Client.create();
+        final ConnectionOptions options = new ConnectionOptions();
+        options.transportOptions().useNetty(false);
+
+        assertThrows(IllegalArgumentException.class, () -> container.connect("vm:test-peer", options));
+
+        options.sslOptions().sslEnabled(true);
+
+        assertThrows(IllegalArgumentException.class, () -> container.connect(HOSTNAME, 5671, options));
+
+        container.close();
+    }
+
+    @Test
+    public void testConnectToServerAndExchangeData() throws Exception {
+        try (NettyEchoServer server = createEchoServer()) {
+            server.start();
+
+            final Transport transport = createTransport(createTransportOptions());
+            transport.connect(HOSTNAME, server.getServerPort(), new TestListener()).awaitConnect();
+
+            assertTrue(transport.isConnected());
+            assertEquals(HOSTNAME, transport.getRemoteURI().getHost());
+            assertEquals(server.getServerPort(), transport.getRemoteURI().getPort());
+
+            transport.write(createPayload(SEND_BYTE_COUNT));
+            transport.write(createPayload(SEND_BYTE_COUNT));
+            transport.flush();
+
+            assertTrue(Wait.waitFor(() -> bytesRead.get() == SEND_BYTE_COUNT * 2, 10000, 10));
+
+            transport.close();
+        }
+
+        assertTrue(exceptions.isEmpty());
+    }
+
+    @Test
+    public void testWritesLargerThanPooledBufferAreReceived() throws Exception {
+        final int payloadSize = 256 * 1024;
+
+        try (NettyEchoServer server = createEchoServer()) {
+            server.start();
+
+            final Transport transport = createTransport(createTransportOptions().sendBufferSize(16 * 1024));
+            transport.connect(HOSTNAME, server.getServerPort(), new TestListener()).awaitConnect();
+
+            for (int i = 0; i < 4; ++i) {
+                transport.writeAndFlush(createPayload(payloadSize));
+            }
+
+            assertTrue(Wait.waitFor(() -> bytesRead.get() == payloadSize * 4, 10000, 10));
+
+            transport.close();
+        }
+
+        assertTrue(exceptions.isEmpty());
+    }
+
+    @Test
+    public void testWriteCompletionsRunAfterDataWritten() throws Exception {
+        final AtomicInteger completions = new AtomicInteger();
+
+        try (NettyEchoServer server = createEchoServer()) {
+            server.start();
+
+            final Transport transport = createTransport(createTransportOptions());
+            transport.connect(HOSTNAME, server.getServerPort(), new TestListener()).awaitConnect();
+
+            transport.write(createPayload(SEND_BYTE_COUNT), () -> completions.incrementAndGet());
+            transport.write(createPayload(SEND_BYTE_COUNT));
+            transport.writeAndFlush(createPayload(SEND_BYTE_COUNT), () -> completions.incrementAndGet());
+
+            assertTrue(Wait.waitFor(() -> completions.get() == 2, 10000, 10));
+            assertTrue(Wait.waitFor(() -> bytesRead.get() == SEND_BYTE_COUNT * 3, 10000, 10));
+
+            transport.close();
+        }
+
+        assertTrue(exceptions.isEmpty());
+    }
+
+    @Test
+    public void testConnectWithoutRunningServer() throws Exception {
+        final int port;
+
+        try (NettyEchoServer server = createEchoServer()) {
+            server.start();
+            port = server.getServerPort();
+        }
+
+        final Transport transport = createTransport(createTransportOptions());
+
+        assertThrows(IOException.class, () -> transport.connect(HOSTNAME, port, new TestListener()).awaitConnect());
+        assertFalse(transport.isConnected());
+        assertTrue(Wait.waitFor(() -> exceptions.size() == 1, 10000, 10));
+
+        transport.close();
+    }
+
+    @Test
+    public void testDetectServerClose() throws Exception {
+        final Transport transport = createTransport(createTransportOptions());
+
+        try (NettyEchoServer server = createEchoServer()) {
+            server.start();
+
+            transport.connect(HOSTNAME, server.getServerPort(), new TestListener()).awaitConnect();
+
+            assertTrue(transport.isConnected());
+        }
+
+        assertTrue(Wait.waitFor(() -> !transport.isConnected(), 10000, 10));
+        assertTrue(Wait.waitFor(() -> exceptions.size() == 1, 10000, 10));
+        assertThrows(IOException.class, () -> transport.writeAndFlush(createPayload(SEND_BYTE_COUNT)));
+
+        transport.close();
+    }
+
+    @Test
+    public void testReadsPausedWhileAutoReadDisabled() throws Exception {
+        try (NettyEchoServer server = createEchoServer()) {
+            server.start();
+
+            final Transport transport = createTransport(createTransportOptions());
+            transport.connect(HOSTNAME, server.getServerPort(), new TestListener()).awaitConnect();
+
+            transport.autoRead(false);
+            assertFalse(transport.isAutoRead());
+
+            transport.writeAndFlush(createPayload(SEND_BYTE_COUNT));
+
+            assertFalse(Wait.waitFor(() -> bytesRead.get() > 0, 200, 10));
+
+            transport.autoRead(true);
+
+            assertTrue(Wait.waitFor(() -> bytesRead.get() == SEND_BYTE_COUNT, 10000, 10));
+
+            transport.close();
+        }
+
+        assertTrue(exceptions.isEmpty());
+    }
+
+    @Test
+    public void testSocketIOPerformedOnConnectionIOThread() throws Exception {
+        final Set<Thread> callbackThreads = ConcurrentHashMap.newKeySet();
+
+        try (NettyEchoServer server = createEchoServer()) {
+            server.start();
+
+            final Transport transport = createTransport(createTransportOptions());
+            transport.connect(HOSTNAME, server.getServerPort(), new TestListener() {
+
+                @Override
+                public void transportConnected(Transport transport) {
+                    callbackThreads.add(Thread.currentThread());
+                }
+
+                @Override
+                public void transportRead(ProtonBuffer incoming) {
+                    callbackThreads.add(Thread.currentThread());
+                    super.transportRead(incoming);
+                }
+            }).awaitConnect();
+
+            transport.writeAndFlush(createPayload(SEND_BYTE_COUNT));
+
+            assertTrue(Wait.waitFor(() -> bytesRead.get() == SEND_BYTE_COUNT, 10000, 10));
+
+            final long ioThreads = Thread.getAllStackTraces().keySet().stream()
+                                                             .filter(thread -> thread.getName().startsWith(getTestName()))
+                                                             .count();
+            assertEquals(1, ioThreads);
+            assertEquals(1, callbackThreads.size());
+            assertEquals(getTestName(), callbackThreads.iterator().next().getName());
+
+            transport.close();
+        }
+
+        assertTrue(exceptions.isEmpty());
+    }
+
+    @Test
+    public void testSlowReadListenerReceivesAllData() throws Exception {
+        final int payloadSize = 256 * 1024;
+        final CountDownLatch readsBlocked = new CountDownLatch(1);
+        final AtomicBoolean corrupted = new AtomicBoolean();
+
+        try (NettyEchoServer server = createEchoServer()) {
+            server.start();
+
+            final Transport transport = createTransport(createTransportOptions().receiveBufferSize(1024));
+            transport.connect(HOSTNAME, server.getServerPort(), new TestListener() {
+
+                @Override
+                public void transportRead(ProtonBuffer incoming) {
+                    try {
+                        readsBlocked.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+
+                    for (int i = incoming.getReadIndex(); i < incoming.getWriteIndex(); ++i) {
+                        if (incoming.getByte(i) != 'A') {
+                            corrupted.set(true);
+                        }
+                    }
+
+                    super.transportRead(incoming);
+                }
+            }).awaitConnect();
+
+            transport.writeAndFlush(createPayload(payloadSize));
+
+            Thread.sleep(100);
+            readsBlocked.countDown();
+
+            assertTrue(Wait.waitFor(() -> bytesRead.get() == payloadSize, 10000, 10));
+            assertFalse(corrupted.get());
+
+            transport.close();
+        }
+
+        assertTrue(exceptions.isEmpty());
+    }
+
+    @Test
+    public void testOutputBuffersServedFromPooledWriteBuffers() throws Exception {
+        try (NettyEchoServer server = createEchoServer()) {
+            server.start();
+
+            final Transport transport = createTransport(createTransportOptions());
+            transport.connect(HOSTNAME, server.getServerPort(), new TestListener()).awaitConnect();
+
+            final ProtonBufferAllocator allocator = transport.getBufferAllocator();
+
+            // Nothing has been written so the pool has no buffers to lend yet
+            assertTrue(allocator.outputBuffer(16, 1024).hasArray());
+
+            transport.writeAndFlush(createPayload(SEND_BYTE_COUNT));
+
+            assertTrue(Wait.waitFor(() -> bytesRead.get() == SEND_BYTE_COUNT, 10000, 10));
+
+            final ProtonBuffer pooled = allocator.outputBuffer(16, 1024);
+
+            assertFalse(pooled.hasArray());
+            assertEquals(1024, pooled.capacity());
+            assertEquals(1024, pooled.getMaxWritableBytes());
+            assertTrue(allocator.outputBuffer(16, 1024 * 1024).hasArray());
+            assertTrue(allocator.allocate(16, 1024).hasArray());
+
+            for (int i = 0; i < SEND_BYTE_COUNT; ++i) {
+                pooled.writeByte('A');
+            }
+
+            transport.writeAndFlush(pooled);
+
+            assertTrue(Wait.waitFor(() -> bytesRead.get() == SEND_BYTE_COUNT * 2, 10000, 10));
+
+            // The flushed buffer went back to the pool and can be lent out again
+            assertFalse(allocator.outputBuffer(16, 1024).hasArray());
+
+            transport.close();
+        }
+
+        assertTrue(exceptions.isEmpty());
+    }
+
+    @Test
+    public void testWritabilityChangesSignaledWhenWaterMarksConfigured() throws Exception {
+        try (NettyEchoServer server = createEchoServer()) {
+            server.start();
+
+            final Transport transport = createTransport(createTransportOptions().writeBufferWaterMarks(512, 1024));
+            transport.connect(HOSTNAME, server.getServerPort(), new TestListener()).awaitConnect();
+
+            assertTrue(writabilityChanges.isEmpty());
+
+            transport.write(createPayload(SEND_BYTE_COUNT * 2));
+
+            assertTrue(Wait.waitFor(() -> writabilityChanges.size() == 1, 10000, 10));
+
+            transport.flush();
+
+            assertTrue(Wait.waitFor(() -> writabilityChanges.size() == 2, 10000, 10));
+            assertFalse(writabilityChanges.get(0));
+            assertTrue(writabilityChanges.get(1));
+
+            transport.close();
+        }
+
+        assertTrue(exceptions.isEmpty());
+    }
+
+    private TransportOptions createTransportOptions() {
+        return new TransportOptions().useNetty(false);
+    }
+
+    private NettyEchoServer createEchoServer() {
+        return new NettyEchoServer(new TransportOptions(), new SslOptions(), false);
+    }
+
+    private Transport createTransport(TransportOptions options) {
+        context = new NettyIOContext(options, new SslOptions(), getTestName());
+        return context.newNioTransport();
+    }
+
+    private ProtonBuffer createPayload(int size) {
+        final ProtonBuffer buffer = ProtonByteBufferAllocator.DEFAULT.outputBuffer(size);
+        for (int i = 0; i < size; ++i) {
+            buffer.writeByte('A');
+        }
+
+        return buffer;
+    }
+
+    private class TestListener implements TransportListener {
+
+        @Override
+        public void transportInitialized(Transport transport) {
+        }
+
+        @Override
+        public void transportConnected(Transport transport) {
+        }
+
+        @Override
+        public void transportRead(ProtonBuffer incoming) {
+            bytesRead.addAndGet(incoming.getReadableBytes());
+        }
+
+        @Override
+        public void transportWritabilityChanged(boolean writable) {
+            writabilityChanges.add(writable);
+        }
+
+        @Override
+        public void transportError(Throwable cause) {
+            exceptions.add(cause);
+        }
+    }
+}
@@ -16,6 +16,7 @@
  */
 package org.apache.qpid.protonj2.client.transport;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -26,6 +27,8 @@ import java.io.IOException;
 import java.net.URISyntaxException;
 import java.security.cert.Certificate;
 import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
@@ -238,6 +241,54 @@ public class SslTransportTest extends TcpTransportTest {
         assertTrue(exceptions.isEmpty());
     }
 
+    @Test
+    public void testSslContextCacheSharesContextAndResumesSession() throws Exception {
+        try (NettyEchoServer server = createEchoServer()) {
+            server.start();
+
+            final int port = server.getServerPort();
+            final SslContextCache cache = new SslContextCache();
+            final SslOptions sslOptions = createSSLOptions();
+
+            // Session identifiers are only stable across resumption prior to TLSv1.3
+            sslOptions.enabledProtocols("TLSv1.2");
+
+            context = new NettyIOContext(createTransportOptions(), sslOptions, cache, getTestName());
+
+            final List<byte[]> sessionIds = new ArrayList<>();
+
+            for (int i = 0; i < 2; ++i) {
+                Transport transport = context.newTransport();
+                try {
+                    transport.connect(HOSTNAME, port, testListener).awaitConnect();
+                    LOG.info("Connection established to test server: {}:{}", HOSTNAME, port);
+                } catch (Exception e) {
+                    fail("Should not have failed to connect to the server at " + HOSTNAME + ":" + port + " but got exception: " + e);
+                }
+
+                assertTrue(transport.isConnected());
+                assertTrue(server.getSslHandler().handshakeFuture().await(2, TimeUnit.SECONDS), "Server handshake did not complete in alotted time");
+
+                sessionIds.add(server.getSslHandler().engine().getSession().getId());
+
+                transport.close();
+            }
+
+            assertEquals(1, cache.size());
+
+            // The OpenSSL client resumes using session tickets which do not preserve the server session identifier
+            if (cache.jdkHandshakeMetrics().completedHandshakes() > 0) {
+                assertArrayEquals(sessionIds.get(0), sessionIds.get(1), "Second connection should have resumed the first session");
+            }
+
+            assertEquals(2, cache.jdkHandshakeMetrics().completedHandshakes() + cache.openSslHandshakeMetrics().completedHandshakes());
+            assertEquals(0, cache.jdkHandshakeMetrics().failedHandshakes() + cache.openSslHandshakeMetrics().failedHandshakes());
+        }
+
+        logTransportErrors();
+        assertTrue(exceptions.isEmpty());
+    }
+
     @Test
     public void testConnectWithSpecificClientAuthKeyAlias1() throws Exception {
         doClientAuthAliasTestImpl(CLIENT_KEY_ALIAS, CLIENT_DN);
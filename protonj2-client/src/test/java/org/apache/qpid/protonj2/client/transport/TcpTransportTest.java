@@ -31,6 +31,7 @@ import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.qpid.protonj2.buffer.ProtonBuffer;
@@ -50,7 +51,11 @@ import org.slf4j.LoggerFactory;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import io.netty.channel.AdaptiveRecvByteBufAllocator;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.PreferHeapByteBufAllocator;
 import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
 import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.kqueue.KQueue;
 import io.netty.channel.kqueue.KQueueEventLoopGroup;
@@ -76,6 +81,7 @@ public class TcpTransportTest extends ImperativeClientTestCase {
     protected final List<Throwable> exceptions = new ArrayList<>();
     protected final List<ProtonBuffer> data = new ArrayList<>();
     protected final AtomicInteger bytesRead = new AtomicInteger();
+    protected final List<Boolean> writabilityChanges = new CopyOnWriteArrayList<>();
 
     protected final TransportListener testListener = new NettyTransportListener(false);
 
@@ -626,6 +632,88 @@ public class TcpTransportTest extends ImperativeClientTestCase {
         assertTrue(exceptions.isEmpty());
     }
 
+    @Test
+    public void testWritabilityChangesSignaledWhenWaterMarksConfigured() throws Exception {
+        try (NettyEchoServer server = createEchoServer()) {
+            server.start();
+
+            int port = server.getServerPort();
+
+            Transport transport = createTransport(createTransportOptions().writeBufferWaterMarks(1024, 4096), createSSLOptions());
+            try {
+                transport.connect(HOSTNAME, port, testListener).awaitConnect();
+                LOG.info("Connected to server:{}:{} as expected.", HOSTNAME, port);
+            } catch (Exception e) {
+                fail("Should not have failed to connect to the server at " + HOSTNAME + ":" + port + " but got exception: " + e);
+            }
+
+            assertTrue(transport.isConnected());
+            assertTrue(writabilityChanges.isEmpty());
+
+            final int byteCount = 8192;
+
+            ProtonBuffer sendBuffer = transport.getBufferAllocator().outputBuffer(byteCount);
+            for (int i = 0; i < byteCount; ++i) {
+                sendBuffer.writeByte('A');
+            }
+
+            // Unflushed writes above the high water mark leave the transport unwritable
+            transport.write(sendBuffer);
+
+            assertTrue(Wait.waitFor(() -> writabilityChanges.contains(Boolean.FALSE), 10000, 10));
+
+            transport.flush();
+
+            assertTrue(Wait.waitFor(() -> bytesRead.get() == byteCount, 10000, 10));
+            assertTrue(Wait.waitFor(() -> Boolean.TRUE.equals(writabilityChanges.get(writabilityChanges.size() - 1)), 10000, 10));
+
+            transport.close();
+        }
+
+        assertTrue(!transportErrored);  // Normal shutdown does not trigger the event.
+        assertTrue(exceptions.isEmpty());
+    }
+
+    @Test
+    public void testWritabilityChangesNotSignaledWithoutWaterMarks() throws Exception {
+        try (NettyEchoServer server = createEchoServer()) {
+            server.start();
+
+            int port = server.getServerPort();
+
+            Transport transport = createTransport(createTransportOptions(), createSSLOptions());
+            try {
+                transport.connect(HOSTNAME, port, testListener).awaitConnect();
+                LOG.info("Connected to server:{}:{} as expected.", HOSTNAME, port);
+            } catch (Exception e) {
+                fail("Should not have failed to connect to the server at " + HOSTNAME + ":" + port + " but got exception: " + e);
+            }
+
+            final int byteCount = 32 * 1024;
+            final int iterations = 4;
+
+            // Buffers more than the Netty default high water mark before flushing
+            for (int i = 0; i < iterations; ++i) {
+                ProtonBuffer sendBuffer = transport.getBufferAllocator().outputBuffer(byteCount);
+                for (int j = 0; j < byteCount; ++j) {
+                    sendBuffer.writeByte('A');
+                }
+
+                transport.write(sendBuffer);
+            }
+
+            transport.flush();
+
+            assertTrue(Wait.waitFor(() -> bytesRead.get() == byteCount * iterations, 10000, 10));
+            assertTrue(writabilityChanges.isEmpty());
+
+            transport.close();
+        }
+
+        assertTrue(!transportErrored);  // Normal shutdown does not trigger the event.
+        assertTrue(exceptions.isEmpty());
+    }
+
     @Test
     public void testSendToClosedTransportFails() throws Exception {
         Transport transport = null;
@@ -821,6 +909,115 @@ public class TcpTransportTest extends ImperativeClientTestCase {
         assertTrue(data.isEmpty());
     }
 
+    @Test
+    public void testLowLatencyProfileAppliedToEpollChannel() throws Exception {
+        assumeTrue(Epoll.isAvailable());
+
+        try (NettyEchoServer server = createEchoServer()) {
+            server.start();
+
+            int port = server.getServerPort();
+
+            TransportOptions options = createTransportOptions().lowLatencyProfile();
+            options.nativeIOPeference("EPOLL");
+            TcpTransport transport = createTransport(options, createSSLOptions());
+            transport.connect(HOSTNAME, port, testListener).awaitConnect();
+
+            assertTrue(transport.isConnected());
+            assertEpoll("Transport should be using Epoll", true, transport);
+            assertTrue(transport.channel.config().getOption(ChannelOption.TCP_NODELAY));
+            assertEquals(TransportOptions.LOW_LATENCY_TCP_NOT_SENT_LOW_WATER_MARK,
+                         transport.channel.config().getOption(EpollChannelOption.TCP_NOTSENT_LOWAT));
+
+            transport.close();
+        }
+
+        assertFalse(transportErrored);
+        assertTrue(exceptions.isEmpty());
+    }
+
+    @Test
+    public void testConfiguredBufferAllocatorUsedByChannel() throws Exception {
+        try (NettyEchoServer server = createEchoServer()) {
+            server.start();
+
+            int port = server.getServerPort();
+
+            TransportOptions options = createTransportOptions().pooledBuffers(false).directBuffers(false);
+            TcpTransport transport = createTransport(options, createSSLOptions());
+            transport.connect(HOSTNAME, port, testListener).awaitConnect();
+
+            assertTrue(transport.isConnected());
+            assertTrue(transport.channel.alloc() instanceof PreferHeapByteBufAllocator);
+
+            ByteBuf ioBuffer = transport.channel.alloc().ioBuffer();
+            assertFalse(ioBuffer.isDirect());
+            ioBuffer.release();
+
+            ProtonBuffer buffer = transport.getBufferAllocator().outputBuffer(SEND_BYTE_COUNT);
+            assertFalse(((ByteBuf) buffer.unwrap()).isDirect());
+            ((ByteBuf) buffer.unwrap()).release();
+
+            transport.close();
+        }
+
+        assertFalse(transportErrored);
+        assertTrue(exceptions.isEmpty());
+    }
+
+    @Test
+    public void testHeapBuffersUsedForReadsWhenDirectBuffersDisabled() throws Exception {
+        try (NettyEchoServer server = createEchoServer()) {
+            server.start();
+
+            int port = server.getServerPort();
+
+            TransportOptions options = createTransportOptions().allowNativeIO(false).directBuffers(false);
+            TcpTransport transport = createTransport(options, createSSLOptions());
+            transport.connect(HOSTNAME, port, testListener).awaitConnect();
+
+            assertTrue(transport.isConnected());
+
+            ByteBuf readBuffer = transport.channel.config().getRecvByteBufAllocator().newHandle().allocate(transport.channel.alloc());
+            assertFalse(readBuffer.isDirect());
+            readBuffer.release();
+
+            ProtonBuffer sendBuffer = transport.getBufferAllocator().outputBuffer(SEND_BYTE_COUNT);
+            for (int i = 0; i < SEND_BYTE_COUNT; ++i) {
+                sendBuffer.writeByte('A');
+            }
+
+            transport.writeAndFlush(sendBuffer);
+
+            assertTrue(Wait.waitFor(() -> bytesRead.get() == SEND_BYTE_COUNT, 10000, 10));
+
+            transport.close();
+        }
+
+        assertFalse(transportErrored);
+        assertTrue(exceptions.isEmpty());
+    }
+
+    @Test
+    public void testAdaptiveReceiveBufferAllocatorApplied() throws Exception {
+        try (NettyEchoServer server = createEchoServer()) {
+            server.start();
+
+            int port = server.getServerPort();
+
+            TcpTransport transport = createTransport(createTransportOptions().adaptiveReceiveBuffer(true), createSSLOptions());
+            transport.connect(HOSTNAME, port, testListener).awaitConnect();
+
+            assertTrue(transport.isConnected());
+            assertTrue(transport.channel.config().getRecvByteBufAllocator() instanceof AdaptiveRecvByteBufAllocator);
+
+            transport.close();
+        }
+
+        assertFalse(transportErrored);
+        assertTrue(exceptions.isEmpty());
+    }
+
     @Disabled("Disabled until the io_uring support matures, can cause CI issues")
     @Test
     public void testConnectToServerWithIOUringEnabled() throws Exception {
@@ -1085,6 +1282,11 @@ public class TcpTransportTest extends ImperativeClientTestCase {
             transportConnected = true;
         }
 
+        @Override
+        public void transportWritabilityChanged(boolean writable) {
+            writabilityChanges.add(writable);
+        }
+
         @Override
         public void transportInitialized(Transport transport) {
             transportInitialized = true;
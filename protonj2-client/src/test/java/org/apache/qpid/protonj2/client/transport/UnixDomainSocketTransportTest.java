@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client.transport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.File;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.qpid.protonj2.buffer.ProtonBuffer;
+import org.apache.qpid.protonj2.client.SslOptions;
+import org.apache.qpid.protonj2.client.TransportOptions;
+import org.apache.qpid.protonj2.client.test.ImperativeClientTestCase;
+import org.apache.qpid.protonj2.client.test.Wait;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.Timeout;
+
+import io.netty.channel.epoll.Epoll;
+
+/**
+ * Test the Netty based transport when connecting over a unix domain socket.
+ */
+@Timeout(30)
+public class UnixDomainSocketTransportTest extends ImperativeClientTestCase {
+
+    private static final String HOSTNAME = "localhost";
+    private static final int SEND_BYTE_COUNT = 1024;
+
+    private final List<Throwable> exceptions = new CopyOnWriteArrayList<>();
+    private final AtomicInteger bytesRead = new AtomicInteger();
+
+    private Path socketDirectory;
+    private String socketPath;
+    private NettyIOContext context;
+
+    @BeforeEach
+    public void createSocketPath() throws Exception {
+        socketDirectory = Files.createTempDirectory("protonj2-uds");
+        socketPath = socketDirectory.resolve("amqp.sock").toString();
+    }
+
+    @Override
+    @AfterEach
+    public void tearDown(TestInfo testInfo) throws Exception {
+        super.tearDown(testInfo);
+
+        if (context != null) {
+            context.shutdown();
+            context = null;
+        }
+
+        new File(socketPath).delete();
+        Files.deleteIfExists(socketDirectory);
+    }
+
+    @Test
+    public void testConnectAndExchangeDataOverDomainSocket() throws Exception {
+        assumeTrue(Epoll.isAvailable());
+
+        try (NettyEchoServer server = new NettyEchoServer(createOptions(), new SslOptions(), false)) {
+            server.start();
+
+            Transport transport = createTransport(createOptions());
+            transport.connect(HOSTNAME, -1, new TestListener()).awaitConnect();
+
+            assertTrue(transport.isConnected());
+
+            final URI remoteURI = transport.getRemoteURI();
+            assertEquals("unix", remoteURI.getScheme());
+            assertEquals(socketPath, remoteURI.getPath());
+            assertEquals("unix:" + socketPath, remoteURI.toString());
+
+            ProtonBuffer sendBuffer = transport.getBufferAllocator().outputBuffer(SEND_BYTE_COUNT);
+            for (int i = 0; i < SEND_BYTE_COUNT; ++i) {
+                sendBuffer.writeByte('A');
+            }
+
+            transport.writeAndFlush(sendBuffer);
+
+            assertTrue(Wait.waitFor(() -> bytesRead.get() == SEND_BYTE_COUNT, 10000, 10));
+
+            transport.close();
+        }
+
+        assertTrue(exceptions.isEmpty());
+    }
+
+    @Test
+    public void testConnectFailsWhenNoServerListening() throws Exception {
+        assumeTrue(Epoll.isAvailable());
+
+        Transport transport = createTransport(createOptions());
+        transport.connect(HOSTNAME, -1, new TestListener());
+
+        assertTrue(Wait.waitFor(() -> !exceptions.isEmpty(), 10_000, 10));
+        assertFalse(transport.isConnected());
+        transport.close();
+    }
+
+    @Test
+    public void testDomainSocketRequiresNativeIO() throws Exception {
+        assertThrows(IllegalArgumentException.class,
+            () -> new NettyIOContext(createOptions().allowNativeIO(false), new SslOptions(), getTestName()));
+    }
+
+    private TransportOptions createOptions() {
+        return new TransportOptions().unixDomainSocketPath(socketPath);
+    }
+
+    private Transport createTransport(TransportOptions options) {
+        context = new NettyIOContext(options, new SslOptions().sslEnabled(false), getTestName());
+        return context.newTransport();
+    }
+
+    private class TestListener implements TransportListener {
+
+        @Override
+        public void transportInitialized(Transport transport) {
+        }
+
+        @Override
+        public void transportConnected(Transport transport) {
+        }
+
+        @Override
+        public void transportRead(ProtonBuffer incoming) {
+            bytesRead.addAndGet(incoming.getReadableBytes());
+        }
+
+        @Override
+        public void transportError(Throwable cause) {
+            exceptions.add(cause);
+        }
+    }
+}
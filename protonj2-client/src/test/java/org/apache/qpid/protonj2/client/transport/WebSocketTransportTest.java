@@ -26,6 +26,7 @@ import static org.junit.jupiter.api.Assertions.fail;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.qpid.protonj2.buffer.ProtonBuffer;
 import org.apache.qpid.protonj2.buffer.ProtonByteBufferAllocator;
@@ -42,6 +43,7 @@ import io.netty.bootstrap.Bootstrap;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.websocketx.BinaryWebSocketFrame;
 import io.netty.handler.codec.http.websocketx.WebSocketServerProtocolHandler.HandshakeComplete;
 
 /**
@@ -287,10 +289,12 @@ public class WebSocketTransportTest extends TcpTransportTest {
 
             try {
                 // Transport can't receive anything bigger so it should fail the connection
-                // when data arrives that is larger than this value.
+                // when data arrives that is larger than this value.  The transport splits its
+                // own writes at the max frame size so the oversized frame is written directly.
                 transport.connect(HOSTNAME, port, testListener).awaitConnect();
                 transports.add(transport);
-                transport.writeAndFlush(sendBuffer.copy());
+                ((WebSocketTransport) transport).channel.writeAndFlush(
+                    new BinaryWebSocketFrame((ByteBuf) sendBuffer.copy().unwrap()));
             } catch (Exception e) {
                 fail("Should have connected to the server at " + HOSTNAME + ":" + port + " but got exception: " + e);
             }
@@ -396,6 +400,156 @@ public class WebSocketTransportTest extends TcpTransportTest {
         assertTrue(data.isEmpty());
     }
 
+    @Test
+    public void testBufferedWritesCoalescedIntoSingleFrameOnFlush() throws Exception {
+        final int WRITE_COUNT = 16;
+        final int WRITE_SIZE = 100;
+
+        try (NettyEchoServer server = createEchoServer()) {
+            server.start();
+
+            final int port = server.getServerPort();
+
+            final Transport transport = createTransport(createTransportOptions(), createSSLOptions());
+            transport.connect(HOSTNAME, port, testListener).awaitConnect();
+
+            for (int i = 0; i < WRITE_COUNT; ++i) {
+                transport.write(createPayload(WRITE_SIZE));
+            }
+            transport.flush();
+
+            assertTrue(Wait.waitFor(() -> bytesRead.get() == WRITE_COUNT * WRITE_SIZE, 10000, 10));
+            assertEquals(1, server.getWebSocketFramesReceived());
+
+            transport.close();
+        }
+
+        assertTrue(exceptions.isEmpty());
+    }
+
+    @Test
+    public void testCoalescedWritesSplitAtMaxFrameSize() throws Exception {
+        final int FRAME_SIZE = 1024;
+        final AtomicInteger completions = new AtomicInteger();
+
+        try (NettyEchoServer server = createEchoServer()) {
+            server.setMaxFrameSize(FRAME_SIZE);
+            server.start();
+
+            final int port = server.getServerPort();
+
+            final Transport transport = createTransport(createTransportOptions().webSocketMaxFrameSize(FRAME_SIZE), createSSLOptions());
+            transport.connect(HOSTNAME, port, testListener).awaitConnect();
+
+            transport.write(createPayload(FRAME_SIZE / 2), () -> completions.incrementAndGet());
+            transport.write(createPayload(FRAME_SIZE * 2), () -> completions.incrementAndGet());
+            transport.writeAndFlush(createPayload(FRAME_SIZE / 2), () -> completions.incrementAndGet());
+
+            assertTrue(Wait.waitFor(() -> bytesRead.get() == FRAME_SIZE * 3, 10000, 10));
+            assertTrue(Wait.waitFor(() -> completions.get() == 3, 10000, 10));
+            assertEquals(3, server.getWebSocketFramesReceived());
+            assertTrue(transport.isConnected());
+
+            transport.close();
+        }
+
+        assertTrue(exceptions.isEmpty());
+    }
+
+    @Test
+    public void testCompressionNegotiatedReducesBytesSent() throws Exception {
+        final int PAYLOAD_SIZE = 32 * 1024;
+
+        TransportOptions serverOptions = createServerTransportOptions().webSocketCompression(true);
+
+        try (NettyEchoServer server = createEchoServer(serverOptions, createServerSSLOptions(), false)) {
+            server.start();
+
+            final int port = server.getServerPort();
+
+            final Transport transport = createTransport(createTransportOptions().webSocketCompression(true), createSSLOptions());
+            transport.connect(HOSTNAME, port, testListener).awaitConnect();
+
+            assertTrue(server.awaitHandshakeCompletion(2000), "HandshakeCompletion not set within given time");
+            assertTrue(server.getHandshakeComplete().requestHeaders().get("Sec-WebSocket-Extensions").contains("permessage-deflate"));
+
+            final long handshakeBytes = server.getBytesReceived();
+
+            transport.writeAndFlush(createPayload(PAYLOAD_SIZE));
+
+            // The echoed data arrives compressed and is inflated before it reaches the listener
+            assertTrue(Wait.waitFor(() -> bytesRead.get() == PAYLOAD_SIZE, 10000, 10));
+            assertTrue(server.getBytesReceived() - handshakeBytes < PAYLOAD_SIZE / 10);
+
+            transport.close();
+        }
+
+        assertTrue(exceptions.isEmpty());
+    }
+
+    @Test
+    public void testCompressionNotAppliedWhenServerDeclines() throws Exception {
+        final int PAYLOAD_SIZE = 32 * 1024;
+
+        try (NettyEchoServer server = createEchoServer()) {
+            server.start();
+
+            final int port = server.getServerPort();
+
+            final Transport transport = createTransport(createTransportOptions().webSocketCompression(true), createSSLOptions());
+            transport.connect(HOSTNAME, port, testListener).awaitConnect();
+
+            final long handshakeBytes = server.getBytesReceived();
+
+            transport.writeAndFlush(createPayload(PAYLOAD_SIZE));
+
+            assertTrue(Wait.waitFor(() -> bytesRead.get() == PAYLOAD_SIZE, 10000, 10));
+            assertTrue(server.getBytesReceived() - handshakeBytes >= PAYLOAD_SIZE);
+
+            transport.close();
+        }
+
+        assertTrue(exceptions.isEmpty());
+    }
+
+    @Test
+    public void testFramesBelowCompressionThresholdSentUncompressed() throws Exception {
+        final int PAYLOAD_SIZE = 1024;
+
+        TransportOptions serverOptions = createServerTransportOptions().webSocketCompression(true);
+
+        try (NettyEchoServer server = createEchoServer(serverOptions, createServerSSLOptions(), false)) {
+            server.start();
+
+            final int port = server.getServerPort();
+
+            final TransportOptions clientOptions = createTransportOptions().webSocketCompression(true)
+                                                                           .webSocketCompressionThreshold(PAYLOAD_SIZE + 1);
+            final Transport transport = createTransport(clientOptions, createSSLOptions());
+            transport.connect(HOSTNAME, port, testListener).awaitConnect();
+
+            final long handshakeBytes = server.getBytesReceived();
+
+            transport.writeAndFlush(createPayload(PAYLOAD_SIZE));
+
+            assertTrue(Wait.waitFor(() -> bytesRead.get() == PAYLOAD_SIZE, 10000, 10));
+            assertTrue(server.getBytesReceived() - handshakeBytes >= PAYLOAD_SIZE);
+
+            transport.close();
+        }
+
+        assertTrue(exceptions.isEmpty());
+    }
+
+    private ProtonBuffer createPayload(int size) {
+        ProtonBuffer buffer = new ProtonNettyByteBuffer(Unpooled.buffer(size));
+        for (int i = 0; i < size; ++i) {
+            buffer.writeByte('A');
+        }
+
+        return buffer;
+    }
+
     private static final String BROKER_JKS_KEYSTORE = "src/test/resources/broker-jks.keystore";
     private static final String PASSWORD = "password";
 
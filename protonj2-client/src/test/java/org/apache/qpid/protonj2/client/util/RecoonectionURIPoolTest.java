@@ -29,6 +29,7 @@ import java.net.InetAddress;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -90,6 +91,17 @@ public class RecoonectionURIPoolTest {
         assertNotNull(pool.toString());
     }
 
+    @Test
+    public void testGetNextCountReturnsDistinctURIsInOrder() {
+        ReconnectionURIPool pool = new ReconnectionURIPool(uris);
+
+        assertEquals(uris.subList(0, 2), pool.getNext(2));
+        assertEquals(uris.get(2), pool.getNext());
+        assertEquals(Arrays.asList(uris.get(3), uris.get(0), uris.get(1), uris.get(2)), pool.getNext(10));
+        assertTrue(pool.getNext(0).isEmpty());
+        assertTrue(new ReconnectionURIPool().getNext(2).isEmpty());
+    }
+
     @Test
     public void testAddUriToEmptyPool() {
         ReconnectionURIPool pool = new ReconnectionURIPool();
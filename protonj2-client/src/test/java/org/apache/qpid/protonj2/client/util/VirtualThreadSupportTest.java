@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class VirtualThreadSupportTest {
+
+    @Test
+    void testAvailabilityMatchesRuntimeVersion() {
+        assertEquals(Runtime.version().feature() >= 21, VirtualThreadSupport.isAvailable());
+    }
+
+    @Test
+    void testCreateThreadFactory() throws Exception {
+        if (VirtualThreadSupport.isAvailable()) {
+            final ThreadFactory factory = VirtualThreadSupport.createThreadFactory("test-");
+            final CountDownLatch ran = new CountDownLatch(1);
+
+            final Thread thread = factory.newThread(ran::countDown);
+            assertTrue(thread.getName().startsWith("test-"));
+            thread.start();
+
+            assertTrue(ran.await(5, TimeUnit.SECONDS));
+        } else {
+            assertThrows(UnsupportedOperationException.class, () -> VirtualThreadSupport.createThreadFactory("test-"));
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client.futures;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the round trip latency of a {@link ClientFuture} that is handed to another thread
+ * which completes it while the benchmark thread waits, this isolates the cost of each
+ * {@link WaitStrategy} in waking the caller from the IO work of a real connection.  The
+ * completing thread spins so the results are only meaningful with two or more free cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.AverageTime, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class WaitStrategyBenchmark {
+
+    @Param({ "busy-spin", "spin-then-yield", "timed-park", "blocking", "progressive" })
+    public String strategy;
+
+    private final AtomicReference<ClientFuture<Integer>> handoff = new AtomicReference<>();
+
+    private ClientFutureFactory futureFactory;
+    private Thread completer;
+    private volatile boolean running;
+
+    @Setup
+    public void init() {
+        futureFactory = ClientFutureFactory.fromWaitStrategy(createStrategy(strategy));
+        running = true;
+        completer = new Thread(this::completeFutures, "WaitStrategyBenchmark-completer");
+        completer.setDaemon(true);
+        completer.start();
+    }
+
+    @TearDown
+    public void destroy() throws InterruptedException {
+        running = false;
+        completer.join();
+    }
+
+    @Benchmark
+    public Integer roundTrip() throws InterruptedException, ExecutionException {
+        final ClientFuture<Integer> future = futureFactory.createFuture();
+
+        handoff.lazySet(future);
+
+        return future.get();
+    }
+
+    private void completeFutures() {
+        int count = 0;
+
+        while (running) {
+            final ClientFuture<Integer> future = handoff.getAndSet(null);
+            if (future != null) {
+                future.complete(count++);
+            }
+        }
+    }
+
+    private static WaitStrategy createStrategy(String name) {
+        switch (name) {
+            case "busy-spin":
+                return WaitStrategy.busySpin();
+            case "spin-then-yield":
+                return WaitStrategy.spinThenYield();
+            case "timed-park":
+                return WaitStrategy.timedPark(TimeUnit.MICROSECONDS.toNanos(10));
+            case "blocking":
+                return WaitStrategy.blocking();
+            case "progressive":
+                return WaitStrategy.progressive();
+            default:
+                throw new IllegalArgumentException("Unknown wait strategy: " + name);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        runBenchmark(WaitStrategyBenchmark.class);
+    }
+
+    public static void runBenchmark(Class<?> benchmarkClass) throws RunnerException {
+        final Options opt = new OptionsBuilder()
+            .include(benchmarkClass.getSimpleName())
+            .shouldDoGC(true)
+            .warmupIterations(5)
+            .measurementIterations(5)
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client.transport;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.qpid.protonj2.client.Client;
+import org.apache.qpid.protonj2.client.Connection;
+import org.apache.qpid.protonj2.client.ConnectionOptions;
+import org.apache.qpid.protonj2.client.Message;
+import org.apache.qpid.protonj2.client.Sender;
+import org.apache.qpid.protonj2.client.Tracker;
+import org.apache.qpid.protonj2.engine.Engine;
+import org.apache.qpid.protonj2.engine.EngineFactory;
+import org.apache.qpid.protonj2.types.messaging.Accepted;
+import org.apache.qpid.protonj2.types.messaging.Target;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+
+/**
+ * Measures the cost of sending a message and awaiting its settlement through the client and
+ * engine with the in-VM transport, the peer is a bare engine that accepts every delivery so
+ * the result excludes all socket and kernel overhead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.AverageTime, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class InVMClientSendBenchmark {
+
+    private static final String PEER_NAME = "InVMClientSendBenchmark";
+    private static final int PEER_CREDIT = 1000;
+
+    @Param({ "64", "8192" })
+    public int payloadSize;
+
+    private Client client;
+    private Connection connection;
+    private Sender sender;
+    private Message<byte[]> message;
+
+    @Setup
+    public void init() throws Exception {
+        InVMTransport.bind(PEER_NAME, InVMClientSendBenchmark::createPeerEngine);
+
+        final ConnectionOptions options = new ConnectionOptions();
+        options.saslOptions().saslEnabled(false);
+
+        client = Client.create();
+        connection = client.connect("vm:" + PEER_NAME, options).openFuture().get();
+        sender = connection.openSender("benchmark").openFuture().get();
+        message = Message.create(new byte[payloadSize]);
+    }
+
+    @TearDown
+    public void destroy() throws Exception {
+        client.close();
+        InVMTransport.unbind(PEER_NAME);
+    }
+
+    @Benchmark
+    public Tracker sendAndAwaitSettlement() throws Exception {
+        return sender.send(message).awaitSettlement();
+    }
+
+    private static Engine createPeerEngine() {
+        final Engine engine = EngineFactory.PROTON.createNonSaslEngine();
+
+        engine.start().openHandler(connection -> connection.open())
+                      .closeHandler(connection -> connection.close())
+                      .sessionOpenHandler(session -> session.open())
+                      .receiverOpenHandler(receiver -> {
+            receiver.setSource(receiver.getRemoteSource());
+            receiver.setTarget(receiver.<Target>getRemoteTarget());
+            receiver.deliveryReadHandler(delivery -> {
+                if (!delivery.isPartial()) {
+                    delivery.readAll();
+                    delivery.disposition(Accepted.getInstance(), true);
+                    receiver.addCredit(1);
+                }
+            });
+            receiver.open().addCredit(PEER_CREDIT);
+        });
+
+        return engine;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        TransportLoopbackBenchmark.runBenchmark(InVMClientSendBenchmark.class);
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client.transport;
+
+import java.io.File;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.qpid.protonj2.buffer.ProtonBuffer;
+import org.apache.qpid.protonj2.client.SslOptions;
+import org.apache.qpid.protonj2.client.TransportOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerDomainSocketChannel;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.unix.DomainSocketAddress;
+
+/**
+ * Measures the round trip latency of echoing a buffer through a client transport connected to
+ * a server on the same host, once over TCP loopback and once over a unix domain socket.  Both
+ * ends use the native Epoll IO layer so the difference reflects the cost of the TCP stack.  The
+ * low-latency profile variant applies {@link TransportOptions#lowLatencyProfile()} to the client
+ * so its effect on the sampled tail latencies can be compared against the defaults.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.AverageTime, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TransportLoopbackBenchmark {
+
+    private static final String HOSTNAME = "localhost";
+
+    @Param({ "tcp", "unix" })
+    public String transportType;
+
+    @Param({ "64", "8192" })
+    public int payloadSize;
+
+    @Param({ "default", "low-latency" })
+    public String profile;
+
+    private EventLoopGroup serverGroup;
+    private Channel serverChannel;
+    private Path socketDirectory;
+    private NettyIOContext context;
+    private Transport transport;
+    private byte[] payload;
+
+    private volatile CompletableFuture<Integer> pending;
+    private int received;
+
+    @Setup
+    public void init() throws Exception {
+        final TransportOptions options = new TransportOptions();
+        final SocketAddress address;
+
+        payload = new byte[payloadSize];
+
+        if ("low-latency".equals(profile)) {
+            options.lowLatencyProfile();
+        }
+
+        serverGroup = new EpollEventLoopGroup(1);
+
+        final ServerBootstrap server = new ServerBootstrap().group(serverGroup).childHandler(new ChannelInitializer<Channel>() {
+
+            @Override
+            protected void initChannel(Channel channel) throws Exception {
+                channel.pipeline().addLast(new EchoHandler());
+            }
+        });
+
+        if ("unix".equals(transportType)) {
+            socketDirectory = Files.createTempDirectory("protonj2-benchmark");
+            options.unixDomainSocketPath(socketDirectory.resolve("amqp.sock").toString());
+            address = new DomainSocketAddress(options.unixDomainSocketPath());
+            server.channel(EpollServerDomainSocketChannel.class);
+        } else {
+            address = new InetSocketAddress(HOSTNAME, 0);
+            server.channel(EpollServerSocketChannel.class).childOption(ChannelOption.TCP_NODELAY, true);
+        }
+
+        serverChannel = server.bind(address).sync().channel();
+
+        final int port = serverChannel.localAddress() instanceof InetSocketAddress ?
+            ((InetSocketAddress) serverChannel.localAddress()).getPort() : -1;
+
+        context = new NettyIOContext(options, new SslOptions(), "TransportLoopbackBenchmark");
+        transport = context.newTransport();
+        transport.connect(HOSTNAME, port, new EchoListener()).awaitConnect();
+    }
+
+    @TearDown
+    public void destroy() throws Exception {
+        transport.close();
+        context.shutdown();
+        serverChannel.close().sync();
+        serverGroup.shutdownGracefully(0, 100, TimeUnit.MILLISECONDS).sync();
+
+        if (socketDirectory != null) {
+            new File(transport.getTransportOptions().unixDomainSocketPath()).delete();
+            Files.deleteIfExists(socketDirectory);
+        }
+    }
+
+    @Benchmark
+    public Integer roundTrip() throws Exception {
+        final CompletableFuture<Integer> future = new CompletableFuture<>();
+        final ProtonBuffer buffer = transport.getBufferAllocator().outputBuffer(payloadSize);
+
+        buffer.writeBytes(payload);
+
+        pending = future;
+        transport.writeAndFlush(buffer);
+
+        return future.get();
+    }
+
+    private final class EchoListener implements TransportListener {
+
+        @Override
+        public void transportInitialized(Transport transport) {
+        }
+
+        @Override
+        public void transportConnected(Transport transport) {
+        }
+
+        @Override
+        public void transportRead(ProtonBuffer incoming) {
+            received += incoming.getReadableBytes();
+
+            if (received >= payloadSize) {
+                received -= payloadSize;
+                pending.complete(payloadSize);
+            }
+        }
+
+        @Override
+        public void transportError(Throwable cause) {
+            final CompletableFuture<Integer> future = pending;
+            if (future != null) {
+                future.completeExceptionally(cause);
+            }
+        }
+    }
+
+    private static final class EchoHandler extends ChannelInboundHandlerAdapter {
+
+        @Override
+        public void channelRead(ChannelHandlerContext context, Object message) {
+            context.writeAndFlush(message);
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext context, Throwable cause) {
+            context.close();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        runBenchmark(TransportLoopbackBenchmark.class);
+    }
+
+    public static void runBenchmark(Class<?> benchmarkClass) throws RunnerException {
+        final Options opt = new OptionsBuilder()
+            .include(benchmarkClass.getSimpleName())
+            .shouldDoGC(true)
+            .warmupIterations(5)
+            .measurementIterations(5)
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+}
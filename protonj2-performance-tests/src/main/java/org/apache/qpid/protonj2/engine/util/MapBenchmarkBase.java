@@ -26,6 +26,7 @@ import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
@@ -49,36 +50,46 @@ public abstract class MapBenchmarkBase {
 
     public static final int DEFAULT_MAP_VALUE_RANGE = 8192;
 
+    /**
+     * Number of entries that are used in each benchmark, the larger value models a session
+     * with a large number of unsettled deliveries outstanding.
+     */
+    @Param({"8192", "131072"})
+    protected int mapValueRange = DEFAULT_MAP_VALUE_RANGE;
+
     protected final String DUMMY_STRING = "ASDFGHJ";
     protected final Random random = new Random();
 
     protected Map<UnsignedInteger, String> map;
     protected Map<UnsignedInteger, String> filledMap;
 
+    private int settledCursor;
+
     @Setup
     public void init() {
         this.random.setSeed(System.currentTimeMillis());
         this.map = createMap();
         this.filledMap = fillMap(createMap());
+        this.settledCursor = 0;
     }
 
     @Benchmark
     public void put() {
-        for (int i = 0; i < DEFAULT_MAP_VALUE_RANGE; ++i) {
+        for (int i = 0; i < mapValueRange; ++i) {
             map.put(UnsignedInteger.valueOf(i), DUMMY_STRING);
         }
     }
 
     @Benchmark
     public void get(Blackhole blackHole) {
-        for (int i = 0; i < DEFAULT_MAP_VALUE_RANGE; ++i) {
+        for (int i = 0; i < mapValueRange; ++i) {
             blackHole.consume(filledMap.get(UnsignedInteger.valueOf(i)));
         }
     }
 
     @Benchmark
     public void remove(Blackhole blackHole) {
-        for (int i = 0; i < DEFAULT_MAP_VALUE_RANGE; ++i) {
+        for (int i = 0; i < mapValueRange; ++i) {
             blackHole.consume(filledMap.remove(UnsignedInteger.valueOf(i)));
         }
     }
@@ -89,21 +100,31 @@ public abstract class MapBenchmarkBase {
             map.put(UnsignedInteger.valueOf(i), DUMMY_STRING);
         }
 
-        for (int p = 0, c = map.size(); p < DEFAULT_MAP_VALUE_RANGE; ++p, ++c) {
+        for (int p = 0, c = map.size(); p < mapValueRange; ++p, ++c) {
             blackHole.consume(filledMap.put(UnsignedInteger.valueOf(p), DUMMY_STRING));
             blackHole.consume(filledMap.remove(UnsignedInteger.valueOf(c)));
         }
     }
 
+    @Benchmark
+    public void settleInOrderWithUnsettledBacklog(Blackhole blackHole) {
+        // Models the steady state of a session window where new deliveries are sent while
+        // the oldest are settled leaving the filled range of entries unsettled throughout.
+        for (int i = 0; i < mapValueRange; ++i, ++settledCursor) {
+            blackHole.consume(filledMap.put(UnsignedInteger.valueOf(settledCursor + mapValueRange), DUMMY_STRING));
+            blackHole.consume(filledMap.remove(UnsignedInteger.valueOf(settledCursor)));
+        }
+    }
+
     @Benchmark
     public void randomProduceAndConsume(Blackhole blackHole) {
         for (int i = 0; i < 32; ++i) {
             map.put(UnsignedInteger.valueOf(i), DUMMY_STRING);
         }
 
-        for (int i = 0; i < DEFAULT_MAP_VALUE_RANGE; ++i) {
-            int p = random.nextInt(DEFAULT_MAP_VALUE_RANGE);
-            int c = random.nextInt(DEFAULT_MAP_VALUE_RANGE);
+        for (int i = 0; i < mapValueRange; ++i) {
+            int p = random.nextInt(mapValueRange);
+            int c = random.nextInt(mapValueRange);
 
             blackHole.consume(filledMap.put(UnsignedInteger.valueOf(p), DUMMY_STRING));
             blackHole.consume(filledMap.remove(UnsignedInteger.valueOf(c)));
@@ -113,7 +134,7 @@ public abstract class MapBenchmarkBase {
     protected abstract Map<UnsignedInteger, String> createMap();
 
     protected Map<UnsignedInteger, String> fillMap(Map<UnsignedInteger, String> target) {
-        for (int i = 0; i < DEFAULT_MAP_VALUE_RANGE; ++i) {
+        for (int i = 0; i < mapValueRange; ++i) {
             target.put(UnsignedInteger.valueOf(i), DUMMY_STRING);
         }
 
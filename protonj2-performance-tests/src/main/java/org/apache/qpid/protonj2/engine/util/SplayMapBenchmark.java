@@ -47,21 +47,21 @@ public class SplayMapBenchmark extends MapBenchmarkBase {
 
     @Benchmark
     public void putWithPrimitive() {
-        for (int i = 0; i < DEFAULT_MAP_VALUE_RANGE; ++i) {
+        for (int i = 0; i < mapValueRange; ++i) {
             sqMap.put(i, DUMMY_STRING);
         }
     }
 
     @Benchmark
     public void getWithPrimitive(Blackhole blackHole) {
-        for (int i = 0; i < DEFAULT_MAP_VALUE_RANGE; ++i) {
+        for (int i = 0; i < mapValueRange; ++i) {
             blackHole.consume(sqFilledMap.get(i));
         }
     }
 
     @Benchmark
     public void removeWithPrimitive(Blackhole blackHole) {
-        for (int i = 0; i < DEFAULT_MAP_VALUE_RANGE; ++i) {
+        for (int i = 0; i < mapValueRange; ++i) {
             blackHole.consume(sqFilledMap.remove(i));
         }
     }
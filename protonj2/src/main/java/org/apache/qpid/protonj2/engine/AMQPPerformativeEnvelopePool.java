@@ -55,6 +55,13 @@ public class AMQPPerformativeEnvelopePool<E extends PerformativeEnvelope<Perform
         return (E) pool.poll(this::supplyPooledResource).initialize(body, channel, payload);
     }
 
+    /**
+     * @return true if the next envelope taken will be reused from the pool rather than created.
+     */
+    public boolean hasPooledEnvelope() {
+        return !pool.isEmpty();
+    }
+
     void release(E pooledEnvelope) {
         pool.offer(pooledEnvelope);
     }
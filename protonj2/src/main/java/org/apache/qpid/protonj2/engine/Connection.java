@@ -17,9 +17,11 @@
 package org.apache.qpid.protonj2.engine;
 
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 
 import org.apache.qpid.protonj2.engine.exceptions.EngineStateException;
+import org.apache.qpid.protonj2.engine.util.HashedWheelTimer;
 import org.apache.qpid.protonj2.types.transport.AMQPHeader;
 
 /**
@@ -108,6 +110,25 @@ public interface Connection extends Endpoint<Connection> {
      */
     Connection tickAuto(ScheduledExecutorService executor);
 
+    /**
+     * Convenience method which is the same as calling {@link Engine#tickAuto(Executor, HashedWheelTimer)}.
+     *
+     * @param executor
+     *      The single threaded execution context where all engine work takes place.
+     * @param timer
+     *      The shared timer used to track the idle timeout deadlines of the engine.
+     *
+     * @return this {@link Connection} instance.
+     *
+     * @throws IllegalStateException if the {@link Engine} is already performing auto tick handling.
+     * @throws EngineStateException if the Engine state precludes accepting new input.
+     *
+     * @see Engine#tickAuto(Executor, HashedWheelTimer)
+     */
+    default Connection tickAuto(Executor executor, HashedWheelTimer timer) {
+        return tickAuto(timer.scheduler(executor));
+    }
+
     /**
      * @return the local connection state only
      */
@@ -256,6 +277,14 @@ public interface Connection extends Endpoint<Connection> {
      */
     Set<Session> sessions();
 
+    /**
+     * Returns a snapshot of the frame counters of the {@link Engine} that owns this connection, this
+     * method can safely be called from any thread.
+     *
+     * @return a consistent point in time snapshot of the {@link EngineMetrics} of this connection.
+     */
+    EngineMetrics metrics();
+
     //----- View state of remote end of this Connection
 
     /**
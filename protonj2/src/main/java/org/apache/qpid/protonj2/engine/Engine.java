@@ -16,6 +16,8 @@
  */
 package org.apache.qpid.protonj2.engine;
 
+import java.util.Objects;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
@@ -26,6 +28,7 @@ import org.apache.qpid.protonj2.engine.exceptions.EngineNotWritableException;
 import org.apache.qpid.protonj2.engine.exceptions.EngineShutdownException;
 import org.apache.qpid.protonj2.engine.exceptions.EngineStateException;
 import org.apache.qpid.protonj2.engine.exceptions.ProtonException;
+import org.apache.qpid.protonj2.engine.util.HashedWheelTimer;
 
 /**
  * AMQP Engine interface.
@@ -152,6 +155,63 @@ public interface Engine extends Consumer<ProtonBuffer> {
         ingest(input);
     }
 
+    /**
+     * Provide a batch of data input for this Engine, typically all the buffers produced by a single
+     * read from the underlying IO layer.  The buffers are ingested in order within a batch as if the
+     * {@link #beginBatch()} and {@link #endBatch()} methods had been called around them.
+     *
+     * @param inputs
+     *      The data to feed into to Engine in the order given.
+     *
+     * @return this {@link Engine}
+     *
+     * @throws EngineStateException if the Engine state precludes accepting new input.
+     *
+     * @see #beginBatch()
+     */
+    default Engine ingest(ProtonBuffer... inputs) throws EngineStateException {
+        beginBatch();
+        try {
+            for (ProtonBuffer input : inputs) {
+                ingest(input);
+            }
+        } finally {
+            endBatch();
+        }
+
+        return this;
+    }
+
+    /**
+     * Marks the start of a batch of input to the engine.  While a batch is in progress the engine
+     * may defer work that can be coalesced, such as session and link flow updates, until the batch
+     * ends so that a burst of input results in the least possible number of output frames.  Batches
+     * may be nested and the deferred work is performed when the outermost batch ends.
+     *
+     * @return this {@link Engine}
+     *
+     * @throws EngineStateException if the Engine state precludes accepting new input.
+     */
+    Engine beginBatch() throws EngineStateException;
+
+    /**
+     * Marks the end of a batch of input to the engine, when the outermost batch ends any work that
+     * was deferred during the batch is performed and the batch complete handler is signalled.  This
+     * method must be called once for each call to {@link #beginBatch()} including when ingest of the
+     * batch input fails.
+     *
+     * @return this {@link Engine}
+     *
+     * @throws IllegalStateException if there is no batch in progress.
+     * @throws EngineStateException if the Engine fails while performing the deferred work.
+     */
+    Engine endBatch() throws IllegalStateException, EngineStateException;
+
+    /**
+     * @return true if the engine is currently processing a batch of input.
+     */
+    boolean isBatching();
+
     /**
      * Prompt the engine to perform idle-timeout/heartbeat handling, and return an absolute
      * deadline in milliseconds that tick must again be called by/at, based on the provided
@@ -198,6 +258,29 @@ public interface Engine extends Consumer<ProtonBuffer> {
      */
     Engine tickAuto(ScheduledExecutorService executor) throws IllegalStateException, EngineStateException;
 
+    /**
+     * Allows the engine to manage idle timeout processing using a {@link HashedWheelTimer} that can be
+     * shared by many engines, the idle timeout checks are tracked on the timer and then run in the given
+     * single threaded executor context where all transport work is done.  Sharing one timer avoids each
+     * engine placing its repeated idle timeout checks onto the heap based queue of a scheduled executor.
+     *
+     * @param executor
+     *      The single threaded execution context where all engine work takes place.
+     * @param timer
+     *      The shared timer used to track the idle timeout deadlines of this engine.
+     *
+     * @throws IllegalStateException if the {@link Engine} is already performing auto tick handling.
+     * @throws EngineStateException if the Engine state precludes accepting new input.
+     *
+     * @return this {@link Engine}
+     */
+    default Engine tickAuto(Executor executor, HashedWheelTimer timer) throws IllegalStateException, EngineStateException {
+        Objects.requireNonNull(executor, "Engine executor cannot be null");
+        Objects.requireNonNull(timer, "Shared timer cannot be null");
+
+        return tickAuto(timer.scheduler(executor));
+    }
+
     /**
      * Gets the EnginePipeline for this Engine.
      *
@@ -223,6 +306,15 @@ public interface Engine extends Consumer<ProtonBuffer> {
      */
     EngineSaslDriver saslDriver();
 
+    /**
+     * Returns a snapshot of the frame and envelope pool counters of this engine.  The counters are
+     * maintained by the engine without locking and this method can safely be called from any thread
+     * to diagnose the behavior of a running engine.
+     *
+     * @return a consistent point in time snapshot of the {@link EngineMetrics} of this engine.
+     */
+    EngineMetrics metrics();
+
     //----- Engine event points
 
     /**
@@ -296,4 +388,17 @@ public interface Engine extends Consumer<ProtonBuffer> {
      */
     Engine shutdownHandler(EventHandler<Engine> engineShutdownEventHandler);
 
+    /**
+     * Sets a handler instance that will be notified each time the outermost batch of input ends and
+     * any work deferred during the batch has been written.  The IO layer can use this event to flush
+     * all output produced by a single read as one burst, the handler is signalled even if the engine
+     * was shutdown or failed while processing the batch so that any final output can be flushed.
+     *
+     * @param batchCompleteEventHandler
+     *      The handler that is signalled with this {@link Engine} when a batch completes.
+     *
+     * @return this {@link Engine}
+     */
+    Engine batchCompleteHandler(EventHandler<Engine> batchCompleteEventHandler);
+
 }
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.engine;
+
+import org.apache.qpid.protonj2.types.transport.Performative.PerformativeType;
+
+/**
+ * A point in time snapshot of the counters maintained by an {@link Engine} for the frames
+ * that it has read and written on behalf of its {@link Connection}.
+ * <p>
+ * The counters are updated by the engine as it processes frames without any locking and a
+ * snapshot can be obtained from any thread, the values in a single snapshot are consistent
+ * with one another as they were all captured between the same two engine updates.
+ */
+public interface EngineMetrics {
+
+    /**
+     * @return the total number of frames read including empty and SASL frames.
+     */
+    long getFramesRead();
+
+    /**
+     * @param type
+     *      The type of AMQP performative whose frame count is requested.
+     *
+     * @return the number of frames read that carried the given performative type.
+     */
+    long getFramesRead(PerformativeType type);
+
+    /**
+     * @return the total number of frame bytes read including empty and SASL frames.
+     */
+    long getBytesRead();
+
+    /**
+     * @param type
+     *      The type of AMQP performative whose byte count is requested.
+     *
+     * @return the number of frame bytes read for frames that carried the given performative type.
+     */
+    long getBytesRead(PerformativeType type);
+
+    /**
+     * @return the number of empty (heart beat) frames read.
+     */
+    long getEmptyFramesRead();
+
+    /**
+     * @return the total number of frames written including empty and SASL frames.
+     */
+    long getFramesWritten();
+
+    /**
+     * @param type
+     *      The type of AMQP performative whose frame count is requested.
+     *
+     * @return the number of frames written that carried the given performative type.
+     */
+    long getFramesWritten(PerformativeType type);
+
+    /**
+     * @return the total number of frame bytes written including empty and SASL frames.
+     */
+    long getBytesWritten();
+
+    /**
+     * @param type
+     *      The type of AMQP performative whose byte count is requested.
+     *
+     * @return the number of frame bytes written for frames that carried the given performative type.
+     */
+    long getBytesWritten(PerformativeType type);
+
+    /**
+     * @return the number of empty (heart beat) frames written.
+     */
+    long getEmptyFramesWritten();
+
+    /**
+     * @return the number of performative envelopes taken from the engine envelope pools.
+     */
+    long getEnvelopesTaken();
+
+    /**
+     * @return the number of performative envelopes taken that were reused from the pool.
+     */
+    long getEnvelopesReused();
+
+    /**
+     * @return the ratio of envelopes reused from the pool to envelopes taken or zero if none taken.
+     */
+    default double getEnvelopePoolHitRate() {
+        final long taken = getEnvelopesTaken();
+        return taken == 0 ? 0.0 : (double) getEnvelopesReused() / taken;
+    }
+}
@@ -93,6 +93,14 @@ public interface Link<L extends Link<L>> extends Endpoint<L> {
      */
     boolean isDraining();
 
+    /**
+     * Returns a snapshot of the unsettled delivery and credit counters of this link, this method
+     * can safely be called from any thread.
+     *
+     * @return a consistent point in time snapshot of the {@link LinkMetrics} of this link.
+     */
+    LinkMetrics metrics();
+
     /**
      * @return the {@link Role} that this end of the link is performing.
      */
@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.engine;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A point in time snapshot of the counters maintained for a {@link Link}.
+ * <p>
+ * The counters are updated by the engine without any locking and a snapshot can be obtained
+ * from any thread, the values in a single snapshot are consistent with one another.
+ */
+public interface LinkMetrics {
+
+    /**
+     * @return the number of deliveries on the link that are not yet settled.
+     */
+    long getUnsettled();
+
+    /**
+     * @return true if the link had no credit when the snapshot was taken.
+     */
+    boolean isWithoutCredit();
+
+    /**
+     * The time the link has spent without credit since it was created, including any period
+     * still in progress when the snapshot was taken.  For a {@link Sender} this is time spent
+     * unable to send, for a {@link Receiver} time during which the remote could not send.
+     *
+     * @param unit
+     *      The time unit of the returned value.
+     *
+     * @return the time the link has spent with zero link credit.
+     */
+    long getTimeWithoutCredit(TimeUnit unit);
+
+}
@@ -94,6 +94,25 @@ public interface Receiver extends Link<Receiver> {
      */
     Receiver disposition(Predicate<IncomingDelivery> filter, DeliveryState state, boolean settle);
 
+    /**
+     * Applies the given delivery state and settled value to each of the given deliveries as a single
+     * operation.  Deliveries whose delivery ids are contiguous are updated using a single ranged
+     * disposition frame instead of one frame per delivery, any that are already locally settled are
+     * ignored.
+     *
+     * @param deliveries
+     *      The unsettled deliveries of this {@link Receiver} that should be updated, in delivery order.
+     * @param state
+     *      The new {@link DeliveryState} to apply to the deliveries or null to retain their current state.
+     * @param settle
+     *      Boolean indicating if the deliveries should be settled.
+     *
+     * @return this {@link Receiver} for chaining
+     *
+     * @throws IllegalArgumentException if any of the deliveries does not belong to this {@link Receiver}.
+     */
+    Receiver disposition(Collection<? extends IncomingDelivery> deliveries, DeliveryState state, boolean settle);
+
     /**
      * For each unsettled outgoing delivery that is pending in the {@link Receiver} apply the given predicate
      * and if it matches then settle the delivery.
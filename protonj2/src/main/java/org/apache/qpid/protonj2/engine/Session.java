@@ -123,6 +123,15 @@ public interface Session extends Endpoint<Session> {
      */
     int getRemainingIncomingCapacity();
 
+    /**
+     * Returns the number of payload bytes that have arrived in incoming transfers on this session
+     * and are being held by their deliveries because they have not yet been read or claimed.  The
+     * value is tracked whether or not an incoming capacity has been configured for the session.
+     *
+     * @return the number of incoming bytes that are buffered awaiting a read by the application.
+     */
+    long getPendingIncomingBytes();
+
     /**
      * Sets the maximum number of bytes this session can be write before blocking additional
      * sends until the written bytes are known to have been flushed to the write.  This limit
@@ -148,6 +157,14 @@ public interface Session extends Endpoint<Session> {
      */
     int getRemainingOutgoingCapacity();
 
+    /**
+     * Returns a snapshot of the unsettled delivery and session window counters of this session,
+     * this method can safely be called from any thread.
+     *
+     * @return a consistent point in time snapshot of the {@link SessionMetrics} of this session.
+     */
+    SessionMetrics metrics();
+
     /**
      * Set the handle max value for this Session.
      *
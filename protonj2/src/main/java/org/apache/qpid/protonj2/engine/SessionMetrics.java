@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.engine;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A point in time snapshot of the counters maintained for a {@link Session}.
+ * <p>
+ * The counters are updated by the engine without any locking and a snapshot can be obtained
+ * from any thread, the values in a single snapshot are consistent with one another.  The time
+ * a window has been closed is accumulated from the point the session first learns the size of
+ * that window and includes any period that is still in progress when the snapshot is taken.
+ */
+public interface SessionMetrics {
+
+    /**
+     * @return the number of incoming deliveries tracked by the session that are not yet settled.
+     */
+    long getIncomingUnsettled();
+
+    /**
+     * @return the number of outgoing deliveries tracked by the session that are not yet settled.
+     */
+    long getOutgoingUnsettled();
+
+    /**
+     * @return true if the local incoming window was zero when the snapshot was taken.
+     */
+    boolean isIncomingWindowClosed();
+
+    /**
+     * @param unit
+     *      The time unit of the returned value.
+     *
+     * @return the time the local incoming window has spent at zero, blocking the remote sender.
+     */
+    long getTimeIncomingWindowClosed(TimeUnit unit);
+
+    /**
+     * @return true if the remote incoming window was zero when the snapshot was taken.
+     */
+    boolean isRemoteIncomingWindowClosed();
+
+    /**
+     * @param unit
+     *      The time unit of the returned value.
+     *
+     * @return the time the remote incoming window has spent at zero, blocking local senders.
+     */
+    long getTimeRemoteIncomingWindowClosed(TimeUnit unit);
+
+}
@@ -19,7 +19,6 @@ package org.apache.qpid.protonj2.engine.impl;
 import java.lang.ref.SoftReference;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -30,6 +29,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import org.apache.qpid.protonj2.buffer.ProtonBuffer;
 import org.apache.qpid.protonj2.engine.Connection;
 import org.apache.qpid.protonj2.engine.ConnectionState;
+import org.apache.qpid.protonj2.engine.EngineMetrics;
 import org.apache.qpid.protonj2.engine.EventHandler;
 import org.apache.qpid.protonj2.engine.HeaderEnvelope;
 import org.apache.qpid.protonj2.engine.Receiver;
@@ -40,6 +40,7 @@ import org.apache.qpid.protonj2.engine.TransactionManager;
 import org.apache.qpid.protonj2.engine.exceptions.EngineFailedException;
 import org.apache.qpid.protonj2.engine.exceptions.EngineStateException;
 import org.apache.qpid.protonj2.engine.exceptions.ProtocolViolationException;
+import org.apache.qpid.protonj2.engine.util.IntHashMap;
 import org.apache.qpid.protonj2.logging.ProtonLogger;
 import org.apache.qpid.protonj2.logging.ProtonLoggerFactory;
 import org.apache.qpid.protonj2.types.Symbol;
@@ -69,8 +70,10 @@ public class ProtonConnection extends ProtonEndpoint<Connection> implements Conn
     private Open remoteOpen;
     private AMQPHeader remoteHeader;
 
-    private Map<Integer, ProtonSession> localSessions = new HashMap<>();
-    private Map<Integer, ProtonSession> remoteSessions = new HashMap<>();
+    // Keyed by channel number which is bounded by channel-max and allocated from zero upwards so
+    // lookups on each incoming frame are a direct index without boxing the channel value.
+    private final IntHashMap<ProtonSession> localSessions = new IntHashMap<>();
+    private final IntHashMap<ProtonSession> remoteSessions = new IntHashMap<>();
 
     // These would be sessions that were begun and ended before the remote ever
     // responded with a matching being and end.  The remote is required to complete
@@ -350,6 +353,11 @@ public class ProtonConnection extends ProtonEndpoint<Connection> implements Conn
         return remoteOpen == null ? null : remoteOpen.getHostname();
     }
 
+    @Override
+    public EngineMetrics metrics() {
+        return engine.metrics();
+    }
+
     @Override
     public long getRemoteMaxFrameSize() {
         return remoteOpen == null ? ProtonConstants.MIN_MAX_AMQP_FRAME_SIZE : remoteOpen.getMaxFrameSize();
@@ -16,6 +16,7 @@
  */
 package org.apache.qpid.protonj2.engine.impl;
 
+import java.util.ArrayList;
 import java.util.Objects;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -27,6 +28,7 @@ import org.apache.qpid.protonj2.buffer.ProtonByteBufferAllocator;
 import org.apache.qpid.protonj2.engine.AMQPPerformativeEnvelopePool;
 import org.apache.qpid.protonj2.engine.ConnectionState;
 import org.apache.qpid.protonj2.engine.Engine;
+import org.apache.qpid.protonj2.engine.EngineMetrics;
 import org.apache.qpid.protonj2.engine.EnginePipeline;
 import org.apache.qpid.protonj2.engine.EngineSaslDriver;
 import org.apache.qpid.protonj2.engine.EngineState;
@@ -62,6 +64,7 @@ public class ProtonEngine implements Engine {
     private final ProtonEngineConfiguration configuration = new ProtonEngineConfiguration(this);
     private final ProtonConnection connection = new ProtonConnection(this);
     private final AMQPPerformativeEnvelopePool<OutgoingAMQPEnvelope> framePool = AMQPPerformativeEnvelopePool.outgoingEnvelopePool();
+    private final ProtonEngineMetrics metrics = new ProtonEngineMetrics();
 
     private EngineSaslDriver saslDriver = new ProtonEngineNoOpSaslDriver();
 
@@ -71,6 +74,10 @@ public class ProtonEngine implements Engine {
     private int inputSequence;
     private int outputSequence;
 
+    // Batch input tracking and work deferred to the end of the batch
+    private int batchDepth;
+    private final ArrayList<Runnable> batchEndTasks = new ArrayList<>();
+
     // Idle Timeout Check data
     private ScheduledFuture<?> nextIdleTimeoutCheck;
     private ScheduledExecutorService idleTimeoutExecutor;
@@ -82,6 +89,7 @@ public class ProtonEngine implements Engine {
     // Engine event points
     private BiConsumer<ProtonBuffer, Runnable> outputHandler;
     private EventHandler<Engine> engineShutdownHandler;
+    private EventHandler<Engine> batchCompleteHandler;
     private EventHandler<Engine> engineFailureHandler = (engine) -> {
         LOG.warn("Engine encounted error and will become inoperable: ", engine.failureCause());
     };
@@ -235,6 +243,46 @@ public class ProtonEngine implements Engine {
         return this;
     }
 
+    @Override
+    public ProtonEngine beginBatch() throws EngineStateException {
+        checkShutdownOrFailed("Cannot begin a batch on an Engine that has been shutdown or failed");
+
+        batchDepth++;
+
+        return this;
+    }
+
+    @Override
+    public ProtonEngine endBatch() throws IllegalStateException, EngineStateException {
+        if (batchDepth == 0) {
+            throw new IllegalStateException("No batch is currently in progress");
+        }
+
+        if (--batchDepth == 0) {
+            try {
+                // Tasks run outside the batch so their output is written immediately.
+                for (int i = 0; i < batchEndTasks.size() && isRunning(); ++i) {
+                    batchEndTasks.get(i).run();
+                }
+            } catch (Throwable error) {
+                throw engineFailed(error);
+            } finally {
+                batchEndTasks.clear();
+            }
+
+            if (batchCompleteHandler != null) {
+                batchCompleteHandler.handle(this);
+            }
+        }
+
+        return this;
+    }
+
+    @Override
+    public boolean isBatching() {
+        return batchDepth > 0;
+    }
+
     @Override
     public EngineStateException engineFailed(Throwable cause) {
         final EngineStateException failure;
@@ -305,6 +353,12 @@ public class ProtonEngine implements Engine {
         return engineShutdownHandler;
     }
 
+    @Override
+    public ProtonEngine batchCompleteHandler(EventHandler<Engine> handler) {
+        this.batchCompleteHandler = handler;
+        return this;
+    }
+
     @Override
     public EnginePipeline pipeline() {
         return pipelineProxy;
@@ -315,6 +369,11 @@ public class ProtonEngine implements Engine {
         return configuration;
     }
 
+    @Override
+    public EngineMetrics metrics() {
+        return metrics.snapshot();
+    }
+
     @Override
     public EngineSaslDriver saslDriver() {
         return saslDriver;
@@ -352,19 +411,36 @@ public class ProtonEngine implements Engine {
     }
 
     ProtonEngine fireWrite(Performative performative, int channel) {
-        pipeline.fireWrite(framePool.take(performative, channel, null));
+        pipeline.fireWrite(wrap(performative, channel, null));
         return this;
     }
 
     ProtonEngine fireWrite(Performative performative, int channel, ProtonBuffer payload) {
-        pipeline.fireWrite(framePool.take(performative, channel, payload));
+        pipeline.fireWrite(wrap(performative, channel, payload));
         return this;
     }
 
     OutgoingAMQPEnvelope wrap(Performative performative, int channel, ProtonBuffer payload) {
+        metrics.recordEnvelopeTaken(framePool.hasPooledEnvelope());
         return framePool.take(performative, channel, payload);
     }
 
+    ProtonEngineMetrics metricsRecorder() {
+        return metrics;
+    }
+
+    /*
+     * Runs the given task when the current batch of input ends or immediately if not batching, callers
+     * are responsible for not scheduling the same coalesced work more than once per batch.
+     */
+    void runAtBatchEnd(Runnable task) {
+        if (batchDepth > 0) {
+            batchEndTasks.add(task);
+        } else {
+            task.run();
+        }
+    }
+
     void checkEngineNotStarted(String message) {
         if (state == EngineState.IDLE) {
             throw new EngineNotStartedException(message);
@@ -433,6 +509,7 @@ public class ProtonEngine implements Engine {
             } else if (remoteIdleDeadline - currentTime <= 0) {
                 remoteIdleDeadline = computeDeadline(currentTime, remoteIdleTimeout / 2);
                 pipeline.fireWrite(EMPTY_FRAME_BUFFER.duplicate(), null);
+                metrics.recordFrameWritten(ProtonEngineMetrics.EMPTY_FRAME, EMPTY_FRAME_BUFFER.getReadableBytes());
                 lastOutputSequence++;
             }
         }
@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.engine.impl;
+
+import org.apache.qpid.protonj2.engine.EngineMetrics;
+import org.apache.qpid.protonj2.types.transport.Performative.PerformativeType;
+
+/**
+ * Frame and envelope pool counters recorded by a {@link ProtonEngine}
+ */
+final class ProtonEngineMetrics extends ProtonMetricsCounters {
+
+    private static final int PERFORMATIVE_TYPES = PerformativeType.values().length;
+
+    static final int EMPTY_FRAME = PERFORMATIVE_TYPES;
+    static final int SASL_FRAME = PERFORMATIVE_TYPES + 1;
+
+    private static final int FRAME_TYPES = PERFORMATIVE_TYPES + 2;
+
+    private static final int FRAMES_READ = 0;
+    private static final int BYTES_READ = FRAMES_READ + FRAME_TYPES;
+    private static final int FRAMES_WRITTEN = BYTES_READ + FRAME_TYPES;
+    private static final int BYTES_WRITTEN = FRAMES_WRITTEN + FRAME_TYPES;
+    private static final int ENVELOPES_TAKEN = BYTES_WRITTEN + FRAME_TYPES;
+    private static final int ENVELOPES_REUSED = ENVELOPES_TAKEN + 1;
+
+    private static final int COUNTERS = ENVELOPES_REUSED + 1;
+
+    ProtonEngineMetrics() {
+        super(COUNTERS);
+    }
+
+    void recordFrameRead(int frameType, long frameSize) {
+        beginUpdate();
+        add(FRAMES_READ + frameType, 1);
+        add(BYTES_READ + frameType, frameSize);
+        endUpdate();
+    }
+
+    void recordFrameWritten(int frameType, long frameSize) {
+        beginUpdate();
+        add(FRAMES_WRITTEN + frameType, 1);
+        add(BYTES_WRITTEN + frameType, frameSize);
+        endUpdate();
+    }
+
+    void recordEnvelopeTaken(boolean reused) {
+        beginUpdate();
+        add(ENVELOPES_TAKEN, 1);
+        if (reused) {
+            add(ENVELOPES_REUSED, 1);
+        }
+        endUpdate();
+    }
+
+    EngineMetrics snapshot() {
+        return new EngineMetricsSnapshot(copy());
+    }
+
+    private static final class EngineMetricsSnapshot implements EngineMetrics {
+
+        private final long[] counters;
+
+        EngineMetricsSnapshot(long[] counters) {
+            this.counters = counters;
+        }
+
+        @Override
+        public long getFramesRead() {
+            return sum(FRAMES_READ);
+        }
+
+        @Override
+        public long getFramesRead(PerformativeType type) {
+            return counters[FRAMES_READ + type.ordinal()];
+        }
+
+        @Override
+        public long getBytesRead() {
+            return sum(BYTES_READ);
+        }
+
+        @Override
+        public long getBytesRead(PerformativeType type) {
+            return counters[BYTES_READ + type.ordinal()];
+        }
+
+        @Override
+        public long getEmptyFramesRead() {
+            return counters[FRAMES_READ + EMPTY_FRAME];
+        }
+
+        @Override
+        public long getFramesWritten() {
+            return sum(FRAMES_WRITTEN);
+        }
+
+        @Override
+        public long getFramesWritten(PerformativeType type) {
+            return counters[FRAMES_WRITTEN + type.ordinal()];
+        }
+
+        @Override
+        public long getBytesWritten() {
+            return sum(BYTES_WRITTEN);
+        }
+
+        @Override
+        public long getBytesWritten(PerformativeType type) {
+            return counters[BYTES_WRITTEN + type.ordinal()];
+        }
+
+        @Override
+        public long getEmptyFramesWritten() {
+            return counters[FRAMES_WRITTEN + EMPTY_FRAME];
+        }
+
+        @Override
+        public long getEnvelopesTaken() {
+            return counters[ENVELOPES_TAKEN];
+        }
+
+        @Override
+        public long getEnvelopesReused() {
+            return counters[ENVELOPES_REUSED];
+        }
+
+        private long sum(int offset) {
+            long total = 0;
+            for (int i = 0; i < FRAME_TYPES; ++i) {
+                total += counters[offset + i];
+            }
+
+            return total;
+        }
+
+        @Override
+        public String toString() {
+            return "EngineMetrics { framesRead=" + getFramesRead() + ", bytesRead=" + getBytesRead() +
+                   ", framesWritten=" + getFramesWritten() + ", bytesWritten=" + getBytesWritten() +
+                   ", envelopePoolHitRate=" + getEnvelopePoolHitRate() + " }";
+        }
+    }
+}
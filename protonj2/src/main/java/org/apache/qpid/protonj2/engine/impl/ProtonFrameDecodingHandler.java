@@ -340,6 +340,7 @@ public class ProtonFrameDecodingHandler implements EngineHandler, SaslPerformati
                     }
                 }
             } else {
+                engine.metricsRecorder().recordFrameRead(ProtonEngineMetrics.EMPTY_FRAME, frameSize);
                 transitionToFrameSizeParsingStage();
                 context.fireRead(EmptyEnvelope.INSTANCE);
                 return;
@@ -347,11 +348,14 @@ public class ProtonFrameDecodingHandler implements EngineHandler, SaslPerformati
 
             if (type == AMQP_FRAME_TYPE) {
                 Performative performative = (Performative) val;
+                engine.metricsRecorder().recordFrameRead(performative.getPerformativeType().ordinal(), frameSize);
+                engine.metricsRecorder().recordEnvelopeTaken(framePool.hasPooledEnvelope());
                 IncomingAMQPEnvelope frame = framePool.take(performative, channel, payload);
                 transitionToFrameSizeParsingStage();
                 context.fireRead(frame);
             } else if (type == SASL_FRAME_TYPE) {
                 SaslPerformative performative = (SaslPerformative) val;
+                engine.metricsRecorder().recordFrameRead(ProtonEngineMetrics.SASL_FRAME, frameSize);
                 SASLEnvelope saslFrame = new SASLEnvelope(performative);
                 transitionToFrameSizeParsingStage();
                 // Ensure we process transition from SASL to AMQP header state
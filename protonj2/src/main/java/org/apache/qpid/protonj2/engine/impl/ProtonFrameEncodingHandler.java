@@ -87,6 +87,8 @@ public class ProtonFrameEncodingHandler implements EngineHandler {
             saslEncoderState.reset();
         }
 
+        engine.metricsRecorder().recordFrameWritten(ProtonEngineMetrics.SASL_FRAME, output.getReadableBytes());
+
         context.fireWrite(output.setInt(FRAME_START_BYTE, output.getReadableBytes()), null);
     }
 
@@ -115,6 +117,8 @@ public class ProtonFrameEncodingHandler implements EngineHandler {
         output.setByte(FRAME_TYPE_BYTE, AMQP_FRAME_TYPE);
         output.setShort(FRAME_CHANNEL_BYTE, (short) envelope.getChannel());
 
+        engine.metricsRecorder().recordFrameWritten(envelope.getBody().getPerformativeType().ordinal(), output.getReadableBytes());
+
         context.fireWrite(output, envelope::handleOutgoingFrameWriteComplete);
     }
 
@@ -24,6 +24,7 @@ import java.util.Map;
 import org.apache.qpid.protonj2.buffer.ProtonBuffer;
 import org.apache.qpid.protonj2.engine.EventHandler;
 import org.apache.qpid.protonj2.engine.Link;
+import org.apache.qpid.protonj2.engine.LinkMetrics;
 import org.apache.qpid.protonj2.engine.LinkState;
 import org.apache.qpid.protonj2.engine.Receiver;
 import org.apache.qpid.protonj2.engine.Sender;
@@ -78,6 +79,7 @@ public abstract class ProtonLink<L extends Link<L>> extends ProtonEndpoint<L> im
     private boolean localDetachSent;
 
     private final ProtonLinkCreditState creditState;
+    private final ProtonLinkMetrics metrics = new ProtonLinkMetrics();
 
     private LinkOperabilityState operability = LinkOperabilityState.OK;
     private LinkState localState = LinkState.IDLE;
@@ -104,6 +106,7 @@ public abstract class ProtonLink<L extends Link<L>> extends ProtonEndpoint<L> im
         this.session = session;
         this.connection = session.getConnection();
         this.creditState = creditState;
+        this.creditState.setMetrics(metrics);
         this.localAttach.setName(name);
         this.localAttach.setRole(getRole());
     }
@@ -155,6 +158,11 @@ public abstract class ProtonLink<L extends Link<L>> extends ProtonEndpoint<L> im
         return remoteState;
     }
 
+    @Override
+    public LinkMetrics metrics() {
+        return metrics.snapshot();
+    }
+
     @Override
     public L open() {
         if (getState() == LinkState.IDLE) {
@@ -723,6 +731,10 @@ public abstract class ProtonLink<L extends Link<L>> extends ProtonEndpoint<L> im
         return creditState;
     }
 
+    ProtonLinkMetrics metricsRecorder() {
+        return metrics;
+    }
+
     boolean wasLocalAttachSent() {
         return localAttachSent;
     }
@@ -32,6 +32,8 @@ public class ProtonLinkCreditState implements LinkCreditState {
 
     private boolean deliveryCountInitalised;
 
+    private ProtonLinkMetrics metrics;
+
     @SuppressWarnings("unused")
     private long remoteDeliveryCount;
     @SuppressWarnings("unused")
@@ -79,14 +81,17 @@ public class ProtonLinkCreditState implements LinkCreditState {
 
     void clearCredit() {
         credit = 0;
+        recordCredit();
     }
 
     void incrementCredit(int credit) {
         this.credit += credit;
+        recordCredit();
     }
 
     void decrementCredit() {
         credit = credit == 0 ? 0 : credit - 1;
+        recordCredit();
     }
 
     int incrementDeliveryCount() {
@@ -113,6 +118,7 @@ public class ProtonLinkCreditState implements LinkCreditState {
     public void updateCredit(int effectiveCredit) {
         // TODO: change credit to a long, or ensure inc/decrements above work fully if it has wrapped.
         this.credit = effectiveCredit;
+        recordCredit();
     }
 
     public void updateDeliveryCount(int deliveryCount) {
@@ -127,6 +133,16 @@ public class ProtonLinkCreditState implements LinkCreditState {
         drain = flow.getDrain();
     }
 
+    void setMetrics(ProtonLinkMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    private void recordCredit() {
+        if (metrics != null) {
+            metrics.recordCredit(credit);
+        }
+    }
+
     /**
      * Creates a snapshot of the current credit state, a subclass should implement this
      * method and provide an appropriately populated snapshot of the current state.
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.engine.impl;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.qpid.protonj2.engine.LinkMetrics;
+
+/**
+ * Credit and unsettled delivery counters recorded by a {@link ProtonLink}
+ */
+final class ProtonLinkMetrics extends ProtonMetricsCounters {
+
+    private static final int UNSETTLED = 0;
+    private static final int WITHOUT_CREDIT_SINCE = 1;
+    private static final int WITHOUT_CREDIT_TIME = 2;
+
+    private static final int COUNTERS = 3;
+
+    ProtonLinkMetrics() {
+        super(COUNTERS);
+
+        // All links start out without any credit.
+        set(WITHOUT_CREDIT_SINCE, System.nanoTime());
+    }
+
+    void recordUnsettled(int unsettled) {
+        if (get(UNSETTLED) != unsettled) {
+            beginUpdate();
+            set(UNSETTLED, unsettled);
+            endUpdate();
+        }
+    }
+
+    void recordCredit(int credit) {
+        if ((credit == 0) != (get(WITHOUT_CREDIT_SINCE) != NOT_IN_STATE)) {
+            beginUpdate();
+            recordState(WITHOUT_CREDIT_SINCE, WITHOUT_CREDIT_TIME, credit == 0);
+            endUpdate();
+        }
+    }
+
+    LinkMetrics snapshot() {
+        return new LinkMetricsSnapshot(copy(), System.nanoTime());
+    }
+
+    private static final class LinkMetricsSnapshot implements LinkMetrics {
+
+        private final long[] counters;
+        private final long timestamp;
+
+        LinkMetricsSnapshot(long[] counters, long timestamp) {
+            this.counters = counters;
+            this.timestamp = timestamp;
+        }
+
+        @Override
+        public long getUnsettled() {
+            return counters[UNSETTLED];
+        }
+
+        @Override
+        public boolean isWithoutCredit() {
+            return counters[WITHOUT_CREDIT_SINCE] != NOT_IN_STATE;
+        }
+
+        @Override
+        public long getTimeWithoutCredit(TimeUnit unit) {
+            return unit.convert(timeInState(counters, WITHOUT_CREDIT_SINCE, WITHOUT_CREDIT_TIME, timestamp), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public String toString() {
+            return "LinkMetrics { unsettled=" + getUnsettled() +
+                   ", withoutCreditMillis=" + getTimeWithoutCredit(TimeUnit.MILLISECONDS) + " }";
+        }
+    }
+}
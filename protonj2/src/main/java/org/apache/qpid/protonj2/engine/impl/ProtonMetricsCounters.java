@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.engine.impl;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed set of counters that is written only by the engine thread and that can be copied
+ * consistently from any other thread.
+ * <p>
+ * Writers bracket each related group of updates with {@link #beginUpdate()} and
+ * {@link #endUpdate()} which advance a sequence number to an odd and then an even value.
+ * Every store is an ordered write so a reader that copies the counters between two reads of
+ * the same even sequence number has seen a consistent set of values, the writer never blocks
+ * or takes a lock and readers simply retry if they overlapped an update.
+ */
+abstract class ProtonMetricsCounters {
+
+    /*
+     * Marks a timed state as not currently entered, System.nanoTime is not expected to
+     * ever return this exact value.
+     */
+    protected static final long NOT_IN_STATE = Long.MIN_VALUE;
+
+    private static final int SEQUENCE = 0;
+
+    private final AtomicLongArray published;
+    private final long[] values;
+
+    private long sequence;
+
+    protected ProtonMetricsCounters(int count) {
+        this.published = new AtomicLongArray(count + 1);
+        this.values = new long[count];
+    }
+
+    protected final void beginUpdate() {
+        published.lazySet(SEQUENCE, ++sequence);
+    }
+
+    protected final void endUpdate() {
+        published.lazySet(SEQUENCE, ++sequence);
+    }
+
+    protected final void add(int index, long delta) {
+        published.lazySet(index + 1, values[index] += delta);
+    }
+
+    protected final void set(int index, long value) {
+        published.lazySet(index + 1, values[index] = value);
+    }
+
+    /*
+     * Read the current value of a counter, only valid from the writing thread.
+     */
+    protected final long get(int index) {
+        return values[index];
+    }
+
+    /*
+     * Updates a pair of counters that track the total time spent in some state, the first holds
+     * the time the state was entered (or NOT_IN_STATE) and the second the accumulated time of
+     * completed intervals.  Must be called from within an update.
+     */
+    protected final void recordState(int sinceIndex, int totalIndex, boolean inState) {
+        final long since = values[sinceIndex];
+
+        if (inState && since == NOT_IN_STATE) {
+            set(sinceIndex, System.nanoTime());
+        } else if (!inState && since != NOT_IN_STATE) {
+            add(totalIndex, System.nanoTime() - since);
+            set(sinceIndex, NOT_IN_STATE);
+        }
+    }
+
+    /**
+     * Copies the current counter values into a new array, this method can be called from any thread.
+     *
+     * @return an array holding a consistent copy of the counter values.
+     */
+    protected final long[] copy() {
+        final long[] snapshot = new long[values.length];
+
+        while (true) {
+            final long before = published.get(SEQUENCE);
+
+            if ((before & 1) == 0) {
+                for (int i = 0; i < snapshot.length; ++i) {
+                    snapshot[i] = published.get(i + 1);
+                }
+
+                if (published.get(SEQUENCE) == before) {
+                    return snapshot;
+                }
+            }
+
+            Thread.yield();
+        }
+    }
+
+    protected static long timeInState(long[] snapshot, int sinceIndex, int totalIndex, long now) {
+        final long since = snapshot[sinceIndex];
+        return snapshot[totalIndex] + (since == NOT_IN_STATE ? 0 : Math.max(0, now - since));
+    }
+}
@@ -195,6 +195,50 @@ public class ProtonReceiver extends ProtonLink<Receiver> implements Receiver {
 
         if (!toRemove.isEmpty()) {
             toRemove.forEach(deliveryId -> unsettled.remove(deliveryId));
+            metricsRecorder().recordUnsettled(unsettled.size());
+        }
+
+        return this;
+    }
+
+    @Override
+    public Receiver disposition(Collection<? extends IncomingDelivery> deliveries, DeliveryState disposition, boolean settle) {
+        checkLinkOperable("Cannot apply disposition");
+        Objects.requireNonNull(deliveries, "Supplied deliveries cannot be null");
+
+        final List<ProtonIncomingDelivery> updated = new ArrayList<>(deliveries.size());
+
+        for (IncomingDelivery candidate : deliveries) {
+            if (candidate.getLink() != this) {
+                throw new IllegalArgumentException("Cannot apply disposition to a delivery from another link");
+            }
+
+            if (!candidate.isSettled()) {
+                updated.add((ProtonIncomingDelivery) candidate);
+            }
+        }
+
+        for (ProtonIncomingDelivery delivery : updated) {
+            if (disposition != null) {
+                delivery.localState(disposition);
+            }
+            if (settle) {
+                delivery.locallySettled();
+            }
+        }
+
+        try {
+            sessionWindow.processDispositions(this, updated);
+        } finally {
+            if (settle && !updated.isEmpty()) {
+                for (ProtonIncomingDelivery delivery : updated) {
+                    unsettled.remove((int) delivery.getDeliveryId());
+                    if (delivery.getTag() != null) {
+                        delivery.getTag().release();
+                    }
+                }
+                metricsRecorder().recordUnsettled(unsettled.size());
+            }
         }
 
         return this;
@@ -232,6 +276,7 @@ public class ProtonReceiver extends ProtonLink<Receiver> implements Receiver {
         } finally {
             if (delivery.isSettled()) {
                 unsettled.remove((int) delivery.getDeliveryId());
+                metricsRecorder().recordUnsettled(unsettled.size());
                 if (delivery.getTag() != null) {
                     delivery.getTag().release();
                 }
@@ -390,6 +435,8 @@ public class ProtonReceiver extends ProtonLink<Receiver> implements Receiver {
             delivery.setMessageFormat((int) transfer.getMessageFormat());
 
             unsettled.put((int) transfer.getDeliveryId(), delivery);
+            metricsRecorder().recordUnsettled(unsettled.size());
+
             currentDeliveryId.set((int) transfer.getDeliveryId());
         }
 
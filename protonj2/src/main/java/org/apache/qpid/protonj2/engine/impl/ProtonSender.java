@@ -139,6 +139,7 @@ public class ProtonSender extends ProtonLink<Sender> implements Sender {
 
         if (!toRemove.isEmpty()) {
             toRemove.forEach(deliveryId -> unsettled.remove(deliveryId));
+            metricsRecorder().recordUnsettled(unsettled.size());
         }
 
         return this;
@@ -305,6 +306,7 @@ public class ProtonSender extends ProtonLink<Sender> implements Sender {
 
             if (!delivery.isSettled()) {
                 unsettled.put((int) delivery.getDeliveryId(), delivery);
+                metricsRecorder().recordUnsettled(unsettled.size());
             }
 
             try {
@@ -336,6 +338,7 @@ public class ProtonSender extends ProtonLink<Sender> implements Sender {
         } finally {
             if (delivery.isSettled()) {
                 unsettled.remove((int) delivery.getDeliveryId());
+                metricsRecorder().recordUnsettled(unsettled.size());
             }
         }
     }
@@ -349,6 +352,7 @@ public class ProtonSender extends ProtonLink<Sender> implements Sender {
             }
         } finally {
             unsettled.remove((int) delivery.getDeliveryId());
+            metricsRecorder().recordUnsettled(unsettled.size());
             currentDeliveryId.reset();
             current = null;
         }
@@ -21,6 +21,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 
@@ -32,13 +33,14 @@ import org.apache.qpid.protonj2.engine.LinkState;
 import org.apache.qpid.protonj2.engine.Receiver;
 import org.apache.qpid.protonj2.engine.Sender;
 import org.apache.qpid.protonj2.engine.Session;
+import org.apache.qpid.protonj2.engine.SessionMetrics;
 import org.apache.qpid.protonj2.engine.SessionState;
 import org.apache.qpid.protonj2.engine.TransactionController;
 import org.apache.qpid.protonj2.engine.TransactionManager;
 import org.apache.qpid.protonj2.engine.exceptions.EngineFailedException;
 import org.apache.qpid.protonj2.engine.exceptions.EngineStateException;
 import org.apache.qpid.protonj2.engine.exceptions.ProtocolViolationException;
-import org.apache.qpid.protonj2.engine.util.SplayMap;
+import org.apache.qpid.protonj2.engine.util.IntHashMap;
 import org.apache.qpid.protonj2.types.Symbol;
 import org.apache.qpid.protonj2.types.transport.Attach;
 import org.apache.qpid.protonj2.types.transport.Begin;
@@ -68,12 +70,13 @@ public class ProtonSession extends ProtonEndpoint<Session> implements Session {
     private final Map<String, ProtonSender> senderByNameMap = new HashMap<>();
     private final Map<String, ProtonReceiver> receiverByNameMap = new HashMap<>();
 
-    private final SplayMap<ProtonLink<?>> localLinks = new SplayMap<>();
-    private final SplayMap<ProtonLink<?>> remoteLinks = new SplayMap<>();
+    private final IntHashMap<ProtonLink<?>> localLinks = new IntHashMap<>();
+    private final IntHashMap<ProtonLink<?>> remoteLinks = new IntHashMap<>();
 
     private final Flow cachedFlow = new Flow();
 
     private final ProtonConnection connection;
+    private final ProtonSessionMetrics metrics = new ProtonSessionMetrics();
 
     private SessionState localState = SessionState.IDLE;
     private SessionState remoteState = SessionState.IDLE;
@@ -81,6 +84,11 @@ public class ProtonSession extends ProtonEndpoint<Session> implements Session {
     private boolean localBeginSent;
     private boolean localEndSent;
 
+    // Flow updates coalesced while the engine processes a batch of input
+    private Set<ProtonLink<?>> deferredLinkFlows;
+    private boolean deferredSessionFlow;
+    private boolean flowFlushScheduled;
+
     // No default for these handlers, Connection will process these if not set here.
     private EventHandler<Sender> remoteSenderOpenEventHandler;
     private EventHandler<Receiver> remoteReceiverOpenEventHandler;
@@ -192,6 +200,11 @@ public class ProtonSession extends ProtonEndpoint<Session> implements Session {
         return incomingWindow.getRemainingIncomingCapacity();
     }
 
+    @Override
+    public long getPendingIncomingBytes() {
+        return incomingWindow.getIncomingBytes();
+    }
+
     @Override
     public Session setOutgoingCapacity(int outgoingCapacity) {
         outgoingWindow.setOutgoingCapacity(outgoingCapacity);
@@ -208,6 +221,11 @@ public class ProtonSession extends ProtonEndpoint<Session> implements Session {
         return outgoingWindow.getRemainingOutgoingCapacity();
     }
 
+    @Override
+    public SessionMetrics metrics() {
+        return metrics.snapshot();
+    }
+
     @Override
     public Session setHandleMax(long handleMax) throws IllegalStateException {
         checkNotOpened("Cannot set handle max on already opened Session");
@@ -580,6 +598,10 @@ public class ProtonSession extends ProtonEndpoint<Session> implements Session {
 
     //----- Internal implementation
 
+    ProtonSessionMetrics metricsRecorder() {
+        return metrics;
+    }
+
     ProtonSessionOutgoingWindow getOutgoingWindow() {
         return outgoingWindow;
     }
@@ -609,6 +631,64 @@ public class ProtonSession extends ProtonEndpoint<Session> implements Session {
     }
 
     void writeFlow(ProtonLink<?> link) {
+        if (getEngine().isBatching()) {
+            deferFlow(link);
+        } else {
+            doWriteFlow(link);
+        }
+    }
+
+    /*
+     * While the engine is ingesting a batch of input the flow updates are coalesced so that each link
+     * writes at most one flow at the end of the batch carrying its most recent state, the session level
+     * state is carried in each of those so a session only flow is only written if no link flow was.
+     */
+    private void deferFlow(ProtonLink<?> link) {
+        if (!flowFlushScheduled) {
+            flowFlushScheduled = true;
+            getEngine().runAtBatchEnd(this::flushDeferredFlows);
+        }
+
+        if (link == null) {
+            deferredSessionFlow = true;
+        } else {
+            if (deferredLinkFlows == null) {
+                deferredLinkFlows = new LinkedHashSet<>();
+            }
+
+            deferredLinkFlows.add(link);
+        }
+    }
+
+    private void flushDeferredFlows() {
+        final boolean sessionFlowRequested = deferredSessionFlow;
+
+        flowFlushScheduled = false;
+        deferredSessionFlow = false;
+
+        boolean flowWritten = false;
+
+        if (!localEndSent) {
+            if (deferredLinkFlows != null && !deferredLinkFlows.isEmpty()) {
+                for (ProtonLink<?> link : deferredLinkFlows) {
+                    if (link.isLocallyOpen() && link.wasLocalAttachSent() && !link.wasLocalDetachSent()) {
+                        doWriteFlow(link);
+                        flowWritten = true;
+                    }
+                }
+            }
+
+            if (sessionFlowRequested && !flowWritten) {
+                doWriteFlow(null);
+            }
+        }
+
+        if (deferredLinkFlows != null) {
+            deferredLinkFlows.clear();
+        }
+    }
+
+    private void doWriteFlow(ProtonLink<?> link) {
         cachedFlow.reset();
 
         // (AmqpSpec:Section 2.7.4) This value must not be set if the remote begin has not been received.
@@ -16,10 +16,13 @@
  */
 package org.apache.qpid.protonj2.engine.impl;
 
+import java.util.List;
+import java.util.Objects;
+
 import org.apache.qpid.protonj2.buffer.ProtonBuffer;
 import org.apache.qpid.protonj2.engine.exceptions.ProtocolViolationException;
 import org.apache.qpid.protonj2.engine.util.SequenceNumber;
-import org.apache.qpid.protonj2.engine.util.SplayMap;
+import org.apache.qpid.protonj2.engine.util.UnsettledMap;
 import org.apache.qpid.protonj2.types.UnsignedInteger;
 import org.apache.qpid.protonj2.types.transport.Begin;
 import org.apache.qpid.protonj2.types.transport.Disposition;
@@ -57,10 +60,13 @@ public class ProtonSessionIncomingWindow {
     private long maxFrameSize;
     private long incomingBytes;
 
-    private SplayMap<ProtonIncomingDelivery> unsettled = new SplayMap<>();
+    private UnsettledMap<ProtonIncomingDelivery> unsettled = new UnsettledMap<>();
+
+    private final ProtonSessionMetrics metrics;
 
     public ProtonSessionIncomingWindow(ProtonSession session) {
         this.session = session;
+        this.metrics = session.metricsRecorder();
         this.engine = session.getConnection().getEngine();
         this.maxFrameSize = session.getConnection().getMaxFrameSize();
     }
@@ -136,9 +142,12 @@ public class ProtonSessionIncomingWindow {
         incomingWindow--;
         nextIncomingId++;
 
+        metrics.recordIncomingWindow(incomingWindow);
+
         ProtonIncomingDelivery delivery = link.remoteTransfer(transfer, payload);
         if (!delivery.isRemotelySettled() && delivery.isFirstTransfer()) {
             unsettled.put((int) delivery.getDeliveryId(), delivery);
+            metrics.recordIncomingUnsettled(unsettled.size());
         }
 
         return transfer;
@@ -167,26 +176,20 @@ public class ProtonSessionIncomingWindow {
             }
         }
 
+        metrics.recordIncomingUnsettled(unsettled.size());
+
         return disposition;
     }
 
     private void handleRangedDisposition(Disposition disposition) {
         final int first = (int) disposition.getFirst();
         final int last = (int) disposition.getLast();
-        final boolean settled = disposition.getSettled();
-
-        int index = first;
-        ProtonIncomingDelivery delivery;
 
-        // TODO: If SplayMap gets a subMap that works we could get the ranged view which would
-        //       be more efficient.
-        do {
-            delivery = settled ? unsettled.remove(index) : unsettled.get(index);
-
-            if (delivery != null) {
-                delivery.getLink().remoteDisposition(disposition, delivery);
-            }
-        } while (index++ != last);
+        if (disposition.getSettled()) {
+            unsettled.removeEachInRange(first, last, delivery -> delivery.getLink().remoteDisposition(disposition, delivery));
+        } else {
+            unsettled.forEachInRange(first, last, delivery -> delivery.getLink().remoteDisposition(disposition, delivery));
+        }
     }
 
     long updateIncomingWindow() {
@@ -198,6 +201,8 @@ public class ProtonSessionIncomingWindow {
             incomingWindow = (incomingCapacity - incomingBytes) / maxFrameSize;
         }
 
+        metrics.recordIncomingWindow(incomingWindow);
+
         return incomingWindow;
     }
 
@@ -229,6 +234,7 @@ public class ProtonSessionIncomingWindow {
             // Would only be tracked if not already remotely settled.
             if (delivery.isSettled()) {
                 unsettled.remove((int) delivery.getDeliveryId());
+                metrics.recordIncomingUnsettled(unsettled.size());
             }
 
             cachedDisposition.reset();
@@ -241,6 +247,57 @@ public class ProtonSessionIncomingWindow {
         }
     }
 
+    void processDispositions(ProtonReceiver receiver, List<ProtonIncomingDelivery> deliveries) {
+        ProtonIncomingDelivery first = null;
+        ProtonIncomingDelivery last = null;
+
+        for (ProtonIncomingDelivery delivery : deliveries) {
+            if (delivery.isRemotelySettled()) {
+                continue;
+            }
+
+            // Would only be tracked if not already remotely settled.
+            if (delivery.isSettled()) {
+                unsettled.remove((int) delivery.getDeliveryId());
+            }
+
+            if (first != null && !canExtendRange(last, delivery)) {
+                writeRangedDisposition(first, last);
+                first = null;
+            }
+
+            if (first == null) {
+                first = delivery;
+            }
+
+            last = delivery;
+        }
+
+        if (first != null) {
+            writeRangedDisposition(first, last);
+            metrics.recordIncomingUnsettled(unsettled.size());
+        }
+    }
+
+    private static boolean canExtendRange(ProtonIncomingDelivery last, ProtonIncomingDelivery next) {
+        return (int) (last.getDeliveryId() + 1) == (int) next.getDeliveryId() &&
+               last.isSettled() == next.isSettled() &&
+               Objects.equals(last.getState(), next.getState());
+    }
+
+    private void writeRangedDisposition(ProtonIncomingDelivery first, ProtonIncomingDelivery last) {
+        cachedDisposition.reset();
+        cachedDisposition.setFirst(first.getDeliveryId());
+        if (first != last) {
+            cachedDisposition.setLast(last.getDeliveryId());
+        }
+        cachedDisposition.setRole(Role.RECEIVER);
+        cachedDisposition.setSettled(first.isSettled());
+        cachedDisposition.setState(first.getState());
+
+        engine.fireWrite(cachedDisposition, session.getLocalChannel());
+    }
+
     void deliveryRead(ProtonIncomingDelivery delivery, int bytesRead) {
         this.incomingBytes -= bytesRead;
         if (incomingWindow == 0) {
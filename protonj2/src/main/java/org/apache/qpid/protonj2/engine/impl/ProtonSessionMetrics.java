@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.engine.impl;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.qpid.protonj2.engine.SessionMetrics;
+
+/**
+ * Window and unsettled delivery counters recorded by a {@link ProtonSession}
+ */
+final class ProtonSessionMetrics extends ProtonMetricsCounters {
+
+    private static final int INCOMING_UNSETTLED = 0;
+    private static final int OUTGOING_UNSETTLED = 1;
+    private static final int INCOMING_WINDOW_CLOSED_SINCE = 2;
+    private static final int INCOMING_WINDOW_CLOSED_TIME = 3;
+    private static final int REMOTE_INCOMING_WINDOW_CLOSED_SINCE = 4;
+    private static final int REMOTE_INCOMING_WINDOW_CLOSED_TIME = 5;
+
+    private static final int COUNTERS = 6;
+
+    ProtonSessionMetrics() {
+        super(COUNTERS);
+
+        set(INCOMING_WINDOW_CLOSED_SINCE, NOT_IN_STATE);
+        set(REMOTE_INCOMING_WINDOW_CLOSED_SINCE, NOT_IN_STATE);
+    }
+
+    void recordIncomingUnsettled(int unsettled) {
+        if (get(INCOMING_UNSETTLED) != unsettled) {
+            beginUpdate();
+            set(INCOMING_UNSETTLED, unsettled);
+            endUpdate();
+        }
+    }
+
+    void recordOutgoingUnsettled(int unsettled) {
+        if (get(OUTGOING_UNSETTLED) != unsettled) {
+            beginUpdate();
+            set(OUTGOING_UNSETTLED, unsettled);
+            endUpdate();
+        }
+    }
+
+    void recordIncomingWindow(long incomingWindow) {
+        if ((incomingWindow <= 0) != (get(INCOMING_WINDOW_CLOSED_SINCE) != NOT_IN_STATE)) {
+            beginUpdate();
+            recordState(INCOMING_WINDOW_CLOSED_SINCE, INCOMING_WINDOW_CLOSED_TIME, incomingWindow <= 0);
+            endUpdate();
+        }
+    }
+
+    void recordRemoteIncomingWindow(long remoteIncomingWindow) {
+        if ((remoteIncomingWindow <= 0) != (get(REMOTE_INCOMING_WINDOW_CLOSED_SINCE) != NOT_IN_STATE)) {
+            beginUpdate();
+            recordState(REMOTE_INCOMING_WINDOW_CLOSED_SINCE, REMOTE_INCOMING_WINDOW_CLOSED_TIME, remoteIncomingWindow <= 0);
+            endUpdate();
+        }
+    }
+
+    SessionMetrics snapshot() {
+        return new SessionMetricsSnapshot(copy(), System.nanoTime());
+    }
+
+    private static final class SessionMetricsSnapshot implements SessionMetrics {
+
+        private final long[] counters;
+        private final long timestamp;
+
+        SessionMetricsSnapshot(long[] counters, long timestamp) {
+            this.counters = counters;
+            this.timestamp = timestamp;
+        }
+
+        @Override
+        public long getIncomingUnsettled() {
+            return counters[INCOMING_UNSETTLED];
+        }
+
+        @Override
+        public long getOutgoingUnsettled() {
+            return counters[OUTGOING_UNSETTLED];
+        }
+
+        @Override
+        public boolean isIncomingWindowClosed() {
+            return counters[INCOMING_WINDOW_CLOSED_SINCE] != NOT_IN_STATE;
+        }
+
+        @Override
+        public long getTimeIncomingWindowClosed(TimeUnit unit) {
+            return unit.convert(timeInState(counters, INCOMING_WINDOW_CLOSED_SINCE, INCOMING_WINDOW_CLOSED_TIME, timestamp), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public boolean isRemoteIncomingWindowClosed() {
+            return counters[REMOTE_INCOMING_WINDOW_CLOSED_SINCE] != NOT_IN_STATE;
+        }
+
+        @Override
+        public long getTimeRemoteIncomingWindowClosed(TimeUnit unit) {
+            return unit.convert(timeInState(counters, REMOTE_INCOMING_WINDOW_CLOSED_SINCE, REMOTE_INCOMING_WINDOW_CLOSED_TIME, timestamp), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public String toString() {
+            return "SessionMetrics { incomingUnsettled=" + getIncomingUnsettled() +
+                   ", outgoingUnsettled=" + getOutgoingUnsettled() +
+                   ", incomingWindowClosedMillis=" + getTimeIncomingWindowClosed(TimeUnit.MILLISECONDS) +
+                   ", remoteIncomingWindowClosedMillis=" + getTimeRemoteIncomingWindowClosed(TimeUnit.MILLISECONDS) + " }";
+        }
+    }
+}
@@ -20,7 +20,7 @@ import java.util.Set;
 
 import org.apache.qpid.protonj2.buffer.ProtonBuffer;
 import org.apache.qpid.protonj2.engine.OutgoingAMQPEnvelope;
-import org.apache.qpid.protonj2.engine.util.SplayMap;
+import org.apache.qpid.protonj2.engine.util.UnsettledMap;
 import org.apache.qpid.protonj2.types.DeliveryTag;
 import org.apache.qpid.protonj2.types.transport.Begin;
 import org.apache.qpid.protonj2.types.transport.Disposition;
@@ -58,10 +58,12 @@ public class ProtonSessionOutgoingWindow {
     private long remoteIncomingWindow;
     private int remoteNextIncomingId = nextOutgoingId;
 
-    private final SplayMap<ProtonOutgoingDelivery> unsettled = new SplayMap<>();
+    private final UnsettledMap<ProtonOutgoingDelivery> unsettled = new UnsettledMap<>();
+    private final ProtonSessionMetrics metrics;
 
     public ProtonSessionOutgoingWindow(ProtonSession session) {
         this.session = session;
+        this.metrics = session.metricsRecorder();
         this.engine = session.getConnection().getEngine();
         this.localChannel = session.getLocalChannel();
     }
@@ -173,6 +175,7 @@ public class ProtonSessionOutgoingWindow {
      */
     Begin handleBegin(Begin begin) {
         remoteIncomingWindow = begin.getIncomingWindow();
+        metrics.recordRemoteIncomingWindow(remoteIncomingWindow);
         return begin;
     }
 
@@ -191,6 +194,7 @@ public class ProtonSessionOutgoingWindow {
         }
 
         writeable = remoteIncomingWindow > 0 && pendingOutgoingWrites <= outgoingWindowLowWaterMark;
+        metrics.recordRemoteIncomingWindow(remoteIncomingWindow);
 
         return flow;
     }
@@ -228,26 +232,20 @@ public class ProtonSessionOutgoingWindow {
             }
         }
 
+        metrics.recordOutgoingUnsettled(unsettled.size());
+
         return disposition;
     }
 
     private void handleRangedDisposition(Disposition disposition) {
         final int first = (int) disposition.getFirst();
         final int last = (int) disposition.getLast();
-        final boolean settled = disposition.getSettled();
-
-        int index = first;
-        ProtonOutgoingDelivery delivery;
 
-        // TODO: If SplayMap gets a subMap that works we could get the ranged view which would
-        //       be more efficient.
-        do {
-            delivery = settled ? unsettled.remove(index) : unsettled.get(index);
-
-            if (delivery != null) {
-                delivery.getLink().remoteDisposition(disposition, delivery);
-            }
-        } while (index++ != last);
+        if (disposition.getSettled()) {
+            unsettled.removeEachInRange(first, last, delivery -> delivery.getLink().remoteDisposition(disposition, delivery));
+        } else {
+            unsettled.forEachInRange(first, last, delivery -> delivery.getLink().remoteDisposition(disposition, delivery));
+        }
     }
 
     //----- Handle sender link actions in the session window context
@@ -265,6 +263,7 @@ public class ProtonSessionOutgoingWindow {
 
         if (!delivery.isSettled()) {
             unsettled.put((int) delivery.getDeliveryId(), delivery);
+            metrics.recordOutgoingUnsettled(unsettled.size());
         }
 
         try {
@@ -285,6 +284,7 @@ public class ProtonSessionOutgoingWindow {
                 --remoteIncomingWindow;
 
                 writeable = pendingOutgoingWrites < outgoingWindowHighWaterMark && remoteIncomingWindow > 0;
+                metrics.recordRemoteIncomingWindow(remoteIncomingWindow);
 
                 // Only the first transfer requires the delivery tag, afterwards we can omit it for efficiency.
                 if (delivery.getTransferCount() == 0) {
@@ -314,6 +314,7 @@ public class ProtonSessionOutgoingWindow {
         // Would only be tracked if not already remotely settled.
         if (delivery.isSettled() && !delivery.isRemotelySettled()) {
             unsettled.remove((int) delivery.getDeliveryId());
+            metrics.recordOutgoingUnsettled(unsettled.size());
         }
 
         if (!delivery.isRemotelySettled()) {
@@ -339,6 +340,7 @@ public class ProtonSessionOutgoingWindow {
 
         // Ensure we don't track the aborted delivery any longer.
         unsettled.remove((int) delivery.getDeliveryId());
+        metrics.recordOutgoingUnsettled(unsettled.size());
 
         try {
             engine.fireWrite(cachedTransfer, session.getLocalChannel());
@@ -0,0 +1,692 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.engine.util;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.qpid.protonj2.logging.ProtonLogger;
+import org.apache.qpid.protonj2.logging.ProtonLoggerFactory;
+
+/**
+ * Timer that schedules tasks onto a hashed wheel of buckets that is advanced by a single
+ * worker thread at a fixed tick interval.
+ * <p>
+ * Scheduling and cancellation of a task are O(1) operations that do not contend on a shared
+ * priority queue, which makes the timer well suited to large numbers of timeouts that are
+ * usually cancelled or rescheduled before they expire, such as idle timeout checks and request
+ * timeouts spread over many connections.  The trade off is that tasks are run only on tick
+ * boundaries so a task can run up to one tick duration later than requested.
+ * <p>
+ * Tasks scheduled directly on the timer run on the timer thread and must not block.  Use
+ * {@link #scheduler(Executor)} to obtain a {@link ScheduledExecutorService} view that runs its
+ * tasks on a specific executor, which is how an {@link org.apache.qpid.protonj2.engine.Engine}
+ * or client connection attaches to a shared timer while keeping its single threaded execution.
+ */
+public class HashedWheelTimer implements AutoCloseable {
+
+    private static final ProtonLogger LOG = ProtonLoggerFactory.getLogger(HashedWheelTimer.class);
+
+    public static final long DEFAULT_TICK_DURATION = 10;
+    public static final int DEFAULT_TICKS_PER_WHEEL = 512;
+
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private static final int WORKER_INIT = 0;
+    private static final int WORKER_STARTED = 1;
+    private static final int WORKER_SHUTDOWN = 2;
+
+    private static final AtomicIntegerFieldUpdater<HashedWheelTimer> WORKER_STATE_UPDATER =
+        AtomicIntegerFieldUpdater.newUpdater(HashedWheelTimer.class, "workerState");
+
+    private final long tickDuration;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Queue<WheelTimeout<?>> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<WheelTimeout<?>> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final Thread workerThread;
+
+    private volatile long startTime;
+    private volatile int workerState;
+
+    /**
+     * Creates a new timer with the default tick duration and wheel size.
+     *
+     * @param threadName
+     *      The name given to the timer worker thread.
+     */
+    public HashedWheelTimer(String threadName) {
+        this(threadName, DEFAULT_TICK_DURATION, TimeUnit.MILLISECONDS, DEFAULT_TICKS_PER_WHEEL);
+    }
+
+    /**
+     * Creates a new timer.
+     *
+     * @param threadName
+     *      The name given to the timer worker thread.
+     * @param tickDuration
+     *      The duration between ticks of the wheel which is the resolution of the timer.
+     * @param unit
+     *      The time unit of the tick duration.
+     * @param ticksPerWheel
+     *      The number of buckets in the wheel which is rounded up to a power of two.
+     */
+    public HashedWheelTimer(String threadName, long tickDuration, TimeUnit unit, int ticksPerWheel) {
+        Objects.requireNonNull(unit, "Tick duration time unit cannot be null");
+
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("Tick duration must be greater than zero: " + tickDuration);
+        }
+        if (ticksPerWheel <= 0 || ticksPerWheel > (1 << 30)) {
+            throw new IllegalArgumentException("Ticks per wheel must be in the range (0, 2^30]: " + ticksPerWheel);
+        }
+
+        int wheelSize = Integer.highestOneBit(ticksPerWheel);
+        if (wheelSize < ticksPerWheel) {
+            wheelSize <<= 1;
+        }
+
+        this.tickDuration = Math.max(unit.toNanos(tickDuration), TimeUnit.MILLISECONDS.toNanos(1));
+        this.wheel = new Bucket[wheelSize];
+        this.mask = wheelSize - 1;
+
+        for (int i = 0; i < wheelSize; ++i) {
+            wheel[i] = new Bucket();
+        }
+
+        this.workerThread = new Thread(new Worker(), threadName);
+        this.workerThread.setDaemon(true);
+    }
+
+    /**
+     * Schedules the given task to run on the timer thread after the given delay.
+     *
+     * @param task
+     *      The task to run once the delay has elapsed.
+     * @param delay
+     *      The delay before the task should be run.
+     * @param unit
+     *      The time unit of the delay value.
+     *
+     * @return a {@link ScheduledFuture} that can be used to cancel the task.
+     *
+     * @throws RejectedExecutionException if the timer has been closed.
+     */
+    public ScheduledFuture<?> schedule(Runnable task, long delay, TimeUnit unit) {
+        Objects.requireNonNull(task, "Scheduled task cannot be null");
+        return schedule(null, () -> {
+            task.run();
+            return null;
+        }, delay, 0, unit);
+    }
+
+    /**
+     * Schedules the given task to run on the timer thread after the given delay.
+     *
+     * @param <V> The result type of the given task.
+     * @param task
+     *      The task to run once the delay has elapsed.
+     * @param delay
+     *      The delay before the task should be run.
+     * @param unit
+     *      The time unit of the delay value.
+     *
+     * @return a {@link ScheduledFuture} that can be used to cancel the task or await its result.
+     *
+     * @throws RejectedExecutionException if the timer has been closed.
+     */
+    public <V> ScheduledFuture<V> schedule(Callable<V> task, long delay, TimeUnit unit) {
+        return schedule(null, task, delay, 0, unit);
+    }
+
+    /**
+     * Creates a {@link ScheduledExecutorService} view of this timer whose tasks are tracked on
+     * this timer's wheel but run on the given executor once they expire.  Tasks submitted for
+     * immediate execution are passed directly to the executor.  Shutting down the returned
+     * service does not shut down either this timer or the given executor.
+     *
+     * @param executor
+     *      The executor that all tasks should be run on.
+     *
+     * @return a {@link ScheduledExecutorService} that schedules tasks using this timer.
+     */
+    public ScheduledExecutorService scheduler(Executor executor) {
+        return new WheelScheduler(Objects.requireNonNull(executor, "Task executor cannot be null"));
+    }
+
+    /**
+     * @return the number of tasks that are currently scheduled and not yet expired or cancelled.
+     */
+    public int pendingTimeouts() {
+        return pendingCount.get();
+    }
+
+    /**
+     * @return true if the timer has been closed and will not accept new tasks.
+     */
+    public boolean isClosed() {
+        return workerState == WORKER_SHUTDOWN;
+    }
+
+    /**
+     * Stops the timer thread, any tasks that have not yet expired are cancelled.
+     */
+    @Override
+    public void close() {
+        final int previous = WORKER_STATE_UPDATER.getAndSet(this, WORKER_SHUTDOWN);
+
+        if (previous == WORKER_STARTED && Thread.currentThread() != workerThread) {
+            LockSupport.unpark(workerThread);
+
+            boolean interrupted = false;
+            while (workerThread.isAlive()) {
+                try {
+                    workerThread.join(100);
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        } else if (previous == WORKER_INIT) {
+            cancelAllPending();
+        }
+    }
+
+    //----- Internal implementation
+
+    private <V> WheelTimeout<V> schedule(Executor dispatcher, Callable<V> task, long delay, long period, TimeUnit unit) {
+        Objects.requireNonNull(task, "Scheduled task cannot be null");
+        Objects.requireNonNull(unit, "Time unit cannot be null");
+
+        start();
+
+        final WheelTimeout<V> timeout = new WheelTimeout<>(dispatcher, task, System.nanoTime() + unit.toNanos(Math.max(0, delay)), unit.toNanos(period));
+
+        enqueue(timeout);
+
+        return timeout;
+    }
+
+    private void enqueue(WheelTimeout<?> timeout) {
+        pendingCount.incrementAndGet();
+        pendingTimeouts.add(timeout);
+
+        // Guard against a close racing with the add, the worker will not drain it again.
+        if (workerState == WORKER_SHUTDOWN && pendingTimeouts.remove(timeout)) {
+            pendingCount.decrementAndGet();
+            throw new RejectedExecutionException("Timer has been closed");
+        }
+    }
+
+    private void start() {
+        switch (workerState) {
+            case WORKER_INIT:
+                if (WORKER_STATE_UPDATER.compareAndSet(this, WORKER_INIT, WORKER_STARTED)) {
+                    startTime = System.nanoTime();
+                    workerThread.start();
+                }
+                break;
+            case WORKER_STARTED:
+                break;
+            default:
+                throw new RejectedExecutionException("Timer has been closed");
+        }
+    }
+
+    private void cancelAllPending() {
+        WheelTimeout<?> timeout;
+        while ((timeout = pendingTimeouts.poll()) != null) {
+            timeout.cancel(false);
+        }
+
+        // Nothing remains in the wheel that would need unlinking.
+        cancelledTimeouts.clear();
+    }
+
+    private final class Worker implements Runnable {
+
+        private long tick;
+
+        @Override
+        public void run() {
+            while (workerState == WORKER_STARTED) {
+                final long deadline = waitForNextTick();
+
+                if (deadline > 0) {
+                    processCancelled();
+                    transferPending();
+                    wheel[(int) (tick & mask)].expire(deadline);
+                    tick++;
+                }
+            }
+
+            // Clean up everything that remained in the wheel or was never added to it.
+            for (Bucket bucket : wheel) {
+                bucket.clear();
+            }
+
+            cancelAllPending();
+        }
+
+        private long waitForNextTick() {
+            final long deadline = tickDuration * (tick + 1);
+
+            while (true) {
+                final long currentTime = System.nanoTime() - startTime;
+                final long sleepTime = deadline - currentTime;
+
+                if (sleepTime <= 0) {
+                    return currentTime;
+                }
+
+                LockSupport.parkNanos(HashedWheelTimer.this, sleepTime);
+
+                if (workerState != WORKER_STARTED) {
+                    return -1;
+                }
+            }
+        }
+
+        private void transferPending() {
+            for (int i = 0; i < MAX_TRANSFERS_PER_TICK; ++i) {
+                final WheelTimeout<?> timeout = pendingTimeouts.poll();
+                if (timeout == null) {
+                    break;
+                }
+
+                if (!timeout.isCancelled()) {
+                    final long calculated = (timeout.deadline - startTime) / tickDuration;
+                    final long ticks = Math.max(calculated, tick); // Expired deadlines go in the current bucket.
+
+                    timeout.remainingRounds = (calculated - tick) / wheel.length;
+                    wheel[(int) (ticks & mask)].add(timeout);
+                }
+            }
+        }
+
+        private void processCancelled() {
+            WheelTimeout<?> timeout;
+            while ((timeout = cancelledTimeouts.poll()) != null) {
+                if (timeout.bucket != null) {
+                    timeout.bucket.remove(timeout);
+                }
+            }
+        }
+    }
+
+    /*
+     * Doubly linked list of the timeouts that fall within a single slot of the wheel, only the
+     * worker thread accesses the bucket contents.
+     */
+    private final class Bucket {
+
+        private WheelTimeout<?> head;
+        private WheelTimeout<?> tail;
+
+        void add(WheelTimeout<?> timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void expire(long deadline) {
+            WheelTimeout<?> timeout = head;
+
+            while (timeout != null) {
+                final WheelTimeout<?> next = timeout.next;
+
+                if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    timeout.expire();
+                } else if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+
+                timeout = next;
+            }
+        }
+
+        void remove(WheelTimeout<?> timeout) {
+            final WheelTimeout<?> next = timeout.next;
+
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+
+            if (timeout == head) {
+                if (timeout == tail) {
+                    tail = null;
+                    head = null;
+                } else {
+                    head = next;
+                }
+            } else if (timeout == tail) {
+                tail = timeout.prev;
+            }
+
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        void clear() {
+            WheelTimeout<?> timeout;
+            while ((timeout = head) != null) {
+                remove(timeout);
+                timeout.cancel(false);
+            }
+        }
+    }
+
+    private final class WheelTimeout<V> implements ScheduledFuture<V>, Runnable {
+
+        private static final int PENDING = 0;
+        private static final int RUNNING = 1;
+        private static final int COMPLETED = 2;
+        private static final int FAILED = 3;
+        private static final int CANCELLED = 4;
+
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        private final Executor dispatcher;
+        private final Callable<V> task;
+        private final long period;
+
+        // Updated by the worker thread only.
+        private volatile long deadline;
+        private long remainingRounds;
+        private Bucket bucket;
+        private WheelTimeout<?> next;
+        private WheelTimeout<?> prev;
+
+        private V result;
+        private Throwable failure;
+
+        WheelTimeout(Executor dispatcher, Callable<V> task, long deadline, long period) {
+            this.dispatcher = dispatcher;
+            this.task = task;
+            this.deadline = deadline;
+            this.period = period;
+        }
+
+        void expire() {
+            if (isCancelled()) {
+                return;
+            }
+
+            if (dispatcher == null) {
+                run();
+            } else {
+                try {
+                    dispatcher.execute(this);
+                } catch (RejectedExecutionException rex) {
+                    LOG.trace("Timer task dispatch was rejected, task will be cancelled: ", rex);
+                    cancel(false);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            if (!state.compareAndSet(PENDING, RUNNING)) {
+                return;
+            }
+
+            try {
+                final V value = task.call();
+
+                if (period == 0) {
+                    complete(COMPLETED, value, null);
+                } else if (state.compareAndSet(RUNNING, PENDING)) {
+                    deadline = period > 0 ? deadline + period : System.nanoTime() - period;
+                    try {
+                        // Re-enqueue counts the task again so drop the count from this run first.
+                        pendingCount.decrementAndGet();
+                        enqueue(this);
+                    } catch (RejectedExecutionException rex) {
+                        cancel(false);
+                    }
+                }
+            } catch (Throwable error) {
+                LOG.trace("Timer task threw an error during execution: ", error);
+                complete(FAILED, null, error);
+            }
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            if (other == this) {
+                return 0;
+            }
+
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            while (true) {
+                final int current = state.get();
+
+                if (current == PENDING) {
+                    if (state.compareAndSet(PENDING, CANCELLED)) {
+                        pendingCount.decrementAndGet();
+                        cancelledTimeouts.add(this);
+                        signalDone();
+                        return true;
+                    }
+                } else if (current == RUNNING && period != 0) {
+                    // The run in progress sees the cancellation and does not schedule the next run,
+                    // the task is not in a bucket while it runs so there is nothing to unlink.
+                    if (state.compareAndSet(RUNNING, CANCELLED)) {
+                        pendingCount.decrementAndGet();
+                        signalDone();
+                        return true;
+                    }
+                } else {
+                    return false;
+                }
+            }
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        @Override
+        public boolean isDone() {
+            return state.get() > RUNNING;
+        }
+
+        @Override
+        public synchronized V get() throws InterruptedException, ExecutionException {
+            while (!isDone()) {
+                wait();
+            }
+
+            return report();
+        }
+
+        @Override
+        public synchronized V get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            final long deadline = System.nanoTime() + unit.toNanos(timeout);
+
+            while (!isDone()) {
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new TimeoutException("Timed out waiting for scheduled task to complete");
+                }
+
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+
+            return report();
+        }
+
+        private V report() throws ExecutionException {
+            switch (state.get()) {
+                case CANCELLED:
+                    throw new CancellationException();
+                case FAILED:
+                    throw new ExecutionException(failure);
+                default:
+                    return result;
+            }
+        }
+
+        private void complete(int outcome, V value, Throwable error) {
+            this.result = value;
+            this.failure = error;
+
+            if (state.compareAndSet(RUNNING, outcome)) {
+                pendingCount.decrementAndGet();
+                signalDone();
+            }
+        }
+
+        private synchronized void signalDone() {
+            notifyAll();
+        }
+    }
+
+    private final class WheelScheduler extends AbstractExecutorService implements ScheduledExecutorService {
+
+        private final Executor executor;
+
+        private volatile boolean shutdown;
+
+        WheelScheduler(Executor executor) {
+            this.executor = executor;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            checkShutdown();
+            executor.execute(command);
+        }
+
+        @Override
+        public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+            Objects.requireNonNull(command, "Scheduled task cannot be null");
+            checkShutdown();
+            return HashedWheelTimer.this.schedule(executor, () -> {
+                command.run();
+                return null;
+            }, delay, 0, unit);
+        }
+
+        @Override
+        public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+            checkShutdown();
+            return HashedWheelTimer.this.schedule(executor, callable, delay, 0, unit);
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+            Objects.requireNonNull(command, "Scheduled task cannot be null");
+            if (period <= 0) {
+                throw new IllegalArgumentException("Period must be greater than zero");
+            }
+            checkShutdown();
+            return HashedWheelTimer.this.schedule(executor, () -> {
+                command.run();
+                return null;
+            }, initialDelay, period, unit);
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+            Objects.requireNonNull(command, "Scheduled task cannot be null");
+            if (delay <= 0) {
+                throw new IllegalArgumentException("Delay must be greater than zero");
+            }
+            checkShutdown();
+            // A negative period signals that the next deadline is computed from the end of a run.
+            return HashedWheelTimer.this.schedule(executor, () -> {
+                command.run();
+                return null;
+            }, initialDelay, -delay, unit);
+        }
+
+        @Override
+        public void shutdown() {
+            shutdown = true;
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            shutdown = true;
+            return Collections.emptyList();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return shutdown || isClosed();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return isShutdown();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return isShutdown();
+        }
+
+        private void checkShutdown() {
+            if (isShutdown()) {
+                throw new RejectedExecutionException("Scheduler has been shut down");
+            }
+        }
+    }
+}
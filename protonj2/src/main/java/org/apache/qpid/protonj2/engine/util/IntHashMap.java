@@ -0,0 +1,311 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.engine.util;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Open addressing hash table that maps primitive integer keys to values without boxing the
+ * keys or allocating per entry.
+ * <p>
+ * The table is intended for lookups of endpoints by channel or handle number where the keys
+ * are allocated from zero upwards by each peer.  Keys are placed at the slot matching their
+ * value masked to the table size, so a table holding a dense range of small keys behaves as a
+ * direct indexed array with no collisions, while larger or sparse keys fall back to linear
+ * probing.  Null values are not permitted.
+ *
+ * @param <E> The type stored in the map values
+ */
+public class IntHashMap<E> {
+
+    public static final int DEFAULT_INITIAL_CAPACITY = 8;
+
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private int[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+    private int modCount;
+
+    private Collection<E> valuesView;
+
+    public IntHashMap() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * Creates a new map sized to hold the given number of entries before needing to grow.
+     *
+     * @param expectedEntries
+     *      The number of entries the map should hold without growing its storage.
+     */
+    public IntHashMap(int expectedEntries) {
+        if (expectedEntries < 0) {
+            throw new IllegalArgumentException("Expected entries cannot be negative: " + expectedEntries);
+        }
+
+        allocate(capacityFor(Math.max(1, expectedEntries)));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public E get(int key) {
+        for (int index = key & mask; values[index] != null; index = (index + 1) & mask) {
+            if (keys[index] == key) {
+                return (E) values[index];
+            }
+        }
+
+        return null;
+    }
+
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public E put(int key, E value) {
+        Objects.requireNonNull(value, "Values stored in an IntHashMap cannot be null");
+
+        int index = key & mask;
+        for (; values[index] != null; index = (index + 1) & mask) {
+            if (keys[index] == key) {
+                final E oldValue = (E) values[index];
+                values[index] = value;
+                return oldValue;
+            }
+        }
+
+        keys[index] = key;
+        values[index] = value;
+        modCount++;
+
+        if (++size > resizeThreshold) {
+            rehash(values.length << 1);
+        }
+
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public E remove(int key) {
+        for (int index = key & mask; values[index] != null; index = (index + 1) & mask) {
+            if (keys[index] == key) {
+                final E removed = (E) values[index];
+                values[index] = null;
+                size--;
+                modCount++;
+                compactChain(index);
+                return removed;
+            }
+        }
+
+        return null;
+    }
+
+    public void clear() {
+        if (size > 0) {
+            Arrays.fill(values, null);
+            size = 0;
+            modCount++;
+        }
+    }
+
+    /**
+     * Performs the given action for each value in the map, no ordering of the values is implied.
+     *
+     * @param action
+     *      The action to be performed for each of the values in the {@link IntHashMap}.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super E> action) {
+        Objects.requireNonNull(action);
+
+        final int initialModCount = modCount;
+
+        for (Object value : values) {
+            if (value != null) {
+                action.accept((E) value);
+            }
+
+            if (modCount != initialModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    /**
+     * @return a read-only {@link Collection} view of the values in this map.
+     */
+    public Collection<E> values() {
+        if (valuesView == null) {
+            valuesView = new IntHashMapValues();
+        }
+
+        return valuesView;
+    }
+
+    //----- Internal implementation
+
+    private static int capacityFor(int entries) {
+        // Keep the load at or below one half which keeps probe sequences short.
+        final long required = (long) entries * 2;
+
+        if (required > MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("Map cannot hold more than " + (MAXIMUM_CAPACITY / 2) + " entries");
+        }
+
+        int capacity = Integer.highestOneBit((int) required);
+        if (capacity < required) {
+            capacity <<= 1;
+        }
+
+        return capacity;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        resizeThreshold = capacity >>> 1;
+    }
+
+    private void rehash(int newCapacity) {
+        if (newCapacity > MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("Map cannot hold more than " + (MAXIMUM_CAPACITY / 2) + " entries");
+        }
+
+        final int[] oldKeys = keys;
+        final Object[] oldValues = values;
+
+        allocate(newCapacity);
+
+        for (int i = 0; i < oldValues.length; ++i) {
+            if (oldValues[i] != null) {
+                int index = oldKeys[i] & mask;
+                while (values[index] != null) {
+                    index = (index + 1) & mask;
+                }
+
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    /*
+     * Shift entries following a removed slot back toward their home slot so that no lookup
+     * sequence is broken by the gap, which avoids the need for tombstone markers.
+     */
+    private void compactChain(int gap) {
+        for (int index = (gap + 1) & mask; values[index] != null; index = (index + 1) & mask) {
+            final int home = keys[index] & mask;
+
+            // The entry can move into the gap only if its home slot is not cyclically
+            // located after the gap and at or before its current position.
+            if ((index > gap && (home <= gap || home > index)) ||
+                (index < gap && (home <= gap && home > index))) {
+
+                keys[gap] = keys[index];
+                values[gap] = values[index];
+                values[index] = null;
+                gap = index;
+            }
+        }
+    }
+
+    private final class IntHashMapValues extends AbstractCollection<E> {
+
+        @Override
+        public Iterator<E> iterator() {
+            return new IntHashMapValueIterator();
+        }
+
+        @Override
+        public int size() {
+            return IntHashMap.this.size;
+        }
+
+        @Override
+        public void clear() {
+            IntHashMap.this.clear();
+        }
+    }
+
+    private final class IntHashMapValueIterator implements Iterator<E> {
+
+        private final int expectedModCount = modCount;
+        private int nextIndex = -1;
+
+        public IntHashMapValueIterator() {
+            advance(0);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextIndex >= 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public E next() {
+            if (nextIndex < 0) {
+                throw new NoSuchElementException();
+            }
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            final E value = (E) values[nextIndex];
+            advance(nextIndex + 1);
+
+            return value;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Cannot remove from an IntHashMap values iterator");
+        }
+
+        private void advance(int from) {
+            for (int i = from; i < values.length; ++i) {
+                if (values[i] != null) {
+                    nextIndex = i;
+                    return;
+                }
+            }
+
+            nextIndex = -1;
+        }
+    }
+}
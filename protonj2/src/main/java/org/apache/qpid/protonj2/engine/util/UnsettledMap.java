@@ -0,0 +1,888 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.engine.util;
+
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import org.apache.qpid.protonj2.types.UnsignedInteger;
+
+/**
+ * Map class that is implemented using a growable circular array and uses primitive integers
+ * as the keys for the specified value type.
+ * <p>
+ * The map is optimized for tracking of unsettled deliveries where the keys are delivery-ids
+ * that are assigned sequentially by the sender and which wrap around using serial number
+ * arithmetic.  Each key is stored at the slot computed from its distance from the current
+ * lowest key in the map which gives O(1) put, get and remove operations and allows ranged
+ * operations to visit only the slots that fall within the requested range.  Iteration order
+ * is the order of the keys using serial number arithmetic starting from the lowest key.
+ * <p>
+ * The backing array must span the range between the lowest and highest key currently stored
+ * so this map is not suitable for sparse key sets, the array is grown as needed to cover the
+ * range of stored keys up to a configured maximum span.  Should a long lived entry force the
+ * span past that maximum the oldest entries are moved into an overflow {@link SplayMap} which
+ * bounds the memory used for the ring while leaving the common sequential case unaffected.
+ * Null values are not permitted.
+ *
+ * @param <E> The type stored in the map entries
+ */
+public class UnsettledMap<E> implements Map<UnsignedInteger, E> {
+
+    public static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    public static final int DEFAULT_MAXIMUM_SPAN = 1 << 18;
+
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private final int maximumSpan;
+
+    /**
+     * Slots for the values in the map, the value for the lowest key is at the head index.
+     */
+    private Object[] slots;
+
+    /**
+     * Index in the backing array of the slot that stores the lowest key.
+     */
+    private int head;
+
+    /**
+     * The lowest key currently stored in the map (only meaningful when not empty).
+     */
+    private int base;
+
+    /**
+     * Number of slots between the lowest and highest key inclusive, zero when empty.
+     */
+    private int span;
+
+    /**
+     * Number of entries stored in the ring portion of the map.
+     */
+    private int size;
+
+    private int modCount;
+
+    /**
+     * Entries evicted from the ring when the key span exceeded the maximum, created on demand.
+     */
+    private SplayMap<E> overflow;
+
+    public UnsettledMap() {
+        this(DEFAULT_INITIAL_CAPACITY, DEFAULT_MAXIMUM_SPAN);
+    }
+
+    public UnsettledMap(int initialCapacity) {
+        this(initialCapacity, DEFAULT_MAXIMUM_SPAN);
+    }
+
+    public UnsettledMap(int initialCapacity, int maximumSpan) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity cannot be negative: " + initialCapacity);
+        }
+        if (maximumSpan <= 0 || maximumSpan > MAXIMUM_CAPACITY) {
+            throw new IllegalArgumentException("Maximum span must be in the range (0, " + MAXIMUM_CAPACITY + "]: " + maximumSpan);
+        }
+
+        this.maximumSpan = maximumSpan;
+        this.slots = new Object[capacityFor(Math.max(1, Math.min(initialCapacity, maximumSpan)))];
+    }
+
+    @Override
+    public int size() {
+        return hasOverflow() ? size + overflow.size() : size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Gets the value of the element stored in the {@link Map} with the key.
+     *
+     * @param key
+     *      the integer key value to search for in the {@link UnsettledMap}.
+     *
+     * @return the value stored for the given key if found or null if not in the {@link Map}.
+     */
+    @SuppressWarnings("unchecked")
+    public E get(int key) {
+        final int offset = key - base;
+
+        final E value = offset < 0 || offset >= span ? null : (E) slots[slotIndex(offset)];
+
+        if (value == null && hasOverflow()) {
+            return overflow.get(key);
+        } else {
+            return value;
+        }
+    }
+
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public E put(int key, E value) {
+        Objects.requireNonNull(value, "Values stored in an UnsettledMap cannot be null");
+
+        final E oldValue;
+
+        if (hasOverflow() && overflow.containsKey(key)) {
+            modCount++;
+            return overflow.put(key, value);
+        }
+
+        if (size == 0) {
+            head = 0;
+            base = key;
+            span = 1;
+            slots[head] = value;
+            oldValue = null;
+        } else {
+            final int offset = key - base;
+
+            if (offset >= 0 && offset < span) {
+                final int index = slotIndex(offset);
+                oldValue = (E) slots[index];
+                slots[index] = value;
+            } else if (offset >= span) {
+                final int newOffset = offset - evictForSpan((long) offset + 1);
+                if (size == 0) {
+                    head = 0;
+                    base = key;
+                    span = 1;
+                    slots[head] = value;
+                } else {
+                    ensureCapacity((long) newOffset + 1);
+                    span = newOffset + 1;
+                    slots[slotIndex(newOffset)] = value;
+                }
+                oldValue = null;
+            } else if ((long) span - offset > maximumSpan) {
+                // Older than anything the ring can cover so it joins the evicted entries.
+                overflow().put(key, value);
+                modCount++;
+                return null;
+            } else {
+                ensureCapacity((long) span - offset);
+                head = (head + offset) & (slots.length - 1);
+                base = key;
+                span -= offset;
+                slots[head] = value;
+                oldValue = null;
+            }
+        }
+
+        if (oldValue == null) {
+            size++;
+        }
+        modCount++;
+
+        return oldValue;
+    }
+
+    public E putIfAbsent(int key, E value) {
+        final E current = get(key);
+
+        if (current == null) {
+            put(key, value);
+        }
+
+        return current;
+    }
+
+    @SuppressWarnings("unchecked")
+    public E remove(int key) {
+        final int offset = key - base;
+
+        if (offset < 0 || offset >= span) {
+            return removeOverflow(key);
+        }
+
+        final int index = slotIndex(offset);
+        final E removed = (E) slots[index];
+
+        if (removed != null) {
+            slots[index] = null;
+            size--;
+            modCount++;
+
+            if (size == 0) {
+                span = 0;
+            } else if (offset == 0) {
+                trimHead();
+            } else if (offset == span - 1) {
+                trimTail();
+            }
+        } else {
+            return removeOverflow(key);
+        }
+
+        return removed;
+    }
+
+    public boolean remove(int key, Object value) {
+        final E current = get(key);
+
+        if (current != null && Objects.equals(current, value)) {
+            remove(key);
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * Visits each value whose key falls within the given inclusive range of keys using serial
+     * number arithmetic, portions of the range outside the stored keys are skipped without cost.
+     * The provided action is allowed to modify the map as each entry is visited.
+     *
+     * @param first
+     *      The first key in the range of keys to visit.
+     * @param last
+     *      The last key in the range of keys to visit.
+     * @param action
+     *      The action to be performed for each of the values in the range.
+     */
+    public void forEachInRange(int first, int last, Consumer<? super E> action) {
+        visitRange(first, last, false, action);
+    }
+
+    /**
+     * Removes each value whose key falls within the given inclusive range of keys using serial
+     * number arithmetic and then passes each removed value to the provided action.  The provided
+     * action is allowed to modify the map as each entry is visited.
+     *
+     * @param first
+     *      The first key in the range of keys to remove.
+     * @param last
+     *      The last key in the range of keys to remove.
+     * @param action
+     *      The action to be performed for each of the values removed from the range.
+     */
+    public void removeEachInRange(int first, int last, Consumer<? super E> action) {
+        visitRange(first, last, true, action);
+    }
+
+    //----- Map interface implementation
+
+    @Override
+    public E put(UnsignedInteger key, E value) {
+        return put(key.intValue(), value);
+    }
+
+    @Override
+    public E putIfAbsent(UnsignedInteger key, E value) {
+        return putIfAbsent(key.intValue(), value);
+    }
+
+    @Override
+    public E get(Object key) {
+        return get(Number.class.cast(key).intValue());
+    }
+
+    @Override
+    public E remove(Object key) {
+        return remove(Number.class.cast(key).intValue());
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        return remove(Number.class.cast(key).intValue(), value);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return containsKey(Number.class.cast(key).intValue());
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        if (hasOverflow() && overflow.containsValue(value)) {
+            return true;
+        }
+
+        if (value != null) {
+            for (int offset = 0; offset < span; ++offset) {
+                if (value.equals(slots[slotIndex(offset)])) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public void putAll(Map<? extends UnsignedInteger, ? extends E> source) {
+        for (Entry<? extends UnsignedInteger, ? extends E> entry : source.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(slots, null);
+
+        if (overflow != null) {
+            overflow.clear();
+        }
+
+        head = 0;
+        span = 0;
+        size = 0;
+        modCount++;
+    }
+
+    // Once requested we will create an store a single instance to a collection
+    // with no state for each of the key, values and entries types.  Since the
+    // types are stateless the trivial race on create is not important to the
+    // eventual outcome of having a cached instance.
+
+    private Set<UnsignedInteger> keySet;
+    private Collection<E> values;
+    private Set<Entry<UnsignedInteger, E>> entrySet;
+
+    @Override
+    public Set<UnsignedInteger> keySet() {
+        if (keySet == null) {
+            keySet = new UnsettledMapKeySet();
+        }
+        return keySet;
+    }
+
+    @Override
+    public Collection<E> values() {
+        if (values == null) {
+            values = new UnsettledMapValues();
+        }
+        return values;
+    }
+
+    @Override
+    public Set<Entry<UnsignedInteger, E>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new UnsettledMapEntrySet();
+        }
+        return entrySet;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void forEach(BiConsumer<? super UnsignedInteger, ? super E> action) {
+        Objects.requireNonNull(action);
+
+        final int initialModCount = modCount;
+
+        if (hasOverflow()) {
+            overflow.forEach(action);
+        }
+
+        for (int offset = 0; offset < span; ++offset) {
+            final E value = (E) slots[slotIndex(offset)];
+            if (value != null) {
+                action.accept(UnsignedInteger.valueOf(base + offset), value);
+            }
+
+            if (modCount != initialModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    /**
+     * A specialized forEach implementation that accepts a {@link Consumer} function that will
+     * be called for each value in the {@link UnsettledMap}.  This method can save overhead as it
+     * does not need to box the primitive key values into an object for the call to the provided
+     * function.  Values are visited in the order of their keys.
+     *
+     * @param action
+     *      The action to be performed for each of the values in the {@link UnsettledMap}.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super E> action) {
+        Objects.requireNonNull(action);
+
+        final int initialModCount = modCount;
+
+        if (hasOverflow()) {
+            overflow.forEach(action);
+        }
+
+        for (int offset = 0; offset < span; ++offset) {
+            final E value = (E) slots[slotIndex(offset)];
+            if (value != null) {
+                action.accept(value);
+            }
+
+            if (modCount != initialModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other == this) {
+            return true;
+        } else if (!(other instanceof Map)) {
+            return false;
+        }
+
+        final Map<?, ?> map = (Map<?, ?>) other;
+        if (map.size() != size()) {
+            return false;
+        }
+
+        try {
+            for (Entry<UnsignedInteger, E> entry : entrySet()) {
+                if (!entry.getValue().equals(map.get(entry.getKey()))) {
+                    return false;
+                }
+            }
+        } catch (ClassCastException | NullPointerException ignored) {
+            return false;
+        }
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (Entry<UnsignedInteger, E> entry : entrySet()) {
+            hash += entry.hashCode();
+        }
+        return hash;
+    }
+
+    //----- Internal implementation
+
+    private boolean hasOverflow() {
+        return overflow != null && !overflow.isEmpty();
+    }
+
+    private SplayMap<E> overflow() {
+        if (overflow == null) {
+            overflow = new SplayMap<>();
+        }
+
+        return overflow;
+    }
+
+    private E removeOverflow(int key) {
+        if (hasOverflow()) {
+            final E removed = overflow.remove(key);
+            if (removed != null) {
+                modCount++;
+            }
+            return removed;
+        } else {
+            return null;
+        }
+    }
+
+    /*
+     * Moves entries from the head of the ring into the overflow map until the ring can span the
+     * required number of slots, returning the number of slots the head was advanced.
+     */
+    @SuppressWarnings("unchecked")
+    private int evictForSpan(long requiredSpan) {
+        int advanced = 0;
+
+        while (requiredSpan - advanced > maximumSpan && size > 0) {
+            final E evicted = (E) slots[head];
+            if (evicted != null) {
+                overflow().put(base, evicted);
+                slots[head] = null;
+                size--;
+            }
+
+            head = (head + 1) & (slots.length - 1);
+            base++;
+            span--;
+            advanced++;
+        }
+
+        if (size > 0 && slots[head] == null) {
+            final int before = base;
+            trimHead();
+            advanced += base - before;
+        }
+
+        return advanced;
+    }
+
+    private int slotIndex(int offset) {
+        return (head + offset) & (slots.length - 1);
+    }
+
+    private static int capacityFor(long required) {
+        if (required > MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("Range of keys in the map cannot exceed " + MAXIMUM_CAPACITY);
+        }
+
+        int capacity = Integer.highestOneBit((int) required);
+        if (capacity < required) {
+            capacity <<= 1;
+        }
+
+        return capacity;
+    }
+
+    private void ensureCapacity(long required) {
+        if (required > slots.length) {
+            final Object[] newSlots = new Object[capacityFor(required)];
+
+            // Unroll the current span so that the lowest key lands at the start of the new array.
+            final int firstChunk = Math.min(span, slots.length - head);
+            System.arraycopy(slots, head, newSlots, 0, firstChunk);
+            System.arraycopy(slots, 0, newSlots, firstChunk, span - firstChunk);
+
+            slots = newSlots;
+            head = 0;
+        }
+    }
+
+    private void trimHead() {
+        // The size is known to be non-zero so there is always a populated slot to stop on.
+        do {
+            head = (head + 1) & (slots.length - 1);
+            base++;
+            span--;
+        } while (slots[head] == null);
+    }
+
+    private void trimTail() {
+        do {
+            span--;
+        } while (slots[slotIndex(span - 1)] == null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void visitRange(int first, int last, boolean remove, Consumer<? super E> action) {
+        Objects.requireNonNull(action);
+
+        if (hasOverflow()) {
+            visitOverflowRange(first, last, remove, action);
+        }
+
+        if (size == 0) {
+            return;
+        }
+
+        // Clip the requested range to the keys that could be present, the action might alter
+        // the map so the keys are tracked and each key is resolved again on visit.
+        final int start = Math.max(0, first - base);
+        final int end = Math.min(span - 1, last - base);
+
+        if (last - first < 0 || start > end) {
+            return;
+        }
+
+        for (int key = base + start, count = end - start; count >= 0; ++key, --count) {
+            final E value = remove ? remove(key) : get(key);
+            if (value != null) {
+                action.accept(value);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void visitOverflowRange(int first, int last, boolean remove, Consumer<? super E> action) {
+        // The overflow holds the oldest entries which are expected to be few so visiting them
+        // all and filtering by the range is cheaper than probing each key in the range.
+        final Object[] keys = overflow.keySet().toArray();
+
+        for (Object key : keys) {
+            final int value = ((UnsignedInteger) key).intValue();
+
+            if (value - first >= 0 && last - value >= 0) {
+                final E entry = remove ? removeOverflow(value) : overflow.get(value);
+                if (entry != null) {
+                    action.accept(entry);
+                }
+            }
+        }
+    }
+
+    //----- Map views
+
+    private abstract class UnsettledMapIterator<T> implements Iterator<T> {
+
+        // Snapshot of any overflow keys which are visited before the ring entries.
+        private final int[] overflowKeys;
+        private int overflowIndex;
+
+        private int nextKey;
+        private boolean hasNext;
+        private int lastReturnedKey;
+        private boolean canRemove;
+        private int expectedModCount;
+
+        public UnsettledMapIterator() {
+            if (hasOverflow()) {
+                overflowKeys = new int[overflow.size()];
+                int index = 0;
+                for (UnsignedInteger key : overflow.keySet()) {
+                    overflowKeys[index++] = key.intValue();
+                }
+            } else {
+                overflowKeys = null;
+            }
+
+            if (overflowKeys != null) {
+                this.nextKey = overflowKeys[overflowIndex++];
+                this.hasNext = true;
+            } else {
+                this.nextKey = base;
+                this.hasNext = size > 0;
+            }
+
+            this.expectedModCount = modCount;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return hasNext;
+        }
+
+        protected int nextKey() {
+            if (!hasNext) {
+                throw new NoSuchElementException();
+            }
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            lastReturnedKey = nextKey;
+            canRemove = true;
+
+            if (overflowKeys != null && overflowIndex <= overflowKeys.length) {
+                if (overflowIndex < overflowKeys.length) {
+                    nextKey = overflowKeys[overflowIndex++];
+                } else {
+                    overflowIndex++;
+                    nextKey = base;
+                    hasNext = size > 0;
+                }
+            } else {
+                int offset = (nextKey - base) + 1;
+                while (offset < span && slots[slotIndex(offset)] == null) {
+                    offset++;
+                }
+
+                hasNext = offset < span;
+                nextKey = base + offset;
+            }
+
+            return lastReturnedKey;
+        }
+
+        @Override
+        public void remove() {
+            if (!canRemove) {
+                throw new IllegalStateException();
+            }
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            UnsettledMap.this.remove(lastReturnedKey);
+
+            expectedModCount = modCount;
+            canRemove = false;
+        }
+    }
+
+    private final class UnsettledMapKeyIterator extends UnsettledMapIterator<UnsignedInteger> {
+
+        @Override
+        public UnsignedInteger next() {
+            return UnsignedInteger.valueOf(nextKey());
+        }
+    }
+
+    private final class UnsettledMapValueIterator extends UnsettledMapIterator<E> {
+
+        @Override
+        public E next() {
+            return get(nextKey());
+        }
+    }
+
+    private final class UnsettledMapEntryIterator extends UnsettledMapIterator<Entry<UnsignedInteger, E>> {
+
+        @Override
+        public Entry<UnsignedInteger, E> next() {
+            return new UnsettledEntry(nextKey());
+        }
+    }
+
+    private final class UnsettledEntry implements Map.Entry<UnsignedInteger, E> {
+
+        private final int key;
+
+        public UnsettledEntry(int key) {
+            this.key = key;
+        }
+
+        @Override
+        public UnsignedInteger getKey() {
+            return UnsignedInteger.valueOf(key);
+        }
+
+        @Override
+        public E getValue() {
+            return get(key);
+        }
+
+        @Override
+        public E setValue(E value) {
+            return put(key, value);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Map.Entry)) {
+                return false;
+            }
+
+            final Map.Entry<?, ?> entry = (Map.Entry<?, ?>) other;
+
+            return Objects.equals(getKey(), entry.getKey()) && Objects.equals(getValue(), entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return getKey().hashCode() ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+
+    private final class UnsettledMapValues extends AbstractCollection<E> {
+
+        @Override
+        public Iterator<E> iterator() {
+            return new UnsettledMapValueIterator();
+        }
+
+        @Override
+        public int size() {
+            return UnsettledMap.this.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return UnsettledMap.this.containsValue(o);
+        }
+
+        @Override
+        public void clear() {
+            UnsettledMap.this.clear();
+        }
+    }
+
+    private final class UnsettledMapKeySet extends AbstractSet<UnsignedInteger> {
+
+        @Override
+        public Iterator<UnsignedInteger> iterator() {
+            return new UnsettledMapKeyIterator();
+        }
+
+        @Override
+        public int size() {
+            return UnsettledMap.this.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return UnsettledMap.this.containsKey(o);
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            return UnsettledMap.this.remove(o) != null;
+        }
+
+        @Override
+        public void clear() {
+            UnsettledMap.this.clear();
+        }
+    }
+
+    private final class UnsettledMapEntrySet extends AbstractSet<Entry<UnsignedInteger, E>> {
+
+        @Override
+        public Iterator<Entry<UnsignedInteger, E>> iterator() {
+            return new UnsettledMapEntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return UnsettledMap.this.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+
+            final Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+            if (!(entry.getKey() instanceof Number)) {
+                return false;
+            }
+
+            final E value = get(entry.getKey());
+
+            return value != null && value.equals(entry.getValue());
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (contains(o)) {
+                UnsettledMap.this.remove(((Map.Entry<?, ?>) o).getKey());
+                return true;
+            } else {
+                return false;
+            }
+        }
+
+        @Override
+        public void clear() {
+            UnsettledMap.this.clear();
+        }
+    }
+}
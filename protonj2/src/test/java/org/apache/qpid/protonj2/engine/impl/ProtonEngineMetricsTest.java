@@ -0,0 +1,275 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.engine.impl;
+
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.qpid.protonj2.buffer.ProtonByteBufferAllocator;
+import org.apache.qpid.protonj2.engine.Connection;
+import org.apache.qpid.protonj2.engine.Engine;
+import org.apache.qpid.protonj2.engine.EngineFactory;
+import org.apache.qpid.protonj2.engine.EngineMetrics;
+import org.apache.qpid.protonj2.engine.LinkMetrics;
+import org.apache.qpid.protonj2.engine.Receiver;
+import org.apache.qpid.protonj2.engine.Sender;
+import org.apache.qpid.protonj2.engine.Session;
+import org.apache.qpid.protonj2.engine.SessionMetrics;
+import org.apache.qpid.protonj2.test.driver.ProtonTestConnector;
+import org.apache.qpid.protonj2.types.transport.Performative.PerformativeType;
+import org.apache.qpid.protonj2.types.transport.Role;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+/**
+ * Tests for the metrics recorded by the engine, sessions and links
+ */
+@Timeout(20)
+public class ProtonEngineMetricsTest extends ProtonEngineTestSupport {
+
+    @Test
+    public void testEngineCountsFramesReadAndWrittenByType() throws Exception {
+        Engine engine = EngineFactory.PROTON.createNonSaslEngine();
+        engine.errorHandler(result -> failure = result.failureCause());
+        ProtonTestConnector peer = createTestPeer(engine);
+
+        peer.expectAMQPHeader().respondWithAMQPHeader();
+        peer.expectOpen().respond();
+        peer.expectBegin().respond();
+        peer.expectEnd().respond();
+        peer.expectClose().respond();
+
+        Connection connection = engine.start().open();
+        Session session = connection.session().open();
+
+        EngineMetrics metrics = engine.metrics();
+
+        assertEquals(1, metrics.getFramesWritten(PerformativeType.OPEN));
+        assertEquals(1, metrics.getFramesWritten(PerformativeType.BEGIN));
+        assertEquals(1, metrics.getFramesRead(PerformativeType.OPEN));
+        assertEquals(1, metrics.getFramesRead(PerformativeType.BEGIN));
+        assertEquals(0, metrics.getFramesRead(PerformativeType.TRANSFER));
+        assertEquals(2, metrics.getFramesRead());
+        assertEquals(2, metrics.getFramesWritten());
+        assertTrue(metrics.getBytesRead(PerformativeType.OPEN) > 8);
+        assertTrue(metrics.getBytesWritten() >= metrics.getBytesWritten(PerformativeType.OPEN) + metrics.getBytesWritten(PerformativeType.BEGIN));
+        assertEquals(4, metrics.getEnvelopesTaken());
+
+        session.close();
+        connection.close();
+
+        peer.waitForScriptToComplete();
+
+        metrics = connection.metrics();
+
+        assertEquals(4, metrics.getFramesRead());
+        assertEquals(4, metrics.getFramesWritten());
+        assertEquals(1, metrics.getFramesWritten(PerformativeType.CLOSE));
+        assertEquals(8, metrics.getEnvelopesTaken());
+        assertTrue(metrics.getEnvelopesReused() > 0);
+        assertTrue(metrics.getEnvelopePoolHitRate() > 0.0);
+
+        assertNull(failure);
+    }
+
+    @Test
+    public void testEngineCountsEmptyFramesRead() throws Exception {
+        Engine engine = EngineFactory.PROTON.createNonSaslEngine();
+        engine.errorHandler(result -> failure = result.failureCause());
+        ProtonTestConnector peer = createTestPeer(engine);
+
+        peer.expectAMQPHeader().respondWithAMQPHeader();
+        peer.expectOpen().respond();
+        peer.remoteEmptyFrame().queue();
+
+        engine.start().open();
+
+        peer.waitForScriptToComplete();
+
+        EngineMetrics metrics = engine.metrics();
+
+        assertEquals(1, metrics.getEmptyFramesRead());
+        assertEquals(2, metrics.getFramesRead());
+        assertEquals(metrics.getBytesRead(PerformativeType.OPEN) + 8, metrics.getBytesRead());
+
+        assertNull(failure);
+    }
+
+    @Test
+    public void testSenderAndSessionTrackUnsettledAndCredit() throws Exception {
+        Engine engine = EngineFactory.PROTON.createNonSaslEngine();
+        engine.errorHandler(result -> failure = result.failureCause());
+        ProtonTestConnector peer = createTestPeer(engine);
+
+        byte[] payload = new byte[] {0, 1, 2, 3, 4};
+
+        peer.expectAMQPHeader().respondWithAMQPHeader();
+        peer.expectOpen().respond();
+        peer.expectBegin().respond();
+        peer.expectAttach().withRole(Role.SENDER.getValue()).respond();
+
+        Connection connection = engine.start().open();
+        Session session = connection.session().open();
+        Sender sender = session.sender("sender-1").open();
+
+        peer.waitForScriptToComplete();
+
+        LinkMetrics linkMetrics = sender.metrics();
+
+        assertTrue(linkMetrics.isWithoutCredit());
+        assertEquals(0, linkMetrics.getUnsettled());
+
+        Thread.sleep(10);
+
+        assertTrue(sender.metrics().getTimeWithoutCredit(TimeUnit.MILLISECONDS) >= 10);
+
+        peer.remoteFlow().withDeliveryCount(0)
+                         .withLinkCredit(1)
+                         .withIncomingWindow(1)
+                         .withOutgoingWindow(10)
+                         .withNextIncomingId(0)
+                         .withNextOutgoingId(1).now();
+
+        linkMetrics = sender.metrics();
+        final long timeWithoutCredit = linkMetrics.getTimeWithoutCredit(TimeUnit.NANOSECONDS);
+
+        assertFalse(linkMetrics.isWithoutCredit());
+        assertFalse(session.metrics().isRemoteIncomingWindowClosed());
+
+        Thread.sleep(5);
+
+        // Time no longer accumulates once credit was granted.
+        assertEquals(timeWithoutCredit, sender.metrics().getTimeWithoutCredit(TimeUnit.NANOSECONDS));
+
+        peer.expectTransfer().withHandle(0)
+                             .withSettled(false)
+                             .withState(nullValue())
+                             .withDeliveryId(0)
+                             .withPayload(payload);
+
+        sender.next().setTag(new byte[] {0}).writeBytes(ProtonByteBufferAllocator.DEFAULT.wrap(payload));
+
+        peer.waitForScriptToComplete();
+
+        linkMetrics = sender.metrics();
+        SessionMetrics sessionMetrics = session.metrics();
+
+        assertEquals(1, linkMetrics.getUnsettled());
+        assertTrue(linkMetrics.isWithoutCredit());
+        assertEquals(1, sessionMetrics.getOutgoingUnsettled());
+        assertEquals(0, sessionMetrics.getIncomingUnsettled());
+        assertTrue(sessionMetrics.isRemoteIncomingWindowClosed());
+
+        peer.remoteDisposition().withSettled(true)
+                                .withRole(Role.RECEIVER.getValue())
+                                .withState().accepted()
+                                .withFirst(0).now();
+
+        assertEquals(0, session.metrics().getOutgoingUnsettled());
+
+        sender.settle(delivery -> true);
+
+        assertEquals(0, sender.metrics().getUnsettled());
+        assertEquals(1, engine.metrics().getFramesWritten(PerformativeType.TRANSFER));
+        assertEquals(1, engine.metrics().getFramesRead(PerformativeType.DISPOSITION));
+
+        assertNull(failure);
+    }
+
+    @Test
+    public void testReceiverTracksUnsettledAndCredit() throws Exception {
+        Engine engine = EngineFactory.PROTON.createNonSaslEngine();
+        engine.errorHandler(result -> failure = result.failureCause());
+        ProtonTestConnector peer = createTestPeer(engine);
+
+        peer.expectAMQPHeader().respondWithAMQPHeader();
+        peer.expectOpen().respond();
+        peer.expectBegin().respond();
+        peer.expectAttach().withRole(Role.RECEIVER.getValue()).respond();
+        peer.expectFlow().withLinkCredit(1);
+        peer.remoteTransfer().withDeliveryId(0)
+                             .withDeliveryTag(new byte[] {1})
+                             .withMore(false)
+                             .withMessageFormat(0).queue();
+
+        final AtomicBoolean deliveryArrived = new AtomicBoolean();
+
+        Connection connection = engine.start().open();
+        Session session = connection.session().open();
+        Receiver receiver = session.receiver("receiver-1");
+        receiver.deliveryReadHandler(delivery -> {
+            deliveryArrived.set(true);
+        });
+        receiver.open();
+
+        assertTrue(receiver.metrics().isWithoutCredit());
+
+        receiver.addCredit(1);
+
+        peer.waitForScriptToComplete();
+
+        assertTrue(deliveryArrived.get());
+
+        LinkMetrics linkMetrics = receiver.metrics();
+
+        assertEquals(1, linkMetrics.getUnsettled());
+        assertTrue(linkMetrics.isWithoutCredit());
+        assertEquals(1, session.metrics().getIncomingUnsettled());
+
+        peer.expectDisposition().withFirst(0).withSettled(true);
+
+        receiver.settle(delivery -> true);
+
+        peer.waitForScriptToComplete();
+
+        assertEquals(0, receiver.metrics().getUnsettled());
+
+        assertNull(failure);
+    }
+
+    @Test
+    public void testSnapshotsAreConsistentWhileEngineThreadUpdates() throws Exception {
+        final ProtonEngineMetrics metrics = new ProtonEngineMetrics();
+        final AtomicBoolean done = new AtomicBoolean();
+
+        Thread writer = new Thread(() -> {
+            while (!done.get()) {
+                metrics.recordFrameRead(PerformativeType.TRANSFER.ordinal(), 16);
+            }
+        });
+
+        writer.start();
+
+        try {
+            for (int i = 0; i < 10000; ++i) {
+                EngineMetrics snapshot = metrics.snapshot();
+                assertEquals(snapshot.getFramesRead() * 16, snapshot.getBytesRead());
+            }
+        } finally {
+            done.set(true);
+            writer.join();
+        }
+
+        assertTrue(metrics.snapshot().getFramesRead() > 0);
+    }
+}
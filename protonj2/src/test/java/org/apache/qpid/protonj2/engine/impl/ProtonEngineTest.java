@@ -29,6 +29,7 @@ import static org.junit.jupiter.api.Assertions.fail;
 
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.security.sasl.SaslException;
 
@@ -1377,4 +1378,58 @@ public class ProtonEngineTest extends ProtonEngineTestSupport {
 
         peer.waitForScriptToComplete();
     }
+
+    @Test
+    public void testEndBatchWithoutBeginBatchThrows() {
+        Engine engine = EngineFactory.PROTON.createNonSaslEngine();
+
+        assertFalse(engine.isBatching());
+        assertThrows(IllegalStateException.class, () -> engine.endBatch());
+    }
+
+    @Test
+    public void testBeginBatchOnShutdownEngineThrows() {
+        Engine engine = EngineFactory.PROTON.createNonSaslEngine();
+
+        engine.shutdown();
+
+        assertThrows(EngineShutdownException.class, () -> engine.beginBatch());
+    }
+
+    @Test
+    public void testBatchCompleteHandlerSignalledOnceForNestedBatches() throws Exception {
+        Engine engine = EngineFactory.PROTON.createNonSaslEngine();
+        engine.errorHandler(result -> failure = result.failureCause());
+        ProtonTestConnector peer = createTestPeer(engine);
+
+        final AtomicInteger batchesCompleted = new AtomicInteger();
+
+        engine.batchCompleteHandler((self) -> batchesCompleted.incrementAndGet());
+
+        peer.expectAMQPHeader().respondWithAMQPHeader();
+        peer.expectOpen().respond();
+
+        engine.start().open();
+
+        peer.waitForScriptToComplete();
+
+        engine.beginBatch();
+        engine.beginBatch();
+        assertTrue(engine.isBatching());
+        engine.endBatch();
+        assertTrue(engine.isBatching());
+        assertEquals(0, batchesCompleted.get());
+        engine.endBatch();
+        assertFalse(engine.isBatching());
+        assertEquals(1, batchesCompleted.get());
+
+        engine.ingest(new ProtonByteBuffer(0), new ProtonByteBuffer(0));
+
+        assertFalse(engine.isBatching());
+        assertEquals(2, batchesCompleted.get());
+
+        peer.waitForScriptToComplete();
+
+        assertNull(failure);
+    }
 }
@@ -430,6 +430,7 @@ public class ProtonFrameDecodingHandlerTest {
         Mockito.when(configuration.getInboundMaxFrameSize()).thenReturn(Long.valueOf(65535));
         ProtonEngine engine = Mockito.mock(ProtonEngine.class);
         Mockito.when(engine.configuration()).thenReturn(configuration);
+        Mockito.when(engine.metricsRecorder()).thenReturn(new ProtonEngineMetrics());
         Mockito.when(engine.isWritable()).thenReturn(Boolean.TRUE);
         EngineHandlerContext context = Mockito.mock(EngineHandlerContext.class);
         Mockito.when(context.engine()).thenReturn(engine);
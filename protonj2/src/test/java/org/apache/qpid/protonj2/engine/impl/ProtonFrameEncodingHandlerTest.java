@@ -64,6 +64,7 @@ class ProtonFrameEncodingHandlerTest {
 
         engine = Mockito.mock(ProtonEngine.class);
         Mockito.when(engine.configuration()).thenReturn(configuration);
+        Mockito.when(engine.metricsRecorder()).thenReturn(new ProtonEngineMetrics());
         Mockito.when(engine.isWritable()).thenReturn(Boolean.TRUE);
 
         context = Mockito.mock(ProtonEngineHandlerContext.class);
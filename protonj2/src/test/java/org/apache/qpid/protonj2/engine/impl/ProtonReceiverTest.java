@@ -38,6 +38,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
@@ -1167,6 +1168,67 @@ public class ProtonReceiverTest extends ProtonEngineTestSupport {
         assertNull(failure);
     }
 
+    @Test
+    public void testReceiverCoalescesFlowsWhenCreditAddedDuringBatch() throws Exception {
+        Engine engine = EngineFactory.PROTON.createNonSaslEngine();
+        engine.errorHandler(result -> failure = result.failureCause());
+        ProtonTestConnector peer = createTestPeer(engine);
+
+        peer.expectAMQPHeader().respondWithAMQPHeader();
+        peer.expectOpen().respond().withContainerId("driver");
+        peer.expectBegin().respond().withNextOutgoingId(42);
+        peer.expectAttach().respond();
+
+        Connection connection = engine.start().open();
+        Session session = connection.session().open();
+        Receiver receiver = session.receiver("test").open();
+
+        peer.waitForScriptToComplete();
+        peer.expectFlow().withLinkCredit(30).withNextIncomingId(42);
+        peer.expectDetach().respond();
+
+        engine.beginBatch();
+        receiver.addCredit(10);
+        receiver.addCredit(20);
+        assertTrue(engine.isBatching());
+        engine.endBatch();
+        assertFalse(engine.isBatching());
+
+        receiver.close();
+
+        peer.waitForScriptToComplete();
+
+        assertNull(failure);
+    }
+
+    @Test
+    public void testReceiverDoesNotWriteBatchedFlowIfClosedBeforeBatchEnds() throws Exception {
+        Engine engine = EngineFactory.PROTON.createNonSaslEngine();
+        engine.errorHandler(result -> failure = result.failureCause());
+        ProtonTestConnector peer = createTestPeer(engine);
+
+        peer.expectAMQPHeader().respondWithAMQPHeader();
+        peer.expectOpen().respond().withContainerId("driver");
+        peer.expectBegin().respond().withNextOutgoingId(42);
+        peer.expectAttach().respond();
+
+        Connection connection = engine.start().open();
+        Session session = connection.session().open();
+        Receiver receiver = session.receiver("test").open();
+
+        peer.waitForScriptToComplete();
+        peer.expectDetach().respond();
+
+        engine.beginBatch();
+        receiver.addCredit(10);
+        receiver.close();
+        engine.endBatch();
+
+        peer.waitForScriptToComplete();
+
+        assertNull(failure);
+    }
+
     @Test
     public void testReceiverSendsFlowWithNoIncomingIdWhenRemoteBeginHasNotArrivedYet() throws Exception {
         Engine engine = EngineFactory.PROTON.createNonSaslEngine();
@@ -4341,6 +4403,79 @@ public class ProtonReceiverTest extends ProtonEngineTestSupport {
         assertNull(failure);
     }
 
+    @Test
+    public void testBulkDispositionWritesRangedDispositionForContiguousDeliveries() {
+        Engine engine = EngineFactory.PROTON.createNonSaslEngine();
+        engine.errorHandler(result -> failure = result.failureCause());
+        ProtonTestConnector peer = createTestPeer(engine);
+
+        final byte[] payload = new byte[] { 1 };
+
+        peer.expectAMQPHeader().respondWithAMQPHeader();
+        peer.expectOpen().respond().withContainerId("driver");
+        peer.expectBegin().respond();
+        peer.expectAttach().respond();
+        peer.expectFlow().withLinkCredit(4);
+        for (int i = 0; i < 4; ++i) {
+            peer.remoteTransfer().withDeliveryId(i)
+                                 .withDeliveryTag(new byte[] { (byte) i })
+                                 .withMore(false)
+                                 .withMessageFormat(0)
+                                 .withPayload(payload).queue();
+        }
+
+        Connection connection = engine.start().open();
+        Session session = connection.session().open();
+        Receiver receiver = session.receiver("receiver");
+
+        final List<IncomingDelivery> deliveries = new ArrayList<>();
+
+        receiver.deliveryReadHandler(deliveries::add);
+        receiver.addCredit(4);
+        receiver.open();
+
+        peer.waitForScriptToComplete();
+
+        assertEquals(4, deliveries.size());
+
+        peer.expectDisposition().withFirst(0)
+                                .withLast(1)
+                                .withSettled(true)
+                                .withState().accepted();
+        peer.expectDisposition().withFirst(3)
+                                .withLast(nullValue())
+                                .withSettled(true)
+                                .withState().accepted();
+
+        receiver.disposition(Arrays.asList(deliveries.get(0), deliveries.get(1), deliveries.get(3)), Accepted.getInstance(), true);
+
+        peer.waitForScriptToComplete();
+
+        assertEquals(1, receiver.unsettled().size());
+        assertSame(deliveries.get(2), receiver.unsettled().iterator().next());
+
+        // Already settled deliveries are skipped and produce no additional frames
+        peer.expectDisposition().withFirst(2)
+                                .withLast(nullValue())
+                                .withSettled(true)
+                                .withState().released();
+        peer.expectDetach().respond();
+        peer.expectEnd().respond();
+        peer.expectClose().respond();
+
+        receiver.disposition(deliveries.subList(0, 3), Released.getInstance(), true);
+
+        assertFalse(receiver.hasUnsettled());
+        assertThrows(NullPointerException.class, () -> receiver.disposition((List<IncomingDelivery>) null, Accepted.getInstance(), true));
+
+        receiver.close();
+        session.close();
+        connection.close();
+
+        peer.waitForScriptToComplete();
+        assertNull(failure);
+    }
+
     @Test
     public void testUnsettledCollectionDispositionsAfterReceivingTransfersThatCrossSignedIntDeliveryIdRange() {
         Engine engine = EngineFactory.PROTON.createNonSaslEngine();
@@ -4592,4 +4727,57 @@ public class ProtonReceiverTest extends ProtonEngineTestSupport {
 
         assertNull(failure);
     }
+
+    @Test
+    public void testSessionPendingIncomingBytesTracksUnreadTransferPayloads() throws Exception {
+        Engine engine = EngineFactory.PROTON.createNonSaslEngine();
+        engine.errorHandler(result -> failure = result.failureCause());
+        ProtonTestConnector peer = createTestPeer(engine);
+
+        byte[] payload = new byte[256];
+        Arrays.fill(payload, (byte) 127);
+
+        peer.expectAMQPHeader().respondWithAMQPHeader();
+        peer.expectOpen().respond().withContainerId("driver");
+        peer.expectBegin().respond();
+        peer.expectAttach().respond();
+        peer.expectFlow().withLinkCredit(1);
+        peer.remoteTransfer().withDeliveryId(0)
+                             .withDeliveryTag(new byte[] {0})
+                             .withMore(true)
+                             .withMessageFormat(0)
+                             .withPayload(payload).queue();
+        peer.remoteTransfer().withDeliveryId(0)
+                             .withMore(false)
+                             .withMessageFormat(0)
+                             .withPayload(payload).queue();
+
+        Connection connection = engine.start().open();
+        Session session = connection.session().open();
+        Receiver receiver = session.receiver("test");
+
+        final AtomicReference<IncomingDelivery> received = new AtomicReference<>();
+        receiver.deliveryReadHandler(delivery -> received.set(delivery));
+
+        assertEquals(0, session.getPendingIncomingBytes());
+
+        receiver.open();
+        receiver.addCredit(1);
+
+        peer.waitForScriptToComplete();
+        peer.expectDetach().respond();
+
+        assertNotNull(received.get());
+        assertEquals(payload.length * 2, session.getPendingIncomingBytes());
+
+        received.get().readAll();
+
+        assertEquals(0, session.getPendingIncomingBytes());
+
+        receiver.close();
+
+        peer.waitForScriptToComplete();
+
+        assertNull(failure);
+    }
 }
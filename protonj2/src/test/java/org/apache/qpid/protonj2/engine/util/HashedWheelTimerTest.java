@@ -0,0 +1,265 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.engine.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+/**
+ * Test {@link HashedWheelTimer} type
+ */
+@Timeout(20)
+public class HashedWheelTimerTest {
+
+    @Test
+    public void testCreateWithInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new HashedWheelTimer("test", 0, TimeUnit.MILLISECONDS, 8));
+        assertThrows(IllegalArgumentException.class, () -> new HashedWheelTimer("test", 1, TimeUnit.MILLISECONDS, 0));
+        assertThrows(NullPointerException.class, () -> new HashedWheelTimer("test", 1, null, 8));
+    }
+
+    @Test
+    public void testScheduledTaskRunsAfterDelay() throws Exception {
+        try (HashedWheelTimer timer = new HashedWheelTimer("test", 1, TimeUnit.MILLISECONDS, 8)) {
+            final CountDownLatch ran = new CountDownLatch(1);
+            final long start = System.nanoTime();
+
+            ScheduledFuture<?> future = timer.schedule(ran::countDown, 50, TimeUnit.MILLISECONDS);
+
+            assertTrue(ran.await(10, TimeUnit.SECONDS));
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 45);
+
+            future.get(10, TimeUnit.SECONDS);
+
+            assertTrue(future.isDone());
+            assertFalse(future.isCancelled());
+            assertEquals(0, timer.pendingTimeouts());
+        }
+    }
+
+    @Test
+    public void testDelayLongerThanOneRotationOfTheWheel() throws Exception {
+        try (HashedWheelTimer timer = new HashedWheelTimer("test", 1, TimeUnit.MILLISECONDS, 4)) {
+            final long start = System.nanoTime();
+
+            ScheduledFuture<Long> future = timer.schedule(() -> System.nanoTime() - start, 30, TimeUnit.MILLISECONDS);
+
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(future.get(10, TimeUnit.SECONDS)) >= 25);
+        }
+    }
+
+    @Test
+    public void testCancelledTaskDoesNotRun() throws Exception {
+        try (HashedWheelTimer timer = new HashedWheelTimer("test", 1, TimeUnit.MILLISECONDS, 8)) {
+            final AtomicInteger runs = new AtomicInteger();
+
+            ScheduledFuture<?> cancelled = timer.schedule(runs::incrementAndGet, 20, TimeUnit.MILLISECONDS);
+            ScheduledFuture<?> marker = timer.schedule(() -> { }, 60, TimeUnit.MILLISECONDS);
+
+            assertEquals(2, timer.pendingTimeouts());
+            assertTrue(cancelled.cancel(false));
+            assertFalse(cancelled.cancel(false));
+            assertEquals(1, timer.pendingTimeouts());
+
+            marker.get(10, TimeUnit.SECONDS);
+
+            assertEquals(0, runs.get());
+            assertTrue(cancelled.isCancelled());
+            assertTrue(cancelled.isDone());
+            assertThrows(CancellationException.class, () -> cancelled.get());
+        }
+    }
+
+    @Test
+    public void testSchedulerDispatchesToGivenExecutor() throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try (HashedWheelTimer timer = new HashedWheelTimer("test", 1, TimeUnit.MILLISECONDS, 8)) {
+            final Thread executorThread = executor.submit(Thread::currentThread).get();
+            final AtomicReference<Thread> runOn = new AtomicReference<>();
+
+            ScheduledExecutorService scheduler = timer.scheduler(executor);
+            ScheduledFuture<?> future = scheduler.schedule(() -> runOn.set(Thread.currentThread()), 10, TimeUnit.MILLISECONDS);
+
+            future.get(10, TimeUnit.SECONDS);
+
+            assertSame(executorThread, runOn.get());
+
+            scheduler.shutdown();
+
+            assertTrue(scheduler.isShutdown());
+            assertFalse(executor.isShutdown());
+            assertThrows(RejectedExecutionException.class, () -> scheduler.schedule(() -> { }, 1, TimeUnit.MILLISECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFixedRateTaskRunsUntilCancelled() throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try (HashedWheelTimer timer = new HashedWheelTimer("test", 1, TimeUnit.MILLISECONDS, 8)) {
+            final CountDownLatch runs = new CountDownLatch(5);
+            final AtomicInteger runCount = new AtomicInteger();
+
+            ScheduledFuture<?> future = timer.scheduler(executor).scheduleAtFixedRate(() -> {
+                runCount.incrementAndGet();
+                runs.countDown();
+            }, 1, 5, TimeUnit.MILLISECONDS);
+
+            assertTrue(runs.await(10, TimeUnit.SECONDS));
+            assertFalse(future.isDone());
+
+            assertTrue(future.cancel(false));
+            assertTrue(future.isCancelled());
+
+            assertNoFurtherRuns(executor, runCount);
+            assertEquals(0, timer.pendingTimeouts());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFixedDelayTaskRunsRepeatedly() throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try (HashedWheelTimer timer = new HashedWheelTimer("test", 1, TimeUnit.MILLISECONDS, 8)) {
+            final CountDownLatch runs = new CountDownLatch(3);
+            final AtomicInteger runCount = new AtomicInteger();
+
+            ScheduledFuture<?> future = timer.scheduler(executor).scheduleWithFixedDelay(() -> {
+                runCount.incrementAndGet();
+                runs.countDown();
+            }, 1, 5, TimeUnit.MILLISECONDS);
+
+            assertTrue(runs.await(10, TimeUnit.SECONDS));
+
+            assertTrue(future.cancel(false));
+            assertTrue(future.isCancelled());
+
+            assertNoFurtherRuns(executor, runCount);
+            assertEquals(0, timer.pendingTimeouts());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testCancelPeriodicTaskWhileRunningStopsFurtherRuns() throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try (HashedWheelTimer timer = new HashedWheelTimer("test", 1, TimeUnit.MILLISECONDS, 8)) {
+            final CountDownLatch running = new CountDownLatch(1);
+            final CountDownLatch release = new CountDownLatch(1);
+            final AtomicInteger runCount = new AtomicInteger();
+
+            ScheduledFuture<?> future = timer.scheduler(executor).scheduleAtFixedRate(() -> {
+                runCount.incrementAndGet();
+                running.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, 1, 1, TimeUnit.MILLISECONDS);
+
+            assertTrue(running.await(10, TimeUnit.SECONDS));
+
+            assertTrue(future.cancel(false));
+            assertTrue(future.isCancelled());
+            assertTrue(future.isDone());
+            assertFalse(future.cancel(false));
+
+            release.countDown();
+
+            assertNoFurtherRuns(executor, runCount);
+            assertEquals(1, runCount.get());
+            assertEquals(0, timer.pendingTimeouts());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testCloseCancelsPendingAndRejectsNewTasks() throws Exception {
+        final HashedWheelTimer timer = new HashedWheelTimer("test", 1, TimeUnit.MILLISECONDS, 8);
+
+        ScheduledFuture<?> pending = timer.schedule(() -> { }, 1, TimeUnit.HOURS);
+
+        timer.close();
+
+        assertTrue(timer.isClosed());
+        assertTrue(pending.isCancelled());
+        assertThrows(RejectedExecutionException.class, () -> timer.schedule(() -> { }, 1, TimeUnit.MILLISECONDS));
+        assertTrue(timer.scheduler(Runnable::run).isShutdown());
+    }
+
+    @Test
+    public void testCloseOfTimerThatNeverStarted() {
+        final HashedWheelTimer timer = new HashedWheelTimer("test");
+
+        timer.close();
+
+        assertTrue(timer.isClosed());
+        assertThrows(RejectedExecutionException.class, () -> timer.schedule(() -> { }, 1, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testFailedTaskReportsError() throws Exception {
+        try (HashedWheelTimer timer = new HashedWheelTimer("test", 1, TimeUnit.MILLISECONDS, 8)) {
+            ScheduledFuture<Object> future = timer.schedule(() -> {
+                throw new IllegalStateException("failed");
+            }, 1, TimeUnit.MILLISECONDS);
+
+            Throwable error = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+            assertTrue(error.getCause() instanceof IllegalStateException);
+            assertEquals(0, timer.pendingTimeouts());
+        }
+    }
+
+    private static void assertNoFurtherRuns(ExecutorService executor, AtomicInteger runCount) throws Exception {
+        // Wait out any run that was already handed to the executor before sampling the count.
+        executor.submit(() -> { }).get(10, TimeUnit.SECONDS);
+
+        final int runsAtCancel = runCount.get();
+
+        Thread.sleep(50);
+        executor.submit(() -> { }).get(10, TimeUnit.SECONDS);
+
+        assertEquals(runsAtCancel, runCount.get());
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.engine.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link IntHashMap} type
+ */
+public class IntHashMapTest {
+
+    protected long seed;
+    protected Random random;
+
+    @BeforeEach
+    public void setUp() {
+        seed = System.nanoTime();
+        random = new Random();
+        random.setSeed(seed);
+    }
+
+    @Test
+    public void testPutGetRemoveDenseKeys() {
+        IntHashMap<String> map = new IntHashMap<>();
+
+        for (int i = 0; i < 1024; ++i) {
+            assertNull(map.put(i, Integer.toString(i)));
+        }
+
+        assertEquals(1024, map.size());
+
+        for (int i = 0; i < 1024; ++i) {
+            assertEquals(Integer.toString(i), map.get(i));
+            assertTrue(map.containsKey(i));
+        }
+
+        for (int i = 0; i < 1024; ++i) {
+            assertEquals(Integer.toString(i), map.remove(i));
+            assertFalse(map.containsKey(i));
+        }
+
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testPutReplacesExistingValue() {
+        IntHashMap<String> map = new IntHashMap<>();
+
+        assertNull(map.put(7, "seven"));
+        assertEquals("seven", map.put(7, "sieben"));
+        assertEquals(1, map.size());
+        assertEquals("sieben", map.get(7));
+    }
+
+    @Test
+    public void testPutNullValueThrows() {
+        IntHashMap<String> map = new IntHashMap<>();
+
+        assertThrows(NullPointerException.class, () -> map.put(1, null));
+    }
+
+    @Test
+    public void testCollidingKeysRemainReachableAfterRemoval() {
+        IntHashMap<String> map = new IntHashMap<>(4);
+
+        // All of these keys share the same home slot in a table of eight slots.
+        map.put(1, "1");
+        map.put(9, "9");
+        map.put(17, "17");
+        map.put(2, "2");
+
+        assertEquals("9", map.remove(9));
+        assertEquals("1", map.get(1));
+        assertEquals("17", map.get(17));
+        assertEquals("2", map.get(2));
+
+        assertEquals("1", map.remove(1));
+        assertEquals("17", map.get(17));
+        assertEquals("2", map.get(2));
+    }
+
+    @Test
+    public void testLargeUnsignedKeys() {
+        IntHashMap<String> map = new IntHashMap<>();
+
+        map.put(-1, "max-handle");
+        map.put(Integer.MIN_VALUE, "min");
+        map.put(0, "zero");
+
+        assertEquals("max-handle", map.get(-1));
+        assertEquals("min", map.get(Integer.MIN_VALUE));
+        assertEquals("zero", map.get(0));
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    public void testValuesAndForEach() {
+        IntHashMap<String> map = new IntHashMap<>();
+
+        for (int i = 0; i < 10; ++i) {
+            map.put(i * 100, Integer.toString(i));
+        }
+
+        Set<String> fromView = new HashSet<>(map.values());
+        Set<String> fromForEach = new HashSet<>();
+        map.forEach(fromForEach::add);
+
+        assertEquals(10, fromView.size());
+        assertEquals(fromView, fromForEach);
+
+        map.clear();
+
+        assertTrue(map.isEmpty());
+        assertTrue(map.values().isEmpty());
+    }
+
+    @Test
+    public void testForEachFailsOnModification() {
+        IntHashMap<String> map = new IntHashMap<>();
+
+        map.put(0, "0");
+        map.put(1, "1");
+
+        assertThrows(ConcurrentModificationException.class, () -> map.forEach(value -> map.remove(1)));
+    }
+
+    @Test
+    public void testRandomPutAndRemoveMatchesHashMap() {
+        IntHashMap<Integer> map = new IntHashMap<>();
+        Map<Integer, Integer> expected = new HashMap<>();
+
+        try {
+            for (int i = 0; i < 20000; ++i) {
+                final int put = random.nextInt(2048);
+                final int remove = random.nextInt(2048);
+
+                assertEquals(expected.put(put, put), map.put(put, put));
+                assertEquals(expected.remove(remove), map.remove(remove));
+            }
+
+            assertEquals(expected.size(), map.size());
+            for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+                assertEquals(entry.getValue(), map.get(entry.getKey()));
+            }
+        } catch (AssertionError error) {
+            throw new AssertionError("Test failed with random seed: " + seed, error);
+        }
+    }
+}
@@ -0,0 +1,383 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.engine.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.apache.qpid.protonj2.types.UnsignedInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link UnsettledMap} type
+ */
+public class UnsettledMapTest {
+
+    protected long seed;
+    protected Random random;
+
+    @BeforeEach
+    public void setUp() {
+        seed = System.nanoTime();
+        random = new Random();
+        random.setSeed(seed);
+    }
+
+    @Test
+    public void testPutGetRemoveSequential() {
+        UnsettledMap<String> map = new UnsettledMap<>();
+
+        for (int i = 0; i < 1000; ++i) {
+            assertNull(map.put(i, "v" + i));
+        }
+
+        assertEquals(1000, map.size());
+
+        for (int i = 0; i < 1000; ++i) {
+            assertEquals("v" + i, map.get(i));
+        }
+
+        for (int i = 0; i < 1000; ++i) {
+            assertEquals("v" + i, map.remove(i));
+            assertNull(map.get(i));
+        }
+
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testPutReplacesExistingValue() {
+        UnsettledMap<String> map = new UnsettledMap<>();
+
+        assertNull(map.put(1, "one"));
+        assertEquals("one", map.put(1, "uno"));
+        assertEquals(1, map.size());
+        assertEquals("uno", map.get(1));
+    }
+
+    @Test
+    public void testPutNullValueThrows() {
+        UnsettledMap<String> map = new UnsettledMap<>();
+
+        assertThrows(NullPointerException.class, () -> map.put(1, null));
+    }
+
+    @Test
+    public void testGetOutOfRangeReturnsNull() {
+        UnsettledMap<String> map = new UnsettledMap<>();
+
+        assertNull(map.get(0));
+
+        map.put(10, "ten");
+        map.put(12, "twelve");
+
+        assertNull(map.get(9));
+        assertNull(map.get(11));
+        assertNull(map.get(13));
+        assertNull(map.get(-1));
+        assertNull(map.remove(100));
+    }
+
+    @Test
+    public void testPutKeysBeforeLowestKey() {
+        UnsettledMap<String> map = new UnsettledMap<>(4);
+
+        map.put(100, "100");
+        map.put(99, "99");
+        map.put(90, "90");
+        map.put(101, "101");
+
+        assertEquals(4, map.size());
+        assertEquals("90", map.get(90));
+        assertEquals("99", map.get(99));
+        assertEquals("100", map.get(100));
+        assertEquals("101", map.get(101));
+
+        List<String> values = new ArrayList<>(map.values());
+        assertEquals(4, values.size());
+        assertEquals("90", values.get(0));
+        assertEquals("101", values.get(3));
+    }
+
+    @Test
+    public void testKeysWrapAroundUsingSerialArithmetic() {
+        UnsettledMap<String> map = new UnsettledMap<>();
+
+        final int start = Integer.MAX_VALUE - 4;
+        final int end = Integer.MIN_VALUE + 4;
+        final int range = end - start + 1;
+
+        for (int i = 0; i < range; ++i) {
+            map.put(start + i, Integer.toString(start + i));
+        }
+
+        assertEquals(range, map.size());
+
+        Iterator<UnsignedInteger> keys = map.keySet().iterator();
+        for (int i = 0; i < range; ++i) {
+            assertEquals(start + i, keys.next().intValue());
+        }
+        assertFalse(keys.hasNext());
+
+        map.put(-1, "wrap-unsigned-max");
+        assertEquals("wrap-unsigned-max", map.get(UnsignedInteger.MAX_VALUE));
+        assertEquals("wrap-unsigned-max", map.remove(-1));
+
+        for (int i = 0; i < range; ++i) {
+            assertEquals(Integer.toString(start + i), map.remove(start + i));
+        }
+
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testRemoveFromMiddleKeepsOrder() {
+        UnsettledMap<String> map = new UnsettledMap<>();
+
+        for (int i = 0; i < 10; ++i) {
+            map.put(i, Integer.toString(i));
+        }
+
+        map.remove(5);
+        map.remove(0);
+        map.remove(9);
+        map.remove(1);
+
+        List<UnsignedInteger> keys = new ArrayList<>(map.keySet());
+        assertEquals(6, keys.size());
+        assertEquals(2, keys.get(0).intValue());
+        assertEquals(3, keys.get(1).intValue());
+        assertEquals(4, keys.get(2).intValue());
+        assertEquals(6, keys.get(3).intValue());
+        assertEquals(8, keys.get(5).intValue());
+    }
+
+    @Test
+    public void testGrowPreservesEntriesWhenRingHasWrapped() {
+        UnsettledMap<String> map = new UnsettledMap<>(8);
+
+        for (int i = 0; i < 6; ++i) {
+            map.put(i, Integer.toString(i));
+        }
+        for (int i = 0; i < 4; ++i) {
+            map.remove(i);
+        }
+        for (int i = 6; i < 40; ++i) {
+            map.put(i, Integer.toString(i));
+        }
+
+        assertEquals(36, map.size());
+        for (int i = 4; i < 40; ++i) {
+            assertEquals(Integer.toString(i), map.get(i));
+        }
+    }
+
+    @Test
+    public void testForEachInRange() {
+        UnsettledMap<String> map = new UnsettledMap<>();
+
+        for (int i = 0; i < 10; ++i) {
+            map.put(i, Integer.toString(i));
+        }
+        map.remove(4);
+
+        List<String> visited = new ArrayList<>();
+        map.forEachInRange(2, 6, visited::add);
+
+        assertEquals(4, visited.size());
+        assertEquals("2", visited.get(0));
+        assertEquals("3", visited.get(1));
+        assertEquals("5", visited.get(2));
+        assertEquals("6", visited.get(3));
+        assertEquals(9, map.size());
+
+        visited.clear();
+        map.forEachInRange(-100, 100, visited::add);
+        assertEquals(9, visited.size());
+
+        visited.clear();
+        map.forEachInRange(20, 30, visited::add);
+        assertTrue(visited.isEmpty());
+    }
+
+    @Test
+    public void testRemoveEachInRange() {
+        UnsettledMap<String> map = new UnsettledMap<>();
+
+        for (int i = 0; i < 10; ++i) {
+            map.put(i, Integer.toString(i));
+        }
+
+        List<String> removed = new ArrayList<>();
+        map.removeEachInRange(0, 4, removed::add);
+
+        assertEquals(5, removed.size());
+        assertEquals(5, map.size());
+        assertNull(map.get(0));
+        assertEquals("5", map.get(5));
+    }
+
+    @Test
+    public void testRemoveEachInRangeAllowsActionToModifyMap() {
+        UnsettledMap<String> map = new UnsettledMap<>();
+
+        for (int i = 0; i < 10; ++i) {
+            map.put(i, Integer.toString(i));
+        }
+
+        List<String> removed = new ArrayList<>();
+        map.removeEachInRange(0, 9, value -> {
+            removed.add(value);
+            map.remove(Integer.parseInt(value) + 1);
+        });
+
+        assertEquals(5, removed.size());
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testSpanBeyondMaximumMovesOldestToOverflow() {
+        UnsettledMap<String> map = new UnsettledMap<>(4, 16);
+
+        map.put(0, "held");
+
+        for (int i = 1; i < 100; ++i) {
+            map.put(i, Integer.toString(i));
+            map.remove(i);
+        }
+
+        map.put(100, "100");
+
+        assertEquals(2, map.size());
+        assertEquals("held", map.get(0));
+        assertEquals("100", map.get(100));
+
+        List<String> values = new ArrayList<>(map.values());
+        assertEquals("held", values.get(0));
+        assertEquals("100", values.get(1));
+
+        List<String> visited = new ArrayList<>();
+        map.removeEachInRange(0, 100, visited::add);
+        assertEquals(2, visited.size());
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testViewsAndEqualsIncludeOverflowEntries() {
+        UnsettledMap<String> map = new UnsettledMap<>(4, 16);
+        Map<UnsignedInteger, String> expected = new HashMap<>();
+
+        map.put(0, "0");
+        map.put(1, "1");
+        expected.put(UnsignedInteger.valueOf(0), "0");
+        expected.put(UnsignedInteger.valueOf(1), "1");
+
+        for (int i = 100; i < 104; ++i) {
+            map.put(i, Integer.toString(i));
+            expected.put(UnsignedInteger.valueOf(i), Integer.toString(i));
+        }
+
+        assertEquals(6, map.size());
+        assertEquals(6, map.keySet().size());
+        assertEquals(6, map.values().size());
+        assertEquals(6, map.entrySet().size());
+
+        assertEquals(expected, map);
+        assertEquals(map, expected);
+        assertEquals(expected.hashCode(), map.hashCode());
+
+        expected.remove(UnsignedInteger.valueOf(1));
+
+        assertFalse(map.equals(expected));
+
+        map.remove(1);
+
+        assertEquals(5, map.keySet().size());
+        assertEquals(5, map.values().size());
+        assertEquals(5, map.entrySet().size());
+        assertEquals(expected, map);
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        UnsettledMap<String> map = new UnsettledMap<>();
+
+        for (int i = 0; i < 10; ++i) {
+            map.put(i, Integer.toString(i));
+        }
+
+        Iterator<String> values = map.values().iterator();
+        int count = 0;
+        while (values.hasNext()) {
+            values.next();
+            values.remove();
+            count++;
+        }
+
+        assertEquals(10, count);
+        assertTrue(map.isEmpty());
+        assertThrows(NoSuchElementException.class, () -> values.next());
+    }
+
+    @Test
+    public void testIteratorFailsOnConcurrentModification() {
+        UnsettledMap<String> map = new UnsettledMap<>();
+
+        map.put(0, "0");
+        map.put(1, "1");
+
+        Iterator<UnsignedInteger> keys = map.keySet().iterator();
+        keys.next();
+        map.put(2, "2");
+
+        assertThrows(ConcurrentModificationException.class, () -> keys.next());
+    }
+
+    @Test
+    public void testRandomProduceAndConsumeMatchesHashMap() {
+        UnsettledMap<Integer> map = new UnsettledMap<>();
+        Map<UnsignedInteger, Integer> expected = new HashMap<>();
+
+        try {
+            for (int i = 0; i < 10000; ++i) {
+                final int produce = random.nextInt(4096);
+                final int consume = random.nextInt(4096);
+
+                assertEquals(expected.put(UnsignedInteger.valueOf(produce), produce), map.put(produce, produce));
+                assertEquals(expected.remove(UnsignedInteger.valueOf(consume)), map.remove(consume));
+            }
+
+            assertEquals(expected.size(), map.size());
+            assertEquals(expected, map);
+        } catch (AssertionError error) {
+            throw new AssertionError("Test failed with random seed: " + seed, error);
+        }
+    }
+}